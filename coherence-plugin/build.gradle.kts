@@ -32,6 +32,7 @@ repositories {
 // Dependencies are managed with Gradle version catalog - read more: https://docs.gradle.org/current/userguide/platforms.html#sub:version-catalog
 dependencies {
     implementation(project(":jps-plugin"))
+    implementation(project(":pof-benchmark-runner"))
 
     testImplementation(libs.coherence)
     testImplementation(libs.coherenceBedrock)
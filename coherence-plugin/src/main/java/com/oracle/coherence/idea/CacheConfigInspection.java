@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.XmlElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.xml.util.XmlTagUtil;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * An inspection that reports the settings of a Coherence cache configuration
+ * file that are known to cost throughput or memory.
+ * <p>
+ * The inspection reports unbounded local caches, backing maps and near caches,
+ * near cache invalidation strategies that do not fit the front map, very low
+ * service thread counts, low or non-prime partition counts, and backup counts
+ * above one. A value that is not a literal, such as a system property macro,
+ * is not checked.
+ *
+ * @author agent  2026.10.18
+ */
+public class CacheConfigInspection
+        extends LocalInspectionTool
+    {
+    // ----- LocalInspectionTool methods ------------------------------------
+
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean fOnTheFly)
+        {
+        if (!isCacheConfig(holder.getFile()))
+            {
+            return PsiElementVisitor.EMPTY_VISITOR;
+            }
+
+        return new XmlElementVisitor()
+            {
+            @Override
+            public void visitXmlTag(@NotNull XmlTag tag)
+                {
+                switch (tag.getLocalName())
+                    {
+                    case "local-scheme":
+                        checkLocalScheme(tag, holder);
+                        break;
+                    case "invalidation-strategy":
+                        checkInvalidationStrategy(tag, holder);
+                        break;
+                    case "thread-count":
+                    case "thread-count-max":
+                        checkThreadCount(tag, holder);
+                        break;
+                    case "partition-count":
+                        checkPartitionCount(tag, holder);
+                        break;
+                    case "backup-count":
+                        checkBackupCount(tag, holder);
+                        break;
+                    }
+                }
+            };
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Report a local scheme that has no size limit.
+     *
+     * @param tag     the {@code local-scheme} tag
+     * @param holder  the {@link ProblemsHolder}
+     */
+    private static void checkLocalScheme(XmlTag tag, ProblemsHolder holder)
+        {
+        if (findSubTag(tag, "scheme-ref") != null)
+            {
+            // the limit may be inherited from the referenced scheme
+            return;
+            }
+
+        String sHighUnits = getValue(findSubTag(tag, "high-units"));
+        if (sHighUnits != null && !sHighUnits.isEmpty() && !"0".equals(sHighUnits))
+            {
+            return;
+            }
+
+        XmlTag tagParent = tag.getParentTag();
+        String sParent   = tagParent == null ? "" : tagParent.getLocalName();
+        String sMessage;
+        switch (sParent)
+            {
+            case "front-scheme":
+                sMessage = "Near cache front map has no high-units, so every client can end up holding the"
+                           + " whole cache";
+                break;
+            case "backing-map-scheme":
+            case "internal-cache-scheme":
+                sMessage = "Backing map has no high-units, so storage members can run out of heap";
+                break;
+            default:
+                sMessage = "Local cache has no high-units, so it can grow until the heap is exhausted";
+            }
+
+        PsiElement element = XmlTagUtil.getStartTagNameElement(tag);
+        holder.registerProblem(element == null ? tag : element, sMessage, new AddHighUnitsFix());
+        }
+
+    /**
+     * Report a near cache invalidation strategy that does not fit the near cache.
+     *
+     * @param tag     the {@code invalidation-strategy} tag
+     * @param holder  the {@link ProblemsHolder}
+     */
+    private static void checkInvalidationStrategy(XmlTag tag, ProblemsHolder holder)
+        {
+        String sStrategy = getValue(tag);
+        if ("all".equals(sStrategy))
+            {
+            holder.registerProblem(tag, "Invalidation strategy 'all' sends every update of the cache to every client;"
+                                        + " 'present' only sends the updates of entries the client holds",
+                                   new SetValueFix(PRESENT));
+            }
+        else if ("none".equals(sStrategy) && !hasExpiry(tag.getParentTag()))
+            {
+            holder.registerProblem(tag, "Invalidation strategy 'none' without an expiry-delay on the front map means"
+                                        + " clients read stale entries until they are evicted",
+                                   new SetValueFix(PRESENT));
+            }
+        }
+
+    /**
+     * Report a very low service thread count.
+     *
+     * @param tag     the {@code thread-count} or {@code thread-count-max} tag
+     * @param holder  the {@link ProblemsHolder}
+     */
+    private static void checkThreadCount(XmlTag tag, ProblemsHolder holder)
+        {
+        int cThreads = toInt(getValue(tag));
+        if (cThreads > 0 && cThreads < MIN_THREAD_COUNT)
+            {
+            holder.registerProblem(tag, "A " + tag.getLocalName() + " of " + cThreads + " limits the service to "
+                                        + cThreads + " concurrent requests; the default thread pool sizes itself"
+                                        + " to the load",
+                                   new RemoveTagFix());
+            }
+        }
+
+    /**
+     * Report a low or non-prime partition count.
+     *
+     * @param tag     the {@code partition-count} tag
+     * @param holder  the {@link ProblemsHolder}
+     */
+    private static void checkPartitionCount(XmlTag tag, ProblemsHolder holder)
+        {
+        int cPartitions = toInt(getValue(tag));
+        if (cPartitions <= 0)
+            {
+            return;
+            }
+
+        if (cPartitions < DEFAULT_PARTITION_COUNT)
+            {
+            holder.registerProblem(tag, "A partition-count of " + cPartitions + " spreads data unevenly and limits"
+                                        + " parallelism; the default is " + DEFAULT_PARTITION_COUNT,
+                                   new SetValueFix(String.valueOf(DEFAULT_PARTITION_COUNT)));
+            }
+        else if (!isPrime(cPartitions))
+            {
+            holder.registerProblem(tag, "A partition-count of " + cPartitions + " is not prime, so keys are not"
+                                        + " spread evenly across partitions",
+                                   new SetValueFix(String.valueOf(nextPrime(cPartitions))));
+            }
+        }
+
+    /**
+     * Report a backup count above one.
+     *
+     * @param tag     the {@code backup-count} tag
+     * @param holder  the {@link ProblemsHolder}
+     */
+    private static void checkBackupCount(XmlTag tag, ProblemsHolder holder)
+        {
+        int cBackups = toInt(getValue(tag));
+        if (cBackups > 1)
+            {
+            holder.registerProblem(tag, "A backup-count of " + cBackups + " stores " + (cBackups + 1)
+                                        + " copies of every entry and slows every write; one backup already"
+                                        + " survives the loss of any member",
+                                   new SetValueFix("1"));
+            }
+        }
+
+    /**
+     * Returns {@code true} if the front map of a near scheme expires its entries.
+     *
+     * @param tagNear  the {@code near-scheme} tag
+     *
+     * @return  {@code true} if the front map expires its entries
+     */
+    private static boolean hasExpiry(XmlTag tagNear)
+        {
+        XmlTag tagFront = findSubTag(tagNear, "front-scheme");
+        XmlTag tagLocal = findSubTag(tagFront, "local-scheme");
+        String sExpiry  = getValue(findSubTag(tagLocal, "expiry-delay"));
+
+        // a front map defined by reference cannot be checked, so assume it expires
+        return tagLocal == null || findSubTag(tagLocal, "scheme-ref") != null
+               || (sExpiry != null && !sExpiry.isEmpty() && toInt(sExpiry) != 0);
+        }
+
+    /**
+     * Returns {@code true} if a file is a Coherence cache configuration file.
+     *
+     * @param file  the file
+     *
+     * @return  {@code true} if the file is a Coherence cache configuration file
+     */
+    private static boolean isCacheConfig(PsiFile file)
+        {
+        if (!(file instanceof XmlFile))
+            {
+            return false;
+            }
+        XmlTag tagRoot = ((XmlFile) file).getRootTag();
+        return tagRoot != null && "cache-config".equals(tagRoot.getLocalName());
+        }
+
+    /**
+     * Return the first sub-tag of a tag with a local name, whatever its namespace prefix.
+     *
+     * @param tag         the tag, which may be {@code null}
+     * @param sLocalName  the local name of the sub-tag
+     *
+     * @return  the sub-tag, or {@code null} if there is none
+     */
+    private static XmlTag findSubTag(XmlTag tag, String sLocalName)
+        {
+        if (tag != null)
+            {
+            for (XmlTag tagSub : tag.getSubTags())
+                {
+                if (sLocalName.equals(tagSub.getLocalName()))
+                    {
+                    return tagSub;
+                    }
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Return the trimmed value of a tag.
+     *
+     * @param tag  the tag, which may be {@code null}
+     *
+     * @return  the trimmed value, or {@code null} if there is no tag
+     */
+    private static String getValue(XmlTag tag)
+        {
+        return tag == null ? null : tag.getValue().getTrimmedText();
+        }
+
+    /**
+     * Convert a value to an {@code int}.
+     *
+     * @param sValue  the value
+     *
+     * @return  the value, or {@code -1} if it is not a literal integer
+     */
+    static int toInt(String sValue)
+        {
+        try
+            {
+            return sValue == null ? -1 : Integer.parseInt(sValue.trim());
+            }
+        catch (NumberFormatException e)
+            {
+            return -1;
+            }
+        }
+
+    /**
+     * Returns {@code true} if a number is prime.
+     *
+     * @param n  the number
+     *
+     * @return  {@code true} if the number is prime
+     */
+    static boolean isPrime(int n)
+        {
+        if (n < 2)
+            {
+            return false;
+            }
+        for (int i = 2; (long) i * i <= n; i++)
+            {
+            if (n % i == 0)
+                {
+                return false;
+                }
+            }
+        return true;
+        }
+
+    /**
+     * Return the smallest prime number greater than or equal to a number.
+     *
+     * @param n  the number
+     *
+     * @return  the smallest prime number greater than or equal to the number
+     */
+    static int nextPrime(int n)
+        {
+        int nPrime = Math.max(n, 2);
+        while (!isPrime(nPrime))
+            {
+            nPrime++;
+            }
+        return nPrime;
+        }
+
+    // ----- inner class: AddHighUnitsFix -----------------------------------
+
+    /**
+     * A quick fix that adds a {@code high-units} limit to a local scheme.
+     */
+    static class AddHighUnitsFix
+            implements LocalQuickFix
+        {
+        @NotNull
+        @Override
+        public String getFamilyName()
+            {
+            return "Add <high-units>";
+            }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor)
+            {
+            XmlTag tag = PsiTreeUtil.getParentOfType(descriptor.getPsiElement(), XmlTag.class, false);
+            if (tag == null)
+                {
+                return;
+                }
+
+            XmlTag tagHighUnits = findSubTag(tag, "high-units");
+            if (tagHighUnits != null)
+                {
+                tagHighUnits.getValue().setText(DEFAULT_HIGH_UNITS);
+                return;
+                }
+
+            // the schema requires the elements of a local scheme in order
+            XmlTag tagNew = tag.createChildTag("high-units", tag.getNamespace(), DEFAULT_HIGH_UNITS, false);
+            for (XmlTag tagSub : tag.getSubTags())
+                {
+                if (AFTER_HIGH_UNITS.contains(tagSub.getLocalName()))
+                    {
+                    tag.addBefore(tagNew, tagSub);
+                    return;
+                    }
+                }
+            tag.addSubTag(tagNew, false);
+            }
+        }
+
+    // ----- inner class: SetValueFix ---------------------------------------
+
+    /**
+     * A quick fix that sets the value of a tag.
+     */
+    static class SetValueFix
+            implements LocalQuickFix
+        {
+        /**
+         * Create a {@link SetValueFix}.
+         *
+         * @param sValue  the value to set
+         */
+        SetValueFix(String sValue)
+            {
+            this.sValue = sValue;
+            }
+
+        @NotNull
+        @Override
+        public String getName()
+            {
+            return "Change to '" + sValue + "'";
+            }
+
+        @NotNull
+        @Override
+        public String getFamilyName()
+            {
+            return "Change the Coherence configuration value";
+            }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor)
+            {
+            XmlTag tag = PsiTreeUtil.getParentOfType(descriptor.getPsiElement(), XmlTag.class, false);
+            if (tag != null)
+                {
+                tag.getValue().setText(sValue);
+                }
+            }
+
+        /**
+         * The value to set.
+         */
+        private final String sValue;
+        }
+
+    // ----- inner class: RemoveTagFix --------------------------------------
+
+    /**
+     * A quick fix that removes a tag, so that its default is used.
+     */
+    static class RemoveTagFix
+            implements LocalQuickFix
+        {
+        @NotNull
+        @Override
+        public String getFamilyName()
+            {
+            return "Remove to use the default";
+            }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor)
+            {
+            XmlTag tag = PsiTreeUtil.getParentOfType(descriptor.getPsiElement(), XmlTag.class, false);
+            if (tag != null)
+                {
+                tag.delete();
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default partition count of a partitioned service.
+     */
+    static final int DEFAULT_PARTITION_COUNT = 257;
+
+    /**
+     * The service thread count below which a service is reported.
+     */
+    static final int MIN_THREAD_COUNT = 4;
+
+    /**
+     * The {@code high-units} added by the quick fix, for the user to adjust.
+     */
+    private static final String DEFAULT_HIGH_UNITS = "10000";
+
+    /**
+     * The near cache invalidation strategy suggested by the quick fixes.
+     */
+    private static final String PRESENT = "present";
+
+    /**
+     * The elements of a local scheme that follow {@code high-units}.
+     */
+    private static final Set<String> AFTER_HIGH_UNITS = Set.of("low-units", "unit-calculator", "unit-factor",
+                                                               "expiry-delay", "cachestore-scheme", "pre-load",
+                                                               "listener");
+    }
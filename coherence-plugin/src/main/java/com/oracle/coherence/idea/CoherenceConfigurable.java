@@ -8,6 +8,9 @@
 
 package com.oracle.coherence.idea;
 
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+
 import com.intellij.openapi.options.BaseConfigurable;
 import com.intellij.openapi.options.ConfigurationException;
 import com.intellij.openapi.options.SearchableConfigurable;
@@ -20,6 +23,9 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The Coherence configurable plugin component.
  * <p>
@@ -75,7 +81,7 @@ public class CoherenceConfigurable
         {
         if (form == null)
             {
-            form = new CoherenceForm();
+            form = new CoherenceForm(getModuleNames());
             }
         reset();
         return form.getPanel();
@@ -113,6 +119,21 @@ public class CoherenceConfigurable
 
     // ----- helper methods -------------------------------------------------
 
+    /**
+     * Return the names of the project's modules.
+     *
+     * @return  the names of the project's modules
+     */
+    private List<String> getModuleNames()
+        {
+        List<String> list = new ArrayList<>();
+        for (Module module : ModuleManager.getInstance(project).getModules())
+            {
+            list.add(module.getName());
+            }
+        return list;
+        }
+
     private CoherenceConfig getConfig()
         {
         CoherenceConfigService service = project.getService(CoherenceConfigService.class);
@@ -8,10 +8,19 @@
 
 package com.oracle.coherence.idea;
 
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
 import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.ui.CheckBoxList;
 
 import javax.swing.*;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
 /**
  * The Coherence config UI.
  *
@@ -19,6 +28,32 @@ import javax.swing.*;
  */
 public class CoherenceForm
     {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link CoherenceForm} without any modules to choose from.
+     */
+    public CoherenceForm()
+        {
+        this(List.of());
+        }
+
+    /**
+     * Create a {@link CoherenceForm}.
+     *
+     * @param colModules  the names of the project's modules that POF code
+     *                    generation can be disabled for
+     */
+    public CoherenceForm(Collection<String> colModules)
+        {
+        m_listModules = List.copyOf(new TreeSet<>(colModules));
+        m_parallelismSpinner.setModel(new SpinnerNumberModel(CoherenceConfig.DEFAULT_PARALLELISM, 0, MAX_PARALLELISM, 1));
+        m_cacheDirectoryField.addBrowseFolderListener("Instrumented Class Cache Directory",
+                "The directory to cache instrumented classes in", null,
+                FileChooserDescriptorFactory.createSingleFolderDescriptor());
+        m_verbosityComboBox.setModel(new DefaultComboBoxModel<>(CoherenceConfig.Verbosity.values()));
+        }
+
     // ----- CoherenceForm methods ------------------------------------------
 
     public JPanel getPanel()
@@ -40,17 +75,65 @@ public class CoherenceForm
             {
             return true;
             }
+        if (config.getPofGeneratorParallelism() != getParallelism())
+            {
+            return true;
+            }
+        if (!config.getPofCacheDirectory().equals(m_cacheDirectoryField.getText().trim()))
+            {
+            return true;
+            }
+        if (config.isPofTestSourcesEnabled() != m_testSourcesCheckBox.isSelected())
+            {
+            return true;
+            }
+        if (!config.getPofDisabledModules().equals(getDisabledModules()))
+            {
+            return true;
+            }
+        if (!config.getPofIncludedPackages().equals(split(m_includedPackagesField.getText())))
+            {
+            return true;
+            }
+        if (!config.getPofExcludedPackages().equals(split(m_excludedPackagesField.getText())))
+            {
+            return true;
+            }
+        if (config.getPofMessageVerbosity() != m_verbosityComboBox.getSelectedItem())
+            {
+            return true;
+            }
+        if (config.isPofTypeRegistryEnabled() != m_typeRegistryCheckBox.isSelected())
+            {
+            return true;
+            }
         return false;
         }
 
     public void applyEditorTo(CoherenceConfig config) throws ConfigurationException
         {
         config.setPofGeneratorEnabled(m_enablePOFGenerationCheckBox.isSelected());
+        config.setPofGeneratorParallelism(getParallelism());
+        config.setPofCacheDirectory(m_cacheDirectoryField.getText());
+        config.setPofTestSourcesEnabled(m_testSourcesCheckBox.isSelected());
+        config.setPofDisabledModules(getDisabledModules());
+        config.setPofIncludedPackages(split(m_includedPackagesField.getText()));
+        config.setPofExcludedPackages(split(m_excludedPackagesField.getText()));
+        config.setPofMessageVerbosity((CoherenceConfig.Verbosity) m_verbosityComboBox.getSelectedItem());
+        config.setPofTypeRegistryEnabled(m_typeRegistryCheckBox.isSelected());
         }
 
     public void resetEditorFrom(CoherenceConfig config)
         {
         m_enablePOFGenerationCheckBox.setSelected(config.isPofGeneratorEnabled());
+        m_parallelismSpinner.setValue(Math.min(config.getPofGeneratorParallelism(), MAX_PARALLELISM));
+        m_cacheDirectoryField.setText(config.getPofCacheDirectory());
+        m_testSourcesCheckBox.setSelected(config.isPofTestSourcesEnabled());
+        resetDisabledModules(config.getPofDisabledModules());
+        m_includedPackagesField.setText(join(config.getPofIncludedPackages()));
+        m_excludedPackagesField.setText(join(config.getPofExcludedPackages()));
+        m_verbosityComboBox.setSelectedItem(config.getPofMessageVerbosity());
+        m_typeRegistryCheckBox.setSelected(config.isPofTypeRegistryEnabled());
         }
 
     public static void main(String[] args)
@@ -62,8 +145,112 @@ public class CoherenceForm
         frame.setVisible(true);
         }
 
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the POF generation parallelism selected on the form.
+     *
+     * @return  the POF generation parallelism selected on the form
+     */
+    private int getParallelism()
+        {
+        return ((Number) m_parallelismSpinner.getValue()).intValue();
+        }
+
+    /**
+     * Reset the list of modules to the modules POF code generation is disabled for.
+     * <p>
+     * Only the project's modules are listed, so that only a real module can be
+     * chosen. A disabled module that is not one of them, for example because
+     * it is unloaded, is kept, so that applying the form does not enable it.
+     *
+     * @param setDisabled  the names of the modules POF code generation is disabled for
+     */
+    private void resetDisabledModules(Set<String> setDisabled)
+        {
+        m_setUnlistedModules = new TreeSet<>(setDisabled);
+        m_setUnlistedModules.removeAll(m_listModules);
+
+        m_disabledModulesList.setItems(m_listModules, null);
+        for (String sModule : m_listModules)
+            {
+            m_disabledModulesList.setItemSelected(sModule, setDisabled.contains(sModule));
+            }
+        }
+
+    /**
+     * Return the modules POF code generation is disabled for on the form.
+     *
+     * @return  the names of the modules POF code generation is disabled for
+     */
+    private Set<String> getDisabledModules()
+        {
+        Set<String> setDisabled = new TreeSet<>(m_setUnlistedModules);
+        for (String sModule : m_listModules)
+            {
+            if (m_disabledModulesList.isItemSelected(sModule))
+                {
+                setDisabled.add(sModule);
+                }
+            }
+        return setDisabled;
+        }
+
+    /**
+     * Split a comma separated list of values.
+     *
+     * @param sValues  the comma separated values
+     *
+     * @return  the trimmed, non-empty, values
+     */
+    private static List<String> split(String sValues)
+        {
+        return Arrays.stream(sValues.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toList();
+        }
+
+    /**
+     * Join values into a comma separated list.
+     *
+     * @param colValues  the values to join
+     *
+     * @return  the comma separated values
+     */
+    private static String join(Collection<String> colValues)
+        {
+        return String.join(", ", colValues);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum POF generation parallelism that can be selected.
+     */
+    private static final int MAX_PARALLELISM = 256;
+
     // ----- data members ---------------------------------------------------
 
     private JPanel panel;
     private JCheckBox m_enablePOFGenerationCheckBox;
+    private JSpinner m_parallelismSpinner;
+    private TextFieldWithBrowseButton m_cacheDirectoryField;
+    private JCheckBox m_testSourcesCheckBox;
+    private CheckBoxList<String> m_disabledModulesList;
+    private JTextField m_includedPackagesField;
+    private JTextField m_excludedPackagesField;
+    private JComboBox<CoherenceConfig.Verbosity> m_verbosityComboBox;
+    private JCheckBox m_typeRegistryCheckBox;
+
+    /**
+     * The sorted names of the project's modules.
+     */
+    private final List<String> m_listModules;
+
+    /**
+     * The disabled modules that are not in {@link #m_listModules}.
+     */
+    private Set<String> m_setUnlistedModules = new TreeSet<>();
     }
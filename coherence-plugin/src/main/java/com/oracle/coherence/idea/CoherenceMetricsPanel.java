@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTabbedPane;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.ListTableModel;
+
+import com.oracle.coherence.idea.ManagementMetrics.CacheMetrics;
+import com.oracle.coherence.idea.ManagementMetrics.MemberMetrics;
+import com.oracle.coherence.idea.ManagementMetrics.ServiceMetrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.HierarchyEvent;
+import java.io.IOException;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The content of the Coherence metrics tool window, which polls a cluster's
+ * Management over REST API and shows its cache, service and member metrics.
+ * <p>
+ * The next sample is only scheduled when the previous one has completed, so
+ * a slow cluster is never sent overlapping requests, and the interval backs off
+ * while the cluster cannot be reached. No requests are sent while the tool
+ * window is hidden.
+ *
+ * @author agent  2026.10.18
+ */
+public class CoherenceMetricsPanel
+        extends JPanel
+        implements Disposable
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link CoherenceMetricsPanel}.
+     *
+     * @param project  the {@link Project}
+     */
+    public CoherenceMetricsPanel(Project project)
+        {
+        super(new BorderLayout());
+
+        this.properties = PropertiesComponent.getInstance(project);
+
+        m_urlField.setText(properties.getValue(PROPERTY_URL, ManagementClient.DEFAULT_URL));
+        m_intervalComboBox.setSelectedItem(properties.getInt(PROPERTY_INTERVAL, DEFAULT_INTERVAL));
+        m_intervalComboBox.addActionListener(e -> cInterval = getInterval());
+        m_connectButton.addActionListener(e -> toggleConnection());
+
+        // hierarchy events are dispatched on the EDT, where isShowing() may be called
+        addHierarchyListener(e ->
+            {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0)
+                {
+                fShowing = isShowing();
+                }
+            });
+
+        JPanel panelOptions = new JPanel(new FlowLayout(FlowLayout.LEFT, JBUI.scale(4), 0));
+        panelOptions.add(new JBLabel("Refresh (s):"));
+        panelOptions.add(m_intervalComboBox);
+        panelOptions.add(m_connectButton);
+
+        JPanel panelConnection = new JPanel(new BorderLayout(JBUI.scale(4), 0));
+        panelConnection.setBorder(JBUI.Borders.empty(4));
+        panelConnection.add(new JBLabel("Management URL:"), BorderLayout.WEST);
+        panelConnection.add(m_urlField, BorderLayout.CENTER);
+        panelConnection.add(panelOptions, BorderLayout.EAST);
+
+        JBTabbedPane tabs = new JBTabbedPane();
+        tabs.addTab("Caches", createTable(m_cacheModel));
+        tabs.addTab("Services", createTable(m_serviceModel));
+        tabs.addTab("Members", createTable(m_memberModel));
+
+        m_statusLabel.setBorder(JBUI.Borders.empty(2, 4));
+
+        add(panelConnection, BorderLayout.NORTH);
+        add(tabs, BorderLayout.CENTER);
+        add(m_statusLabel, BorderLayout.SOUTH);
+        }
+
+    // ----- Disposable methods ---------------------------------------------
+
+    @Override
+    public void dispose()
+        {
+        disconnect();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Connect to, or disconnect from, the cluster.
+     */
+    private void toggleConnection()
+        {
+        if (client == null)
+            {
+            connect();
+            }
+        else
+            {
+            disconnect();
+            m_statusLabel.setText("Disconnected");
+            }
+        }
+
+    /**
+     * Start polling the cluster at the URL on the form.
+     */
+    private void connect()
+        {
+        String sUrl = m_urlField.getText().trim();
+        if (sUrl.isEmpty())
+            {
+            m_statusLabel.setText("Enter the URL of the cluster's management resource");
+            return;
+            }
+
+        properties.setValue(PROPERTY_URL, sUrl, ManagementClient.DEFAULT_URL);
+        properties.setValue(PROPERTY_INTERVAL, getInterval(), DEFAULT_INTERVAL);
+
+        try
+            {
+            client = new ManagementClient(sUrl);
+            }
+        catch (IllegalArgumentException e)
+            {
+            m_statusLabel.setText("Invalid URL: " + e.getMessage());
+            return;
+            }
+
+        previous  = null;
+        cFailures = 0;
+        cInterval = getInterval();
+        m_connectButton.setText("Disconnect");
+        m_urlField.setEnabled(false);
+        m_statusLabel.setText("Connecting to " + sUrl + "...");
+        schedule(client, 0L);
+        }
+
+    /**
+     * Stop polling the cluster.
+     */
+    private void disconnect()
+        {
+        client = null;
+
+        Future<?> future = this.future;
+        if (future != null)
+            {
+            future.cancel(true);
+            }
+
+        m_connectButton.setText("Connect");
+        m_urlField.setEnabled(true);
+        }
+
+    /**
+     * Schedule the next sample.
+     *
+     * @param client   the client to sample with
+     * @param cMillis  the delay before the sample
+     */
+    private void schedule(ManagementClient client, long cMillis)
+        {
+        future = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(() -> poll(client), cMillis, TimeUnit.MILLISECONDS);
+        }
+
+    /**
+     * Take a sample of the cluster's metrics, and schedule the next one.
+     *
+     * @param client  the client to sample with
+     */
+    private void poll(ManagementClient client)
+        {
+        if (client != this.client)
+            {
+            // disconnected, or connected again with another client
+            return;
+            }
+
+        long cMillis = TimeUnit.SECONDS.toMillis(cInterval);
+        if (fShowing)
+            {
+            try
+                {
+                ManagementMetrics metrics = client.sample(previous);
+                previous  = metrics;
+                cFailures = 0;
+                ApplicationManager.getApplication().invokeLater(() -> showMetrics(client, metrics), ModalityState.any());
+                }
+            catch (IOException | RuntimeException e)
+                {
+                // an unexpected response must not stop polling, as the task would
+                // end without the status or the connect button ever being updated
+                cFailures++;
+                cMillis = Math.min(cMillis << Math.min(cFailures, MAX_BACKOFF_SHIFT), MAX_DELAY_MILLIS);
+
+                String sMsg = "Cannot read metrics from " + client.getUrl() + ": " + e.getMessage()
+                              + " - retrying in " + TimeUnit.MILLISECONDS.toSeconds(cMillis) + "s";
+                LOGGER.debug(sMsg, e);
+                ApplicationManager.getApplication().invokeLater(() -> showStatus(client, sMsg), ModalityState.any());
+                }
+            catch (InterruptedException e)
+                {
+                Thread.currentThread().interrupt();
+                return;
+                }
+            }
+
+        if (client == this.client)
+            {
+            schedule(client, cMillis);
+            }
+        }
+
+    /**
+     * Show a sample of the cluster's metrics.
+     *
+     * @param client   the client that took the sample
+     * @param metrics  the sample
+     */
+    private void showMetrics(ManagementClient client, ManagementMetrics metrics)
+        {
+        if (client == this.client)
+            {
+            m_cacheModel.setItems(new ArrayList<>(metrics.getCaches()));
+            m_serviceModel.setItems(new ArrayList<>(metrics.getServices()));
+            m_memberModel.setItems(new ArrayList<>(metrics.getMembers()));
+            m_statusLabel.setText("Updated " + LocalTime.now().format(TIME_FORMAT) + " - "
+                                  + metrics.getCaches().size() + " caches, "
+                                  + metrics.getServices().size() + " services, "
+                                  + metrics.getMembers().size() + " members");
+            }
+        }
+
+    /**
+     * Show a status message.
+     *
+     * @param client  the client the message is for
+     * @param sMsg    the message
+     */
+    private void showStatus(ManagementClient client, String sMsg)
+        {
+        if (client == this.client)
+            {
+            m_statusLabel.setText(sMsg);
+            }
+        }
+
+    /**
+     * Return the selected refresh interval.
+     *
+     * @return  the refresh interval in seconds
+     */
+    private int getInterval()
+        {
+        Integer nInterval = (Integer) m_intervalComboBox.getSelectedItem();
+        return nInterval == null ? DEFAULT_INTERVAL : nInterval;
+        }
+
+    /**
+     * Create a sortable table for a model.
+     *
+     * @param model  the table model
+     *
+     * @return  the scroll pane that contains the table
+     */
+    private static JBScrollPane createTable(ListTableModel<?> model)
+        {
+        JBTable table = new JBTable(model);
+        table.setAutoCreateRowSorter(true);
+        table.setDefaultRenderer(Double.class, new MetricRenderer());
+        return new JBScrollPane(table);
+        }
+
+    /**
+     * Create a text column.
+     *
+     * @param sName     the name of the column
+     * @param function  the function that returns the value of the column
+     * @param <T>       the type of the rows
+     *
+     * @return  the column
+     */
+    private static <T> ColumnInfo<T, String> text(String sName, Function<T, String> function)
+        {
+        return new ColumnInfo<>(sName)
+            {
+            @Override
+            public @Nullable String valueOf(T item)
+                {
+                return function.apply(item);
+                }
+            };
+        }
+
+    /**
+     * Create a numeric column.
+     *
+     * @param sName     the name of the column
+     * @param function  the function that returns the value of the column
+     * @param <T>       the type of the rows
+     *
+     * @return  the column
+     */
+    private static <T> ColumnInfo<T, Double> number(String sName, Function<T, Double> function)
+        {
+        return new ColumnInfo<>(sName)
+            {
+            @Override
+            public @Nullable Double valueOf(T item)
+                {
+                return function.apply(item);
+                }
+
+            @Override
+            public Class<?> getColumnClass()
+                {
+                return Double.class;
+                }
+            };
+        }
+
+    /**
+     * Convert a ratio to a percentage.
+     *
+     * @param dflRatio  the ratio
+     *
+     * @return  the percentage
+     */
+    private static double percent(double dflRatio)
+        {
+        return dflRatio * 100.0;
+        }
+
+    // ----- inner class: MetricRenderer ------------------------------------
+
+    /**
+     * The renderer of numeric metrics, which shows metrics that cannot be
+     * calculated as a dash.
+     */
+    private static class MetricRenderer
+            extends DefaultTableCellRenderer
+        {
+        MetricRenderer()
+            {
+            setHorizontalAlignment(RIGHT);
+            }
+
+        @Override
+        protected void setValue(Object oValue)
+            {
+            if (!(oValue instanceof Double) || ((Double) oValue).isNaN())
+                {
+                setText("-");
+                }
+            else
+                {
+                double dflValue = (Double) oValue;
+                setText(dflValue == Math.rint(dflValue) ? String.format("%,.0f", dflValue)
+                                                        : String.format("%,.2f", dflValue));
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(CoherenceMetricsPanel.class);
+
+    /**
+     * The project property that stores the management URL.
+     */
+    private static final String PROPERTY_URL = "coherence.metrics.url";
+
+    /**
+     * The project property that stores the refresh interval.
+     */
+    private static final String PROPERTY_INTERVAL = "coherence.metrics.interval";
+
+    /**
+     * The refresh intervals that can be selected, in seconds; one second is
+     * the shortest, to limit the load polling puts on the cluster.
+     */
+    private static final Integer[] INTERVALS = {1, 2, 5, 10, 30, 60};
+
+    /**
+     * The default refresh interval, in seconds.
+     */
+    private static final int DEFAULT_INTERVAL = 5;
+
+    /**
+     * The largest power of two the interval is multiplied by while the cluster
+     * cannot be reached.
+     */
+    private static final int MAX_BACKOFF_SHIFT = 4;
+
+    /**
+     * The longest delay between samples while the cluster cannot be reached.
+     */
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The format of the time of the last update.
+     */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The project properties the settings are stored in.
+     */
+    private final PropertiesComponent properties;
+
+    /**
+     * The client of the connected cluster, or {@code null} if not connected.
+     */
+    private volatile ManagementClient client;
+
+    /**
+     * The next scheduled sample.
+     */
+    private volatile Future<?> future;
+
+    /**
+     * The previous sample, to calculate rates from.
+     */
+    private volatile ManagementMetrics previous;
+
+    /**
+     * The number of consecutive samples that have failed.
+     */
+    private volatile int cFailures;
+
+    /**
+     * The refresh interval, in seconds.
+     */
+    private volatile int cInterval = DEFAULT_INTERVAL;
+
+    /**
+     * {@code true} while the panel is showing, updated on the EDT so the
+     * polling thread does not walk the component hierarchy.
+     */
+    private volatile boolean fShowing;
+
+    private final JBTextField m_urlField = new JBTextField();
+    private final ComboBox<Integer> m_intervalComboBox = new ComboBox<>(INTERVALS);
+    private final JButton m_connectButton = new JButton("Connect");
+    private final JBLabel m_statusLabel = new JBLabel("Not connected");
+
+    private final ListTableModel<CacheMetrics> m_cacheModel = new ListTableModel<>(
+            text("Service", CacheMetrics::getService),
+            text("Cache", CacheMetrics::getName),
+            number("Size", CacheMetrics::getSize),
+            number("Units", CacheMetrics::getUnits),
+            number("Gets/s", CacheMetrics::getGetsPerSecond),
+            number("Puts/s", CacheMetrics::getPutsPerSecond),
+            number("Hit %", (CacheMetrics cache) -> percent(cache.getHitRatio())),
+            number("Avg get ms", CacheMetrics::getAverageMillis),
+            number("Max avg get ms", CacheMetrics::getMaxAverageMillis));
+
+    private final ListTableModel<ServiceMetrics> m_serviceModel = new ListTableModel<>(
+            text("Service", ServiceMetrics::getName),
+            text("Type", ServiceMetrics::getType),
+            number("Task backlog", ServiceMetrics::getTaskBacklog),
+            number("Threads", ServiceMetrics::getThreadCount),
+            number("Thread use %", (ServiceMetrics service) -> percent(service.getThreadUtilization())),
+            number("Max request ms", ServiceMetrics::getRequestMaxMillis));
+
+    private final ListTableModel<MemberMetrics> m_memberModel = new ListTableModel<>(
+            number("Id", (MemberMetrics member) -> (double) member.getId()),
+            text("Member", MemberMetrics::getName),
+            text("Machine", MemberMetrics::getMachine),
+            number("Heap used MB", MemberMetrics::getHeapUsedMb),
+            number("Heap max MB", MemberMetrics::getHeapMaxMb),
+            number("Heap %", (MemberMetrics member) -> percent(member.getHeapUtilization())));
+    }
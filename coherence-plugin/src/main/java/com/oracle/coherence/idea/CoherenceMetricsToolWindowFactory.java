@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The factory of the Coherence metrics tool window.
+ *
+ * @author agent  2026.10.18
+ */
+public class CoherenceMetricsToolWindowFactory
+        implements ToolWindowFactory, DumbAware
+    {
+    // ----- ToolWindowFactory methods --------------------------------------
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow)
+        {
+        CoherenceMetricsPanel panel   = new CoherenceMetricsPanel(project);
+        Content               content = ContentFactory.getInstance().createContent(panel, null, false);
+
+        // stop polling the cluster when the tool window is closed
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+        }
+    }
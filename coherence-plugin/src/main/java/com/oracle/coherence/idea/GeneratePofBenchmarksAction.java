@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.search.GlobalSearchScope;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An action that generates a JMH benchmark harness for the
+ * {@code @PortableType} classes of a module, using {@link PofJmhGenerator}.
+ * <p>
+ * The classes are the module's classes in the {@link PofTypeSnapshot} that
+ * is exported to the POF generator in the build, so the harness covers the
+ * same classes that the build instruments. The classes are found in the
+ * background, and the existing sources of a previous harness are only
+ * replaced once the developer has confirmed it.
+ *
+ * @author agent  2026.10.18
+ */
+public class GeneratePofBenchmarksAction
+        extends AnAction
+    {
+    // ----- AnAction methods -----------------------------------------------
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread()
+        {
+        return ActionUpdateThread.BGT;
+        }
+
+    @Override
+    public void update(@NotNull AnActionEvent e)
+        {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && e.getData(LangDataKeys.MODULE) != null);
+        }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e)
+        {
+        Project project = e.getProject();
+        Module  module  = e.getData(LangDataKeys.MODULE);
+        if (project == null || module == null)
+            {
+            return;
+            }
+
+        if (DumbService.isDumb(project))
+            {
+            Messages.showInfoMessage(project, "The POF types can be found once indexing has finished.", TITLE);
+            return;
+            }
+
+        VirtualFile[] aRoots = ModuleRootManager.getInstance(module).getContentRoots();
+        if (aRoots.length == 0)
+            {
+            Messages.showErrorDialog(project, "Module " + module.getName() + " has no content root.", TITLE);
+            return;
+            }
+
+        VirtualFile root = aRoots[0];
+        new Task.Backgroundable(project, "Finding @PortableType classes", true)
+            {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator)
+                {
+                PofTypeSnapshotService service = project.getService(PofTypeSnapshotService.class);
+                service.refresh();
+
+                listNames = DumbService.getInstance(project).runReadActionInSmartMode(
+                        () -> getBenchmarkTypes(module, service.getSnapshot()));
+                }
+
+            @Override
+            public void onSuccess()
+                {
+                if (!module.isDisposed())
+                    {
+                    generate(project, module, root, listNames);
+                    }
+                }
+
+            private List<String> listNames = Collections.emptyList();
+            }.queue();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Generate the harness for the {@code @PortableType} classes of a module.
+     *
+     * @param project    the {@link Project}
+     * @param module     the {@link Module}
+     * @param root       the content root of the module to generate the harness in
+     * @param listNames  the binary names of the classes to benchmark
+     */
+    private static void generate(Project project, Module module, VirtualFile root, List<String> listNames)
+        {
+        if (listNames.isEmpty())
+            {
+            Messages.showInfoMessage(project, "Module " + module.getName()
+                                              + " has no @PortableType classes to benchmark.", TITLE);
+            return;
+            }
+
+        PofJmhGenerator     generator = new PofJmhGenerator(PofJmhGenerator.DEFAULT_PACKAGE);
+        String              sPath     = PofJmhGenerator.SOURCE_ROOT + '/' + generator.getPackagePath();
+        Map<String, String> mapFiles;
+        try
+            {
+            mapFiles = generator.generate(listNames);
+            }
+        catch (IOException ex)
+            {
+            Messages.showErrorDialog(project, "Could not generate the POF benchmarks: " + ex.getMessage(), TITLE);
+            return;
+            }
+
+        VirtualFile vDirExisting = root.findFileByRelativePath(sPath);
+        Set<String> setExisting  = new TreeSet<>();
+        for (String sName : mapFiles.keySet())
+            {
+            if (vDirExisting != null && vDirExisting.findChild(sName) != null)
+                {
+                setExisting.add(sName);
+                }
+            }
+        if (!setExisting.isEmpty()
+                && Messages.showYesNoDialog(project, "Replace " + String.join(", ", setExisting) + " in "
+                                                     + vDirExisting.getPresentableUrl() + "?",
+                                            TITLE, Messages.getQuestionIcon()) != Messages.YES)
+            {
+            return;
+            }
+
+        VirtualFile vDir;
+        try
+            {
+            // write through the VFS, so open editors and undo see the new sources
+            vDir = WriteCommandAction.writeCommandAction(project).withName(TITLE).compute(() ->
+                {
+                VirtualFile vDirNew = VfsUtil.createDirectoryIfMissing(root, sPath);
+                for (Map.Entry<String, String> entry : mapFiles.entrySet())
+                    {
+                    VirtualFile vFile = vDirNew.findChild(entry.getKey());
+                    if (vFile == null)
+                        {
+                        vFile = vDirNew.createChildData(GeneratePofBenchmarksAction.class, entry.getKey());
+                        }
+                    VfsUtil.saveText(vFile, entry.getValue());
+                    }
+                return vDirNew;
+                });
+            }
+        catch (IOException ex)
+            {
+            Messages.showErrorDialog(project, "Could not write the POF benchmarks: " + ex.getMessage(), TITLE);
+            return;
+            }
+
+        VirtualFile vFile = vDir.findChild("PofSerializationBenchmark.java");
+        if (vFile != null)
+            {
+            FileEditorManager.getInstance(project).openFile(vFile, true);
+            }
+
+        Messages.showInfoMessage(project, "Generated JMH benchmarks for " + listNames.size()
+                                          + " @PortableType classes in " + vDir.getPresentableUrl() + ".\n"
+                                          + "Run them with the Gradle JMH plugin (me.champeau.jmh), or add the "
+                                          + "directory to a Maven module that uses JMH.", TITLE);
+        }
+
+    /**
+     * Return the {@code @PortableType} classes of a module that can be benchmarked.
+     *
+     * @param module    the module
+     * @param snapshot  the snapshot of the project's {@code @PortableType} classes
+     *
+     * @return  the binary names of the classes that can be instantiated
+     */
+    private static List<String> getBenchmarkTypes(Module module, PofTypeSnapshot snapshot)
+        {
+        JavaPsiFacade     facade    = JavaPsiFacade.getInstance(module.getProject());
+        GlobalSearchScope scope     = GlobalSearchScope.moduleScope(module);
+        List<String>      listNames = new ArrayList<>();
+
+        for (PortableType type : snapshot.getTypes())
+            {
+            if (module.getName().equals(type.getModule()))
+                {
+                PsiClass cls = facade.findClass(type.getClassName().replace('$', '.'), scope);
+                if (cls != null && !cls.isInterface() && !cls.isEnum()
+                        && !cls.hasModifierProperty(PsiModifier.ABSTRACT)
+                        && (cls.getContainingClass() == null || cls.hasModifierProperty(PsiModifier.STATIC)))
+                    {
+                    listNames.add(type.getClassName());
+                    }
+                }
+            }
+        return listNames;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The title of the messages.
+     */
+    private static final String TITLE = "POF JMH Benchmarks";
+    }
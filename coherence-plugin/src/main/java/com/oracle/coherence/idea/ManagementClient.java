@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * A client of the Coherence Management over REST API that samples the metrics
+ * shown in the Coherence metrics tool window.
+ * <p>
+ * Each sample requests only the attributes that are shown, without the links
+ * the API adds to every item, so polling a cluster with many caches stays cheap
+ * for both the cluster and the IDE.
+ *
+ * @author agent  2026.10.18
+ */
+public class ManagementClient
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link ManagementClient}.
+     *
+     * @param sUrl  the URL of the cluster resource, for example
+     *              {@code http://localhost:30000/management/coherence/cluster}
+     *
+     * @throws IllegalArgumentException  if the URL is not a valid http or https URL
+     */
+    public ManagementClient(String sUrl)
+        {
+        this.sUrl   = validate(trimSlashes(sUrl));
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        }
+
+    // ----- ManagementClient methods ---------------------------------------
+
+    /**
+     * Return the URL of the cluster resource.
+     *
+     * @return  the URL of the cluster resource
+     */
+    public String getUrl()
+        {
+        return sUrl;
+        }
+
+    /**
+     * Sample the metrics of the cluster.
+     *
+     * @param previous  the previous sample to calculate rates from, or {@code null}
+     *
+     * @return  the sample
+     *
+     * @throws IOException          if the cluster cannot be reached or returns an error
+     * @throws InterruptedException if the thread is interrupted
+     */
+    public ManagementMetrics sample(ManagementMetrics previous) throws IOException, InterruptedException
+        {
+        String sCaches   = get("caches", CACHE_FIELDS);
+        String sServices = get("services", SERVICE_FIELDS);
+        String sMembers  = get("members", MEMBER_FIELDS);
+
+        try
+            {
+            return ManagementMetrics.parse(sCaches, sServices, sMembers, previous, System.nanoTime());
+            }
+        catch (IllegalArgumentException e)
+            {
+            throw new IOException(e.getMessage(), e);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Get a collection resource of the cluster.
+     *
+     * @param sResource  the name of the resource
+     * @param sFields    the attributes to return
+     *
+     * @return  the response
+     *
+     * @throws IOException          if the cluster cannot be reached or returns an error
+     * @throws InterruptedException if the thread is interrupted
+     */
+    private String get(String sResource, String sFields) throws IOException, InterruptedException
+        {
+        URI         uri     = URI.create(sUrl + '/' + sResource + "?links=&fields=" + sFields);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            {
+            throw new IOException("GET " + uri + " returned HTTP " + response.statusCode());
+            }
+        return response.body();
+        }
+
+    /**
+     * Validate the URL of a cluster resource.
+     *
+     * @param sUrl  the URL
+     *
+     * @return  the URL
+     *
+     * @throws IllegalArgumentException  if the URL is not a valid http or https URL
+     */
+    private static String validate(String sUrl)
+        {
+        URI    uri     = URI.create(sUrl);
+        String sScheme = uri.getScheme();
+        if (sScheme == null || !(sScheme.equalsIgnoreCase("http") || sScheme.equalsIgnoreCase("https")))
+            {
+            throw new IllegalArgumentException("the URL must start with http:// or https://");
+            }
+        if (uri.getHost() == null)
+            {
+            throw new IllegalArgumentException("the URL has no host");
+            }
+        return sUrl;
+        }
+
+    /**
+     * Remove the trailing slashes of a URL.
+     *
+     * @param sUrl  the URL
+     *
+     * @return  the URL without trailing slashes
+     */
+    private static String trimSlashes(String sUrl)
+        {
+        String s = sUrl.trim();
+        while (s.endsWith("/"))
+            {
+            s = s.substring(0, s.length() - 1);
+            }
+        return s;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default URL of the cluster resource of a local cluster.
+     */
+    public static final String DEFAULT_URL = "http://localhost:30000/management/coherence/cluster";
+
+    /**
+     * The connect and request timeout.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The cache attributes to return.
+     */
+    private static final String CACHE_FIELDS =
+            "name,service,tier,size,units,totalGets,totalPuts,cacheHits,cacheMisses,averageGetMillis";
+
+    /**
+     * The service attributes to return.
+     */
+    private static final String SERVICE_FIELDS =
+            "name,type,taskBacklog,threadCount,threadAverageActiveCount,requestMaxDuration";
+
+    /**
+     * The member attributes to return.
+     */
+    private static final String MEMBER_FIELDS = "nodeId,memberName,machineName,memoryMaxMB,memoryAvailableMB";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The URL of the cluster resource.
+     */
+    private final String sUrl;
+
+    /**
+     * The HTTP client.
+     */
+    private final HttpClient client;
+    }
@@ -0,0 +1,661 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sample of the cache, service and member metrics of a Coherence cluster,
+ * read from the Coherence Management over REST API.
+ * <p>
+ * The API returns cumulative counters, so the rates are calculated from the
+ * difference to the previous sample. A metric that cannot be calculated, for
+ * example a rate in the first sample, is {@link Double#NaN}.
+ * <p>
+ * When the API aggregates an attribute of several members it returns an object
+ * with the {@code sum}, {@code average}, {@code min} and {@code max} of the
+ * values, rather than a number; both forms are accepted.
+ *
+ * @author agent  2026.10.18
+ */
+public class ManagementMetrics
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link ManagementMetrics}.
+     *
+     * @param ldtNanos      the time of the sample, from {@link System#nanoTime()}
+     * @param listCaches    the cache metrics
+     * @param listServices  the service metrics
+     * @param listMembers   the member metrics
+     */
+    public ManagementMetrics(long ldtNanos, List<CacheMetrics> listCaches, List<ServiceMetrics> listServices,
+                             List<MemberMetrics> listMembers)
+        {
+        this.ldtNanos     = ldtNanos;
+        this.listCaches   = Collections.unmodifiableList(listCaches);
+        this.listServices = Collections.unmodifiableList(listServices);
+        this.listMembers  = Collections.unmodifiableList(listMembers);
+        }
+
+    // ----- ManagementMetrics methods --------------------------------------
+
+    /**
+     * Return the time of the sample.
+     *
+     * @return  the time of the sample, from {@link System#nanoTime()}
+     */
+    public long getTime()
+        {
+        return ldtNanos;
+        }
+
+    /**
+     * Return the cache metrics, ordered by service and cache name.
+     *
+     * @return  the cache metrics
+     */
+    public List<CacheMetrics> getCaches()
+        {
+        return listCaches;
+        }
+
+    /**
+     * Return the service metrics, ordered by service name.
+     *
+     * @return  the service metrics
+     */
+    public List<ServiceMetrics> getServices()
+        {
+        return listServices;
+        }
+
+    /**
+     * Return the member metrics, ordered by member id.
+     *
+     * @return  the member metrics
+     */
+    public List<MemberMetrics> getMembers()
+        {
+        return listMembers;
+        }
+
+    /**
+     * Parse the responses of the caches, services and members resources.
+     *
+     * @param sCaches    the caches response
+     * @param sServices  the services response
+     * @param sMembers   the members response
+     * @param previous   the previous sample to calculate rates from, or {@code null}
+     * @param ldtNanos   the time of the sample, from {@link System#nanoTime()}
+     *
+     * @return  the sample
+     *
+     * @throws IllegalArgumentException if a response is not valid JSON
+     */
+    public static ManagementMetrics parse(String sCaches, String sServices, String sMembers,
+                                          ManagementMetrics previous, long ldtNanos)
+        {
+        Map<String, CacheMetrics> mapPrevious = new HashMap<>();
+        double                    cSeconds    = Double.NaN;
+        if (previous != null && ldtNanos > previous.ldtNanos)
+            {
+            cSeconds = (ldtNanos - previous.ldtNanos) / 1_000_000_000.0;
+            for (CacheMetrics cache : previous.listCaches)
+                {
+                mapPrevious.put(cache.getKey(), cache);
+                }
+            }
+
+        List<CacheMetrics> listCaches = new ArrayList<>();
+        for (JsonObject json : getItems(sCaches))
+            {
+            CacheMetrics cache = new CacheMetrics(json);
+            cache.calculate(mapPrevious.get(cache.getKey()), cSeconds);
+            listCaches.add(cache);
+            }
+        listCaches.sort(Comparator.comparing(CacheMetrics::getKey));
+
+        List<ServiceMetrics> listServices = new ArrayList<>();
+        for (JsonObject json : getItems(sServices))
+            {
+            listServices.add(new ServiceMetrics(json));
+            }
+        listServices.sort(Comparator.comparing(ServiceMetrics::getName));
+
+        List<MemberMetrics> listMembers = new ArrayList<>();
+        for (JsonObject json : getItems(sMembers))
+            {
+            listMembers.add(new MemberMetrics(json));
+            }
+        listMembers.sort(Comparator.comparingInt(MemberMetrics::getId));
+
+        return new ManagementMetrics(ldtNanos, listCaches, listServices, listMembers);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the items of a collection response.
+     *
+     * @param sJson  the response
+     *
+     * @return  the items of the response
+     */
+    private static List<JsonObject> getItems(String sJson)
+        {
+        List<JsonObject> listItems = new ArrayList<>();
+        if (sJson == null || sJson.isBlank())
+            {
+            return listItems;
+            }
+
+        try
+            {
+            JsonElement json  = JsonParser.parseString(sJson);
+            JsonElement items = json.isJsonObject() ? json.getAsJsonObject().get("items") : null;
+            if (items != null && items.isJsonArray())
+                {
+                for (JsonElement item : (JsonArray) items)
+                    {
+                    if (item.isJsonObject())
+                        {
+                        listItems.add(item.getAsJsonObject());
+                        }
+                    }
+                }
+            }
+        catch (RuntimeException e)
+            {
+            throw new IllegalArgumentException("Invalid management response: " + e.getMessage(), e);
+            }
+        return listItems;
+        }
+
+    /**
+     * Return a numeric attribute of an item.
+     *
+     * @param json        the item
+     * @param sName       the name of the attribute
+     * @param sAggregate  the aggregate to use if the attribute is aggregated
+     *                    across members, such as {@code sum} or {@code max}
+     *
+     * @return  the value, or {@link Double#NaN} if the item has no such numeric attribute
+     */
+    static double getNumber(JsonObject json, String sName, String sAggregate)
+        {
+        JsonElement value = json.get(sName);
+        if (value != null && value.isJsonObject())
+            {
+            value = value.getAsJsonObject().get(sAggregate);
+            }
+        if (value == null || !value.isJsonPrimitive() || value.getAsJsonPrimitive().isBoolean())
+            {
+            return Double.NaN;
+            }
+
+        try
+            {
+            // some attributes, such as the member id, are returned as strings
+            return value.getAsDouble();
+            }
+        catch (NumberFormatException e)
+            {
+            return Double.NaN;
+            }
+        }
+
+    /**
+     * Return a text attribute of an item.
+     *
+     * @param json   the item
+     * @param sName  the name of the attribute
+     *
+     * @return  the value, or an empty string if the item has no such attribute
+     */
+    static String getText(JsonObject json, String sName)
+        {
+        JsonElement value = json.get(sName);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : "";
+        }
+
+    /**
+     * Return the rate of change of a counter.
+     *
+     * @param dflValue     the current value of the counter
+     * @param dflPrevious  the previous value of the counter
+     * @param cSeconds     the seconds between the values
+     *
+     * @return  the rate per second, or {@link Double#NaN} if it cannot be calculated
+     */
+    private static double rate(double dflValue, double dflPrevious, double cSeconds)
+        {
+        double dflDelta = dflValue - dflPrevious;
+
+        // a counter that went down has been reset, for example by a member leaving
+        return cSeconds > 0 && dflDelta >= 0 ? dflDelta / cSeconds : Double.NaN;
+        }
+
+    // ----- inner class: CacheMetrics --------------------------------------
+
+    /**
+     * The metrics of a cache, or of one tier of a near cache.
+     */
+    public static class CacheMetrics
+        {
+        /**
+         * Create a {@link CacheMetrics} from an item of the caches resource.
+         *
+         * @param json  the item
+         */
+        CacheMetrics(JsonObject json)
+            {
+            sService        = getText(json, "service");
+            sName           = getText(json, "name");
+            sTier           = getText(json, "tier");
+            dflSize         = getNumber(json, "size", "sum");
+            dflUnits        = getNumber(json, "units", "sum");
+            dflGets         = getNumber(json, "totalGets", "sum");
+            dflPuts         = getNumber(json, "totalPuts", "sum");
+            dflHits         = getNumber(json, "cacheHits", "sum");
+            dflMisses       = getNumber(json, "cacheMisses", "sum");
+            dflAverageMs    = getNumber(json, "averageGetMillis", "average");
+            dflMaxAverageMs = getNumber(json, "averageGetMillis", "max");
+            }
+
+        /**
+         * Calculate the rates of this cache.
+         *
+         * @param previous  the previous metrics of the cache, or {@code null}
+         * @param cSeconds  the seconds since the previous metrics
+         */
+        void calculate(CacheMetrics previous, double cSeconds)
+            {
+            double dflHitsDelta   = dflHits;
+            double dflMissesDelta = dflMisses;
+            if (previous != null)
+                {
+                dflGetsPerSecond = rate(dflGets, previous.dflGets, cSeconds);
+                dflPutsPerSecond = rate(dflPuts, previous.dflPuts, cSeconds);
+                if (dflHits >= previous.dflHits && dflMisses >= previous.dflMisses)
+                    {
+                    dflHitsDelta   = dflHits - previous.dflHits;
+                    dflMissesDelta = dflMisses - previous.dflMisses;
+                    }
+                }
+
+            // the hit ratio is for the last interval, or since the start if nothing was read in it
+            double dflReads = dflHitsDelta + dflMissesDelta;
+            if (dflReads > 0)
+                {
+                dflHitRatio = dflHitsDelta / dflReads;
+                }
+            else if (dflHits + dflMisses > 0)
+                {
+                dflHitRatio = dflHits / (dflHits + dflMisses);
+                }
+            }
+
+        /**
+         * Return the key that identifies the cache in a sample.
+         *
+         * @return  the key that identifies the cache
+         */
+        public String getKey()
+            {
+            return sService + '/' + sName + (sTier.isEmpty() ? "" : '/' + sTier);
+            }
+
+        /**
+         * Return the name of the service of the cache.
+         *
+         * @return  the name of the service
+         */
+        public String getService()
+            {
+            return sService;
+            }
+
+        /**
+         * Return the name of the cache, with its tier for a near cache.
+         *
+         * @return  the name of the cache
+         */
+        public String getName()
+            {
+            return "front".equals(sTier) ? sName + " (front)" : sName;
+            }
+
+        /**
+         * Return the number of entries in the cache.
+         *
+         * @return  the number of entries
+         */
+        public double getSize()
+            {
+            return dflSize;
+            }
+
+        /**
+         * Return the units used by the cache.
+         *
+         * @return  the units used by the cache
+         */
+        public double getUnits()
+            {
+            return dflUnits;
+            }
+
+        /**
+         * Return the gets per second since the previous sample.
+         *
+         * @return  the gets per second
+         */
+        public double getGetsPerSecond()
+            {
+            return dflGetsPerSecond;
+            }
+
+        /**
+         * Return the puts per second since the previous sample.
+         *
+         * @return  the puts per second
+         */
+        public double getPutsPerSecond()
+            {
+            return dflPutsPerSecond;
+            }
+
+        /**
+         * Return the ratio of gets that found an entry.
+         *
+         * @return  the hit ratio, between zero and one
+         */
+        public double getHitRatio()
+            {
+            return dflHitRatio;
+            }
+
+        /**
+         * Return the average get latency across the members.
+         *
+         * @return  the average get latency in milliseconds
+         */
+        public double getAverageMillis()
+            {
+            return dflAverageMs;
+            }
+
+        /**
+         * Return the highest average get latency of any member.
+         *
+         * @return  the highest average get latency in milliseconds
+         */
+        public double getMaxAverageMillis()
+            {
+            return dflMaxAverageMs;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        private final String sService;
+
+        private final String sName;
+
+        private final String sTier;
+
+        private final double dflSize;
+
+        private final double dflUnits;
+
+        private final double dflGets;
+
+        private final double dflPuts;
+
+        private final double dflHits;
+
+        private final double dflMisses;
+
+        private final double dflAverageMs;
+
+        private final double dflMaxAverageMs;
+
+        private double dflGetsPerSecond = Double.NaN;
+
+        private double dflPutsPerSecond = Double.NaN;
+
+        private double dflHitRatio = Double.NaN;
+        }
+
+    // ----- inner class: ServiceMetrics ------------------------------------
+
+    /**
+     * The metrics of a service, across all of its members.
+     */
+    public static class ServiceMetrics
+        {
+        /**
+         * Create a {@link ServiceMetrics} from an item of the services resource.
+         *
+         * @param json  the item
+         */
+        ServiceMetrics(JsonObject json)
+            {
+            sName            = getText(json, "name");
+            sType            = getText(json, "type");
+            dflTaskBacklog   = getNumber(json, "taskBacklog", "sum");
+            dflThreadCount   = getNumber(json, "threadCount", "sum");
+            dflThreadsActive = getNumber(json, "threadAverageActiveCount", "sum");
+            dflRequestMaxMs  = getNumber(json, "requestMaxDuration", "max");
+            }
+
+        /**
+         * Return the name of the service.
+         *
+         * @return  the name of the service
+         */
+        public String getName()
+            {
+            return sName;
+            }
+
+        /**
+         * Return the type of the service.
+         *
+         * @return  the type of the service
+         */
+        public String getType()
+            {
+            return sType;
+            }
+
+        /**
+         * Return the number of tasks waiting for a thread.
+         *
+         * @return  the task backlog
+         */
+        public double getTaskBacklog()
+            {
+            return dflTaskBacklog;
+            }
+
+        /**
+         * Return the number of worker threads.
+         *
+         * @return  the number of worker threads
+         */
+        public double getThreadCount()
+            {
+            return dflThreadCount;
+            }
+
+        /**
+         * Return the ratio of the worker threads that are busy on average.
+         *
+         * @return  the thread utilization, between zero and one
+         */
+        public double getThreadUtilization()
+            {
+            return dflThreadCount > 0 ? Math.min(1.0, dflThreadsActive / dflThreadCount) : Double.NaN;
+            }
+
+        /**
+         * Return the longest request duration of any member.
+         *
+         * @return  the longest request duration in milliseconds
+         */
+        public double getRequestMaxMillis()
+            {
+            return dflRequestMaxMs;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        private final String sName;
+
+        private final String sType;
+
+        private final double dflTaskBacklog;
+
+        private final double dflThreadCount;
+
+        private final double dflThreadsActive;
+
+        private final double dflRequestMaxMs;
+        }
+
+    // ----- inner class: MemberMetrics -------------------------------------
+
+    /**
+     * The metrics of a cluster member.
+     */
+    public static class MemberMetrics
+        {
+        /**
+         * Create a {@link MemberMetrics} from an item of the members resource.
+         *
+         * @param json  the item
+         */
+        MemberMetrics(JsonObject json)
+            {
+            double dflId = getNumber(json, "nodeId", "min");
+
+            nId           = Double.isNaN(dflId) ? 0 : (int) dflId;
+            sName         = getText(json, "memberName");
+            sMachine      = getText(json, "machineName");
+            dflHeapMaxMb  = getNumber(json, "memoryMaxMB", "sum");
+            dflHeapUsedMb = dflHeapMaxMb - getNumber(json, "memoryAvailableMB", "sum");
+            }
+
+        /**
+         * Return the id of the member.
+         *
+         * @return  the id of the member
+         */
+        public int getId()
+            {
+            return nId;
+            }
+
+        /**
+         * Return the name of the member.
+         *
+         * @return  the name of the member, or an empty string
+         */
+        public String getName()
+            {
+            return sName;
+            }
+
+        /**
+         * Return the name of the machine of the member.
+         *
+         * @return  the name of the machine, or an empty string
+         */
+        public String getMachine()
+            {
+            return sMachine;
+            }
+
+        /**
+         * Return the heap used by the member.
+         *
+         * @return  the heap used in megabytes
+         */
+        public double getHeapUsedMb()
+            {
+            return dflHeapUsedMb;
+            }
+
+        /**
+         * Return the maximum heap of the member.
+         *
+         * @return  the maximum heap in megabytes
+         */
+        public double getHeapMaxMb()
+            {
+            return dflHeapMaxMb;
+            }
+
+        /**
+         * Return the ratio of the maximum heap that is used.
+         *
+         * @return  the heap utilization, between zero and one
+         */
+        public double getHeapUtilization()
+            {
+            return dflHeapMaxMb > 0 ? dflHeapUsedMb / dflHeapMaxMb : Double.NaN;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        private final int nId;
+
+        private final String sName;
+
+        private final String sMachine;
+
+        private final double dflHeapUsedMb;
+
+        private final double dflHeapMaxMb;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The time of the sample, from {@link System#nanoTime()}.
+     */
+    private final long ldtNanos;
+
+    /**
+     * The cache metrics.
+     */
+    private final List<CacheMetrics> listCaches;
+
+    /**
+     * The service metrics.
+     */
+    private final List<ServiceMetrics> listServices;
+
+    /**
+     * The member metrics.
+     */
+    private final List<MemberMetrics> listMembers;
+    }
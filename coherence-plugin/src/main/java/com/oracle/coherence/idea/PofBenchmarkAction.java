@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.RunContentExecutor;
+import com.intellij.execution.configurations.JavaParameters;
+import com.intellij.execution.process.KillableColoredProcessHandler;
+import com.intellij.execution.process.OSProcessHandler;
+import com.intellij.execution.process.ProcessTerminatedListener;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.projectRoots.JavaSdkVersion;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.ClassUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+
+import com.oracle.coherence.idea.benchmark.PofBenchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An action that benchmarks the POF serialization of the {@code @PortableType}
+ * class at the caret, or selected in the project view.
+ * <p>
+ * The module is built first, so the class is instrumented by the POF
+ * generator in the build exactly as it would be for a normal build. The
+ * {@link PofBenchmark} is then run in a forked JVM with the module's class
+ * path, and its results are shown in the Run tool window.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofBenchmarkAction
+        extends AnAction
+    {
+    // ----- AnAction methods -----------------------------------------------
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread()
+        {
+        return ActionUpdateThread.BGT;
+        }
+
+    @Override
+    public void update(@NotNull AnActionEvent e)
+        {
+        PsiClass cls = getPortableType(e);
+        e.getPresentation().setEnabledAndVisible(cls != null && ModuleUtilCore.findModuleForPsiElement(cls) != null);
+        }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e)
+        {
+        Project  project = e.getProject();
+        PsiClass cls     = getPortableType(e);
+        Module   module  = cls == null ? null : ModuleUtilCore.findModuleForPsiElement(cls);
+        String   sName   = cls == null ? null : ClassUtil.getJVMClassName(cls);
+
+        if (project == null || module == null || sName == null)
+            {
+            return;
+            }
+
+        CoherenceConfig config = project.getService(CoherenceConfigService.class).getConfig();
+        if (!config.isPofGeneratorEnabled() || !config.isPofModuleEnabled(module.getName()))
+            {
+            Messages.showErrorDialog(project, "POF generation must be enabled for module " + module.getName()
+                                              + " to benchmark " + sName + ".", TITLE);
+            return;
+            }
+
+        // the benchmark runs on the module's JDK, and the plugin's classes need Java 17
+        Sdk            sdk     = ModuleRootManager.getInstance(module).getSdk();
+        JavaSdkVersion version = sdk == null ? null : JavaSdk.getInstance().getVersion(sdk);
+        if (version == null || !version.isAtLeast(MIN_JDK))
+            {
+            Messages.showErrorDialog(project, "The POF benchmark needs JDK " + MIN_JDK.getDescription()
+                                              + " or later, but module " + module.getName() + " uses "
+                                              + (sdk == null ? "no JDK" : sdk.getName()) + ".", TITLE);
+            return;
+            }
+
+        VirtualFile file   = cls.getContainingFile().getVirtualFile();
+        boolean     fTests = file != null && ProjectFileIndex.getInstance(project).isInTestSourceContent(file);
+
+        // build the module first, so the benchmark uses the class as instrumented by the build
+        CompilerManager manager = CompilerManager.getInstance(project);
+        manager.make(manager.createModuleCompileScope(module, false), (fAborted, cErrors, cWarnings, context) ->
+            {
+            if (!fAborted && cErrors == 0 && !project.isDisposed())
+                {
+                runBenchmark(project, module, sName, fTests);
+                }
+            });
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Run the {@link PofBenchmark} in a forked JVM.
+     *
+     * @param project  the {@link Project}
+     * @param module   the {@link Module} that contains the class
+     * @param sName    the binary name of the class to benchmark
+     * @param fTests   {@code true} if the class is in a test source root
+     */
+    private static void runBenchmark(Project project, Module module, String sName, boolean fTests)
+        {
+        try
+            {
+            JavaParameters params = new JavaParameters();
+            params.configureByModule(module, fTests ? JavaParameters.JDK_AND_CLASSES_AND_TESTS
+                                                    : JavaParameters.JDK_AND_CLASSES);
+            params.getClassPath().add(PathManager.getJarPathForClass(PofBenchmark.class));
+            params.setMainClass(PofBenchmark.class.getName());
+            params.getProgramParametersList().add(sName);
+            params.setUseDynamicClasspath(project);
+
+            OSProcessHandler handler = new KillableColoredProcessHandler(params.toCommandLine());
+            ProcessTerminatedListener.attach(handler);
+
+            new RunContentExecutor(project, handler)
+                    .withTitle(TITLE + ": " + sName.substring(sName.lastIndexOf('.') + 1))
+                    .withActivateToolWindow(true)
+                    .run();
+            }
+        catch (ExecutionException e)
+            {
+            Messages.showErrorDialog(project, "Could not run the POF benchmark of " + sName + ": "
+                                              + e.getMessage(), TITLE);
+            }
+        }
+
+    /**
+     * Return the {@code @PortableType} class at the caret, or selected in a view.
+     *
+     * @param e  the {@link AnActionEvent}
+     *
+     * @return  the {@code @PortableType} class, or {@code null} if there is none
+     */
+    private static PsiClass getPortableType(AnActionEvent e)
+        {
+        PsiElement element = e.getData(CommonDataKeys.PSI_ELEMENT);
+        Editor     editor  = e.getData(CommonDataKeys.EDITOR);
+        PsiFile    file    = e.getData(CommonDataKeys.PSI_FILE);
+
+        if (!(element instanceof PsiClass) && editor != null && file != null)
+            {
+            element = file.findElementAt(editor.getCaretModel().getOffset());
+            }
+
+        PsiClass cls = element instanceof PsiClass ? (PsiClass) element
+                                                   : PsiTreeUtil.getParentOfType(element, PsiClass.class);
+        return cls != null && cls.hasAnnotation(PortableTypeIndex.QUALIFIED_NAME) ? cls : null;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The title of the benchmark messages and results.
+     */
+    private static final String TITLE = "POF Benchmark";
+
+    /**
+     * The oldest JDK that the {@link PofBenchmark} can run on, which is the
+     * release the plugin is compiled for.
+     */
+    private static final JavaSdkVersion MIN_JDK = JavaSdkVersion.JDK_17;
+    }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the sources of a JMH benchmark harness for a set of
+ * {@code @PortableType} classes.
+ * <p>
+ * The harness benchmarks serializing, deserializing, extracting a property
+ * from and round-tripping each class, for a range of payload sizes. It only
+ * depends on Coherence and JMH, so it can run in a CI build without the plugin.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofJmhGenerator
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofJmhGenerator}.
+     *
+     * @param sPackage  the package of the generated classes
+     */
+    public PofJmhGenerator(String sPackage)
+        {
+        this.sPackage = sPackage;
+        }
+
+    // ----- PofJmhGenerator methods ----------------------------------------
+
+    /**
+     * Generate the harness sources.
+     *
+     * @param colClassNames  the binary names of the {@code @PortableType} classes
+     *
+     * @return  the source of each generated class keyed by file name
+     *
+     * @throws IOException if a template cannot be read
+     */
+    public Map<String, String> generate(Collection<String> colClassNames) throws IOException
+        {
+        StringBuilder sbTypes = new StringBuilder();
+        for (String sClassName : new TreeSet<>(colClassNames))
+            {
+            sbTypes.append(sbTypes.length() == 0 ? "" : ",").append("\n            \"")
+                   .append(sClassName).append('"');
+            }
+
+        Map<String, String> mapFiles = new TreeMap<>();
+        for (String sTemplate : TEMPLATES)
+            {
+            String sSource = readTemplate(sTemplate)
+                    .replace("${package}", sPackage)
+                    .replace("${types}", sbTypes);
+            mapFiles.put(sTemplate + ".java", sSource);
+            }
+        return mapFiles;
+        }
+
+    /**
+     * Return the path of the generated sources relative to a source root.
+     *
+     * @return  the path of the generated sources
+     */
+    public String getPackagePath()
+        {
+        return sPackage.replace('.', '/');
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Read a JMH source template from the plugin resources.
+     *
+     * @param sName  the name of the template, which is also the name of the
+     *               generated class
+     *
+     * @return  the content of the template
+     *
+     * @throws IOException  if the template is missing or cannot be read
+     */
+    private static String readTemplate(String sName) throws IOException
+        {
+        try (InputStream in = PofJmhGenerator.class.getResourceAsStream("/templates/jmh/" + sName + ".java.template"))
+            {
+            if (in == null)
+                {
+                throw new IOException("Missing JMH template " + sName);
+                }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default package of the generated classes.
+     */
+    public static final String DEFAULT_PACKAGE = "pof.jmh";
+
+    /**
+     * The source root of the generated classes, relative to the module's content
+     * root, which is the JMH source set of the Gradle JMH plugin.
+     */
+    public static final String SOURCE_ROOT = "src/jmh/java";
+
+    /**
+     * The names of the templates of the generated classes.
+     */
+    private static final String[] TEMPLATES = {"PofSerializationBenchmark", "PofBenchmarkData"};
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The package of the generated classes.
+     */
+    private final String sPackage;
+    }
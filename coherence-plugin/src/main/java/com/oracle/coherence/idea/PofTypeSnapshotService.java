@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.compiler.server.BuildManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The service that exports a {@link PofTypeSnapshot} of the
+ * {@link PortableTypeIndex} to the build process.
+ * <p>
+ * The snapshot is written to the build data directory of the project, which
+ * the build process reads it from, rather than to the project settings, so
+ * exporting it neither saves the project nor changes any file under version
+ * control.
+ *
+ * @author agent  2026.10.18
+ */
+@Service(Service.Level.PROJECT)
+public final class PofTypeSnapshotService
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofTypeSnapshotService}.
+     *
+     * @param project  the {@link Project} the snapshot is for
+     */
+    public PofTypeSnapshotService(Project project)
+        {
+        this.project = project;
+        }
+
+    // ----- PofTypeSnapshotService methods ---------------------------------
+
+    /**
+     * Return the current snapshot.
+     *
+     * @return  the current snapshot
+     */
+    public PofTypeSnapshot getSnapshot()
+        {
+        return snapshot;
+        }
+
+    /**
+     * Take a new snapshot of the {@link PortableTypeIndex}.
+     * <p>
+     * The previous snapshot is kept while the index is being updated.
+     *
+     * @return  {@code true} if a new snapshot was taken, or {@code false} if
+     *          the index is being updated
+     */
+    public boolean refresh()
+        {
+        if (DumbService.isDumb(project))
+            {
+            return false;
+            }
+
+        // take the time first, so that a source saved while the index is
+        // read is treated as newer than the snapshot
+        long ldtStart = System.currentTimeMillis();
+
+        PofTypeSnapshot snapshotNew;
+        try
+            {
+            snapshotNew = ReadAction.compute(this::createSnapshot);
+            }
+        catch (IndexNotReadyException e)
+            {
+            // the index started to be updated while it was read
+            return false;
+            }
+        snapshotNew.setTimestamp(ldtStart);
+        snapshot = snapshotNew;
+        return true;
+        }
+
+    /**
+     * Take a new snapshot of the {@link PortableTypeIndex} and write it to the
+     * build data directory of the project, where the build process reads it from.
+     * <p>
+     * While the index is being updated, the previous snapshot may be out of
+     * date, so any exported snapshot is deleted instead and the build process
+     * scans the classes itself.
+     */
+    public void export()
+        {
+        File dirData = BuildManager.getInstance().getProjectSystemDirectory(project);
+        try
+            {
+            if (refresh())
+                {
+                snapshot.write(dirData);
+                }
+            else
+                {
+                PofTypeSnapshot.delete(dirData);
+                }
+            }
+        catch (IOException e)
+            {
+            // the snapshot is only an optimization, so the build does without it
+            LOGGER.info("Could not export the POF type snapshot to " + dirData + " - " + e.getMessage());
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create a snapshot of the {@code @PortableType} classes in the project
+     * and its libraries.
+     *
+     * @return  the snapshot, without a timestamp
+     */
+    private PofTypeSnapshot createSnapshot()
+        {
+        FileBasedIndex    index     = FileBasedIndex.getInstance();
+        ProjectFileIndex  fileIndex = ProjectFileIndex.getInstance(project);
+        GlobalSearchScope scope     = GlobalSearchScope.allScope(project);
+        PofTypeSnapshot   snapshot  = new PofTypeSnapshot();
+
+        for (String sClassName : index.getAllKeys(PortableTypeIndex.NAME, project))
+            {
+            index.processValues(PortableTypeIndex.NAME, sClassName, null, (file, type) ->
+                {
+                String sModule  = null;
+                String sLibrary = null;
+
+                if (fileIndex.isInLibraryClasses(file))
+                    {
+                    VirtualFile root = fileIndex.getClassRootForFile(file);
+                    VirtualFile jar  = root == null ? null : VfsUtilCore.getVirtualFileForJar(root);
+                    sLibrary = jar == null ? null : jar.getPath();
+                    }
+                else
+                    {
+                    Module module = fileIndex.getModuleForFile(file);
+                    sModule = module == null ? null : module.getName();
+                    }
+
+                if (sModule != null || sLibrary != null)
+                    {
+                    snapshot.add(new PortableType(type.getClassName(), type.getId(), type.getSuperName(),
+                                                  sModule, sLibrary));
+                    }
+                return true;
+                }, scope);
+            }
+        return snapshot;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(PofTypeSnapshotService.class);
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The project the snapshot is for.
+     */
+    private final Project project;
+
+    /**
+     * The current snapshot.
+     */
+    private volatile PofTypeSnapshot snapshot = new PofTypeSnapshot();
+    }
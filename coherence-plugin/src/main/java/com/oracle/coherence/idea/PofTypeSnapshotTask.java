@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.openapi.compiler.CompileContext;
+import com.intellij.openapi.compiler.CompileTask;
+import com.intellij.openapi.project.Project;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link CompileTask} that exports a fresh {@link PofTypeSnapshot} before
+ * each build, so that the POF generator in the build process can use it.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofTypeSnapshotTask
+        implements CompileTask
+    {
+    @Override
+    public boolean execute(@NotNull CompileContext context)
+        {
+        Project         project = context.getProject();
+        CoherenceConfig config  = project.getService(CoherenceConfigService.class).getConfig();
+
+        if (config.isPofGeneratorEnabled())
+            {
+            project.getService(PofTypeSnapshotService.class).export();
+            }
+
+        // the snapshot is only an optimization, so never stop the build
+        return true;
+        }
+    }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the {@code @PortableType} classes in Java sources and in the
+ * class files of libraries, keyed by their POF type identifier, so that the
+ * classes that share an identifier can be found without scanning every type.
+ * <p>
+ * Only classes with a literal type identifier are indexed.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeIdIndex
+        extends FileBasedIndexExtension<Integer, List<String>>
+    {
+    // ----- FileBasedIndexExtension methods --------------------------------
+
+    @NotNull
+    @Override
+    public ID<Integer, List<String>> getName()
+        {
+        return NAME;
+        }
+
+    @NotNull
+    @Override
+    public DataIndexer<Integer, List<String>, FileContent> getIndexer()
+        {
+        return content ->
+            {
+            // a file may declare more than one class with the same identifier
+            Map<Integer, List<String>> map = new HashMap<>();
+            for (PortableType type : PortableTypeIndex.getPortableTypes(content).values())
+                {
+                if (type.getId() != PortableType.NO_ID)
+                    {
+                    map.computeIfAbsent(type.getId(), nId -> new ArrayList<>()).add(type.getClassName());
+                    }
+                }
+            return map;
+            };
+        }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<Integer> getKeyDescriptor()
+        {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+        }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<String>> getValueExternalizer()
+        {
+        return EXTERNALIZER;
+        }
+
+    @Override
+    public int getVersion()
+        {
+        return 2;
+        }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter()
+        {
+        return PortableTypeIndex.INPUT_FILTER;
+        }
+
+    @Override
+    public boolean dependsOnFileContent()
+        {
+        return true;
+        }
+
+    // ----- inner class: Externalizer --------------------------------------
+
+    /**
+     * The {@link DataExternalizer} for the indexed class names.
+     */
+    private static class Externalizer
+            implements DataExternalizer<List<String>>
+        {
+        @Override
+        public void save(@NotNull DataOutput out, List<String> listNames) throws IOException
+            {
+            out.writeInt(listNames.size());
+            for (String sName : listNames)
+                {
+                IOUtil.writeUTF(out, sName);
+                }
+            }
+
+        @Override
+        public List<String> read(@NotNull DataInput in) throws IOException
+            {
+            int          cNames    = in.readInt();
+            List<String> listNames = new ArrayList<>(cNames);
+            for (int i = 0; i < cNames; i++)
+                {
+                listNames.add(IOUtil.readUTF(in));
+                }
+            return listNames;
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The identifier of the index.
+     */
+    public static final ID<Integer, List<String>> NAME = ID.create("coherence.pof.portable.type.ids");
+
+    /**
+     * The externalizer for the indexed values.
+     */
+    private static final DataExternalizer<List<String>> EXTERNALIZER = new Externalizer();
+    }
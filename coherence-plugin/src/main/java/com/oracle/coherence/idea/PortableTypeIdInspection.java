@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.ClassUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An inspection that reports {@code @PortableType} classes whose POF type
+ * identifier is missing or invalid, or is also used by another class that is
+ * visible to the class, in the project or in its libraries.
+ * <p>
+ * The other classes are found with the {@link PortableTypeIdIndex}, so only
+ * classes declared with a literal type identifier are found.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeIdInspection
+        extends AbstractBaseJavaLocalInspectionTool
+    {
+    // ----- AbstractBaseJavaLocalInspectionTool methods --------------------
+
+    @Override
+    public ProblemDescriptor @Nullable [] checkClass(@NotNull PsiClass cls, @NotNull InspectionManager manager,
+                                                     boolean fOnTheFly)
+        {
+        PsiAnnotation            annotation = cls.getAnnotation(PortableTypeIndex.QUALIFIED_NAME);
+        PsiAnnotationMemberValue value      = annotation == null ? null : annotation.findDeclaredAttributeValue("id");
+        String                   sClassName = ClassUtil.getJVMClassName(cls);
+
+        if (annotation == null || sClassName == null)
+            {
+            return null;
+            }
+
+        if (value == null)
+            {
+            return new ProblemDescriptor[] {createProblem(manager, annotation, fOnTheFly,
+                                                          "@PortableType does not declare a POF type id")};
+            }
+
+        Object oId = JavaPsiFacade.getInstance(cls.getProject()).getConstantEvaluationHelper()
+                .computeConstantExpression(value);
+        if (!(oId instanceof Integer))
+            {
+            return null;
+            }
+
+        int                     nId          = (Integer) oId;
+        List<ProblemDescriptor> listProblems = new ArrayList<>();
+
+        if (nId < 0)
+            {
+            // negative identifiers are reserved for the POF intrinsic types
+            listProblems.add(createProblem(manager, value, fOnTheFly, "POF type id " + nId + " must not be negative"));
+            return listProblems.toArray(ProblemDescriptor.EMPTY_ARRAY);
+            }
+
+        FileBasedIndex    index    = FileBasedIndex.getInstance();
+        GlobalSearchScope scope    = cls.getResolveScope();
+        Set<String>       setNames = new TreeSet<>();
+
+        for (List<String> listNames : index.getValues(PortableTypeIdIndex.NAME, nId, scope))
+            {
+            setNames.addAll(listNames);
+            }
+        setNames.remove(sClassName);
+
+        if (!setNames.isEmpty())
+            {
+            listProblems.add(createProblem(manager, value, fOnTheFly,
+                                           "POF type id " + nId + " is also used by " + describe(setNames)));
+            }
+
+        // the same class may also be in a library with a different identifier,
+        // for example a stale copy of the module's own classes
+        for (PortableType type : index.getValues(PortableTypeIndex.NAME, sClassName, scope))
+            {
+            if (type.getId() != PortableType.NO_ID && type.getId() != nId)
+                {
+                listProblems.add(createProblem(manager, value, fOnTheFly,
+                                               "POF type id " + nId + " conflicts with id " + type.getId()
+                                               + " of another copy of " + sClassName));
+                break;
+                }
+            }
+
+        return listProblems.isEmpty() ? null : listProblems.toArray(ProblemDescriptor.EMPTY_ARRAY);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create a {@link ProblemDescriptor}.
+     *
+     * @param manager    the {@link InspectionManager}
+     * @param element    the element to report the problem on
+     * @param fOnTheFly  {@code true} if the inspection is running in the editor
+     * @param sMessage   the problem description
+     *
+     * @return  the {@link ProblemDescriptor}
+     */
+    private static ProblemDescriptor createProblem(InspectionManager manager, PsiElement element,
+                                                   boolean fOnTheFly, String sMessage)
+        {
+        return manager.createProblemDescriptor(element, sMessage, fOnTheFly, LocalQuickFix.EMPTY_ARRAY,
+                                               ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+        }
+
+    /**
+     * Describe the classes that share a type identifier.
+     *
+     * @param setNames  the names of the classes
+     *
+     * @return  a description of the classes
+     */
+    static String describe(Set<String> setNames)
+        {
+        StringBuilder    sb   = new StringBuilder();
+        Iterator<String> iter = setNames.iterator();
+        for (int i = 0; i < MAX_NAMES && iter.hasNext(); i++)
+            {
+            if (i > 0)
+                {
+                sb.append(", ");
+                }
+            sb.append(iter.next());
+            }
+        if (setNames.size() > MAX_NAMES)
+            {
+            sb.append(" and ").append(setNames.size() - MAX_NAMES).append(" more");
+            }
+        return sb.toString();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of class names to show in a problem description.
+     */
+    private static final int MAX_NAMES = 3;
+    }
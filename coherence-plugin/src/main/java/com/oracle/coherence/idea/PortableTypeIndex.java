@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.ide.highlighter.JavaClassFileType;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiReferenceList;
+import com.intellij.psi.util.ClassUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+import com.oracle.coherence.idea.jps.PortableTypeScanner;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of the {@code @PortableType} classes in Java sources and in the
+ * class files of libraries, keyed by the binary name of the class.
+ * <p>
+ * The index only records what can be read without resolving any references,
+ * so the super class of a source class is the name written in the source, and
+ * the type identifier is {@link PortableType#NO_ID} unless it is a literal.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeIndex
+        extends FileBasedIndexExtension<String, PortableType>
+    {
+    // ----- FileBasedIndexExtension methods --------------------------------
+
+    @NotNull
+    @Override
+    public ID<String, PortableType> getName()
+        {
+        return NAME;
+        }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, PortableType, FileContent> getIndexer()
+        {
+        return PortableTypeIndex::getPortableTypes;
+        }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor()
+        {
+        return EnumeratorStringDescriptor.INSTANCE;
+        }
+
+    @NotNull
+    @Override
+    public DataExternalizer<PortableType> getValueExternalizer()
+        {
+        return EXTERNALIZER;
+        }
+
+    @Override
+    public int getVersion()
+        {
+        return 2;
+        }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter()
+        {
+        return INPUT_FILTER;
+        }
+
+    @Override
+    public boolean dependsOnFileContent()
+        {
+        return true;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the {@code @PortableType} classes in a Java source or class file.
+     *
+     * @param content  the content of the file
+     *
+     * @return  the {@code @PortableType} classes keyed by binary name
+     */
+    static Map<String, PortableType> getPortableTypes(FileContent content)
+        {
+        return content.getFileType() == JavaClassFileType.INSTANCE
+               ? indexClassFile(content.getContent())
+               : indexSource(content);
+        }
+
+    /**
+     * Index the {@code @PortableType} classes declared in a Java source.
+     *
+     * @param content  the content of the source file
+     *
+     * @return  the {@code @PortableType} classes keyed by binary name
+     */
+    private static Map<String, PortableType> indexSource(FileContent content)
+        {
+        // most sources never mention the annotation, so avoid building their PSI
+        if (!content.getContentAsText().toString().contains(SIMPLE_NAME))
+            {
+            return Collections.emptyMap();
+            }
+
+        PsiFile file = content.getPsiFile();
+        if (!(file instanceof PsiJavaFile))
+            {
+            return Collections.emptyMap();
+            }
+
+        // the annotation is matched by name, without resolving it, so a simple
+        // name only refers to it if the file imports it or is in its package
+        PsiJavaFile   fileJava    = (PsiJavaFile) file;
+        PsiImportList listImports = fileJava.getImportList();
+        boolean       fImported   = PACKAGE_NAME.equals(fileJava.getPackageName())
+                                    || listImports != null
+                                       && (listImports.findSingleClassImportStatement(QUALIFIED_NAME) != null
+                                           || listImports.findOnDemandImportStatement(PACKAGE_NAME) != null);
+
+        Map<String, PortableType> map = new HashMap<>();
+        for (PsiClass cls : fileJava.getClasses())
+            {
+            indexClass(cls, fImported, map);
+            }
+        return map;
+        }
+
+    /**
+     * Index a source class and its inner classes.
+     *
+     * @param cls        the class to index
+     * @param fImported  {@code true} if the simple name of the annotation
+     *                   refers to {@code @PortableType} in the class's file
+     * @param map        the map to add the {@code @PortableType} classes to
+     */
+    private static void indexClass(PsiClass cls, boolean fImported, Map<String, PortableType> map)
+        {
+        PsiModifierList modifiers  = cls.getModifierList();
+        String          sClassName = ClassUtil.getJVMClassName(cls);
+
+        if (modifiers != null && sClassName != null)
+            {
+            for (PsiAnnotation annotation : modifiers.getAnnotations())
+                {
+                PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+                String                      sName     = reference == null ? null : reference.getText();
+                if ((fImported && SIMPLE_NAME.equals(sName)) || QUALIFIED_NAME.equals(sName))
+                    {
+                    map.put(sClassName, new PortableType(sClassName, getId(annotation), getSuperName(cls), null, null));
+                    break;
+                    }
+                }
+            }
+
+        for (PsiClass clsInner : cls.getInnerClasses())
+            {
+            indexClass(clsInner, fImported, map);
+            }
+        }
+
+    /**
+     * Return the type identifier of a {@code @PortableType} annotation.
+     *
+     * @param annotation  the annotation
+     *
+     * @return  the type identifier, or {@link PortableType#NO_ID} if it is not a literal
+     */
+    private static int getId(PsiAnnotation annotation)
+        {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("id");
+        if (value instanceof PsiLiteralExpression)
+            {
+            Object oValue = ((PsiLiteralExpression) value).getValue();
+            if (oValue instanceof Integer)
+                {
+                return (Integer) oValue;
+                }
+            }
+        return PortableType.NO_ID;
+        }
+
+    /**
+     * Return the name of the super class of a source class, as written in the source.
+     *
+     * @param cls  the class
+     *
+     * @return  the name of the super class, or {@code null} if it does not extend a class
+     */
+    private static String getSuperName(PsiClass cls)
+        {
+        PsiReferenceList listExtends = cls.isInterface() ? null : cls.getExtendsList();
+        if (listExtends == null || listExtends.getReferenceElements().length == 0)
+            {
+            return null;
+            }
+
+        String sName = listExtends.getReferenceElements()[0].getText();
+        int    of    = sName.indexOf('<');
+        return of < 0 ? sName : sName.substring(0, of).trim();
+        }
+
+    /**
+     * Index a class file, which is a {@code @PortableType} class if it has the
+     * annotation, whether it has been instrumented or not.
+     *
+     * @param abClass  the class file bytes
+     *
+     * @return  the {@code @PortableType} class keyed by binary name, or an empty map
+     */
+    private static Map<String, PortableType> indexClassFile(byte[] abClass)
+        {
+        try
+            {
+            ClassReader reader = new ClassReader(abClass);
+            if (PortableTypeScanner.scan(reader) == PortableTypeScanner.Kind.PLAIN)
+                {
+                return Collections.emptyMap();
+                }
+
+            String sClassName = reader.getClassName().replace('/', '.');
+            String sSuperName = reader.getSuperName();
+            int    nId        = PortableTypeScanner.getTypeId(reader);
+            sSuperName = sSuperName == null || "java/lang/Object".equals(sSuperName)
+                         ? null : sSuperName.replace('/', '.');
+
+            return Collections.singletonMap(sClassName, new PortableType(sClassName, nId, sSuperName, null, null));
+            }
+        catch (RuntimeException e)
+            {
+            // a corrupt or unsupported class file is simply not indexed
+            return Collections.emptyMap();
+            }
+        }
+
+    // ----- inner class: Externalizer --------------------------------------
+
+    /**
+     * The {@link DataExternalizer} for the indexed {@link PortableType} values.
+     */
+    private static class Externalizer
+            implements DataExternalizer<PortableType>
+        {
+        @Override
+        public void save(@NotNull DataOutput out, PortableType type) throws IOException
+            {
+            IOUtil.writeUTF(out, type.getClassName());
+            out.writeInt(type.getId());
+            out.writeBoolean(type.getSuperName() != null);
+            if (type.getSuperName() != null)
+                {
+                IOUtil.writeUTF(out, type.getSuperName());
+                }
+            }
+
+        @Override
+        public PortableType read(@NotNull DataInput in) throws IOException
+            {
+            String sClassName = IOUtil.readUTF(in);
+            int    nId        = in.readInt();
+            String sSuperName = in.readBoolean() ? IOUtil.readUTF(in) : null;
+            return new PortableType(sClassName, nId, sSuperName, null, null);
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The identifier of the index.
+     */
+    public static final ID<String, PortableType> NAME = ID.create("coherence.pof.portable.types");
+
+    /**
+     * The simple name of the {@code @PortableType} annotation.
+     */
+    private static final String SIMPLE_NAME = "PortableType";
+
+    /**
+     * The qualified name of the {@code @PortableType} annotation.
+     */
+    static final String QUALIFIED_NAME = "com.tangosol.io.pof.schema.annotation.PortableType";
+
+    /**
+     * The package of the {@code @PortableType} annotation.
+     */
+    private static final String PACKAGE_NAME = "com.tangosol.io.pof.schema.annotation";
+
+    /**
+     * The filter for the files that may contain {@code @PortableType} classes.
+     */
+    static final FileBasedIndex.InputFilter INPUT_FILTER =
+            new DefaultFileTypeSpecificInputFilter(new FileType[] {JavaFileType.INSTANCE, JavaClassFileType.INSTANCE});
+
+    /**
+     * The externalizer for the indexed values.
+     */
+    private static final DataExternalizer<PortableType> EXTERNALIZER = new Externalizer();
+    }
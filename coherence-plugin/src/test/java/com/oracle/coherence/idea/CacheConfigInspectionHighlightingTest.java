@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Highlighting and quick fix tests for {@link CacheConfigInspection}.
+ *
+ * @author agent  2026.10.18
+ */
+public class CacheConfigInspectionHighlightingTest
+        extends BasePlatformTestCase
+    {
+    @Override
+    protected void setUp() throws Exception
+        {
+        super.setUp();
+        myFixture.enableInspections(new CacheConfigInspection());
+        }
+
+    // ----- highlighting tests ---------------------------------------------
+
+    public void testShouldReportUnboundedLocalSchemes()
+        {
+        configure("<<warning descr=\"Local cache has no high-units, so it can grow until the heap is exhausted\">"
+                  + "local-scheme</warning>>\n"
+                  + "  <scheme-name>unbounded</scheme-name>\n"
+                  + "</local-scheme>\n"
+                  + "<<warning descr=\"Local cache has no high-units, so it can grow until the heap is exhausted\">"
+                  + "local-scheme</warning>>\n"
+                  + "  <scheme-name>zero</scheme-name>\n"
+                  + "  <high-units>0</high-units>\n"
+                  + "</local-scheme>\n"
+                  + "<local-scheme>\n"
+                  + "  <scheme-name>bounded</scheme-name>\n"
+                  + "  <high-units>1000</high-units>\n"
+                  + "</local-scheme>\n"
+                  + "<local-scheme>\n"
+                  + "  <scheme-ref>bounded</scheme-ref>\n"
+                  + "</local-scheme>\n");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportUnboundedBackingMapsAndFrontMaps()
+        {
+        configure(
+                "<distributed-scheme>\n"
+                + "  <scheme-name>partitioned</scheme-name>\n"
+                + "  <backing-map-scheme>\n"
+                + "    <<warning descr=\"Backing map has no high-units, so storage members can run out of heap\">"
+                + "local-scheme</warning>/>\n"
+                + "  </backing-map-scheme>\n"
+                + "</distributed-scheme>\n"
+                + "<near-scheme>\n"
+                + "  <scheme-name>near</scheme-name>\n"
+                + "  <front-scheme>\n"
+                + "    <<warning descr=\"Near cache front map has no high-units, so every client can end up holding"
+                + " the whole cache\">local-scheme</warning>>\n"
+                + "      <expiry-delay>1m</expiry-delay>\n"
+                + "    </local-scheme>\n"
+                + "  </front-scheme>\n"
+                + "  <back-scheme>\n"
+                + "    <distributed-scheme>\n"
+                + "      <scheme-ref>partitioned</scheme-ref>\n"
+                + "    </distributed-scheme>\n"
+                + "  </back-scheme>\n"
+                + "  <invalidation-strategy>present</invalidation-strategy>\n"
+                + "</near-scheme>\n");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportInvalidationStrategies()
+        {
+        configure(
+                createNearScheme("<expiry-delay>1m</expiry-delay>",
+                                 "<warning descr=\"Invalidation strategy 'all' sends every update of the cache to"
+                                 + " every client; 'present' only sends the updates of entries the client holds\">"
+                                 + "<invalidation-strategy>all</invalidation-strategy></warning>")
+                + createNearScheme("",
+                                   "<warning descr=\"Invalidation strategy 'none' without an expiry-delay on the"
+                                   + " front map means clients read stale entries until they are evicted\">"
+                                   + "<invalidation-strategy>none</invalidation-strategy></warning>")
+                + createNearScheme("<expiry-delay>1m</expiry-delay>",
+                                   "<invalidation-strategy>none</invalidation-strategy>")
+                + createNearScheme("", "<invalidation-strategy>present</invalidation-strategy>"));
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportLowThreadCounts()
+        {
+        configure(
+                createDistributedScheme("<warning descr=\"A thread-count of 2 limits the service to 2 concurrent"
+                                        + " requests; the default thread pool sizes itself to the load\">"
+                                        + "<thread-count>2</thread-count></warning>\n"
+                                        + "<warning descr=\"A thread-count-max of 1 limits the service to 1"
+                                        + " concurrent requests; the default thread pool sizes itself to the"
+                                        + " load\"><thread-count-max>1</thread-count-max></warning>")
+                + createDistributedScheme("<thread-count>4</thread-count>\n"
+                                          + "<thread-count-max>{threads 2}</thread-count-max>"));
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportLowAndNonPrimePartitionCounts()
+        {
+        configure(
+                createDistributedScheme("<warning descr=\"A partition-count of 100 spreads data unevenly and limits"
+                                        + " parallelism; the default is 257\">"
+                                        + "<partition-count>100</partition-count></warning>")
+                + createDistributedScheme("<warning descr=\"A partition-count of 1000 is not prime, so keys are not"
+                                          + " spread evenly across partitions\">"
+                                          + "<partition-count>1000</partition-count></warning>")
+                + createDistributedScheme("<partition-count>1021</partition-count>")
+                + createDistributedScheme("<partition-count>{partitions 100}</partition-count>"));
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportHighBackupCounts()
+        {
+        configure(
+                createDistributedScheme("<warning descr=\"A backup-count of 2 stores 3 copies of every entry and"
+                                        + " slows every write; one backup already survives the loss of any"
+                                        + " member\"><backup-count>2</backup-count></warning>")
+                + createDistributedScheme("<backup-count>1</backup-count>")
+                + createDistributedScheme("<backup-count>0</backup-count>"));
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldNotReportOtherFiles()
+        {
+        myFixture.configureByText("other.xml", "<other>\n"
+                                               + "  <local-scheme/>\n"
+                                               + "  <backup-count>3</backup-count>\n"
+                                               + "</other>\n");
+
+        myFixture.checkHighlighting();
+        }
+
+    // ----- quick fix tests ------------------------------------------------
+
+    public void testShouldAddHighUnitsBeforeFollowingElements()
+        {
+        configure("<loc<caret>al-scheme>\n"
+                  + "  <scheme-name>local</scheme-name>\n"
+                  + "  <eviction-policy>LRU</eviction-policy>\n"
+                  + "  <unit-calculator>BINARY</unit-calculator>\n"
+                  + "  <expiry-delay>1m</expiry-delay>\n"
+                  + "</local-scheme>\n");
+
+        myFixture.launchAction(myFixture.findSingleIntention("Add <high-units>"));
+
+        XmlTag tag = findTag("local-scheme");
+        assertEquals(List.of("scheme-name", "eviction-policy", "high-units", "unit-calculator", "expiry-delay"),
+                     getSubTagNames(tag));
+        assertEquals("10000", tag.getSubTagText("high-units"));
+        }
+
+    public void testShouldAddHighUnitsLast()
+        {
+        configure("<loc<caret>al-scheme>\n"
+                  + "  <scheme-name>local</scheme-name>\n"
+                  + "  <eviction-policy>LRU</eviction-policy>\n"
+                  + "</local-scheme>\n");
+
+        myFixture.launchAction(myFixture.findSingleIntention("Add <high-units>"));
+
+        XmlTag tag = findTag("local-scheme");
+        assertEquals(List.of("scheme-name", "eviction-policy", "high-units"), getSubTagNames(tag));
+        assertEquals("10000", tag.getSubTagText("high-units"));
+        }
+
+    public void testShouldReplaceZeroHighUnits()
+        {
+        configure("<loc<caret>al-scheme>\n"
+                  + "  <high-units>0</high-units>\n"
+                  + "  <expiry-delay>1m</expiry-delay>\n"
+                  + "</local-scheme>\n");
+
+        myFixture.launchAction(myFixture.findSingleIntention("Add <high-units>"));
+
+        XmlTag tag = findTag("local-scheme");
+        assertEquals(List.of("high-units", "expiry-delay"), getSubTagNames(tag));
+        assertEquals("10000", tag.getSubTagText("high-units"));
+        }
+
+    public void testShouldSetInvalidationStrategy()
+        {
+        configure(createNearScheme("<expiry-delay>1m</expiry-delay>",
+                                   "<invalidation-strategy>a<caret>ll</invalidation-strategy>"));
+
+        myFixture.launchAction(myFixture.findSingleIntention("Change to 'present'"));
+
+        assertEquals("present", findTag("invalidation-strategy").getValue().getTrimmedText());
+        }
+
+    public void testShouldSetNextPrimePartitionCount()
+        {
+        configure(createDistributedScheme("<partition-count>10<caret>00</partition-count>"));
+
+        myFixture.launchAction(myFixture.findSingleIntention("Change to '1009'"));
+
+        assertEquals("1009", findTag("partition-count").getValue().getTrimmedText());
+        }
+
+    public void testShouldSetBackupCount()
+        {
+        configure(createDistributedScheme("<backup-count><caret>2</backup-count>"));
+
+        myFixture.launchAction(myFixture.findSingleIntention("Change to '1'"));
+
+        assertEquals("1", findTag("backup-count").getValue().getTrimmedText());
+        }
+
+    public void testShouldRemoveThreadCount()
+        {
+        configure(createDistributedScheme("<thread-count><caret>2</thread-count>"));
+
+        myFixture.launchAction(myFixture.findSingleIntention("Remove to use the default"));
+
+        assertNull(findTag("thread-count"));
+        assertNotNull(findTag("distributed-scheme"));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private void configure(String sSchemes)
+        {
+        myFixture.configureByText("cache-config.xml", createConfig(sSchemes));
+        }
+
+    private String createConfig(String sSchemes)
+        {
+        return "<?xml version=\"1.0\"?>\n"
+               + "<cache-config>\n"
+               + "  <caching-schemes>\n"
+               + sSchemes
+               + "  </caching-schemes>\n"
+               + "</cache-config>\n";
+        }
+
+    private String createNearScheme(String sFront, String sStrategy)
+        {
+        return "<near-scheme>\n"
+               + "  <front-scheme>\n"
+               + "    <local-scheme>\n"
+               + "      <high-units>1000</high-units>\n"
+               + "      " + sFront + "\n"
+               + "    </local-scheme>\n"
+               + "  </front-scheme>\n"
+               + "  " + sStrategy + "\n"
+               + "</near-scheme>\n";
+        }
+
+    private String createDistributedScheme(String sElements)
+        {
+        return "<distributed-scheme>\n"
+               + sElements + "\n"
+               + "</distributed-scheme>\n";
+        }
+
+    private XmlTag findTag(String sLocalName)
+        {
+        for (XmlTag tag : PsiTreeUtil.findChildrenOfType(myFixture.getFile(), XmlTag.class))
+            {
+            if (sLocalName.equals(tag.getLocalName()))
+                {
+                return tag;
+                }
+            }
+        return null;
+        }
+
+    private List<String> getSubTagNames(XmlTag tag)
+        {
+        List<String> listNames = new ArrayList<>();
+        for (XmlTag tagSub : tag.getSubTags())
+            {
+            listNames.add(tagSub.getLocalName());
+            }
+        return listNames;
+        }
+    }
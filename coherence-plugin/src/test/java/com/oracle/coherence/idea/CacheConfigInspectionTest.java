@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link CacheConfigInspection}.
+ *
+ * @author agent  2026.10.18
+ */
+public class CacheConfigInspectionTest
+    {
+    @Test
+    public void shouldFindPrimes()
+        {
+        assertThat(CacheConfigInspection.isPrime(CacheConfigInspection.DEFAULT_PARTITION_COUNT), is(true));
+        assertThat(CacheConfigInspection.isPrime(1021), is(true));
+        assertThat(CacheConfigInspection.isPrime(1000), is(false));
+        assertThat(CacheConfigInspection.isPrime(1), is(false));
+        }
+
+    @Test
+    public void shouldSuggestNextPrime()
+        {
+        assertThat(CacheConfigInspection.nextPrime(1000), is(1009));
+        assertThat(CacheConfigInspection.nextPrime(1009), is(1009));
+        assertThat(CacheConfigInspection.nextPrime(0), is(2));
+        }
+
+    @Test
+    public void shouldNotConvertMacros()
+        {
+        assertThat(CacheConfigInspection.toInt(" 257 "), is(257));
+        assertThat(CacheConfigInspection.toInt("{partition-count 257}"), is(-1));
+        assertThat(CacheConfigInspection.toInt(null), is(-1));
+        }
+    }
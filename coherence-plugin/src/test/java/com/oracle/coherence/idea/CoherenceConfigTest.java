@@ -8,8 +8,11 @@
 
 package com.oracle.coherence.idea;
 
+import org.jdom.Element;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
@@ -59,4 +62,163 @@ public class CoherenceConfigTest
         assertThat(copy, is(not(sameInstance(config))));
         assertThat(config.isPofGeneratorEnabled(), is(true));
         }
+
+    @Test
+    public void shouldUseDefaultParallelism()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        assertThat(config.getPofGeneratorParallelism(), is(CoherenceConfig.DEFAULT_PARALLELISM));
+        }
+
+    @Test
+    public void shouldApplyParallelismChanges()
+        {
+        CoherenceConfig changes = new CoherenceConfig();
+        changes.setPofGeneratorParallelism(8);
+
+        CoherenceConfig config = new CoherenceConfig();
+        config.applyChanges(changes);
+
+        assertThat(config.getPofGeneratorParallelism(), is(8));
+        }
+
+    @Test
+    public void shouldSaveAndLoadParallelism()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofGeneratorParallelism(4);
+
+        Element element = new Element("OracleCoherence");
+        config.saveTo(element);
+
+        CoherenceConfig loaded = new CoherenceConfig();
+        loaded.loadFrom(element);
+
+        assertThat(loaded.getPofGeneratorParallelism(), is(4));
+        }
+
+    @Test
+    public void shouldUseDefaultParallelismIfMissing()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.loadFrom(new Element("OracleCoherence"));
+
+        assertThat(config.getPofGeneratorParallelism(), is(CoherenceConfig.DEFAULT_PARALLELISM));
+        }
+
+    @Test
+    public void shouldSaveAndLoadCacheDirectory()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofCacheDirectory(" /shared/pof-cache ");
+
+        Element element = new Element("OracleCoherence");
+        config.saveTo(element);
+
+        CoherenceConfig loaded = new CoherenceConfig();
+        loaded.loadFrom(element);
+
+        assertThat(loaded.getPofCacheDirectory(), is("/shared/pof-cache"));
+        }
+
+    @Test
+    public void shouldSaveAndLoadScope()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofTestSourcesEnabled(false);
+        config.setPofDisabledModules(List.of("rest", " ui "));
+        config.setPofIncludedPackages(List.of("com.acme.model"));
+        config.setPofExcludedPackages(List.of("com.acme.model.internal", ""));
+
+        Element element = new Element("OracleCoherence");
+        config.saveTo(element);
+
+        CoherenceConfig loaded = new CoherenceConfig();
+        loaded.loadFrom(element);
+
+        assertThat(loaded.isPofTestSourcesEnabled(), is(false));
+        assertThat(loaded.isPofModuleEnabled("rest"), is(false));
+        assertThat(loaded.isPofModuleEnabled("ui"), is(false));
+        assertThat(loaded.isPofModuleEnabled("model"), is(true));
+        assertThat(loaded.getPofIncludedPackages(), is(List.of("com.acme.model")));
+        assertThat(loaded.getPofExcludedPackages(), is(List.of("com.acme.model.internal")));
+        }
+
+    @Test
+    public void shouldEnableTestSourcesIfMissing()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.loadFrom(new Element("OracleCoherence"));
+
+        assertThat(config.isPofTestSourcesEnabled(), is(true));
+        assertThat(config.getPofDisabledModules().isEmpty(), is(true));
+        }
+
+    @Test
+    public void shouldUseSummaryVerbosityByDefault()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.loadFrom(new Element("OracleCoherence"));
+
+        assertThat(config.getPofMessageVerbosity(), is(CoherenceConfig.Verbosity.SUMMARY));
+        }
+
+    @Test
+    public void shouldSaveAndLoadVerbosity()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofMessageVerbosity(CoherenceConfig.Verbosity.DETAILED);
+
+        Element element = new Element("OracleCoherence");
+        config.saveTo(element);
+
+        CoherenceConfig loaded = new CoherenceConfig();
+        loaded.loadFrom(element);
+
+        assertThat(loaded.getPofMessageVerbosity(), is(CoherenceConfig.Verbosity.DETAILED));
+        }
+
+    @Test
+    public void shouldSaveAndLoadTypeRegistryEnabled()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        assertThat(config.isPofTypeRegistryEnabled(), is(false));
+
+        config.setPofTypeRegistryEnabled(true);
+
+        Element element = new Element("OracleCoherence");
+        config.saveTo(element);
+
+        CoherenceConfig loaded = new CoherenceConfig();
+        loaded.loadFrom(element);
+
+        assertThat(loaded.isPofTypeRegistryEnabled(), is(true));
+        assertThat(loaded.createCopy().isPofTypeRegistryEnabled(), is(true));
+        }
+
+    @Test
+    public void shouldResetToDefaultsWhenLoadingNothing()
+        {
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofGeneratorParallelism(8);
+        config.setPofCacheDirectory("/tmp/pof-cache");
+        config.setPofTestSourcesEnabled(false);
+        config.setPofDisabledModules(List.of("module-a"));
+        config.setPofIncludedPackages(List.of("com.acme"));
+        config.setPofExcludedPackages(List.of("com.acme.internal"));
+        config.setPofMessageVerbosity(CoherenceConfig.Verbosity.DETAILED);
+        config.setPofTypeRegistryEnabled(true);
+
+        config.loadFrom(null);
+
+        assertThat(config.isPofGeneratorEnabled(), is(false));
+        assertThat(config.getPofGeneratorParallelism(), is(CoherenceConfig.DEFAULT_PARALLELISM));
+        assertThat(config.getPofCacheDirectory(), is(""));
+        assertThat(config.isPofTestSourcesEnabled(), is(true));
+        assertThat(config.getPofDisabledModules().isEmpty(), is(true));
+        assertThat(config.getPofIncludedPackages().isEmpty(), is(true));
+        assertThat(config.getPofExcludedPackages().isEmpty(), is(true));
+        assertThat(config.getPofMessageVerbosity(), is(CoherenceConfig.Verbosity.SUMMARY));
+        assertThat(config.isPofTypeRegistryEnabled(), is(false));
+        }
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link ManagementClient}.
+ *
+ * @author agent  2026.10.18
+ */
+public class ManagementClientTest
+    {
+    @Test
+    public void shouldTrimTrailingSlashes()
+        {
+        assertThat(new ManagementClient(" http://localhost:30000/management/coherence/cluster/ ").getUrl(),
+                   is("http://localhost:30000/management/coherence/cluster"));
+        assertThat(new ManagementClient("HTTPS://localhost/cluster").getUrl(), is("HTTPS://localhost/cluster"));
+        }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUrlWithoutScheme()
+        {
+        new ManagementClient("localhost:30000/management/coherence/cluster");
+        }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectOtherScheme()
+        {
+        new ManagementClient("ftp://localhost:30000/management/coherence/cluster");
+        }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMalformedUrl()
+        {
+        new ManagementClient("http://localhost:30000/management/coherence cluster");
+        }
+    }
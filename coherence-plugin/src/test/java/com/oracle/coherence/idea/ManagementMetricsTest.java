@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.oracle.coherence.idea.ManagementMetrics.CacheMetrics;
+import com.oracle.coherence.idea.ManagementMetrics.MemberMetrics;
+import com.oracle.coherence.idea.ManagementMetrics.ServiceMetrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link ManagementMetrics}.
+ *
+ * @author agent  2026.10.18
+ */
+public class ManagementMetricsTest
+    {
+    @Test
+    public void shouldParseAggregatedCacheMetrics()
+        {
+        ManagementMetrics metrics = ManagementMetrics.parse(caches(100, 50, 80, 20), null, null, null, NANOS);
+        CacheMetrics      cache   = metrics.getCaches().get(0);
+
+        assertThat(cache.getService(), is("PartitionedCache"));
+        assertThat(cache.getName(), is("people"));
+        assertThat(cache.getSize(), is(10.0));
+        assertThat(cache.getAverageMillis(), is(0.5));
+        assertThat(cache.getMaxAverageMillis(), is(2.0));
+        assertThat(cache.getHitRatio(), is(0.8));
+
+        // a rate needs a previous sample
+        assertThat(Double.isNaN(cache.getGetsPerSecond()), is(true));
+        }
+
+    @Test
+    public void shouldCalculateRatesFromPreviousSample()
+        {
+        ManagementMetrics first  = ManagementMetrics.parse(caches(100, 50, 80, 20), null, null, null, NANOS);
+        ManagementMetrics second = ManagementMetrics.parse(caches(300, 150, 90, 110), null, null, first,
+                                                           NANOS + 2_000_000_000L);
+        CacheMetrics      cache  = second.getCaches().get(0);
+
+        assertThat(cache.getGetsPerSecond(), is(100.0));
+        assertThat(cache.getPutsPerSecond(), is(50.0));
+        assertThat(cache.getHitRatio(), is(0.1));
+        }
+
+    @Test
+    public void shouldNotCalculateRatesOfResetCounters()
+        {
+        ManagementMetrics first  = ManagementMetrics.parse(caches(300, 150, 90, 110), null, null, null, NANOS);
+        ManagementMetrics second = ManagementMetrics.parse(caches(100, 50, 80, 20), null, null, first,
+                                                           NANOS + 2_000_000_000L);
+
+        assertThat(Double.isNaN(second.getCaches().get(0).getGetsPerSecond()), is(true));
+        assertThat(second.getCaches().get(0).getHitRatio(), is(0.8));
+        }
+
+    @Test
+    public void shouldParseServiceAndMemberMetrics()
+        {
+        String sServices = "{\"items\":[{\"name\":\"PartitionedCache\",\"type\":\"DistributedCache\","
+                           + "\"taskBacklog\":{\"sum\":3},\"threadCount\":{\"sum\":8},"
+                           + "\"threadAverageActiveCount\":{\"sum\":2.0}}]}";
+        String sMembers  = "{\"items\":[{\"nodeId\":\"2\",\"memberName\":\"storage-2\",\"memoryMaxMB\":1024,"
+                           + "\"memoryAvailableMB\":768},{\"nodeId\":\"1\",\"memoryMaxMB\":512,"
+                           + "\"memoryAvailableMB\":256}]}";
+
+        ManagementMetrics metrics = ManagementMetrics.parse(null, sServices, sMembers, null, NANOS);
+        ServiceMetrics    service = metrics.getServices().get(0);
+        MemberMetrics     member  = metrics.getMembers().get(1);
+
+        assertThat(service.getTaskBacklog(), is(3.0));
+        assertThat(service.getThreadUtilization(), is(0.25));
+        assertThat(metrics.getMembers().get(0).getId(), is(1));
+        assertThat(member.getName(), is("storage-2"));
+        assertThat(member.getHeapUsedMb(), is(256.0));
+        assertThat(member.getHeapUtilization(), is(0.25));
+        }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidResponse()
+        {
+        ManagementMetrics.parse("{\"items\":[", null, null, null, NANOS);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static String caches(int cGets, int cPuts, int cHits, int cMisses)
+        {
+        return "{\"items\":[{\"name\":\"people\",\"service\":\"PartitionedCache\",\"tier\":\"back\","
+               + "\"size\":{\"sum\":10},\"units\":{\"sum\":10},\"totalGets\":{\"sum\":" + cGets + "},"
+               + "\"totalPuts\":{\"sum\":" + cPuts + "},\"cacheHits\":{\"sum\":" + cHits + "},"
+               + "\"cacheMisses\":{\"sum\":" + cMisses + "},"
+               + "\"averageGetMillis\":{\"average\":0.5,\"max\":2.0}}]}";
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final long NANOS = 1_000_000_000L;
+    }
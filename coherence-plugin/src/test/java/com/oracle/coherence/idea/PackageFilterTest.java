@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PackageFilter}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PackageFilterTest
+    {
+    @Test
+    public void shouldAcceptEverythingByDefault()
+        {
+        PackageFilter filter = new PackageFilter(Collections.emptyList(), Collections.emptyList());
+
+        assertThat(filter.isAll(), is(true));
+        assertThat(filter.accepts("com.acme.Person"), is(true));
+        assertThat(filter.accepts("Person"), is(true));
+        }
+
+    @Test
+    public void shouldIncludePackageAndSubPackages()
+        {
+        PackageFilter filter = new PackageFilter(List.of("com.acme.model"), Collections.emptyList());
+
+        assertThat(filter.accepts("com.acme.model.Person"), is(true));
+        assertThat(filter.accepts("com.acme.model.orders.Order"), is(true));
+        assertThat(filter.accepts("com.acme.modeller.Person"), is(false));
+        assertThat(filter.accepts("com.acme.rest.Resource"), is(false));
+        }
+
+    @Test
+    public void shouldExcludeBeforeInclude()
+        {
+        PackageFilter filter = new PackageFilter(List.of("com.acme.*"), List.of("com.acme.*.internal"));
+
+        assertThat(filter.accepts("com.acme.orders.Order"), is(true));
+        assertThat(filter.accepts("com.acme.orders.internal.Cache"), is(false));
+        assertThat(filter.accepts("org.other.Person"), is(false));
+        }
+    }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofJmhGenerator}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofJmhGeneratorTest
+    {
+    @Test
+    public void shouldGenerateHarness() throws Exception
+        {
+        Map<String, String> mapFiles = new PofJmhGenerator("com.acme.jmh")
+                .generate(List.of("pof.Person", "pof.Order$Line"));
+
+        assertThat(mapFiles.keySet(), is(Set.of("PofBenchmarkData.java", "PofSerializationBenchmark.java")));
+
+        String sBenchmark = mapFiles.get("PofSerializationBenchmark.java");
+        assertThat(sBenchmark, containsString("package com.acme.jmh;"));
+        assertThat(sBenchmark, containsString("\"pof.Order$Line\","));
+        assertThat(sBenchmark, containsString("\"pof.Person\"})"));
+        assertThat(sBenchmark, not(containsString("${")));
+        assertThat(mapFiles.get("PofBenchmarkData.java"), containsString("package com.acme.jmh;"));
+        }
+    }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.oracle.coherence.idea.PofTypeSnapshot.PortableType;
+
+import org.jdom.Element;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofTypeSnapshot}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofTypeSnapshotTest
+    {
+    @Test
+    public void shouldNotBeAvailableByDefault()
+        {
+        assertThat(new PofTypeSnapshot().isAvailable(), is(false));
+        }
+
+    @Test
+    public void shouldSaveAndLoadTypes()
+        {
+        PortableType typePerson  = new PortableType("pof.Person", 1000, null, "app", null);
+        PortableType typeAddress = new PortableType("lib.Address", PortableType.NO_ID, "lib.Base", null, "/libs/lib.jar");
+
+        PofTypeSnapshot snapshot = new PofTypeSnapshot();
+        snapshot.setTimestamp(1234L);
+        snapshot.add(typePerson);
+        snapshot.add(typeAddress);
+
+        Element root = new Element("oracle-coherence-pof-types");
+        snapshot.saveTo(root);
+
+        PofTypeSnapshot loaded = new PofTypeSnapshot();
+        loaded.loadFrom(root);
+
+        assertThat(loaded.isAvailable(), is(true));
+        assertThat(loaded.getTimestamp(), is(1234L));
+        assertThat(loaded.getType("pof.Person"), is(typePerson));
+        assertThat(loaded.getType("lib.Address"), is(typeAddress));
+        assertThat(loaded.contains("pof.Other"), is(false));
+        assertThat(loaded.getLibraries(), is(Set.of(new File("/libs/lib.jar"))));
+        }
+
+    @Test
+    public void shouldWriteAndReadSnapshot() throws Exception
+        {
+        File         dirData    = Files.createTempDirectory("coherence-test").toFile();
+        PortableType typePerson = new PortableType("pof.Person", 1000, null, "app", null);
+
+        PofTypeSnapshot snapshot = new PofTypeSnapshot();
+        snapshot.setTimestamp(1234L);
+        snapshot.add(typePerson);
+        snapshot.write(dirData);
+
+        PofTypeSnapshot loaded = PofTypeSnapshot.read(dirData);
+
+        assertThat(loaded.getTimestamp(), is(1234L));
+        assertThat(loaded.getTypes().size(), is(1));
+        assertThat(loaded.getType("pof.Person"), is(typePerson));
+        }
+
+    @Test
+    public void shouldNotBeAvailableIfNotWritten() throws Exception
+        {
+        File dirData = Files.createTempDirectory("coherence-test").toFile();
+
+        assertThat(PofTypeSnapshot.read(dirData).isAvailable(), is(false));
+        assertThat(PofTypeSnapshot.read(null).isAvailable(), is(false));
+        }
+
+    @Test
+    public void shouldNotBeAvailableIfUnreadable() throws Exception
+        {
+        File dirData = Files.createTempDirectory("coherence-test").toFile();
+        File file    = new File(dirData, PofTypeSnapshot.FILE_NAME);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "not a snapshot");
+
+        assertThat(PofTypeSnapshot.read(dirData).isAvailable(), is(false));
+        }
+
+    @Test
+    public void shouldDeleteSnapshot() throws Exception
+        {
+        File dirData = Files.createTempDirectory("coherence-test").toFile();
+
+        PofTypeSnapshot snapshot = new PofTypeSnapshot();
+        snapshot.setTimestamp(1234L);
+        snapshot.write(dirData);
+
+        PofTypeSnapshot.delete(dirData);
+
+        assertThat(PofTypeSnapshot.read(dirData).isAvailable(), is(false));
+
+        // deleting a snapshot that was never written is not an error
+        PofTypeSnapshot.delete(dirData);
+        }
+
+    @Test
+    public void shouldOnlyBeCurrentForUnmodifiedJavaSources() throws Exception
+        {
+        File dir     = Files.createTempDirectory("coherence-test").toFile();
+        File fileOld = new File(dir, "Old.java");
+        File fileNew = new File(dir, "New.java");
+        File fileKt  = new File(dir, "Old.kt");
+
+        Files.writeString(fileOld.toPath(), "class Old {}");
+        Files.writeString(fileNew.toPath(), "class New {}");
+        Files.writeString(fileKt.toPath(), "class Old");
+        fileOld.setLastModified(10_000L);
+        fileNew.setLastModified(30_000L);
+        fileKt.setLastModified(10_000L);
+
+        PofTypeSnapshot snapshot = new PofTypeSnapshot();
+        assertThat(snapshot.isCurrent(List.of(fileOld)), is(false));
+
+        snapshot.setTimestamp(20_000L);
+        assertThat(snapshot.isCurrent(List.of(fileOld)), is(true));
+        assertThat(snapshot.isCurrent(List.of(fileOld, fileNew)), is(false));
+        assertThat(snapshot.isCurrent(List.of(fileKt)), is(false));
+        assertThat(snapshot.isCurrent(List.of()), is(false));
+        }
+    }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+/**
+ * Highlighting tests for {@link PortableTypeIdInspection}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeIdInspectionHighlightingTest
+        extends BasePlatformTestCase
+    {
+    @Override
+    protected void setUp() throws Exception
+        {
+        super.setUp();
+        myFixture.addClass("package com.tangosol.io.pof.schema.annotation;\n"
+                           + "public @interface PortableType { int id() default -1; }");
+        myFixture.enableInspections(new PortableTypeIdInspection());
+        }
+
+    public void testShouldNotReportUniqueId()
+        {
+        addType("pof/Address.java", "Address", "1001");
+        configure("pof/Person.java", "Person", "1000");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportDuplicateId()
+        {
+        addType("pof/Address.java", "Address", "1000");
+        addType("pof/Phone.java", "Phone", "1000");
+        configure("pof/Person.java", "Person",
+                  "<error descr=\"POF type id 1000 is also used by pof.Address, pof.Phone\">1000</error>");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportIdOfAnotherCopy()
+        {
+        // a stale copy of the class, for example in the sources of an old version
+        addType("copy/pof/Person.java", "Person", "2000");
+        configure("pof/Person.java", "Person",
+                  "<error descr=\"POF type id 1000 conflicts with id 2000 of another copy of pof.Person\">1000</error>");
+
+        // the copy is also reported as a duplicate class, which is not checked here
+        myFixture.checkHighlighting(true, false, false, true);
+        }
+
+    public void testShouldReportNegativeId()
+        {
+        addType("pof/Address.java", "Address", "-1");
+        configure("pof/Person.java", "Person", "<error descr=\"POF type id -1 must not be negative\">-1</error>");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldNotReportNonLiteralId()
+        {
+        myFixture.addClass("package pof;\npublic interface Ids { int PERSON = new int[] {1000}[0]; }");
+        configure("pof/Person.java", "Person", "Ids.PERSON");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportMissingId()
+        {
+        myFixture.configureByText("Person.java",
+                                  "package pof;\n"
+                                  + "import com.tangosol.io.pof.schema.annotation.PortableType;\n"
+                                  + "<error descr=\"@PortableType does not declare a POF type id\">@PortableType</error>\n"
+                                  + "public class Person {}\n");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldNotReportIdOfOtherAnnotation()
+        {
+        // an annotation with the same simple name in another package
+        myFixture.addClass("package other;\npublic @interface PortableType { int id(); }");
+        myFixture.addFileToProject("other/Address.java", "package other;\n"
+                                                         + "@PortableType(id = 1000)\n"
+                                                         + "public class Address {}\n");
+        myFixture.addFileToProject("wild/Phone.java", "package wild;\n"
+                                                      + "import other.*;\n"
+                                                      + "@PortableType(id = 1000)\n"
+                                                      + "public class Phone {}\n");
+        configure("pof/Person.java", "Person", "1000");
+
+        myFixture.checkHighlighting();
+        }
+
+    public void testShouldReportDuplicateIdOfOnDemandImport()
+        {
+        myFixture.addFileToProject("pof/Address.java", "package pof;\n"
+                                                       + "import com.tangosol.io.pof.schema.annotation.*;\n"
+                                                       + "@PortableType(id = 1000)\n"
+                                                       + "public class Address {}\n");
+        configure("pof/Person.java", "Person",
+                  "<error descr=\"POF type id 1000 is also used by pof.Address\">1000</error>");
+
+        myFixture.checkHighlighting();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private void addType(String sPath, String sName, String sId)
+        {
+        myFixture.addFileToProject(sPath, createSource(sName, sId));
+        }
+
+    private void configure(String sPath, String sName, String sId)
+        {
+        myFixture.configureFromExistingVirtualFile(
+                myFixture.addFileToProject(sPath, createSource(sName, sId)).getVirtualFile());
+        }
+
+    private String createSource(String sName, String sId)
+        {
+        return "package pof;\n"
+               + "import com.tangosol.io.pof.schema.annotation.PortableType;\n"
+               + "@PortableType(id = " + sId + ")\n"
+               + "public class " + sName + " {}\n";
+        }
+    }
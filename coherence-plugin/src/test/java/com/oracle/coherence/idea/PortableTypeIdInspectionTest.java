@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PortableTypeIdInspection}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeIdInspectionTest
+    {
+    @Test
+    public void shouldDescribeClasses()
+        {
+        Set<String> setNames = new TreeSet<>(Set.of("pof.B", "pof.A"));
+
+        assertThat(PortableTypeIdInspection.describe(setNames), is("pof.A, pof.B"));
+        }
+
+    @Test
+    public void shouldLimitDescribedClasses()
+        {
+        Set<String> setNames = new TreeSet<>(Set.of("pof.A", "pof.B", "pof.C", "pof.D", "pof.E"));
+
+        assertThat(PortableTypeIdInspection.describe(setNames), is("pof.A, pof.B, pof.C and 2 more"));
+        }
+    }
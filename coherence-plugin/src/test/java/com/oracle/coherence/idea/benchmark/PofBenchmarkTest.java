@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.benchmark;
+
+import org.junit.Test;
+
+import pof.Person;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofBenchmark} and {@link SampleData}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofBenchmarkTest
+    {
+    @Test
+    public void shouldFailWithoutClass()
+        {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        assertThat(PofBenchmark.run(new String[0], out, out), is(2));
+        }
+
+    @Test
+    public void shouldFailForUnknownClass()
+        {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        assertThat(PofBenchmark.run(new String[] {"pof.Unknown"}, out, out), is(1));
+        }
+
+    @Test
+    public void shouldCreateSampleData() throws Exception
+        {
+        Person person = new SampleData(cls -> false).create(Person.class);
+
+        assertThat(person.getFirstName(), is(notNullValue()));
+        assertThat(person.getLastName(), is(notNullValue()));
+        }
+
+    @Test
+    public void shouldCreateSampleCollections() throws Exception
+        {
+        Sample sample = new SampleData(cls -> cls == Person.class).create(Sample.class);
+
+        assertThat(sample.listNames.size(), is(SampleData.SAMPLE_SIZE));
+        assertThat(sample.mapValues.size(), is(SampleData.SAMPLE_SIZE));
+        assertThat(sample.anValues.length, is(SampleData.SAMPLE_SIZE));
+        assertThat(sample.person, is(notNullValue()));
+        }
+
+    // ----- inner class: Sample --------------------------------------------
+
+    public static class Sample
+        {
+        List<String> listNames;
+
+        Map<String, Long> mapValues;
+
+        int[] anValues;
+
+        Person person;
+        }
+    }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link ClasspathFingerprint}.
+ *
+ * @author agent  2026.10.18
+ */
+public class ClasspathFingerprintTest
+    {
+    @Test
+    public void shouldHaveSameFingerprintForUnchangedClasspath() throws Exception
+        {
+        File       dir  = Files.createTempDirectory("coherence-test").toFile();
+        List<File> libs = Collections.singletonList(dir);
+
+        Files.write(new File(dir, "Foo.class").toPath(), new byte[]{1, 2, 3});
+
+        assertThat(ClasspathFingerprint.of(libs), is(ClasspathFingerprint.of(libs)));
+        }
+
+    @Test
+    public void shouldChangeFingerprintWhenDirectoryContentChanges() throws Exception
+        {
+        File       dir  = Files.createTempDirectory("coherence-test").toFile();
+        List<File> libs = Collections.singletonList(dir);
+
+        Files.write(new File(dir, "Foo.class").toPath(), new byte[]{1, 2, 3});
+        String sBefore = ClasspathFingerprint.of(libs);
+
+        Files.write(new File(dir, "Bar.class").toPath(), new byte[]{1, 2, 3});
+        String sAfter = ClasspathFingerprint.of(libs);
+
+        assertThat(sAfter, is(not(sBefore)));
+        }
+    }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link GeneratorClassLoaders}.
+ *
+ * @author agent  2026.10.18
+ */
+public class GeneratorClassLoadersTest
+    {
+    @Test
+    public void shouldShareLoaderForJar() throws Exception
+        {
+        File fileJar = createJar("pof/Empty.class", new byte[0]);
+
+        assertThat(GeneratorClassLoaders.forJar(fileJar), is(notNullValue()));
+        assertThat(GeneratorClassLoaders.forJar(fileJar) == GeneratorClassLoaders.forJar(fileJar), is(true));
+        }
+
+    @Test
+    public void shouldCloseUnusedLoaderWhenEvicted() throws Exception
+        {
+        ClassLoader loader = GeneratorClassLoaders.forJar(createJar("pof/Empty.class", new byte[0]));
+
+        evictAll();
+
+        assertThat(GeneratorClassLoaders.isClosed(loader), is(true));
+        }
+
+    @Test
+    public void shouldCloseEvictedLoaderOnceReleased() throws Exception
+        {
+        ClassLoader loader = GeneratorClassLoaders.acquire(createJar("pof/Empty.class", new byte[0]));
+
+        evictAll();
+        assertThat(GeneratorClassLoaders.isClosed(loader), is(false));
+
+        GeneratorClassLoaders.release(loader);
+        assertThat(GeneratorClassLoaders.isClosed(loader), is(true));
+        }
+
+    @Test
+    public void shouldNotCloseReleasedLoaderUntilEvicted() throws Exception
+        {
+        File        fileJar = createJar("pof/Empty.class", new byte[0]);
+        ClassLoader loader  = GeneratorClassLoaders.acquire(fileJar);
+
+        GeneratorClassLoaders.release(loader);
+        GeneratorClassLoaders.release(loader);
+
+        assertThat(GeneratorClassLoaders.isClosed(loader), is(false));
+        assertThat(GeneratorClassLoaders.forJar(fileJar) == loader, is(true));
+        }
+
+    @Test
+    public void shouldFallBackIfGeneratorCannotBeLinked() throws Exception
+        {
+        // a generator whose super class is missing fails to link in the shared loader
+        String      sName  = PortableTypeGenerator.class.getName().replace('.', '/');
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, sName, null, "missing/Generator", null);
+        writer.visitEnd();
+
+        File        fileJar = createJar(sName + ".class", writer.toByteArray());
+        ClassLoader loader  = getClass().getClassLoader();
+        Class<?>    cls     = PofInstrumenter.findGeneratorClass(List.of(fileJar), loader);
+
+        assertThat(cls == PortableTypeGenerator.class, is(true));
+
+        ClassLoader loaderShared = GeneratorClassLoaders.forJar(fileJar);
+        evictAll();
+        assertThat(GeneratorClassLoaders.isClosed(loaderShared), is(true));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private void evictAll() throws Exception
+        {
+        for (int i = 0; i < GeneratorClassLoaders.MAX_LOADERS; i++)
+            {
+            GeneratorClassLoaders.forJar(createJar("pof/Empty.class", new byte[0]));
+            }
+        }
+
+    private File createJar(String sEntry, byte[] abContent) throws Exception
+        {
+        File fileJar = Files.createTempFile("coherence-test", ".jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(fileJar)))
+            {
+            out.putNextEntry(new ZipEntry(sEntry));
+            out.write(abContent);
+            out.closeEntry();
+            }
+        return fileJar;
+        }
+    }
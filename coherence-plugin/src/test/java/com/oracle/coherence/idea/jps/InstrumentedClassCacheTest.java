@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import pof.Address;
+import pof.Person;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.oracle.coherence.idea.jps.PortableTypeChangesTest.createClasses;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link InstrumentedClassCache}.
+ *
+ * @author agent  2026.10.18
+ */
+public class InstrumentedClassCacheTest
+    {
+    @Test
+    public void shouldCacheInstrumentedClass() throws Exception
+        {
+        File                   dir    = Files.createTempDirectory("coherence-test").toFile();
+        InstrumentedClassCache cache  = new InstrumentedClassCache(dir);
+        byte[]                 abIn   = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2};
+        byte[]                 abInst = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 3, 4, 5};
+
+        assertThat(cache.get("fp", abIn, 0, abIn.length), is(nullValue()));
+
+        cache.put("fp", abIn, 0, abIn.length, abInst);
+
+        assertThat(cache.get("fp", abIn, 0, abIn.length), is(abInst));
+        assertThat(cache.get("other", abIn, 0, abIn.length), is(nullValue()));
+        }
+
+    @Test
+    public void shouldFingerprintSchemaManifest() throws Exception
+        {
+        SchemaManifest manifest     = SchemaManifest.scan(List.of(createClasses(Person.class)));
+        String         sFingerprint = InstrumentedClassCache.fingerprint(Person.class, manifest);
+
+        assertThat(sFingerprint, is(notNullValue()));
+
+        // the fingerprint does not depend on where the classes are
+        SchemaManifest manifestCopy = SchemaManifest.scan(List.of(createClasses(Person.class)));
+        assertThat(InstrumentedClassCache.fingerprint(Person.class, manifestCopy), is(sFingerprint));
+
+        SchemaManifest manifestOther = SchemaManifest.scan(List.of(createClasses(Person.class, Address.class)));
+        assertThat(InstrumentedClassCache.fingerprint(Person.class, manifestOther), is(not(sFingerprint)));
+        }
+
+    @Test
+    public void shouldNotFingerprintWithoutManifest()
+        {
+        assertThat(InstrumentedClassCache.fingerprint(Person.class, null), is(nullValue()));
+        }
+
+    @Test
+    public void shouldPruneExpiredEntries() throws Exception
+        {
+        File                   dir   = Files.createTempDirectory("coherence-test").toFile();
+        InstrumentedClassCache cache = new InstrumentedClassCache(dir);
+        byte[]                 abOld = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1};
+        byte[]                 abNew = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 2};
+
+        cache.put("fp", abOld, 0, abOld.length, abOld);
+        cache.put("fp", abNew, 0, abNew.length, abNew);
+        setAge(dir, abOld, Duration.ofDays(40));
+
+        assertThat(cache.prune(InstrumentedClassCache.MAX_SIZE, Duration.ofDays(30)), is(1));
+        assertThat(cache.get("fp", abOld, 0, abOld.length), is(nullValue()));
+        assertThat(cache.get("fp", abNew, 0, abNew.length), is(abNew));
+        }
+
+    @Test
+    public void shouldPruneLeastRecentlyUsedEntriesBeyondMaxSize() throws Exception
+        {
+        File                   dir   = Files.createTempDirectory("coherence-test").toFile();
+        InstrumentedClassCache cache = new InstrumentedClassCache(dir);
+        byte[]                 ab1   = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1};
+        byte[]                 ab2   = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 2};
+        byte[]                 ab3   = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 3};
+
+        cache.put("fp", ab1, 0, ab1.length, ab1);
+        cache.put("fp", ab2, 0, ab2.length, ab2);
+        cache.put("fp", ab3, 0, ab3.length, ab3);
+        setAge(dir, ab1, Duration.ofDays(3));
+        setAge(dir, ab2, Duration.ofDays(2));
+        setAge(dir, ab3, Duration.ofDays(1));
+
+        assertThat(cache.prune(2L * ab1.length, Duration.ofDays(30)), is(1));
+        assertThat(cache.get("fp", ab1, 0, ab1.length), is(nullValue()));
+        assertThat(cache.get("fp", ab2, 0, ab2.length), is(ab2));
+        assertThat(cache.get("fp", ab3, 0, ab3.length), is(ab3));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private void setAge(File dir, byte[] abClass, Duration age) throws Exception
+        {
+        FileTime time = FileTime.fromMillis(System.currentTimeMillis() - age.toMillis());
+        try (Stream<Path> stream = Files.walk(dir.toPath()))
+            {
+            for (Path path : (Iterable<Path>) stream::iterator)
+                {
+                if (Files.isRegularFile(path) && Arrays.equals(Files.readAllBytes(path), abClass))
+                    {
+                    Files.setLastModifiedTime(path, time);
+                    }
+                }
+            }
+        }
+    }
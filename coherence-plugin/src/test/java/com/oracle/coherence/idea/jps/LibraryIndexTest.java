@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import pof.Person;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link LibraryIndex}.
+ *
+ * @author agent  2026.10.18
+ */
+public class LibraryIndexTest
+    {
+    @Test
+    public void shouldKeepOnlyRelevantLibraries() throws Exception
+        {
+        Path dir      = Files.createTempDirectory("coherence-test");
+        File jarPof   = createJar(dir.resolve("pof.jar"), "pof/Person.class", readClass(Person.class));
+        File jarPlain = createJar(dir.resolve("plain.jar"), "a/Plain.class", readClass(LibraryIndexTest.class));
+        File jarXml   = createJar(dir.resolve("xml.jar"), LibraryIndex.SCHEMA_RESOURCE, "<schema/>".getBytes());
+        File dirClass = dir.resolve("classes").toFile();
+
+        dirClass.mkdirs();
+
+        LibraryIndex index = new LibraryIndex(null);
+
+        assertThat(index.filter(List.of(jarPof, jarPlain, dirClass, jarXml)), is(List.of(jarPof, dirClass, jarXml)));
+        }
+
+    @Test
+    public void shouldPersistIndex() throws Exception
+        {
+        Path dir       = Files.createTempDirectory("coherence-test");
+        File jarPof    = createJar(dir.resolve("pof.jar"), "pof/Person.class", readClass(Person.class));
+        File jarPlain  = createJar(dir.resolve("plain.jar"), "a/Plain.class", readClass(LibraryIndexTest.class));
+        File fileIndex = dir.resolve("index").resolve("libraries.idx").toFile();
+
+        new LibraryIndex(fileIndex).filter(List.of(jarPof, jarPlain));
+        assertThat(fileIndex.exists(), is(true));
+
+        // a persisted result is used as long as the jar is unchanged
+        Files.write(fileIndex.toPath(), Files.readString(fileIndex.toPath()).replaceAll("(?m)^0\t", "1\t").getBytes());
+        assertThat(new LibraryIndex(fileIndex).isRelevant(jarPlain), is(true));
+
+        jarPlain.setLastModified(jarPlain.lastModified() - 10_000L);
+        assertThat(new LibraryIndex(fileIndex).isRelevant(jarPlain), is(false));
+        }
+
+    @Test
+    public void shouldNotScanLibrariesMarkedRelevant() throws Exception
+        {
+        Path dir      = Files.createTempDirectory("coherence-test");
+        File jarPlain = createJar(dir.resolve("plain.jar"), "a/Plain.class", readClass(LibraryIndexTest.class));
+
+        LibraryIndex index = new LibraryIndex(null);
+        index.markRelevant(List.of(jarPlain));
+
+        assertThat(index.filter(List.of(jarPlain)), is(List.of(jarPlain)));
+        }
+
+    @Test
+    public void shouldNotKeepLibraryThatOnlyReferencesPortableType() throws Exception
+        {
+        // the constant pool of the class contains the annotation descriptor,
+        // but the class is not annotated
+        Path dir = Files.createTempDirectory("coherence-test");
+        File jar = createJar(dir.resolve("scanner.jar"), "a/Scanner.class", readClass(PortableTypeScanner.class));
+
+        assertThat(new LibraryIndex(null).isRelevant(jar), is(false));
+        }
+
+    @Test
+    public void shouldNotScanLibrariesWhenTypeLibrariesAreKnown() throws Exception
+        {
+        Path dir      = Files.createTempDirectory("coherence-test");
+        File jarPof   = createJar(dir.resolve("pof.jar"), "pof/Person.class", readClass(Person.class));
+        File jarKnown = createJar(dir.resolve("known.jar"), "a/Plain.class", readClass(LibraryIndexTest.class));
+        File jarXml   = createJar(dir.resolve("xml.jar"), LibraryIndex.SCHEMA_RESOURCE, "<schema/>".getBytes());
+        File dirClass = dir.resolve("classes").toFile();
+
+        dirClass.mkdirs();
+
+        LibraryIndex index = new LibraryIndex(null);
+
+        // the classes of jars that are not known to contain POF types are not scanned
+        assertThat(index.filter(List.of(jarPof, jarKnown, dirClass, jarXml), List.of(jarKnown)),
+                   is(List.of(jarKnown, dirClass, jarXml)));
+
+        // unless the index already holds them as relevant
+        index.isRelevant(jarPof);
+        assertThat(index.filter(List.of(jarPof, jarKnown), List.of()), is(List.of(jarPof)));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private File createJar(Path path, String sEntry, byte[] abContent) throws Exception
+        {
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out))
+            {
+            zip.putNextEntry(new ZipEntry(sEntry));
+            zip.write(abContent);
+            }
+        return path.toFile();
+        }
+
+    private byte[] readClass(Class<?> cls) throws Exception
+        {
+        try (InputStream in = cls.getResourceAsStream(cls.getSimpleName() + ".class"))
+            {
+            return in.readAllBytes();
+            }
+        }
+    }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofBuildStatistics}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofBuildStatisticsTest
+    {
+    @Test
+    public void shouldReturnSlowestClassesFirst()
+        {
+        PofBuildStatistics stats = new PofBuildStatistics("test");
+        stats.classInstrumented("a.Fast", 10L, 100L, 200L, false);
+        stats.classInstrumented("a.Slow", 1000L, 100L, 300L, true);
+        stats.classFailed("a.Medium", 100L);
+
+        List<PofBuildStatistics.ClassTiming> list = stats.getSlowestClasses(2);
+
+        assertThat(list.size(), is(2));
+        assertThat(list.get(0).getClassName(), is("a.Slow"));
+        assertThat(list.get(1).getClassName(), is("a.Medium"));
+        assertThat(stats.getInstrumented(), is(2));
+        assertThat(stats.getCached(), is(1));
+        assertThat(stats.getFailed(), is(1));
+        }
+
+    @Test
+    public void shouldCreateJsonReport()
+        {
+        PofBuildStatistics stats = new PofBuildStatistics("my \"module\"");
+        stats.classSeen();
+        stats.classSeen();
+        stats.classSkipped();
+        stats.setSchemaSource(PofBuildStatistics.SchemaSource.SNAPSHOT);
+        stats.classInstrumented("a.Person", 2_500_000L, 100L, 250L, false);
+
+        String sJson = stats.toJson();
+
+        assertThat(sJson, containsString("\"name\": \"my \\\"module\\\"\""));
+        assertThat(sJson, containsString("\"seen\": 2"));
+        assertThat(sJson, containsString("\"skipped\": 1"));
+        assertThat(sJson, containsString("\"fromCache\": true"));
+        assertThat(sJson, containsString("\"before\": 100"));
+        assertThat(sJson, containsString("\"after\": 250"));
+        assertThat(sJson, containsString("{\"name\": \"a.Person\", \"millis\": 2.500"));
+        }
+
+    @Test
+    public void shouldReportSkipReason()
+        {
+        PofBuildStatistics stats = new PofBuildStatistics("test");
+        stats.classSeen();
+
+        assertThat(stats.toJson(), containsString("\"skipReason\": null"));
+
+        stats.setSkipReason("no generator");
+
+        assertThat(stats.getSkipReason(), is("no generator"));
+        assertThat(stats.toSummary(), containsString("Skipped POF instrumentation of test - no generator"));
+        assertThat(stats.toJson(), containsString("\"skipReason\": \"no generator\""));
+        }
+    }
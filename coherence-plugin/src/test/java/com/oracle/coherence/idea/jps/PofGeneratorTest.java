@@ -21,13 +21,8 @@ import com.tangosol.net.CacheFactory;
 import com.tangosol.util.Base;
 
 import com.oracle.bedrock.runtime.java.ClassPath;
-import org.jetbrains.jps.incremental.BinaryContent;
-import org.jetbrains.jps.incremental.CompileContext;
 import org.jetbrains.jps.incremental.CompiledClass;
 
-import org.jetbrains.org.objectweb.asm.ClassReader;
-import org.jetbrains.org.objectweb.asm.ClassWriter;
-
 import org.junit.Test;
 import pof.Person;
 
@@ -41,11 +36,13 @@ import java.nio.file.Files;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -60,11 +57,10 @@ public class PofGeneratorTest
     @Test
     public void shouldCreateSchema()
         {
-        ClassLoader    loader      = getClass().getClassLoader();
         File           personClass = findPersonClass();
         Map<String, ?> env         = new HashMap<>();
         PofGenerator   generator   = new PofGenerator();
-        Object         schema      = generator.ensureSchema(PortableTypeGenerator.class, personClass, loader, env);
+        Object         schema      = generator.ensureSchema(PortableTypeGenerator.class, personClass, env);
 
         assertThat(schema, is(notNullValue()));
         assertThat(schema, is(instanceOf(Schema.class)));
@@ -96,7 +92,6 @@ public class PofGeneratorTest
         String        className     = Person.class.getName();
         File          personClass  = findPersonClass();
         byte[]        bytes        = Files.readAllBytes(personClass.toPath());
-        BinaryContent content      = new BinaryContent(bytes);
         File          dir          = Files.createTempDirectory("coherence-test").toFile();
         File          pkgDir       = new File(dir, "pof");
         File          outputFile   = new File(pkgDir, "Person.class");
@@ -108,23 +103,25 @@ public class PofGeneratorTest
         pkgDir.mkdirs();
         Files.copy(personClass.toPath(), outputFile.toPath());
 
-        CompileContext             context = mock(CompileContext.class);
-        CompiledClass              compiled = new CompiledClass(outputFile, personClass, Person.class.getName(), content);
-        ClassReader                reader = new ClassReader(bytes);
-        ClassWriter                writer = new ClassWriter(0);
-        InstrumentationClassFinder finder = new InstrumentationClassFinder(cp.getURLs());
-
+        InstrumentationClassFinder finder       = new InstrumentationClassFinder(cp.getURLs());
+        ClassLoader                loader       = finder.getLoader();
+        List<File>                 libs         = LibraryResolver.getLibraries(loader);
+        GeneratorBinding           binding      = GeneratorBinding.forClass(PofInstrumenter.findGeneratorClass(libs, loader));
+        PofInstrumenter            instrumenter = new PofInstrumenter();
+        PofClassFile               classFile    = new PofClassFile(className, outputFile, bytes, 0, bytes.length);
+        Map<String, Object>        env          = instrumenter.createEnvironment(loader, libs, binding, outputFile,
+                                                                                 null, null, null);
 
-        PofGenerator  generator    = new PofGenerator();
-        BinaryContent instrumented = generator.instrument(context, compiled, reader, writer, finder);
+        instrumenter.instrumentAll(List.of(classFile), loader, binding, env, null, 1, () -> false);
 
-        assertThat(instrumented, is(notNullValue()));
+        assertThat(classFile.getError(), is(nullValue()));
+        assertThat(classFile.getInstrumented(), is(notNullValue()));
 
-        byte[] instrumentedBytes = instrumented.toByteArray();
+        byte[] instrumentedBytes = classFile.getInstrumented();
         Files.write(outputFile.toPath(), instrumentedBytes);
 
-        ByteArrayClassLoader loader = new ByteArrayClassLoader(Collections.singletonMap(className, instrumentedBytes));
-        Class<?> instrumentedClass = loader.findClass(className);
+        ByteArrayClassLoader loaderTest = new ByteArrayClassLoader(Collections.singletonMap(className, instrumentedBytes));
+        Class<?> instrumentedClass = loaderTest.findClass(className);
 
         assertThat(instrumentedClass.isAnnotationPresent(Instrumented.class), is(true));
         assertThat(PortableObject.class.isAssignableFrom(instrumentedClass), is(true));
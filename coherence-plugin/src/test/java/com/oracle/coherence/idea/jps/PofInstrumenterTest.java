@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.oracle.coherence.common.schema.Schema;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+import com.tangosol.net.CacheFactory;
+
+import org.junit.Test;
+
+import pof.Address;
+import pof.Person;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests for {@link PofInstrumenter}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofInstrumenterTest
+    {
+    @Test
+    public void shouldFindGeneratorOnClasspath() throws Exception
+        {
+        File dir = Files.createTempDirectory("coherence-test").toFile();
+
+        assertThat(PofInstrumenter.isGeneratorOnClasspath(List.of(dir, getCoherenceJar())), is(true));
+        }
+
+    @Test
+    public void shouldNotFindGeneratorOnClasspath() throws Exception
+        {
+        File dir = Files.createTempDirectory("coherence-test").toFile();
+
+        assertThat(PofInstrumenter.isGeneratorOnClasspath(List.of(dir)), is(false));
+        }
+
+    @Test
+    public void shouldFindGeneratorClass()
+        {
+        assertThat(PofInstrumenter.findGeneratorClass(getClass().getClassLoader()) == PortableTypeGenerator.class,
+                   is(true));
+        }
+
+    @Test
+    public void shouldNotFindGeneratorClass() throws Exception
+        {
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], ClassLoader.getPlatformClassLoader()))
+            {
+            assertThat(PofInstrumenter.findGeneratorClass(loader), is(nullValue()));
+            // the second lookup uses the remembered result
+            assertThat(PofInstrumenter.findGeneratorClass(loader), is(nullValue()));
+            }
+        }
+
+    @Test
+    public void shouldShareGeneratorClassLoader() throws Exception
+        {
+        ClassLoader loader = getClass().getClassLoader();
+        Class<?>    cls1   = PofInstrumenter.findGeneratorClass(List.of(getCoherenceJar()), loader);
+        Class<?>    cls2   = PofInstrumenter.findGeneratorClass(List.of(getCoherenceJar()), loader);
+
+        assertThat(cls1.getName(), is(PortableTypeGenerator.class.getName()));
+        assertThat(cls1 == cls2, is(true));
+        assertThat(cls1.getClassLoader() == loader, is(false));
+        }
+
+    @Test
+    public void shouldUseClassLoaderIfGeneratorIsNotInJar() throws Exception
+        {
+        File dir = Files.createTempDirectory("coherence-test").toFile();
+
+        assertThat(PofInstrumenter.findGeneratorClass(List.of(dir), getClass().getClassLoader())
+                   == PortableTypeGenerator.class, is(true));
+        }
+
+    @Test
+    public void shouldWarmUpSharedGenerator() throws Exception
+        {
+        File        dir    = Files.createTempDirectory("coherence-test").toFile();
+        ClassLoader loader = getClass().getClassLoader();
+
+        new PofInstrumenter().warmUp(List.of(dir, getCoherenceJar()), () -> false);
+
+        Class<?> cls = PofInstrumenter.findGeneratorClass(List.of(getCoherenceJar()), loader);
+        assertThat(cls.getClassLoader() == GeneratorClassLoaders.forJar(getCoherenceJar()), is(true));
+        }
+
+    @Test
+    public void shouldNotWarmUpIfCancelled() throws Exception
+        {
+        File dir = Files.createTempDirectory("coherence-test").toFile();
+
+        new PofInstrumenter().warmUp(List.of(dir, getCoherenceJar()), () -> true);
+        }
+
+    @Test
+    public void shouldPatchCachedSchemaWithTypesOfLaterRound() throws Exception
+        {
+        File                dirOutput    = Files.createTempDirectory("coherence-test").toFile();
+        SchemaSnapshotStore store        = new SchemaSnapshotStore(Files.createTempDirectory("coherence-test").toFile());
+        PofInstrumenter     instrumenter = new PofInstrumenter();
+        GeneratorBinding    binding      = GeneratorBinding.forClass(PortableTypeGenerator.class);
+        ClassLoader         loader       = getClass().getClassLoader();
+        List<File>          libs         = List.of(dirOutput);
+
+        PortableTypeChanges changes1 = new PortableTypeChanges(Set.of(dirOutput), true);
+        changes1.add(Person.class.getName(), getClassBytes(Person.class));
+
+        Schema schema1 = (Schema) instrumenter.createEnvironment(loader, libs, binding, getClassFile(dirOutput, Person.class),
+                                                                 store, changes1, null).get("schema");
+
+        assertThat(schema1.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema1.findTypeByJavaName(Address.class.getName()), is(nullValue()));
+
+        // the classes compiled in the first round are written out before the second round
+        Files.write(getClassFile(dirOutput, Person.class).toPath(), getClassBytes(Person.class));
+
+        PortableTypeChanges changes2 = new PortableTypeChanges(Set.of(dirOutput), true);
+        changes2.add(Address.class.getName(), getClassBytes(Address.class));
+
+        PofBuildStatistics stats   = new PofBuildStatistics("test");
+        Schema             schema2 = (Schema) instrumenter.createEnvironment(loader, libs, binding,
+                                                                             getClassFile(dirOutput, Address.class),
+                                                                             store, changes2, stats).get("schema");
+
+        assertThat(schema2.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema2.findTypeByJavaName(Address.class.getName()), is(notNullValue()));
+        assertThat(stats.getSchemaSource(), is(PofBuildStatistics.SchemaSource.PATCHED));
+        }
+
+    @Test
+    public void shouldNameClassOfUnexpectedFailure() throws Exception
+        {
+        File         dirOutput = Files.createTempDirectory("coherence-test").toFile();
+        byte[]       abClass   = getClassBytes(Person.class);
+        PofClassFile classFile = new PofClassFile(Person.class.getName(), getClassFile(dirOutput, Person.class),
+                                                  abClass, 0, abClass.length);
+
+        for (int cThreads : new int[] {1, 2})
+            {
+            ExecutionException e = assertThrows(ExecutionException.class, () ->
+                    new PofInstrumenter().instrumentAll(List.of(classFile, classFile), getClass().getClassLoader(),
+                                                        GeneratorBinding.forClass(PortableTypeGenerator.class),
+                                                        Map.of(), null, cThreads,
+                                                        () -> { throw new IllegalStateException("cancel check failed"); }));
+
+            assertThat(e.getCause().getMessage().contains(Person.class.getName()), is(true));
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private byte[] getClassBytes(Class<?> cls) throws Exception
+        {
+        try (InputStream in = cls.getResourceAsStream(cls.getSimpleName() + ".class"))
+            {
+            return in.readAllBytes();
+            }
+        }
+
+    private File getClassFile(File dirOutput, Class<?> cls) throws Exception
+        {
+        Path path = dirOutput.toPath().resolve(cls.getName().replace('.', '/') + ".class");
+        Files.createDirectories(path.getParent());
+        return path.toFile();
+        }
+
+    private File getCoherenceJar() throws Exception
+        {
+        return new File(CacheFactory.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        }
+    }
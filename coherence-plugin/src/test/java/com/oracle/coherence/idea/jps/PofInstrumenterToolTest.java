@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.tangosol.net.CacheFactory;
+
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import org.junit.Test;
+
+import pof.Address;
+import pof.Person;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofInstrumenterTool}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofInstrumenterToolTest
+    {
+    @Test
+    public void shouldInstrumentClassDirectory() throws Exception
+        {
+        Path dir       = Files.createTempDirectory("coherence-test");
+        Path pathClass = dir.resolve("pof").resolve("Person.class");
+
+        Files.createDirectories(pathClass.getParent());
+        Files.write(pathClass, readPersonClass());
+
+        int nExit = run("--classpath", getCoherenceJar().getPath(), dir.toString());
+
+        assertThat(nExit, is(0));
+        assertThat(PortableTypeScanner.scan(new ClassReader(Files.readAllBytes(pathClass))),
+                   is(PortableTypeScanner.Kind.INSTRUMENTED));
+        }
+
+    @Test
+    public void shouldInstrumentJar() throws Exception
+        {
+        Path pathJar = Files.createTempDirectory("coherence-test").resolve("classes.jar");
+
+        try (OutputStream out = Files.newOutputStream(pathJar); ZipOutputStream zip = new ZipOutputStream(out))
+            {
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.write("Manifest-Version: 1.0\n".getBytes());
+            zip.putNextEntry(new ZipEntry("pof/Person.class"));
+            zip.write(readPersonClass());
+            }
+
+        int nExit = run("--classpath", getCoherenceJar().getPath(), "--threads", "2", pathJar.toString());
+
+        assertThat(nExit, is(0));
+        try (ZipFile zip = new ZipFile(pathJar.toFile()))
+            {
+            assertThat(zip.entries().nextElement().getName(), is("META-INF/MANIFEST.MF"));
+            try (InputStream in = zip.getInputStream(zip.getEntry("pof/Person.class")))
+                {
+                assertThat(PortableTypeScanner.scan(new ClassReader(in.readAllBytes())),
+                           is(PortableTypeScanner.Kind.INSTRUMENTED));
+                }
+            }
+        }
+
+    @Test
+    public void shouldKeepJarEntryMetadata() throws Exception
+        {
+        Path   pathJar    = Files.createTempDirectory("coherence-test").resolve("classes.jar");
+        byte[] abResource = "resource".getBytes();
+        byte[] abExtra    = {(byte) 0xCA, (byte) 0xFE, 4, 0, 1, 2, 3, 4};
+        CRC32  crc        = new CRC32();
+        crc.update(abResource);
+
+        try (OutputStream out = Files.newOutputStream(pathJar); ZipOutputStream zip = new ZipOutputStream(out))
+            {
+            zip.setComment("jar comment");
+
+            ZipEntry entryResource = new ZipEntry("pof/resource.txt");
+            entryResource.setMethod(ZipEntry.STORED);
+            entryResource.setSize(abResource.length);
+            entryResource.setCrc(crc.getValue());
+            entryResource.setComment("resource comment");
+            zip.putNextEntry(entryResource);
+            zip.write(abResource);
+
+            ZipEntry entryClass = new ZipEntry("pof/Person.class");
+            entryClass.setExtra(abExtra);
+            entryClass.setComment("class comment");
+            zip.putNextEntry(entryClass);
+            zip.write(readPersonClass());
+            }
+
+        assertThat(run("--classpath", getCoherenceJar().getPath(), pathJar.toString()), is(0));
+
+        try (ZipFile zip = new ZipFile(pathJar.toFile()))
+            {
+            ZipEntry entryResource = zip.getEntry("pof/resource.txt");
+            ZipEntry entryClass    = zip.getEntry("pof/Person.class");
+
+            assertThat(zip.getComment(), is("jar comment"));
+            assertThat(entryResource.getMethod(), is(ZipEntry.STORED));
+            assertThat(entryResource.getComment(), is("resource comment"));
+            assertThat(entryClass.getMethod(), is(ZipEntry.DEFLATED));
+            assertThat(entryClass.getComment(), is("class comment"));
+            assertThat(entryClass.getExtra(), is(abExtra));
+            try (InputStream in = zip.getInputStream(entryClass))
+                {
+                assertThat(PortableTypeScanner.scan(new ClassReader(in.readAllBytes())),
+                           is(PortableTypeScanner.Kind.INSTRUMENTED));
+                }
+            }
+        }
+
+    @Test
+    public void shouldRefuseSignedJar() throws Exception
+        {
+        Path   pathJar = Files.createTempDirectory("coherence-test").resolve("classes.jar");
+        byte[] abClass = readPersonClass();
+
+        try (OutputStream out = Files.newOutputStream(pathJar); ZipOutputStream zip = new ZipOutputStream(out))
+            {
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.write("Manifest-Version: 1.0\n".getBytes());
+            zip.putNextEntry(new ZipEntry("META-INF/SIGNER.SF"));
+            zip.write("Signature-Version: 1.0\n".getBytes());
+            zip.putNextEntry(new ZipEntry("pof/Person.class"));
+            zip.write(abClass);
+            }
+
+        assertThat(run("--classpath", getCoherenceJar().getPath(), pathJar.toString()), is(1));
+
+        try (ZipFile zip = new ZipFile(pathJar.toFile());
+             InputStream in = zip.getInputStream(zip.getEntry("pof/Person.class")))
+            {
+            assertThat(in.readAllBytes(), is(abClass));
+            }
+        }
+
+    @Test
+    public void shouldWriteTypeRegistryOfClassDirectory() throws Exception
+        {
+        Path dir = Files.createTempDirectory("coherence-test");
+        Files.createDirectories(dir.resolve("pof"));
+        Files.write(dir.resolve("pof/Address.class"), readClass(Address.class));
+
+        assertThat(run("--classpath", getCoherenceJar().getPath(), "--type-registry", dir.toString()), is(0));
+
+        assertThat(new PofTypeRegistry(dir.toFile()).getTypes().get(Address.class.getName()), is(1001));
+        }
+
+    @Test
+    public void shouldWriteTypeRegistryOfJar() throws Exception
+        {
+        Path pathJar = Files.createTempDirectory("coherence-test").resolve("classes.jar");
+
+        try (OutputStream out = Files.newOutputStream(pathJar); ZipOutputStream zip = new ZipOutputStream(out))
+            {
+            zip.putNextEntry(new ZipEntry("pof/Address.class"));
+            zip.write(readClass(Address.class));
+            }
+
+        assertThat(run("--classpath", getCoherenceJar().getPath(), "--type-registry", pathJar.toString()), is(0));
+
+        try (ZipFile zip = new ZipFile(pathJar.toFile());
+             InputStream in = zip.getInputStream(zip.getEntry(PofTypeRegistry.RESOURCE)))
+            {
+            assertThat(in.readAllBytes(), is(PofTypeRegistry.toXml(Map.of(Address.class.getName(), 1001))));
+            }
+
+        // the registry is up to date, so the jar is not written again
+        long ldtModified = Files.getLastModifiedTime(pathJar).toMillis();
+        Files.setLastModifiedTime(pathJar, FileTime.fromMillis(ldtModified - 10_000L));
+        assertThat(run("--classpath", getCoherenceJar().getPath(), "--type-registry", pathJar.toString()), is(0));
+        assertThat(Files.getLastModifiedTime(pathJar).toMillis(), is(ldtModified - 10_000L));
+        }
+
+    @Test
+    public void shouldDetectSignatureFiles()
+        {
+        assertThat(PofInstrumenterTool.isSignatureFile("META-INF/SIGNER.SF"), is(true));
+        assertThat(PofInstrumenterTool.isSignatureFile("META-INF/signer.sf"), is(true));
+        assertThat(PofInstrumenterTool.isSignatureFile("META-INF/MANIFEST.MF"), is(false));
+        assertThat(PofInstrumenterTool.isSignatureFile("META-INF/versions/11/A.SF"), is(false));
+        assertThat(PofInstrumenterTool.isSignatureFile("pof/A.SF"), is(false));
+        }
+
+    @Test
+    public void shouldFailWithoutTargets()
+        {
+        assertThat(run("--threads", "2"), is(2));
+        }
+
+    @Test
+    public void shouldFailWithoutCoherence() throws Exception
+        {
+        Path dir       = Files.createTempDirectory("coherence-test");
+        Path pathClass = dir.resolve("pof").resolve("Person.class");
+
+        Files.createDirectories(pathClass.getParent());
+        Files.write(pathClass, readPersonClass());
+
+        assertThat(run(dir.toString()), is(1));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private int run(String... asArg)
+        {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        return PofInstrumenterTool.run(asArg, out, out);
+        }
+
+    private byte[] readPersonClass() throws Exception
+        {
+        return readClass(Person.class);
+        }
+
+    private byte[] readClass(Class<?> clz) throws Exception
+        {
+        try (InputStream in = clz.getResourceAsStream(clz.getSimpleName() + ".class"))
+            {
+            return in.readAllBytes();
+            }
+        }
+
+    private File getCoherenceJar() throws Exception
+        {
+        return new File(CacheFactory.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        }
+    }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PofTypeRegistry}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofTypeRegistryTest
+    {
+    @Test
+    public void shouldWriteAndReadRegistry() throws Exception
+        {
+        File            dir      = Files.createTempDirectory("coherence-test").toFile();
+        PofTypeRegistry registry = new PofTypeRegistry(dir);
+
+        registry.put("pof.Person", 1000);
+        registry.put("pof.Address", 1001);
+        registry.put("pof.Plain", PortableTypeScanner.NO_TYPE_ID);
+        registry.save();
+
+        Path   path = dir.toPath().resolve(PofTypeRegistry.RESOURCE);
+        String sXml = Files.readString(path);
+        assertThat(sXml, containsString("<type-id>1000</type-id>"));
+        assertThat(sXml, containsString("<class-name>pof.Person</class-name>"));
+
+        assertThat(new PofTypeRegistry(dir).getTypes(), is(Map.of("pof.Person", 1000, "pof.Address", 1001)));
+        }
+
+    @Test
+    public void shouldNotRewriteUnchangedRegistry() throws Exception
+        {
+        File            dir      = Files.createTempDirectory("coherence-test").toFile();
+        PofTypeRegistry registry = new PofTypeRegistry(dir);
+
+        registry.put("pof.Person", 1000);
+        registry.save();
+
+        File file = new File(dir, PofTypeRegistry.RESOURCE);
+        file.setLastModified(file.lastModified() - 10_000L);
+        long ldtModified = file.lastModified();
+
+        registry = new PofTypeRegistry(dir);
+        registry.put("pof.Person", 1000);
+        registry.save();
+
+        assertThat(file.lastModified(), is(ldtModified));
+        }
+
+    @Test
+    public void shouldPruneDeletedClasses() throws Exception
+        {
+        File dir       = Files.createTempDirectory("coherence-test").toFile();
+        File fileClass = new File(dir, "pof/Person.class");
+        fileClass.getParentFile().mkdirs();
+        Files.write(fileClass.toPath(), new byte[0]);
+
+        PofTypeRegistry registry = new PofTypeRegistry(dir);
+        registry.put("pof.Person", 1000);
+        registry.put("pof.Address", 1001);
+        registry.save();
+
+        // a class put in this build is kept even though its class file has not been written yet
+        registry = new PofTypeRegistry(dir);
+        registry.put("pof.Order", 1002);
+        registry.prune();
+        registry.save();
+
+        assertThat(new PofTypeRegistry(dir).getTypes(), is(Map.of("pof.Person", 1000, "pof.Order", 1002)));
+        }
+
+    @Test
+    public void shouldDeleteEmptyRegistry() throws Exception
+        {
+        File            dir      = Files.createTempDirectory("coherence-test").toFile();
+        PofTypeRegistry registry = new PofTypeRegistry(dir);
+
+        registry.put("pof.Person", 1000);
+        registry.save();
+
+        registry = new PofTypeRegistry(dir);
+        registry.put("pof.Person", PortableTypeScanner.NO_TYPE_ID);
+        registry.save();
+
+        assertThat(new File(dir, PofTypeRegistry.RESOURCE).exists(), is(false));
+        }
+    }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import pof.Address;
+import pof.Person;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PortableTypeChanges} and how they are applied to a
+ * {@link SchemaManifest}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeChangesTest
+    {
+    @Test
+    public void shouldRecordAddedAndRemovedClasses() throws Exception
+        {
+        PortableTypeChanges changes = new PortableTypeChanges(Set.of(new File("out")), true);
+
+        changes.add(Person.class.getName(), getClassBytes(Person.class));
+        changes.remove(Address.class.getName());
+
+        assertThat(changes.getTypes().keySet(), is(Set.of(Person.class.getName())));
+        assertThat(changes.getRemoved(), is(Set.of(Address.class.getName())));
+        assertThat(changes.getOutputDirs(), is(Set.of(new File("out"))));
+        assertThat(changes.isIncremental(), is(true));
+        }
+
+    @Test
+    public void shouldReplaceRemovalWithLaterAdd() throws Exception
+        {
+        PortableTypeChanges changes = new PortableTypeChanges(Set.of(), false);
+
+        changes.remove(Person.class.getName());
+        changes.add(Person.class.getName(), getClassBytes(Person.class));
+
+        assertThat(changes.getTypes().keySet(), is(Set.of(Person.class.getName())));
+        assertThat(changes.getRemoved().isEmpty(), is(true));
+
+        changes.remove(Person.class.getName());
+
+        assertThat(changes.getTypes().isEmpty(), is(true));
+        assertThat(changes.getRemoved(), is(Set.of(Person.class.getName())));
+        }
+
+    @Test
+    public void shouldNotChangeManifestForUnknownRemovedClass() throws Exception
+        {
+        SchemaManifest      manifest = SchemaManifest.scan(List.of(createClasses(Person.class)));
+        PortableTypeChanges changes  = new PortableTypeChanges(Set.of(), true);
+
+        changes.remove(Address.class.getName());
+
+        assertThat(manifest.isAffectedBy(changes), is(false));
+        assertThat(manifest.apply(changes), is(sameInstance(manifest)));
+        assertThat(manifest.apply(null), is(sameInstance(manifest)));
+        }
+
+    @Test
+    public void shouldApplyChangesToManifest() throws Exception
+        {
+        SchemaManifest      manifest = SchemaManifest.scan(List.of(createClasses(Person.class)));
+        PortableTypeChanges changes  = new PortableTypeChanges(Set.of(), true);
+
+        changes.remove(Person.class.getName());
+        changes.add(Address.class.getName(), getClassBytes(Address.class));
+
+        SchemaManifest applied = manifest.apply(changes);
+
+        assertThat(manifest.isAffectedBy(changes), is(true));
+        assertThat(applied, is(not(sameInstance(manifest))));
+        assertThat(applied.getType(Person.class.getName()), is(nullValue()));
+        assertThat(applied.getType(Address.class.getName()), is(notNullValue()));
+        assertThat(applied.getType(Address.class.getName()).getId(), is(1001));
+        assertThat(applied.getType(Address.class.getName()).getRoot(), is(SchemaManifest.NO_ROOT));
+        assertThat(manifest.getType(Person.class.getName()), is(notNullValue()));
+        }
+
+    @Test
+    public void shouldRefreshManifestWithDeletedClass() throws Exception
+        {
+        File           dirClasses = createClasses(Person.class, Address.class);
+        SchemaManifest manifest   = SchemaManifest.scan(List.of(dirClasses));
+
+        assertThat(manifest.refresh(), is(sameInstance(manifest)));
+
+        Files.delete(dirClasses.toPath().resolve("pof/Address.class"));
+
+        SchemaManifest refreshed = manifest.refresh();
+        assertThat(refreshed.getType(Person.class.getName()), is(notNullValue()));
+        assertThat(refreshed.getType(Address.class.getName()), is(nullValue()));
+        }
+
+    @Test
+    public void shouldRefreshManifestWithClassThatIsNoLongerPortable() throws Exception
+        {
+        File           dirClasses = createClasses(Person.class, Address.class);
+        SchemaManifest manifest   = SchemaManifest.scan(List.of(dirClasses));
+
+        Files.write(dirClasses.toPath().resolve("pof/Address.class"), getClassBytes(Object.class));
+
+        SchemaManifest refreshed = manifest.refresh();
+        assertThat(refreshed.getType(Person.class.getName()), is(notNullValue()));
+        assertThat(refreshed.getType(Address.class.getName()), is(nullValue()));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    static File createClasses(Class<?>... aClasses) throws Exception
+        {
+        Path dir = Files.createTempDirectory("coherence-test");
+        for (Class<?> cls : aClasses)
+            {
+            Path path = dir.resolve(cls.getName().replace('.', '/') + ".class");
+            Files.createDirectories(path.getParent());
+            Files.write(path, getClassBytes(cls));
+            }
+        return dir.toFile();
+        }
+
+    static byte[] getClassBytes(Class<?> cls) throws Exception
+        {
+        try (InputStream in = cls.getResourceAsStream(cls.getSimpleName() + ".class"))
+            {
+            return in.readAllBytes();
+            }
+        }
+    }
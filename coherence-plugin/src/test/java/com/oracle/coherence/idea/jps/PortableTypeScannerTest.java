@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor;
+import org.jetbrains.org.objectweb.asm.ClassReader;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import org.junit.Test;
+
+import pof.Person;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PortableTypeScanner}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeScannerTest
+    {
+    @Test
+    public void shouldFindPortableType() throws Exception
+        {
+        assertThat(PortableTypeScanner.isPortableType(readerFor(Person.class)), is(true));
+        }
+
+    @Test
+    public void shouldNotFindPortableTypeOnPlainClass() throws Exception
+        {
+        assertThat(PortableTypeScanner.isPortableType(readerFor(PortableTypeScannerTest.class)), is(false));
+        }
+
+    @Test
+    public void shouldNotFindPortableTypeWhenOnlyReferenced() throws Exception
+        {
+        // this class references the annotation descriptor as a constant but is not annotated
+        assertThat(PortableTypeScanner.isPortableType(readerFor(PortableTypeScanner.class)), is(false));
+        }
+
+    @Test
+    public void shouldFindPortableTypeToInstrument() throws Exception
+        {
+        assertThat(PortableTypeScanner.scan(readerFor(Person.class)), is(PortableTypeScanner.Kind.PORTABLE_TYPE));
+        }
+
+    @Test
+    public void shouldFindAlreadyInstrumentedPortableType()
+        {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "pof/Instrumented", null, "java/lang/Object", null);
+        writer.visitAnnotation(PortableTypeScanner.PORTABLE_TYPE_DESCRIPTOR, true).visitEnd();
+        writer.visitAnnotation(PortableTypeScanner.INSTRUMENTED_DESCRIPTOR, true).visitEnd();
+        writer.visitEnd();
+
+        ClassReader reader = new ClassReader(writer.toByteArray());
+
+        assertThat(PortableTypeScanner.scan(reader), is(PortableTypeScanner.Kind.INSTRUMENTED));
+        assertThat(PortableTypeScanner.isPortableType(reader), is(true));
+        }
+
+    @Test
+    public void shouldReadTypeId()
+        {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "pof/WithId", null, "java/lang/Object", null);
+        AnnotationVisitor annotation = writer.visitAnnotation(PortableTypeScanner.PORTABLE_TYPE_DESCRIPTOR, true);
+        annotation.visit("id", 1001);
+        annotation.visitEnd();
+        writer.visitEnd();
+
+        assertThat(PortableTypeScanner.getTypeId(new ClassReader(writer.toByteArray())), is(1001));
+        }
+
+    @Test
+    public void shouldNotReadTypeIdWhenNotDeclared() throws Exception
+        {
+        assertThat(PortableTypeScanner.getTypeId(readerFor(Person.class)), is(PortableTypeScanner.NO_TYPE_ID));
+        assertThat(PortableTypeScanner.getTypeId(readerFor(PortableTypeScannerTest.class)),
+                   is(PortableTypeScanner.NO_TYPE_ID));
+        }
+
+    @Test
+    public void shouldCheckConstantPoolOfStream() throws Exception
+        {
+        assertThat(PortableTypeScanner.mayBePortableType(streamFor(Person.class)), is(true));
+        assertThat(PortableTypeScanner.mayBePortableType(streamFor(LibraryIndex.class)), is(false));
+        assertThat(PortableTypeScanner.mayBePortableType(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})), is(false));
+
+        // the descriptor is found in the constant pool, even when it is not an annotation
+        assertThat(PortableTypeScanner.mayBePortableType(streamFor(PortableTypeScanner.class)), is(true));
+        }
+
+    @Test
+    public void shouldSkipEightByteConstantsInConstantPool() throws Exception
+        {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "pof/WithConstants", null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "L", "J", null, 42L).visitEnd();
+        writer.visitField(Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "D", "D", null, 4.2d).visitEnd();
+        writer.visitAnnotation(PortableTypeScanner.PORTABLE_TYPE_DESCRIPTOR, true).visitEnd();
+        writer.visitEnd();
+
+        byte[] ab = writer.toByteArray();
+        assertThat(PortableTypeScanner.mayBePortableType(new ByteArrayInputStream(ab)), is(true));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private InputStream streamFor(Class<?> cls) throws IOException
+        {
+        String sResource = cls.getName().replace('.', '/') + ".class";
+        try (InputStream in = cls.getClassLoader().getResourceAsStream(sResource))
+            {
+            return new ByteArrayInputStream(in.readAllBytes());
+            }
+        }
+
+    private ClassReader readerFor(Class<?> cls) throws IOException
+        {
+        String sResource = cls.getName().replace('.', '/') + ".class";
+        try (InputStream in = cls.getClassLoader().getResourceAsStream(sResource))
+            {
+            return new ClassReader(in);
+            }
+        }
+    }
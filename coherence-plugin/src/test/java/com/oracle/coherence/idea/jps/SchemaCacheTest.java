@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link SchemaCache}.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaCacheTest
+    {
+    @Test
+    public void shouldCreateSchemaOncePerClasspath()
+        {
+        SchemaCache   cache    = new SchemaCache(4);
+        List<File>    libs     = Collections.singletonList(new File("coherence.jar"));
+        AtomicInteger cCreated = new AtomicInteger();
+
+        Object schema1 = cache.get(String.class, libs, () -> new Object[cCreated.incrementAndGet()]);
+        Object schema2 = cache.get(String.class, libs, () -> new Object[cCreated.incrementAndGet()]);
+
+        assertThat(schema2, is(sameInstance(schema1)));
+        assertThat(cCreated.get(), is(1));
+        }
+
+    @Test
+    public void shouldCacheSchemaPerGeneratorClass()
+        {
+        SchemaCache cache = new SchemaCache(4);
+        List<File>  libs  = Collections.singletonList(new File("coherence.jar"));
+
+        Object schema1 = cache.get(String.class, libs, Object::new);
+        Object schema2 = cache.get(Integer.class, libs, Object::new);
+
+        assertThat(schema2, is(not(sameInstance(schema1))));
+        assertThat(cache.size(), is(2));
+        }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed()
+        {
+        SchemaCache cache = new SchemaCache(2);
+
+        cache.get(String.class, Collections.singletonList(new File("one.jar")), Object::new);
+        cache.get(String.class, Collections.singletonList(new File("two.jar")), Object::new);
+        cache.get(String.class, Collections.singletonList(new File("three.jar")), Object::new);
+
+        assertThat(cache.size(), is(2));
+        }
+
+    @Test
+    public void shouldReplaceSchema()
+        {
+        SchemaCache cache   = new SchemaCache(4);
+        List<File>  libs    = Collections.singletonList(new File("coherence.jar"));
+        Object      schema1 = cache.get(String.class, libs, Object::new);
+        Object      schema2 = new Object();
+
+        cache.put(String.class, libs, schema2);
+
+        assertThat(cache.get(String.class, libs, Object::new), is(sameInstance(schema2)));
+        assertThat(cache.get(String.class, libs, Object::new), is(not(sameInstance(schema1))));
+        assertThat(cache.size(), is(1));
+        }
+    }
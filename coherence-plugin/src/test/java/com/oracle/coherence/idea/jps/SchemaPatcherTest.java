@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.oracle.coherence.common.schema.Schema;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+
+import org.junit.Test;
+
+import pof.Address;
+import pof.Person;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.oracle.coherence.idea.jps.PortableTypeChangesTest.createClasses;
+import static com.oracle.coherence.idea.jps.PortableTypeChangesTest.getClassBytes;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link SchemaPatcher}.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaPatcherTest
+    {
+    @Test
+    public void shouldAddChangedClass() throws Exception
+        {
+        File                dirClasses = createClasses(Person.class);
+        SchemaManifest      manifest   = SchemaManifest.scan(List.of(dirClasses));
+        PortableTypeChanges changes    = new PortableTypeChanges(Set.of(dirClasses), true);
+
+        changes.add(Address.class.getName(), getClassBytes(Address.class));
+
+        Schema schema = createSchema(dirClasses, manifest.apply(changes), changes);
+
+        assertThat(schema.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema.findTypeByJavaName(Address.class.getName()), is(notNullValue()));
+        }
+
+    @Test
+    public void shouldRemoveClassThatIsNoLongerPortable() throws Exception
+        {
+        File                dirClasses = createClasses(Person.class, Address.class);
+        SchemaManifest      manifest   = SchemaManifest.scan(List.of(dirClasses));
+        PortableTypeChanges changes    = new PortableTypeChanges(Set.of(dirClasses), true);
+
+        // the class file on disk is still the annotated class compiled by an earlier build
+        changes.remove(Address.class.getName());
+
+        Schema schema = createSchema(dirClasses, manifest.apply(changes), changes);
+
+        assertThat(schema.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema.findTypeByJavaName(Address.class.getName()), is(nullValue()));
+        }
+
+    @Test
+    public void shouldRemoveDeletedClass() throws Exception
+        {
+        File           dirClasses = createClasses(Person.class, Address.class);
+        SchemaManifest manifest   = SchemaManifest.scan(List.of(dirClasses));
+
+        Files.delete(dirClasses.toPath().resolve("pof/Address.class"));
+
+        Schema schema = createSchema(dirClasses, manifest, null);
+
+        assertThat(schema.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema.findTypeByJavaName(Address.class.getName()), is(nullValue()));
+        }
+
+    @Test
+    public void shouldSkipStagedClassThatIsNoLongerPortable() throws Exception
+        {
+        File           dirClasses = createClasses(Person.class, Address.class);
+        SchemaManifest manifest   = SchemaManifest.scan(List.of(dirClasses));
+
+        Files.write(dirClasses.toPath().resolve("pof/Address.class"), getClassBytes(Object.class));
+
+        Schema schema = createSchema(dirClasses, manifest, null);
+
+        assertThat(schema.findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        assertThat(schema.findTypeByJavaName(Address.class.getName()), is(nullValue()));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private Schema createSchema(File dirClasses, SchemaManifest manifest, PortableTypeChanges changes)
+        {
+        GeneratorBinding binding = GeneratorBinding.forClass(PortableTypeGenerator.class);
+        Object           schema  = SchemaPatcher.createSchema(binding, new File(dirClasses, "pof/Person.class"),
+                                                              manifest, changes, Collections.emptyMap());
+
+        assertThat(schema instanceof Schema, is(true));
+        return (Schema) schema;
+        }
+    }
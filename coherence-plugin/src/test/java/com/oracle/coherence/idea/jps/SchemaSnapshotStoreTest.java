@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.oracle.coherence.common.schema.Schema;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+
+import org.junit.Test;
+
+import pof.Person;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link SchemaSnapshotStore}.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaSnapshotStoreTest
+    {
+    @Test
+    public void shouldSaveAndLoadManifest() throws Exception
+        {
+        File                dirClasses = createClasses();
+        File                dirStore   = Files.createTempDirectory("coherence-test").toFile();
+        SchemaManifest      manifest   = SchemaManifest.scan(List.of(dirClasses));
+        SchemaSnapshotStore store      = new SchemaSnapshotStore(dirStore);
+
+        assertThat(manifest.getType(Person.class.getName()), is(notNullValue()));
+        assertThat(store.load("fp"), is(nullValue()));
+
+        store.save("fp", manifest);
+
+        assertThat(new SchemaSnapshotStore(dirStore).load("fp"), is(manifest));
+        assertThat(new SchemaSnapshotStore(dirStore).load("other"), is(nullValue()));
+        }
+
+    @Test
+    public void shouldDiscardUnreadableSnapshot() throws Exception
+        {
+        File                dirStore = Files.createTempDirectory("coherence-test").toFile();
+        SchemaSnapshotStore store    = new SchemaSnapshotStore(dirStore);
+
+        store.save("fp", SchemaManifest.scan(List.of(createClasses())));
+
+        File[] aFiles = dirStore.listFiles();
+        assertThat(aFiles.length, is(1));
+        Files.writeString(aFiles[0].toPath(), "not a manifest");
+
+        assertThat(store.load("fp"), is(nullValue()));
+        assertThat(aFiles[0].exists(), is(false));
+        }
+
+    @Test
+    public void shouldRecreateSchemaFromSnapshot() throws Exception
+        {
+        File                dirClasses = createClasses();
+        File                dirStore   = Files.createTempDirectory("coherence-test").toFile();
+        SchemaSnapshotStore store      = new SchemaSnapshotStore(dirStore);
+
+        store.save("fp", SchemaManifest.scan(List.of(dirClasses)));
+
+        GeneratorBinding binding  = GeneratorBinding.forClass(PortableTypeGenerator.class);
+        SchemaManifest   manifest = new SchemaSnapshotStore(dirStore).load("fp");
+        Object           schema   = SchemaPatcher.createSchema(binding, new File(dirClasses, "pof/Person.class"),
+                                                               manifest, null, Collections.emptyMap());
+
+        assertThat(schema instanceof Schema, is(true));
+        assertThat(((Schema) schema).findTypeByJavaName(Person.class.getName()), is(notNullValue()));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private File createClasses() throws Exception
+        {
+        Path dir  = Files.createTempDirectory("coherence-test");
+        Path path = dir.resolve("pof/Person.class");
+        Files.createDirectories(path.getParent());
+        try (InputStream in = Person.class.getResourceAsStream("Person.class"))
+            {
+            Files.write(path, in.readAllBytes());
+            }
+        return dir.toFile();
+        }
+    }
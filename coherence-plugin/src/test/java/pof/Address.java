@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package pof;
+
+import com.tangosol.io.pof.schema.annotation.Portable;
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+/**
+ * A test class annotated with POF annotations and a type identifier.
+ *
+ * @author agent  2026.10.18
+ */
+@PortableType(id = 1001)
+public class Address
+    {
+    @Portable
+    private String street;
+
+    @Portable
+    private String city;
+
+
+    public Address(String street, String city)
+        {
+        this.street = street;
+        this.city = city;
+        }
+
+    public String getStreet()
+        {
+        return street;
+        }
+
+    public String getCity()
+        {
+        return city;
+        }
+    }
@@ -15,6 +15,13 @@ import org.jetbrains.jps.model.JpsProject;
 import org.jetbrains.jps.model.ex.JpsElementBase;
 import org.jetbrains.jps.model.ex.JpsElementChildRoleBase;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
 /**
  * The configuration for the Coherence plugin.
  *
@@ -53,15 +60,221 @@ public class CoherenceConfig
         pofGeneratorEnabled = enabled;
         }
 
+    /**
+     * Returns the number of threads used to instrument the classes of a module,
+     * where zero means one thread per available processor.
+     *
+     * @return  the number of threads used to instrument the classes of a module
+     */
+    public int getPofGeneratorParallelism()
+        {
+        return pofGeneratorParallelism;
+        }
+
+    /**
+     * Set the number of threads used to instrument the classes of a module.
+     *
+     * @param parallelism  the number of threads used to instrument the classes of
+     *                     a module, or zero to use one thread per available processor
+     */
+    public void setPofGeneratorParallelism(int parallelism)
+        {
+        pofGeneratorParallelism = Math.max(0, parallelism);
+        }
+
+    /**
+     * Returns the directory to cache instrumented classes in, where an empty
+     * value means the default directory of the build process.
+     *
+     * @return  the directory to cache instrumented classes in
+     */
+    public String getPofCacheDirectory()
+        {
+        return pofCacheDirectory;
+        }
+
+    /**
+     * Set the directory to cache instrumented classes in.
+     *
+     * @param directory  the directory to cache instrumented classes in, or
+     *                   {@code null} or empty to use the default directory
+     */
+    public void setPofCacheDirectory(String directory)
+        {
+        pofCacheDirectory = directory == null ? "" : directory.trim();
+        }
+
+    /**
+     * Returns {@code true} if the classes of test source roots are instrumented.
+     *
+     * @return  {@code true} if the classes of test source roots are instrumented
+     */
+    public boolean isPofTestSourcesEnabled()
+        {
+        return pofTestSourcesEnabled;
+        }
+
+    /**
+     * Set whether the classes of test source roots are instrumented.
+     *
+     * @param enabled  {@code true} to instrument the classes of test source roots
+     */
+    public void setPofTestSourcesEnabled(boolean enabled)
+        {
+        pofTestSourcesEnabled = enabled;
+        }
+
+    /**
+     * Returns {@code true} if a POF type registry is written into the output
+     * directory of each instrumented module.
+     *
+     * @return  {@code true} if a POF type registry is written
+     */
+    public boolean isPofTypeRegistryEnabled()
+        {
+        return pofTypeRegistryEnabled;
+        }
+
+    /**
+     * Set whether a POF type registry is written into the output directory of
+     * each instrumented module.
+     *
+     * @param enabled  {@code true} to write a POF type registry
+     */
+    public void setPofTypeRegistryEnabled(boolean enabled)
+        {
+        pofTypeRegistryEnabled = enabled;
+        }
+
+    /**
+     * Returns the names of the modules that POF code generation is disabled for.
+     *
+     * @return  the names of the modules that POF code generation is disabled for
+     */
+    public Set<String> getPofDisabledModules()
+        {
+        return Collections.unmodifiableSet(pofDisabledModules);
+        }
+
+    /**
+     * Set the names of the modules that POF code generation is disabled for.
+     *
+     * @param modules  the names of the modules that POF code generation is disabled for
+     */
+    public void setPofDisabledModules(Collection<String> modules)
+        {
+        pofDisabledModules = new TreeSet<>(trimmed(modules));
+        }
+
+    /**
+     * Returns {@code true} if POF code generation is enabled for a module.
+     *
+     * @param module  the name of the module
+     *
+     * @return  {@code true} if POF code generation is enabled for the module
+     */
+    public boolean isPofModuleEnabled(String module)
+        {
+        return !pofDisabledModules.contains(module);
+        }
+
+    /**
+     * Returns the package patterns of the classes to instrument, where an empty
+     * list means classes in all packages are instrumented.
+     *
+     * @return  the package patterns of the classes to instrument
+     */
+    public List<String> getPofIncludedPackages()
+        {
+        return Collections.unmodifiableList(pofIncludedPackages);
+        }
+
+    /**
+     * Set the package patterns of the classes to instrument.
+     *
+     * @param packages  the package patterns of the classes to instrument
+     */
+    public void setPofIncludedPackages(Collection<String> packages)
+        {
+        pofIncludedPackages = trimmed(packages);
+        }
+
+    /**
+     * Returns the package patterns of the classes not to instrument.
+     *
+     * @return  the package patterns of the classes not to instrument
+     */
+    public List<String> getPofExcludedPackages()
+        {
+        return Collections.unmodifiableList(pofExcludedPackages);
+        }
+
+    /**
+     * Set the package patterns of the classes not to instrument.
+     *
+     * @param packages  the package patterns of the classes not to instrument
+     */
+    public void setPofExcludedPackages(Collection<String> packages)
+        {
+        pofExcludedPackages = trimmed(packages);
+        }
+
+    /**
+     * Returns the {@link PackageFilter} for the included and excluded packages.
+     *
+     * @return  the {@link PackageFilter} for the included and excluded packages
+     */
+    public PackageFilter getPofPackageFilter()
+        {
+        return new PackageFilter(pofIncludedPackages, pofExcludedPackages);
+        }
+
+    /**
+     * Returns the {@link Verbosity} of the POF generation build messages.
+     *
+     * @return  the {@link Verbosity} of the POF generation build messages
+     */
+    public Verbosity getPofMessageVerbosity()
+        {
+        return pofMessageVerbosity;
+        }
+
+    /**
+     * Set the {@link Verbosity} of the POF generation build messages.
+     *
+     * @param verbosity  the {@link Verbosity} of the POF generation build messages,
+     *                   or {@code null} to use the default verbosity
+     */
+    public void setPofMessageVerbosity(Verbosity verbosity)
+        {
+        pofMessageVerbosity = verbosity == null ? Verbosity.SUMMARY : verbosity;
+        }
+
     public void loadFrom(Element parent)
         {
         if (parent != null)
             {
-            pofGeneratorEnabled = toBoolean(parent.getChild("pofGeneratorEnabled"));
+            pofGeneratorEnabled     = toBoolean(parent.getChild("pofGeneratorEnabled"));
+            pofGeneratorParallelism = toInt(parent.getChild("pofGeneratorParallelism"), DEFAULT_PARALLELISM);
+            pofCacheDirectory       = toText(parent.getChild("pofCacheDirectory"));
+            pofTestSourcesEnabled   = toBoolean(parent.getChild("pofTestSourcesEnabled"), true);
+            pofDisabledModules      = new TreeSet<>(toList(parent.getChild("pofDisabledModules"), "module"));
+            pofIncludedPackages     = toList(parent.getChild("pofIncludedPackages"), "package");
+            pofExcludedPackages     = toList(parent.getChild("pofExcludedPackages"), "package");
+            pofMessageVerbosity     = Verbosity.from(toText(parent.getChild("pofMessageVerbosity")));
+            pofTypeRegistryEnabled  = toBoolean(parent.getChild("pofTypeRegistryEnabled"), false);
             }
         else
             {
-            pofGeneratorEnabled = false;
+            pofGeneratorEnabled     = false;
+            pofGeneratorParallelism = DEFAULT_PARALLELISM;
+            pofCacheDirectory       = "";
+            pofTestSourcesEnabled   = true;
+            pofDisabledModules      = new TreeSet<>();
+            pofIncludedPackages     = new ArrayList<>();
+            pofExcludedPackages     = new ArrayList<>();
+            pofMessageVerbosity     = Verbosity.SUMMARY;
+            pofTypeRegistryEnabled  = false;
             }
         }
 
@@ -70,6 +283,33 @@ public class CoherenceConfig
         Element pofEnabled = new Element("pofGeneratorEnabled");
         pofEnabled.setText(String.valueOf(pofGeneratorEnabled));
         parent.addContent(pofEnabled);
+
+        Element pofParallelism = new Element("pofGeneratorParallelism");
+        pofParallelism.setText(String.valueOf(pofGeneratorParallelism));
+        parent.addContent(pofParallelism);
+
+        if (!pofCacheDirectory.isEmpty())
+            {
+            Element cacheDirectory = new Element("pofCacheDirectory");
+            cacheDirectory.setText(pofCacheDirectory);
+            parent.addContent(cacheDirectory);
+            }
+
+        Element testSources = new Element("pofTestSourcesEnabled");
+        testSources.setText(String.valueOf(pofTestSourcesEnabled));
+        parent.addContent(testSources);
+
+        addList(parent, "pofDisabledModules", "module", pofDisabledModules);
+        addList(parent, "pofIncludedPackages", "package", pofIncludedPackages);
+        addList(parent, "pofExcludedPackages", "package", pofExcludedPackages);
+
+        Element verbosity = new Element("pofMessageVerbosity");
+        verbosity.setText(pofMessageVerbosity.name());
+        parent.addContent(verbosity);
+
+        Element typeRegistry = new Element("pofTypeRegistryEnabled");
+        typeRegistry.setText(String.valueOf(pofTypeRegistryEnabled));
+        parent.addContent(typeRegistry);
         }
 
     public static CoherenceConfig getSettings(JpsProject project) {
@@ -91,7 +331,15 @@ public class CoherenceConfig
     @Override
     public void applyChanges(@NotNull CoherenceConfig modified)
         {
-        this.pofGeneratorEnabled = modified.pofGeneratorEnabled;
+        this.pofGeneratorEnabled     = modified.pofGeneratorEnabled;
+        this.pofGeneratorParallelism = modified.pofGeneratorParallelism;
+        this.pofCacheDirectory       = modified.pofCacheDirectory;
+        this.pofTestSourcesEnabled   = modified.pofTestSourcesEnabled;
+        this.pofDisabledModules      = new TreeSet<>(modified.pofDisabledModules);
+        this.pofIncludedPackages     = new ArrayList<>(modified.pofIncludedPackages);
+        this.pofExcludedPackages     = new ArrayList<>(modified.pofExcludedPackages);
+        this.pofMessageVerbosity     = modified.pofMessageVerbosity;
+        this.pofTypeRegistryEnabled  = modified.pofTypeRegistryEnabled;
         }
 
     // ----- helper methods -------------------------------------------------
@@ -261,14 +509,244 @@ public class CoherenceConfig
         return element != null && Boolean.TRUE.equals(toBooleanObject(element.getValue()));
         }
 
+    /**
+     * Converts the value of an {@link Element} to a boolean.
+     *
+     * @param element       the {@link Element} to convert, may be {@code null}
+     * @param defaultValue  the value to return if the element is missing or
+     *                      does not contain a valid boolean
+     *
+     * @return  the boolean value of the element or the default value
+     */
+    public static boolean toBoolean(Element element, boolean defaultValue)
+        {
+        Boolean value = element == null ? null : toBooleanObject(element.getValue());
+        return value == null ? defaultValue : value;
+        }
+
+    /**
+     * Converts the children of an {@link Element} to a list of their values.
+     *
+     * @param element  the {@link Element} to convert, may be {@code null}
+     * @param sChild   the name of the child elements
+     *
+     * @return  the trimmed, non-empty, values of the child elements
+     */
+    public static List<String> toList(Element element, String sChild)
+        {
+        List<String> list = new ArrayList<>();
+        if (element != null)
+            {
+            for (Element child : element.getChildren(sChild))
+                {
+                list.add(child.getValue());
+                }
+            }
+        return trimmed(list);
+        }
+
+    /**
+     * Add a list of values to an {@link Element}, as a child element containing
+     * one element for each value.
+     *
+     * @param parent     the {@link Element} to add the list to
+     * @param sName      the name of the list element
+     * @param sChild     the name of the element of each value
+     * @param colValues  the values to add
+     */
+    private static void addList(Element parent, String sName, String sChild, Collection<String> colValues)
+        {
+        Element element = new Element(sName);
+        for (String sValue : colValues)
+            {
+            Element child = new Element(sChild);
+            child.setText(sValue);
+            element.addContent(child);
+            }
+        parent.addContent(element);
+        }
+
+    /**
+     * Return the trimmed, non-empty, values of a collection.
+     *
+     * @param colValues  the values, may be {@code null}
+     *
+     * @return  the trimmed, non-empty, values
+     */
+    private static List<String> trimmed(Collection<String> colValues)
+        {
+        List<String> list = new ArrayList<>();
+        if (colValues != null)
+            {
+            for (String sValue : colValues)
+                {
+                String s = sValue == null ? "" : sValue.trim();
+                if (!s.isEmpty() && !list.contains(s))
+                    {
+                    list.add(s);
+                    }
+                }
+            }
+        return list;
+        }
+
+    /**
+     * Converts the value of an {@link Element} to trimmed text.
+     *
+     * @param element  the {@link Element} to convert, may be {@code null}
+     *
+     * @return  the trimmed text of the element, or an empty string if the
+     *          element is missing
+     */
+    public static String toText(Element element)
+        {
+        return element == null ? "" : element.getValue().trim();
+        }
+
+    /**
+     * Converts the value of an {@link Element} to an int.
+     *
+     * @param element       the {@link Element} to convert, may be {@code null}
+     * @param defaultValue  the value to return if the element is missing or
+     *                      does not contain a valid int
+     *
+     * @return  the int value of the element or the default value
+     */
+    public static int toInt(Element element, int defaultValue)
+        {
+        if (element != null)
+            {
+            try
+                {
+                return Integer.parseInt(element.getValue().trim());
+                }
+            catch (NumberFormatException e)
+                {
+                // ignored - use the default
+                }
+            }
+        return defaultValue;
+        }
+
+    // ----- inner enum: Verbosity ------------------------------------------
+
+    /**
+     * The verbosity of the POF generation build messages.
+     */
+    public enum Verbosity
+        {
+        /**
+         * Only warnings and errors are reported.
+         */
+        QUIET("Errors and warnings only"),
+
+        /**
+         * A single summary message is reported for each module.
+         */
+        SUMMARY("Summary per module"),
+
+        /**
+         * A summary message is reported for each module and a message for
+         * each instrumented class.
+         */
+        DETAILED("Every instrumented class");
+
+        /**
+         * Create a {@link Verbosity}.
+         *
+         * @param sDescription  the description shown in the settings
+         */
+        Verbosity(String sDescription)
+            {
+            this.sDescription = sDescription;
+            }
+
+        /**
+         * Return the {@link Verbosity} with the specified name.
+         *
+         * @param sName  the name of the {@link Verbosity}
+         *
+         * @return  the {@link Verbosity} with the specified name, or
+         *          {@link #SUMMARY} if there is no such verbosity
+         */
+        public static Verbosity from(String sName)
+            {
+            for (Verbosity verbosity : values())
+                {
+                if (verbosity.name().equalsIgnoreCase(sName))
+                    {
+                    return verbosity;
+                    }
+                }
+            return SUMMARY;
+            }
+
+        @Override
+        public String toString()
+            {
+            return sDescription;
+            }
+
+        /**
+         * The description shown in the settings.
+         */
+        private final String sDescription;
+        }
+
     // ----- constants ------------------------------------------------------
 
     public static final JpsElementChildRole<CoherenceConfig> ROLE = JpsElementChildRoleBase.create("OracleCoherence");
 
+    /**
+     * The default POF generation parallelism, which uses one thread per available processor.
+     */
+    public static final int DEFAULT_PARALLELISM = 0;
+
     // ----- data members ---------------------------------------------------
 
     /**
      * Flag to determine whether POF generation is enabled - disabled by default.
      */
     private boolean pofGeneratorEnabled = false;
+
+    /**
+     * The number of threads used to instrument the classes of a module.
+     */
+    private int pofGeneratorParallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * The directory to cache instrumented classes in, or empty to use the default directory.
+     */
+    private String pofCacheDirectory = "";
+
+    /**
+     * {@code true} if the classes of test source roots are instrumented.
+     */
+    private boolean pofTestSourcesEnabled = true;
+
+    /**
+     * The names of the modules that POF code generation is disabled for.
+     */
+    private Set<String> pofDisabledModules = new TreeSet<>();
+
+    /**
+     * The package patterns of the classes to instrument.
+     */
+    private List<String> pofIncludedPackages = new ArrayList<>();
+
+    /**
+     * The package patterns of the classes not to instrument.
+     */
+    private List<String> pofExcludedPackages = new ArrayList<>();
+
+    /**
+     * The verbosity of the POF generation build messages.
+     */
+    private Verbosity pofMessageVerbosity = Verbosity.SUMMARY;
+
+    /**
+     * {@code true} if a POF type registry is written into the output directory
+     * of each instrumented module.
+     */
+    private boolean pofTypeRegistryEnabled = false;
     }
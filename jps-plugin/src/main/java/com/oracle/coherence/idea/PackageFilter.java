@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A filter of class names based on package include and exclude patterns.
+ * <p>
+ * A pattern is a package name, which matches that package and all of its
+ * sub-packages. A {@code *} in a pattern matches any part of a single package
+ * name segment, so {@code com.acme.*.model} matches {@code com.acme.orders.model}.
+ * A class is accepted if it matches none of the exclude patterns and either
+ * there are no include patterns or it matches at least one of them.
+ *
+ * @author agent  2026.10.18
+ */
+public class PackageFilter
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PackageFilter}.
+     *
+     * @param colInclude  the include patterns
+     * @param colExclude  the exclude patterns
+     */
+    public PackageFilter(Collection<String> colInclude, Collection<String> colExclude)
+        {
+        this.listInclude = compile(colInclude);
+        this.listExclude = compile(colExclude);
+        }
+
+    // ----- PackageFilter methods ------------------------------------------
+
+    /**
+     * Determine whether a class is accepted by this filter.
+     *
+     * @param sClassName  the fully qualified name of the class
+     *
+     * @return  {@code true} if the class is accepted by this filter
+     */
+    public boolean accepts(String sClassName)
+        {
+        int    nDot     = sClassName.lastIndexOf('.');
+        String sPackage = nDot < 0 ? "" : sClassName.substring(0, nDot);
+
+        for (Pattern pattern : listExclude)
+            {
+            if (pattern.matcher(sPackage).matches())
+                {
+                return false;
+                }
+            }
+
+        if (listInclude.isEmpty())
+            {
+            return true;
+            }
+
+        for (Pattern pattern : listInclude)
+            {
+            if (pattern.matcher(sPackage).matches())
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    /**
+     * Return {@code true} if this filter accepts every class.
+     *
+     * @return  {@code true} if this filter accepts every class
+     */
+    public boolean isAll()
+        {
+        return listInclude.isEmpty() && listExclude.isEmpty();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Compile package patterns to regular expressions.
+     *
+     * @param colPatterns  the package patterns
+     *
+     * @return  the compiled patterns
+     */
+    private static List<Pattern> compile(Collection<String> colPatterns)
+        {
+        List<Pattern> list = new ArrayList<>();
+        for (String sPattern : colPatterns)
+            {
+            String s = sPattern.trim();
+            if (s.endsWith(".*"))
+                {
+                // "com.acme.*" is the same as "com.acme", which already includes sub-packages
+                s = s.substring(0, s.length() - 2);
+                }
+            if (s.isEmpty())
+                {
+                continue;
+                }
+
+            StringBuilder sb     = new StringBuilder();
+            String[]      asPart = s.split("\\*", -1);
+            for (int i = 0; i < asPart.length; i++)
+                {
+                if (i > 0)
+                    {
+                    sb.append("[^.]*");
+                    }
+                sb.append(Pattern.quote(asPart[i]));
+                }
+            list.add(Pattern.compile(sb.append("(\\..*)?").toString()));
+            }
+        return list;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The include patterns.
+     */
+    private final List<Pattern> listInclude;
+
+    /**
+     * The exclude patterns.
+     */
+    private final List<Pattern> listExclude;
+    }
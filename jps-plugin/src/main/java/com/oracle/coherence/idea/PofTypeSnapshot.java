@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea;
+
+import com.oracle.coherence.idea.jps.PortableTypeScanner;
+
+import com.intellij.openapi.util.JDOMUtil;
+
+import org.jdom.Element;
+import org.jdom.JDOMException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A snapshot of the {@code @PortableType} classes the IDE has indexed in a
+ * project, exported to the build process so that the POF generator does not
+ * have to scan classes and jars to find them.
+ * <p>
+ * The snapshot is {@link #write(File) written} by the IDE to the build data
+ * directory of the project just before a build starts, and
+ * {@link #read(File) read} from there by the build process, so it is neither
+ * part of the project settings nor of the files under version control. It
+ * only reflects the source files as they were when it was taken, so the build
+ * process only trusts it for a compiled class whose Java sources have not been
+ * modified {@link #isCurrent(Collection) since}; any other class is scanned.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofTypeSnapshot
+    {
+    // ----- PofTypeSnapshot methods ----------------------------------------
+
+    /**
+     * Return the time the snapshot was taken, or zero if there is no snapshot.
+     *
+     * @return  the time the snapshot was taken
+     */
+    public long getTimestamp()
+        {
+        return timestamp;
+        }
+
+    /**
+     * Set the time the snapshot was taken.
+     *
+     * @param ldtTimestamp  the time the snapshot was taken
+     */
+    public void setTimestamp(long ldtTimestamp)
+        {
+        timestamp = ldtTimestamp;
+        }
+
+    /**
+     * Returns {@code true} if this snapshot has been taken by the IDE.
+     *
+     * @return  {@code true} if this snapshot has been taken by the IDE
+     */
+    public boolean isAvailable()
+        {
+        return timestamp > 0;
+        }
+
+    /**
+     * Determine whether this snapshot reflects the current content of the
+     * sources of a compiled class.
+     * <p>
+     * Only Java sources are indexed by the IDE, so the snapshot is not current
+     * for a class compiled from any other source.
+     *
+     * @param colSources  the source files of the compiled class
+     *
+     * @return  {@code true} if the snapshot is available and all the sources
+     *          are Java sources that have not been modified since it was taken
+     */
+    public boolean isCurrent(Collection<File> colSources)
+        {
+        if (!isAvailable() || colSources.isEmpty())
+            {
+            return false;
+            }
+        for (File file : colSources)
+            {
+            if (!file.getName().endsWith(".java") || file.lastModified() > timestamp)
+                {
+                return false;
+                }
+            }
+        return true;
+        }
+
+    /**
+     * Add a {@code @PortableType} class to the snapshot.
+     *
+     * @param type  the class to add
+     */
+    public void add(PortableType type)
+        {
+        types.put(type.getClassName(), type);
+        }
+
+    /**
+     * Return the {@code @PortableType} classes in the snapshot.
+     *
+     * @return  the {@code @PortableType} classes in the snapshot
+     */
+    public Collection<PortableType> getTypes()
+        {
+        return Collections.unmodifiableCollection(types.values());
+        }
+
+    /**
+     * Return a {@code @PortableType} class in the snapshot.
+     *
+     * @param sClassName  the binary name of the class
+     *
+     * @return  the class, or {@code null} if the class is not in the snapshot
+     */
+    public PortableType getType(String sClassName)
+        {
+        return types.get(sClassName);
+        }
+
+    /**
+     * Returns {@code true} if a class is a {@code @PortableType} class in the snapshot.
+     *
+     * @param sClassName  the binary name of the class
+     *
+     * @return  {@code true} if the class is in the snapshot
+     */
+    public boolean contains(String sClassName)
+        {
+        return types.containsKey(sClassName);
+        }
+
+    /**
+     * Return the libraries that contain {@code @PortableType} classes.
+     *
+     * @return  the libraries that contain {@code @PortableType} classes
+     */
+    public Set<File> getLibraries()
+        {
+        Set<File> setLibs = new TreeSet<>();
+        for (PortableType type : types.values())
+            {
+            if (type.getLibrary() != null)
+                {
+                setLibs.add(new File(type.getLibrary()));
+                }
+            }
+        return setLibs;
+        }
+
+    /**
+     * Load the snapshot from the XML element it was saved to, replacing the
+     * current content of the snapshot.
+     *
+     * @param parent  the element to load the snapshot from, or {@code null}
+     *                to clear the snapshot
+     */
+    public void loadFrom(Element parent)
+        {
+        types.clear();
+        timestamp = 0L;
+
+        if (parent != null)
+            {
+            timestamp = toLong(parent.getAttributeValue("timestamp"), 0L);
+            for (Element element : parent.getChildren("type"))
+                {
+                String sClassName = element.getAttributeValue("class");
+                if (sClassName != null)
+                    {
+                    add(new PortableType(sClassName,
+                                         (int) toLong(element.getAttributeValue("id"), PortableType.NO_ID),
+                                         element.getAttributeValue("super"),
+                                         element.getAttributeValue("module"),
+                                         element.getAttributeValue("library")));
+                    }
+                }
+            }
+        }
+
+    /**
+     * Save the snapshot to an XML element.
+     *
+     * @param parent  the element to add the snapshot attributes and types to
+     */
+    public void saveTo(@NotNull Element parent)
+        {
+        parent.setAttribute("timestamp", String.valueOf(timestamp));
+        for (PortableType type : types.values())
+            {
+            Element element = new Element("type");
+            element.setAttribute("class", type.getClassName());
+            if (type.getId() != PortableType.NO_ID)
+                {
+                element.setAttribute("id", String.valueOf(type.getId()));
+                }
+            setAttribute(element, "super", type.getSuperName());
+            setAttribute(element, "module", type.getModule());
+            setAttribute(element, "library", type.getLibrary());
+            parent.addContent(element);
+            }
+        }
+
+    /**
+     * Write the snapshot to a build data directory.
+     * <p>
+     * The snapshot is written to a temporary file that then replaces the
+     * previous snapshot, so a build never reads a partially written snapshot.
+     *
+     * @param dirData  the build data directory of the project
+     *
+     * @throws IOException  if the snapshot cannot be written
+     */
+    public void write(File dirData) throws IOException
+        {
+        Path path = dirData.toPath().resolve(FILE_NAME);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        Element root = new Element("oracle-coherence-pof-types");
+        saveTo(root);
+
+        Files.createDirectories(path.getParent());
+        JDOMUtil.write(root, temp);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+    /**
+     * Delete the snapshot from a build data directory, so that the build
+     * process does not use a snapshot that is out of date.
+     *
+     * @param dirData  the build data directory of the project
+     *
+     * @throws IOException  if the snapshot cannot be deleted
+     */
+    public static void delete(File dirData) throws IOException
+        {
+        Files.deleteIfExists(dirData.toPath().resolve(FILE_NAME));
+        }
+
+    /**
+     * Read the snapshot the IDE wrote to a build data directory.
+     *
+     * @param dirData  the build data directory of the project, or {@code null}
+     *
+     * @return  the snapshot, or an empty snapshot that is not
+     *          {@link #isAvailable() available} if the IDE did not write one
+     *          or it cannot be read
+     */
+    public static PofTypeSnapshot read(File dirData)
+        {
+        PofTypeSnapshot snapshot = new PofTypeSnapshot();
+        Path            path     = dirData == null ? null : dirData.toPath().resolve(FILE_NAME);
+        if (path != null && Files.isRegularFile(path))
+            {
+            try
+                {
+                snapshot.loadFrom(JDOMUtil.load(path));
+                }
+            catch (IOException | JDOMException e)
+                {
+                // ignored - the snapshot is only an optimization
+                snapshot.loadFrom(null);
+                }
+            }
+        return snapshot;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Parse a {@code long} attribute value.
+     *
+     * @param sValue    the attribute value, or {@code null}
+     * @param nDefault  the value to return if the attribute is missing or invalid
+     *
+     * @return  the parsed value, or the default value
+     */
+    private static long toLong(String sValue, long nDefault)
+        {
+        if (sValue != null)
+            {
+            try
+                {
+                return Long.parseLong(sValue.trim());
+                }
+            catch (NumberFormatException e)
+                {
+                // ignored - use the default
+                }
+            }
+        return nDefault;
+        }
+
+    /**
+     * Set an attribute of an element if the value is not empty.
+     *
+     * @param element  the element
+     * @param sName    the attribute name
+     * @param sValue   the attribute value, or {@code null}
+     */
+    private static void setAttribute(Element element, String sName, String sValue)
+        {
+        if (sValue != null && !sValue.isEmpty())
+            {
+            element.setAttribute(sName, sValue);
+            }
+        }
+
+    // ----- inner class: PortableType --------------------------------------
+
+    /**
+     * A {@code @PortableType} class in the snapshot.
+     */
+    public static class PortableType
+        {
+        /**
+         * Create a {@link PortableType}.
+         *
+         * @param sClassName  the binary name of the class
+         * @param nId         the type identifier, or {@link #NO_ID} if it is not a literal
+         * @param sSuperName  the name of the super class, or {@code null}
+         * @param sModule     the module the class is declared in, or {@code null}
+         * @param sLibrary    the library the class is in, or {@code null}
+         */
+        public PortableType(String sClassName, int nId, String sSuperName, String sModule, String sLibrary)
+            {
+            this.sClassName = sClassName;
+            this.nId        = nId;
+            this.sSuperName = sSuperName;
+            this.sModule    = sModule;
+            this.sLibrary   = sLibrary;
+            }
+
+        /**
+         * Return the binary name of the class.
+         *
+         * @return  the binary name of the class
+         */
+        public String getClassName()
+            {
+            return sClassName;
+            }
+
+        /**
+         * Return the POF type identifier of the class.
+         *
+         * @return  the type identifier, or {@link #NO_ID} if it is not a literal
+         */
+        public int getId()
+            {
+            return nId;
+            }
+
+        /**
+         * Return the name of the super class, as written in the source for
+         * a class in a module, or the binary name for a class in a library.
+         *
+         * @return  the name of the super class, or {@code null} if the class
+         *          extends {@code Object}
+         */
+        public String getSuperName()
+            {
+            return sSuperName;
+            }
+
+        /**
+         * Return the name of the module the class is declared in.
+         *
+         * @return  the name of the module, or {@code null} for a library class
+         */
+        public String getModule()
+            {
+            return sModule;
+            }
+
+        /**
+         * Return the path of the library the class is in.
+         *
+         * @return  the path of the library, or {@code null} for a module class
+         */
+        public String getLibrary()
+            {
+            return sLibrary;
+            }
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (this == o)
+                {
+                return true;
+                }
+            if (!(o instanceof PortableType))
+                {
+                return false;
+                }
+            PortableType that = (PortableType) o;
+            return nId == that.nId
+                   && sClassName.equals(that.sClassName)
+                   && Objects.equals(sSuperName, that.sSuperName)
+                   && Objects.equals(sModule, that.sModule)
+                   && Objects.equals(sLibrary, that.sLibrary);
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return Objects.hash(sClassName, nId, sSuperName, sModule, sLibrary);
+            }
+
+        @Override
+        public String toString()
+            {
+            return "PortableType(" + sClassName + ", id=" + nId + ")";
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * The identifier used when the type identifier is not a literal.
+         */
+        public static final int NO_ID = PortableTypeScanner.NO_TYPE_ID;
+
+        // ----- data members -----------------------------------------------
+
+        private final String sClassName;
+
+        private final int nId;
+
+        private final String sSuperName;
+
+        private final String sModule;
+
+        private final String sLibrary;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The path of the snapshot file, relative to the build data directory.
+     */
+    public static final String FILE_NAME = "coherence-pof/types.xml";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The time the snapshot was taken, or zero if there is no snapshot.
+     */
+    private long timestamp;
+
+    /**
+     * The {@code @PortableType} classes, keyed by binary class name.
+     */
+    private final Map<String, PortableType> types = new TreeMap<>();
+    }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A helper to calculate a fingerprint of a class path.
+ * <p>
+ * The fingerprint of a jar file is made up from its path, size and last modified
+ * time. Directories are walked and each file contributes its relative path, size
+ * and last modified time, so that a change to any class below a directory changes
+ * the fingerprint.
+ *
+ * @author agent  2026.10.18
+ */
+public class ClasspathFingerprint
+    {
+    // ----- ClasspathFingerprint methods -----------------------------------
+
+    /**
+     * Calculate the fingerprint of the specified class path entries.
+     *
+     * @param listFiles  the class path entries
+     *
+     * @return  the fingerprint of the class path as a hex string
+     */
+    public static String of(List<File> listFiles)
+        {
+        return of(listFiles, Collections.emptySet());
+        }
+
+    /**
+     * Calculate the fingerprint of the specified class path entries, where
+     * only the path of some of the entries contributes to the fingerprint.
+     *
+     * @param listFiles    the class path entries
+     * @param setPathOnly  the entries where only the path contributes to
+     *                     the fingerprint, and not their content
+     *
+     * @return  the fingerprint of the class path as a hex string
+     */
+    public static String of(List<File> listFiles, Set<File> setPathOnly)
+        {
+        MessageDigest digest = newDigest();
+
+        for (File file : listFiles)
+            {
+            update(digest, file.getAbsolutePath());
+            if (setPathOnly.contains(file))
+                {
+                continue;
+                }
+            if (file.isDirectory())
+                {
+                updateDirectory(digest, file.toPath());
+                }
+            else
+                {
+                update(digest, file.length() + ":" + file.lastModified());
+                }
+            }
+
+        return toHex(digest.digest());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Update the digest with the contents of a directory.
+     *
+     * @param digest  the {@link MessageDigest} to update
+     * @param dir     the directory to add to the digest
+     */
+    private static void updateDirectory(MessageDigest digest, Path dir)
+        {
+        try (Stream<Path> stream = Files.walk(dir))
+            {
+            Iterator<Path> it = stream.sorted().iterator();
+            while (it.hasNext())
+                {
+                Path                path  = it.next();
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attrs.isRegularFile())
+                    {
+                    update(digest, dir.relativize(path) + ":" + attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+                    }
+                }
+            }
+        catch (IOException e)
+            {
+            throw new UncheckedIOException(e);
+            }
+        }
+
+    /**
+     * Update the digest with a {@link String} value.
+     *
+     * @param digest  the {@link MessageDigest} to update
+     * @param s       the value to add to the digest
+     */
+    private static void update(MessageDigest digest, String s)
+        {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        }
+
+    /**
+     * Create a new {@link MessageDigest}.
+     *
+     * @return  a new {@link MessageDigest}
+     */
+    static MessageDigest newDigest()
+        {
+        try
+            {
+            return MessageDigest.getInstance("SHA-256");
+            }
+        catch (NoSuchAlgorithmException e)
+            {
+            // every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+            }
+        }
+
+    /**
+     * Convert a byte array to a hex string.
+     *
+     * @param ab  the bytes to convert
+     *
+     * @return  the hex string
+     */
+    static String toHex(byte[] ab)
+        {
+        StringBuilder sb = new StringBuilder(ab.length * 2);
+        for (byte b : ab)
+            {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16))
+              .append(Character.forDigit(b & 0xF, 16));
+            }
+        return sb.toString();
+        }
+    }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * File helpers shared by the POF build.
+ *
+ * @author agent  2026.10.18
+ */
+public final class FileHelper
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Not instantiable.
+     */
+    private FileHelper()
+        {
+        }
+
+    // ----- FileHelper methods ---------------------------------------------
+
+    /**
+     * Delete a directory and its contents, logging rather than failing if
+     * anything cannot be deleted.
+     *
+     * @param dir  the directory to delete, or {@code null}
+     */
+    public static void delete(Path dir)
+        {
+        if (dir == null)
+            {
+            return;
+            }
+
+        try (Stream<Path> stream = Files.walk(dir))
+            {
+            for (Path path : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator)
+                {
+                Files.deleteIfExists(path);
+                }
+            }
+        catch (IOException e)
+            {
+            LOGGER.info("Could not delete " + dir + " - " + e.getMessage());
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(FileHelper.class);
+    }
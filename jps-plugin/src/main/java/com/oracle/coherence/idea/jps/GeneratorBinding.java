@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A binding to the entry points of a Coherence {@code PortableTypeGenerator} class.
+ * <p>
+ * The {@code createSchema} and {@code instrumentClass} methods are resolved to
+ * {@link MethodHandle method handles} once per generator class and reused for
+ * every class instrumented with that generator. If the methods cannot be resolved
+ * the binding records the failure, so that it can be reported once instead of
+ * being silently skipped for every class.
+ *
+ * @author agent  2026.10.18
+ */
+public class GeneratorBinding
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link GeneratorBinding}.
+     *
+     * @param clsGenerator      the generator class
+     * @param hCreateSchema     the handle of the {@code createSchema} method
+     * @param hInstrumentClass  the handle of the {@code instrumentClass} method
+     * @param error             the error resolving the handles, or {@code null}
+     */
+    private GeneratorBinding(Class<?> clsGenerator, MethodHandle hCreateSchema, MethodHandle hInstrumentClass,
+                             Throwable error)
+        {
+        this.clsGenerator     = clsGenerator;
+        this.hCreateSchema    = hCreateSchema;
+        this.hInstrumentClass = hInstrumentClass;
+        this.error            = error;
+        }
+
+    // ----- GeneratorBinding methods ---------------------------------------
+
+    /**
+     * Return the {@link GeneratorBinding} for a generator class.
+     *
+     * @param clsGenerator  the generator class
+     *
+     * @return  the {@link GeneratorBinding} for the generator class
+     */
+    public static GeneratorBinding forClass(Class<?> clsGenerator)
+        {
+        return BINDINGS.get(clsGenerator);
+        }
+
+    /**
+     * Return the generator class.
+     *
+     * @return  the generator class
+     */
+    public Class<?> getGeneratorClass()
+        {
+        return clsGenerator;
+        }
+
+    /**
+     * Return {@code true} if the generator methods were resolved.
+     *
+     * @return  {@code true} if the generator methods were resolved
+     */
+    public boolean isValid()
+        {
+        return error == null;
+        }
+
+    /**
+     * Return the error that prevented the generator methods being resolved.
+     *
+     * @return  the error that prevented the generator methods being resolved,
+     *          or {@code null} if the binding is valid
+     */
+    public Throwable getError()
+        {
+        return error;
+        }
+
+    /**
+     * Invoke the generator's {@code createSchema} method.
+     *
+     * @param fileClass  the class file being instrumented
+     * @param mapEnv     the generator environment
+     *
+     * @return  the POF schema
+     */
+    public Object createSchema(File fileClass, Map<String, ?> mapEnv)
+        {
+        ensureValid();
+        try
+            {
+            return (Object) hCreateSchema.invokeExact(fileClass, mapEnv);
+            }
+        catch (RuntimeException | Error e)
+            {
+            throw e;
+            }
+        catch (Throwable t)
+            {
+            throw new IllegalStateException(t);
+            }
+        }
+
+    /**
+     * Invoke the generator's {@code instrumentClass} method.
+     *
+     * @param fileClass   the class file being instrumented
+     * @param abClass     the buffer containing the class bytes
+     * @param nOffset     the offset of the class in the buffer
+     * @param nLength     the length of the class in the buffer
+     * @param properties  the default generator properties
+     * @param mapEnv      the generator environment
+     *
+     * @return  the instrumented class bytes, or {@code null} if the class
+     *          was not instrumented
+     */
+    public byte[] instrumentClass(File fileClass, byte[] abClass, int nOffset, int nLength,
+                                  Properties properties, Map<String, ?> mapEnv)
+        {
+        ensureValid();
+        try
+            {
+            return (byte[]) hInstrumentClass.invokeExact(fileClass, abClass, nOffset, nLength, properties, mapEnv);
+            }
+        catch (RuntimeException | Error e)
+            {
+            throw e;
+            }
+        catch (Throwable t)
+            {
+            throw new IllegalStateException(t);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Resolve the binding for a generator class.
+     *
+     * @param clsGenerator  the generator class
+     *
+     * @return  the binding for the generator class
+     */
+    private static GeneratorBinding resolve(Class<?> clsGenerator)
+        {
+        try
+            {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            // the createSchema method returns a Coherence Schema, which is adapted to Object
+            MethodHandle hCreateSchema    = lookup.unreflect(clsGenerator.getMethod("createSchema", File.class, Map.class))
+                                                  .asType(CREATE_SCHEMA_TYPE);
+            MethodHandle hInstrumentClass = lookup.findStatic(clsGenerator, "instrumentClass", INSTRUMENT_CLASS_TYPE);
+
+            return new GeneratorBinding(clsGenerator, hCreateSchema, hInstrumentClass, null);
+            }
+        catch (Throwable t)
+            {
+            return new GeneratorBinding(clsGenerator, null, null, t);
+            }
+        }
+
+    /**
+     * Ensure that this binding is valid.
+     *
+     * @throws IllegalStateException if the binding is not valid
+     */
+    private void ensureValid()
+        {
+        if (error != null)
+            {
+            throw new IllegalStateException("Unsupported POF generator " + clsGenerator.getName()
+                                            + " - " + error.getMessage(), error);
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The type that the {@code createSchema} method handle is adapted to.
+     */
+    private static final MethodType CREATE_SCHEMA_TYPE = MethodType.methodType(Object.class, File.class, Map.class);
+
+    /**
+     * The type of the {@code instrumentClass} method.
+     */
+    private static final MethodType INSTRUMENT_CLASS_TYPE = MethodType.methodType(byte[].class, File.class,
+            byte[].class, int.class, int.class, Properties.class, Map.class);
+
+    /**
+     * The bindings, associated with their generator class so that a binding
+     * does not prevent its generator class being unloaded.
+     */
+    private static final ClassValue<GeneratorBinding> BINDINGS = new ClassValue<>()
+        {
+        @Override
+        protected GeneratorBinding computeValue(Class<?> clsGenerator)
+            {
+            return resolve(clsGenerator);
+            }
+        };
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The generator class.
+     */
+    private final Class<?> clsGenerator;
+
+    /**
+     * The handle of the {@code createSchema} method.
+     */
+    private final MethodHandle hCreateSchema;
+
+    /**
+     * The handle of the {@code instrumentClass} method.
+     */
+    private final MethodHandle hInstrumentClass;
+
+    /**
+     * The error resolving the method handles, or {@code null} if the binding is valid.
+     */
+    private final Throwable error;
+    }
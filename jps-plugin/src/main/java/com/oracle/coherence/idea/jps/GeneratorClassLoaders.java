@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The isolated class loaders the POF generator is loaded from, shared by every
+ * chunk and build that uses the same Coherence jar.
+ * <p>
+ * Loading the generator from a chunk's own class loader means that the
+ * generator, and the parts of Coherence it uses, are loaded, linked and
+ * JIT compiled again for every chunk. A shared loader only contains the
+ * Coherence jar and has the platform class loader as its parent, so the
+ * generator is loaded once for as long as the build process is alive. The
+ * project classes are still resolved through the chunk's own class loader,
+ * which is the context class loader while the generator runs.
+ * <p>
+ * A loader is held for each Coherence jar identified by its path, size and
+ * last modified time, so a rebuilt snapshot jar gets a new loader. The least
+ * recently used loaders are evicted once there are more than
+ * {@value #MAX_LOADERS} of them. A build {@link #acquire(File) acquires} the
+ * loader it uses and {@link #release(ClassLoader) releases} it when it is done,
+ * and an evicted loader is closed, releasing its jar, once no build uses it.
+ *
+ * @author agent  2026.10.18
+ */
+public class GeneratorClassLoaders
+    {
+    // ----- GeneratorClassLoaders methods ----------------------------------
+
+    /**
+     * Return the shared class loader for a Coherence jar.
+     * <p>
+     * The loader is not acquired, so it may be closed at any time after it
+     * has been evicted.
+     *
+     * @param fileJar  the Coherence jar
+     *
+     * @return  the shared class loader for the jar, or {@code null} if the
+     *          jar cannot be used to create a class loader
+     */
+    public static ClassLoader forJar(File fileJar)
+        {
+        synchronized (LOADERS)
+            {
+            Holder holder = ensureHolder(fileJar);
+            return holder == null ? null : holder.loader;
+            }
+        }
+
+    /**
+     * Acquire the shared class loader for a Coherence jar, so that it is not
+     * closed until it has been {@link #release(ClassLoader) released}.
+     *
+     * @param fileJar  the Coherence jar
+     *
+     * @return  the shared class loader for the jar, or {@code null} if the
+     *          jar cannot be used to create a class loader
+     */
+    public static ClassLoader acquire(File fileJar)
+        {
+        synchronized (LOADERS)
+            {
+            Holder holder = ensureHolder(fileJar);
+            if (holder == null)
+                {
+                return null;
+                }
+            holder.cUsers++;
+            return holder.loader;
+            }
+        }
+
+    /**
+     * Release a class loader acquired by {@link #acquire(File)}, closing it if
+     * it has been evicted and is no longer used.
+     * <p>
+     * Any other class loader is ignored, so the loader of any generator class
+     * can be released.
+     *
+     * @param loader  the class loader
+     */
+    public static void release(ClassLoader loader)
+        {
+        synchronized (LOADERS)
+            {
+            Holder holder = HOLDERS.get(loader);
+            if (holder != null && holder.cUsers > 0 && --holder.cUsers == 0 && holder.fEvicted)
+                {
+                close(holder);
+                }
+            }
+        }
+
+    /**
+     * Determine whether a class loader is a shared class loader that has been closed.
+     *
+     * @param loader  the class loader
+     *
+     * @return  {@code true} if the loader is a shared class loader that has been closed
+     */
+    static boolean isClosed(ClassLoader loader)
+        {
+        synchronized (LOADERS)
+            {
+            return loader instanceof URLClassLoader && !HOLDERS.containsKey(loader)
+                   && LOADER_NAME.equals(loader.getName());
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the {@link Holder} of the shared class loader for a Coherence jar,
+     * creating it if necessary. The caller must hold the {@link #LOADERS} lock.
+     *
+     * @param fileJar  the Coherence jar
+     *
+     * @return  the {@link Holder}, or {@code null} if the jar cannot be used to
+     *          create a class loader
+     */
+    private static Holder ensureHolder(File fileJar)
+        {
+        String sKey   = fileJar.getAbsolutePath() + ':' + fileJar.length() + ':' + fileJar.lastModified();
+        Holder holder = LOADERS.get(sKey);
+        if (holder == null)
+            {
+            try
+                {
+                holder = new Holder(new URLClassLoader(LOADER_NAME,
+                                                       new URL[] {fileJar.getAbsoluteFile().toURI().toURL()},
+                                                       ClassLoader.getPlatformClassLoader()));
+                }
+            catch (MalformedURLException e)
+                {
+                LOGGER.info("Could not create a POF generator class loader for " + fileJar + " - " + e.getMessage());
+                return null;
+                }
+            HOLDERS.put(holder.loader, holder);
+            LOADERS.put(sKey, holder);
+            }
+        return holder;
+        }
+
+    /**
+     * Evict a class loader, closing it if no build uses it. The caller must
+     * hold the {@link #LOADERS} lock.
+     *
+     * @param holder  the {@link Holder} of the class loader
+     */
+    private static void evict(Holder holder)
+        {
+        holder.fEvicted = true;
+        if (holder.cUsers == 0)
+            {
+            close(holder);
+            }
+        }
+
+    /**
+     * Close a class loader. The caller must hold the {@link #LOADERS} lock.
+     *
+     * @param holder  the {@link Holder} of the class loader
+     */
+    private static void close(Holder holder)
+        {
+        HOLDERS.remove(holder.loader);
+        try
+            {
+            holder.loader.close();
+            }
+        catch (IOException e)
+            {
+            LOGGER.info("Could not close a POF generator class loader - " + e.getMessage());
+            }
+        }
+
+    // ----- inner class: Holder --------------------------------------------
+
+    /**
+     * A shared class loader and the number of builds using it.
+     */
+    private static class Holder
+        {
+        /**
+         * Create a {@link Holder}.
+         *
+         * @param loader  the class loader
+         */
+        Holder(URLClassLoader loader)
+            {
+            this.loader = loader;
+            }
+
+        /**
+         * The class loader.
+         */
+        final URLClassLoader loader;
+
+        /**
+         * The number of builds using the class loader.
+         */
+        int cUsers;
+
+        /**
+         * {@code true} if the class loader has been evicted.
+         */
+        boolean fEvicted;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(GeneratorClassLoaders.class);
+
+    /**
+     * The maximum number of class loaders to hold.
+     */
+    static final int MAX_LOADERS = 4;
+
+    /**
+     * The name of the shared class loaders.
+     */
+    private static final String LOADER_NAME = "coherence-pof-generator";
+
+    /**
+     * The class loaders, keyed by the path, size and last modified time of their
+     * Coherence jar, in least recently used order.
+     */
+    private static final Map<String, Holder> LOADERS = new LinkedHashMap<>(16, 0.75f, true)
+        {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Holder> eldest)
+            {
+            if (size() > MAX_LOADERS)
+                {
+                evict(eldest.getValue());
+                return true;
+                }
+            return false;
+            }
+        };
+
+    /**
+     * The class loaders that have not been closed, including evicted loaders
+     * that are still in use.
+     */
+    private static final Map<ClassLoader, Holder> HOLDERS = new IdentityHashMap<>();
+    }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.FieldVisitor;
+import org.jetbrains.org.objectweb.asm.MethodVisitor;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Warms up a POF generator by creating a schema for, and instrumenting, a
+ * small synthetic {@code @PortableType} class.
+ * <p>
+ * This loads and links the parts of Coherence used by the generator, and
+ * starts JIT compiling them, before the first real class is instrumented.
+ * A generator class is only warmed up once for the life of the process.
+ *
+ * @author agent  2026.10.18
+ */
+public class GeneratorWarmUp
+    {
+    // ----- GeneratorWarmUp methods ----------------------------------------
+
+    /**
+     * Warm up a POF generator, unless it has already been warmed up.
+     *
+     * @param binding            the {@link GeneratorBinding} of the generator
+     * @param supplierCancelled  returns {@code true} if the warm-up should stop
+     */
+    public static void warmUp(GeneratorBinding binding, BooleanSupplier supplierCancelled)
+        {
+        synchronized (WARMED)
+            {
+            if (!binding.isValid() || !WARMED.add(binding.getGeneratorClass()))
+                {
+                return;
+                }
+            }
+
+        Class<?>    clsGenerator = binding.getGeneratorClass();
+        Thread      thread       = Thread.currentThread();
+        ClassLoader loaderThread = thread.getContextClassLoader();
+        Path        dir          = null;
+
+        try
+            {
+            thread.setContextClassLoader(clsGenerator.getClassLoader());
+
+            byte[] abClass   = createClass();
+            dir = Files.createTempDirectory("coherence-pof-warm-up");
+            Path   pathClass = dir.resolve(CLASS_NAME + ".class");
+            Files.createDirectories(pathClass.getParent());
+            Files.write(pathClass, abClass);
+
+            Map<String, Object> env = new HashMap<>();
+            env.put("libs", List.of(dir.toFile()));
+            env.put("schema", binding.createSchema(pathClass.toFile(), env));
+
+            if (!supplierCancelled.getAsBoolean())
+                {
+                binding.instrumentClass(pathClass.toFile(), abClass, 0, abClass.length, new Properties(), env);
+                }
+            }
+        catch (Throwable e)
+            {
+            // the warm-up is only an optimization, the build reports any real problem
+            LOGGER.info("Could not warm up the POF generator " + clsGenerator.getName() + " - " + e.getMessage());
+            }
+        finally
+            {
+            thread.setContextClassLoader(loaderThread);
+            FileHelper.delete(dir);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create the synthetic {@code @PortableType} class.
+     *
+     * @return  the class file bytes
+     */
+    private static byte[] createClass()
+        {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, CLASS_NAME, null, "java/lang/Object", null);
+
+        AnnotationVisitor annotation = writer.visitAnnotation(PortableTypeScanner.PORTABLE_TYPE_DESCRIPTOR, true);
+        annotation.visit("id", TYPE_ID);
+        annotation.visitEnd();
+
+        FieldVisitor field = writer.visitField(Opcodes.ACC_PRIVATE, "value", "Ljava/lang/String;", null, null);
+        field.visitAnnotation(PORTABLE_DESCRIPTOR, true).visitEnd();
+        field.visitEnd();
+
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        method.visitCode();
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(GeneratorWarmUp.class);
+
+    /**
+     * The internal name of the synthetic class.
+     */
+    private static final String CLASS_NAME = "com/oracle/coherence/idea/pof/WarmUp";
+
+    /**
+     * The POF type identifier of the synthetic class.
+     */
+    private static final int TYPE_ID = 1000;
+
+    /**
+     * The descriptor of the {@code @Portable} annotation.
+     */
+    private static final String PORTABLE_DESCRIPTOR = "Lcom/tangosol/io/pof/schema/annotation/Portable;";
+
+    /**
+     * The generator classes that have been warmed up.
+     */
+    private static final Set<Class<?>> WARMED = Collections.newSetFromMap(new WeakHashMap<>());
+    }
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed, on disk, cache of instrumented class files.
+ * <p>
+ * An instrumented class is stored under a hash of the class bytes before
+ * instrumentation combined with a fingerprint of the POF generator and the
+ * schema used to instrument it, so that a class compiled to the same byte-code
+ * as a previous build does not need to be instrumented again. The fingerprint
+ * is a hash of the generator jar and of the sorted names and type identifiers
+ * of the schema's {@link SchemaManifest manifest}. It does not contain any file
+ * paths, so the cache directory can be shared by different checkouts of a
+ * project, or by a team.
+ * <p>
+ * Entries are written to a temporary file and atomically moved into place,
+ * so concurrent builds sharing a directory never read a partial entry. The
+ * directory is {@link #prune(long, Duration) pruned} of entries that have not
+ * been used for a while, and of the least recently used entries once it grows
+ * beyond a size limit.
+ *
+ * @author agent  2026.10.18
+ */
+public class InstrumentedClassCache
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create an {@link InstrumentedClassCache}.
+     *
+     * @param dir  the directory to store the instrumented classes in
+     */
+    public InstrumentedClassCache(File dir)
+        {
+        this.dir = dir.toPath();
+        }
+
+    // ----- InstrumentedClassCache methods ---------------------------------
+
+    /**
+     * Return the fingerprint of a POF generator and schema.
+     *
+     * @param clsGenerator  the POF generator class
+     * @param manifest      the {@link SchemaManifest} of the POF schema
+     *
+     * @return  the fingerprint, or {@code null} if the generator cannot be
+     *          fingerprinted and instrumented classes must not be cached
+     */
+    public static String fingerprint(Class<?> clsGenerator, SchemaManifest manifest)
+        {
+        if (manifest == null)
+            {
+            return null;
+            }
+
+        synchronized (FINGERPRINTS)
+            {
+            String sFingerprint = FINGERPRINTS.get(manifest);
+            if (sFingerprint == null)
+                {
+                sFingerprint = calculateFingerprint(clsGenerator, manifest);
+                if (sFingerprint != null)
+                    {
+                    FINGERPRINTS.put(manifest, sFingerprint);
+                    }
+                }
+            return sFingerprint;
+            }
+        }
+
+    /**
+     * Return the cached instrumented class for a class.
+     *
+     * @param sFingerprint  the fingerprint of the generator and schema
+     * @param abClass       the buffer containing the class bytes
+     * @param nOffset       the offset of the class in the buffer
+     * @param nLength       the length of the class in the buffer
+     *
+     * @return  the instrumented class bytes, or {@code null} if the class is not cached
+     */
+    public byte[] get(String sFingerprint, byte[] abClass, int nOffset, int nLength)
+        {
+        Path path = pathOf(sFingerprint, abClass, nOffset, nLength);
+        try
+            {
+            byte[] abInst = Files.readAllBytes(path);
+            if (!isClassFile(abInst))
+                {
+                return null;
+                }
+            touch(path);
+            return abInst;
+            }
+        catch (NoSuchFileException e)
+            {
+            return null;
+            }
+        catch (IOException e)
+            {
+            LOGGER.info("Could not read an instrumented class from " + dir + " - " + e.getMessage());
+            return null;
+            }
+        }
+
+    /**
+     * Store an instrumented class.
+     *
+     * @param sFingerprint  the fingerprint of the generator and schema
+     * @param abClass       the buffer containing the class bytes before instrumentation
+     * @param nOffset       the offset of the class in the buffer
+     * @param nLength       the length of the class in the buffer
+     * @param abInst        the instrumented class bytes
+     */
+    public void put(String sFingerprint, byte[] abClass, int nOffset, int nLength, byte[] abInst)
+        {
+        Path path = pathOf(sFingerprint, abClass, nOffset, nLength);
+        try
+            {
+            Files.createDirectories(path.getParent());
+
+            Path pathTemp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try
+                {
+                Files.write(pathTemp, abInst);
+                Files.move(pathTemp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            finally
+                {
+                Files.deleteIfExists(pathTemp);
+                }
+            }
+        catch (IOException e)
+            {
+            LOGGER.info("Could not write an instrumented class to " + dir + " - " + e.getMessage());
+            }
+        }
+
+    /**
+     * Prune the cache directory, unless it has already been pruned by this
+     * process recently.
+     */
+    public void pruneIfDue()
+        {
+        long ldtNow = System.currentTimeMillis();
+        synchronized (PRUNED)
+            {
+            Long ldtPruned = PRUNED.get(dir);
+            if (ldtPruned != null && ldtNow - ldtPruned < PRUNE_INTERVAL.toMillis())
+                {
+                return;
+                }
+            PRUNED.put(dir, ldtNow);
+            }
+        prune(MAX_SIZE, MAX_AGE);
+        }
+
+    /**
+     * Prune the cache directory, removing the entries that have not been used
+     * for longer than the maximum age, and then the least recently used entries
+     * until the size of the remaining entries is within the maximum size.
+     *
+     * @param cbMax   the maximum size of the entries, in bytes
+     * @param maxAge  the maximum time since an entry was last used
+     *
+     * @return  the number of entries removed
+     */
+    public int prune(long cbMax, Duration maxAge)
+        {
+        if (!Files.isDirectory(dir))
+            {
+            return 0;
+            }
+
+        List<Entry> listEntries = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(dir, 2))
+            {
+            Iterator<Path> it = stream.iterator();
+            while (it.hasNext())
+                {
+                Path path = it.next();
+                if (path.getFileName().toString().endsWith(".class"))
+                    {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    listEntries.add(new Entry(path, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                }
+            }
+        catch (IOException | RuntimeException e)
+            {
+            LOGGER.info("Could not prune the instrumented class cache " + dir + " - " + e.getMessage());
+            return 0;
+            }
+
+        // remove the least recently used entries first
+        listEntries.sort(Comparator.comparingLong(entry -> entry.ldtModified));
+
+        long cbTotal = 0L;
+        for (Entry entry : listEntries)
+            {
+            cbTotal += entry.cbSize;
+            }
+
+        long ldtOldest = System.currentTimeMillis() - maxAge.toMillis();
+        int  cRemoved  = 0;
+        for (Entry entry : listEntries)
+            {
+            if (entry.ldtModified >= ldtOldest && cbTotal <= cbMax)
+                {
+                break;
+                }
+            try
+                {
+                Files.deleteIfExists(entry.path);
+                cbTotal -= entry.cbSize;
+                cRemoved++;
+                }
+            catch (IOException e)
+                {
+                // another build may be using the cache, the entry is removed next time
+                }
+            }
+        return cRemoved;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Mark a cache entry as used, so that it is not pruned. The last modified
+     * time is only updated once a day, to avoid a write for every cache hit.
+     *
+     * @param path  the path of the cache entry
+     */
+    private static void touch(Path path)
+        {
+        try
+            {
+            long ldtNow = System.currentTimeMillis();
+            if (ldtNow - Files.getLastModifiedTime(path).toMillis() > TOUCH_INTERVAL.toMillis())
+                {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(ldtNow));
+                }
+            }
+        catch (IOException e)
+            {
+            // the entry may have been pruned by another build, it is still valid
+            }
+        }
+
+    /**
+     * Return the path of the cache entry for a class.
+     *
+     * @param sFingerprint  the fingerprint of the generator and schema
+     * @param abClass       the buffer containing the class bytes
+     * @param nOffset       the offset of the class in the buffer
+     * @param nLength       the length of the class in the buffer
+     *
+     * @return  the path of the cache entry
+     */
+    private Path pathOf(String sFingerprint, byte[] abClass, int nOffset, int nLength)
+        {
+        MessageDigest digest = ClasspathFingerprint.newDigest();
+        digest.update(sFingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update(abClass, nOffset, nLength);
+
+        // spread the entries over sub-directories to keep directory listings small
+        String sHash = ClasspathFingerprint.toHex(digest.digest());
+        return dir.resolve(sHash.substring(0, 2)).resolve(sHash + ".class");
+        }
+
+    /**
+     * Calculate the fingerprint of a POF generator and schema.
+     *
+     * @param clsGenerator  the POF generator class
+     * @param manifest      the {@link SchemaManifest} of the POF schema
+     *
+     * @return  the fingerprint, or {@code null} if it could not be calculated
+     */
+    private static String calculateFingerprint(Class<?> clsGenerator, SchemaManifest manifest)
+        {
+        try
+            {
+            String sGenerator = getGeneratorHash(clsGenerator);
+            if (sGenerator == null)
+                {
+                return null;
+                }
+
+            MessageDigest digest = ClasspathFingerprint.newDigest();
+            digest.update(sGenerator.getBytes(StandardCharsets.UTF_8));
+            for (SchemaManifest.Type type : manifest.getTypes())
+                {
+                digest.update((type.getClassName() + ':' + type.getId() + '\n').getBytes(StandardCharsets.UTF_8));
+                }
+            return ClasspathFingerprint.toHex(digest.digest());
+            }
+        catch (Exception e)
+            {
+            LOGGER.info("Could not fingerprint the POF generator, instrumented classes will not be cached - "
+                        + e.getMessage());
+            return null;
+            }
+        }
+
+    /**
+     * Return the hash of the jar a POF generator class was loaded from, or of
+     * the generator class itself if it was not loaded from a jar.
+     * <p>
+     * The hash of a jar is remembered until the jar changes, so that a jar is
+     * only read once by a build process.
+     *
+     * @param clsGenerator  the POF generator class
+     *
+     * @return  the hash, or {@code null} if it could not be calculated
+     *
+     * @throws Exception  if the jar or class cannot be read
+     */
+    private static String getGeneratorHash(Class<?> clsGenerator) throws Exception
+        {
+        CodeSource source  = clsGenerator.getProtectionDomain().getCodeSource();
+        URL        url     = source == null ? null : source.getLocation();
+        File       fileJar = url == null || !"file".equals(url.getProtocol()) ? null : new File(url.toURI());
+
+        if (fileJar != null && fileJar.isFile())
+            {
+            String sKey = fileJar.getAbsolutePath() + ':' + fileJar.length() + ':' + fileJar.lastModified();
+            synchronized (JAR_HASHES)
+                {
+                String sHash = JAR_HASHES.get(sKey);
+                if (sHash == null)
+                    {
+                    sHash = hash(Files.newInputStream(fileJar.toPath()));
+                    JAR_HASHES.put(sKey, sHash);
+                    }
+                return sHash;
+                }
+            }
+
+        // the generator byte-code identifies the Coherence version, even for snapshot builds
+        InputStream in = clsGenerator.getResourceAsStream(clsGenerator.getSimpleName() + ".class");
+        return in == null ? null : hash(in);
+        }
+
+    /**
+     * Return the hash of the content of a stream, closing the stream.
+     *
+     * @param in  the stream
+     *
+     * @return  the hash as a hex string
+     *
+     * @throws IOException  if the stream cannot be read
+     */
+    private static String hash(InputStream in) throws IOException
+        {
+        MessageDigest digest = ClasspathFingerprint.newDigest();
+        try (InputStream stream = in)
+            {
+            byte[] ab = new byte[64 * 1024];
+            for (int cb = stream.read(ab); cb >= 0; cb = stream.read(ab))
+                {
+                digest.update(ab, 0, cb);
+                }
+            }
+        return ClasspathFingerprint.toHex(digest.digest());
+        }
+
+    /**
+     * Determine whether the specified bytes start with the class file magic number.
+     *
+     * @param ab  the bytes to check
+     *
+     * @return  {@code true} if the bytes start with the class file magic number
+     */
+    private static boolean isClassFile(byte[] ab)
+        {
+        return ab.length > 4 && (ab[0] & 0xFF) == 0xCA && (ab[1] & 0xFF) == 0xFE
+                             && (ab[2] & 0xFF) == 0xBA && (ab[3] & 0xFF) == 0xBE;
+        }
+
+    // ----- inner class: Entry ---------------------------------------------
+
+    /**
+     * A cache entry found when pruning the cache directory.
+     */
+    private static class Entry
+        {
+        /**
+         * Create an {@link Entry}.
+         *
+         * @param path         the path of the entry
+         * @param cbSize       the size of the entry
+         * @param ldtModified  the time the entry was last modified
+         */
+        Entry(Path path, long cbSize, long ldtModified)
+            {
+            this.path        = path;
+            this.cbSize      = cbSize;
+            this.ldtModified = ldtModified;
+            }
+
+        /**
+         * The path of the entry.
+         */
+        final Path path;
+
+        /**
+         * The size of the entry.
+         */
+        final long cbSize;
+
+        /**
+         * The time the entry was last modified.
+         */
+        final long ldtModified;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(InstrumentedClassCache.class);
+
+    /**
+     * The default maximum size of the cached classes, in bytes.
+     */
+    public static final long MAX_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The default maximum time since a cached class was last used.
+     */
+    public static final Duration MAX_AGE = Duration.ofDays(30);
+
+    /**
+     * The minimum time between two prunes of a cache directory by a process.
+     */
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(12);
+
+    /**
+     * The minimum time between two updates of the last modified time of an entry.
+     */
+    private static final Duration TOUCH_INTERVAL = Duration.ofDays(1);
+
+    /**
+     * The fingerprints of the schemas in use, keyed by their manifest, which are
+     * cached because a schema is shared by many chunks.
+     */
+    private static final Map<SchemaManifest, String> FINGERPRINTS = new WeakHashMap<>();
+
+    /**
+     * The hashes of the generator jars, keyed by jar path, size and last modified time.
+     */
+    private static final Map<String, String> JAR_HASHES = new HashMap<>();
+
+    /**
+     * The time each cache directory was last pruned by this process.
+     */
+    private static final Map<Path, Long> PRUNED = new HashMap<>();
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The directory to store the instrumented classes in.
+     */
+    private final Path dir;
+    }
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * A persistent index of which jars on a class path are relevant to the POF
+ * schema, so that only those jars are passed to the POF generator.
+ * <p>
+ * A jar is relevant if it contains an XML POF schema resource or a class
+ * annotated with {@code @PortableType}. A jar is scanned once, through a zip
+ * file system that only reads the entries it needs: the schema resource is
+ * checked first, then only the constant pool of each class is inflated to
+ * look for the annotation descriptor, and only the few classes that contain
+ * it are read in full to check their annotations. The result is stored
+ * under the jar's path, size and last modified time, so it is only scanned
+ * again when it changes. Directories are always relevant, as their content
+ * changes from one build to the next.
+ *
+ * @author agent  2026.10.18
+ */
+public class LibraryIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link LibraryIndex}.
+     *
+     * @param fileIndex  the file to persist the index in, or {@code null}
+     *                   to only hold the index in memory
+     */
+    public LibraryIndex(File fileIndex)
+        {
+        this.fileIndex = fileIndex;
+        }
+
+    // ----- LibraryIndex methods -------------------------------------------
+
+    /**
+     * Return the libraries that are relevant to the POF schema.
+     *
+     * @param listLibs  the libraries of a class path
+     *
+     * @return  the immutable list of the relevant libraries, in class path order
+     */
+    public List<File> filter(List<File> listLibs)
+        {
+        List<File> list = new ArrayList<>(listLibs.size());
+        for (File file : listLibs)
+            {
+            if (file.isDirectory() || isRelevant(file))
+                {
+                list.add(file);
+                }
+            }
+        save();
+        return List.copyOf(list);
+        }
+
+    /**
+     * Return the libraries that are relevant to the POF schema, when the
+     * libraries that contain {@code @PortableType} classes are already known,
+     * for example from the IDE's index.
+     * <p>
+     * The known libraries are relevant without being scanned. Any other jar is
+     * relevant if the index already holds it as relevant or, if it is not in
+     * the index or has changed, if it contains an XML POF schema; its classes
+     * are not scanned, and the result is not stored in the index.
+     *
+     * @param listLibs          the libraries of a class path
+     * @param colTypeLibraries  the jars known to contain {@code @PortableType} classes
+     *
+     * @return  the immutable list of the relevant libraries, in class path order
+     */
+    public List<File> filter(List<File> listLibs, Collection<File> colTypeLibraries)
+        {
+        Set<String> setKnown = new HashSet<>();
+        for (File fileJar : colTypeLibraries)
+            {
+            setKnown.add(fileJar.getAbsolutePath());
+            }
+
+        List<File> list = new ArrayList<>(listLibs.size());
+        for (File file : listLibs)
+            {
+            if (file.isDirectory() || setKnown.contains(file.getAbsolutePath()) || isIndexedRelevant(file)
+                    || containsSchema(file))
+                {
+                list.add(file);
+                }
+            }
+        save();
+        return List.copyOf(list);
+        }
+
+    /**
+     * Determine whether a jar is relevant to the POF schema.
+     *
+     * @param fileJar  the jar
+     *
+     * @return  {@code true} if the jar contains an XML POF schema or a
+     *          {@code @PortableType} class
+     */
+    public boolean isRelevant(File fileJar)
+        {
+        String sPath     = fileJar.getAbsolutePath();
+        long   cbSize    = fileJar.length();
+        long   ldtModify = fileJar.lastModified();
+
+        synchronized (this)
+            {
+            ensureLoaded();
+            Entry entry = mapEntries.get(sPath);
+            if (entry != null && entry.cbSize == cbSize && entry.ldtModified == ldtModify)
+                {
+                return entry.fRelevant;
+                }
+            }
+
+        // scan outside the monitor, so chunks with different class paths
+        // do not wait for each other's jars to be scanned
+        boolean fRelevant = scan(fileJar);
+
+        synchronized (this)
+            {
+            mapEntries.put(sPath, new Entry(cbSize, ldtModify, fRelevant));
+            fDirty = true;
+            }
+        return fRelevant;
+        }
+
+    /**
+     * Record jars that are already known to contain {@code @PortableType}
+     * classes, for example from the IDE's index, so that they are not scanned.
+     *
+     * @param colJars  the jars known to be relevant to the POF schema
+     */
+    public synchronized void markRelevant(Collection<File> colJars)
+        {
+        ensureLoaded();
+        for (File fileJar : colJars)
+            {
+            if (fileJar.isFile())
+                {
+                Entry entry    = new Entry(fileJar.length(), fileJar.lastModified(), true);
+                Entry entryOld = mapEntries.put(fileJar.getAbsolutePath(), entry);
+                fDirty |= entryOld == null || !entryOld.fRelevant
+                          || entryOld.cbSize != entry.cbSize || entryOld.ldtModified != entry.ldtModified;
+                }
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Determine whether the index holds a jar as relevant, without scanning it.
+     *
+     * @param fileJar  the jar
+     *
+     * @return  {@code true} if the jar is unchanged since it was indexed as relevant
+     */
+    private synchronized boolean isIndexedRelevant(File fileJar)
+        {
+        ensureLoaded();
+        Entry entry = mapEntries.get(fileJar.getAbsolutePath());
+        return entry != null && entry.fRelevant
+               && entry.cbSize == fileJar.length() && entry.ldtModified == fileJar.lastModified();
+        }
+
+    /**
+     * Determine whether a jar contains an XML POF schema, reading only its
+     * central directory.
+     *
+     * @param fileJar  the jar
+     *
+     * @return  {@code true} if the jar contains an XML POF schema, or could not be read
+     */
+    private static boolean containsSchema(File fileJar)
+        {
+        try (ZipFile zip = new ZipFile(fileJar))
+            {
+            return zip.getEntry(SCHEMA_RESOURCE) != null;
+            }
+        catch (IOException e)
+            {
+            // a jar that cannot be read is passed to the generator, as before
+            LOGGER.info("Could not check " + fileJar + " for a POF schema - " + e.getMessage());
+            return true;
+            }
+        }
+
+    /**
+     * Scan a jar for an XML POF schema or a {@code @PortableType} class.
+     *
+     * @param fileJar  the jar to scan
+     *
+     * @return  {@code true} if the jar is relevant to the POF schema, which
+     *          includes any jar that could not be scanned
+     */
+    private static boolean scan(File fileJar)
+        {
+        try (FileSystem fs = FileSystems.newFileSystem(fileJar.toPath(), (ClassLoader) null))
+            {
+            if (Files.exists(fs.getPath(SCHEMA_RESOURCE)))
+                {
+                return true;
+                }
+
+            try (Stream<Path> stream = Files.walk(fs.getPath("/")))
+                {
+                return stream.filter(path -> path.toString().endsWith(".class"))
+                             .anyMatch(LibraryIndex::isPortableType);
+                }
+            }
+        catch (Exception e)
+            {
+            // a jar that cannot be scanned is passed to the generator, as before
+            LOGGER.info("Could not index the POF types in " + fileJar + " - " + e.getMessage());
+            return true;
+            }
+        }
+
+    /**
+     * Determine whether a class file in a jar is annotated with {@code @PortableType}.
+     * <p>
+     * Only the start of the class file, up to the end of its constant pool,
+     * is read unless the constant pool contains the annotation descriptor.
+     *
+     * @param path  the class file
+     *
+     * @return  {@code true} if the class is annotated with {@code @PortableType}
+     */
+    private static boolean isPortableType(Path path)
+        {
+        try
+            {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(path), CONSTANT_POOL_BUFFER_SIZE))
+                {
+                if (!PortableTypeScanner.mayBePortableType(in))
+                    {
+                    return false;
+                    }
+                }
+            return PortableTypeScanner.scan(new ClassReader(Files.readAllBytes(path))) != PortableTypeScanner.Kind.PLAIN;
+            }
+        catch (IOException | RuntimeException e)
+            {
+            // not a valid class file, so it cannot be a portable type
+            return false;
+            }
+        }
+
+    /**
+     * Load the persisted index, if it has not already been loaded.
+     * <p>
+     * This method must be called while holding the monitor of this index.
+     */
+    private void ensureLoaded()
+        {
+        if (fLoaded)
+            {
+            return;
+            }
+        fLoaded = true;
+
+        if (fileIndex == null)
+            {
+            return;
+            }
+
+        try (BufferedReader reader = Files.newBufferedReader(fileIndex.toPath(), StandardCharsets.UTF_8))
+            {
+            if (!HEADER.equals(reader.readLine()))
+                {
+                return;
+                }
+
+            for (String sLine = reader.readLine(); sLine != null; sLine = reader.readLine())
+                {
+                String[] asPart = sLine.split("\t", 4);
+                if (asPart.length == 4)
+                    {
+                    mapEntries.put(asPart[3], new Entry(Long.parseLong(asPart[1]), Long.parseLong(asPart[2]),
+                                                        "1".equals(asPart[0])));
+                    }
+                }
+            }
+        catch (NoSuchFileException e)
+            {
+            // there is no index yet
+            }
+        catch (IOException | RuntimeException e)
+            {
+            LOGGER.info("Discarding unreadable POF library index " + fileIndex + " - " + e.getMessage());
+            mapEntries.clear();
+            }
+        }
+
+    /**
+     * Persist the index, if it has changed since it was loaded or last saved.
+     */
+    private synchronized void save()
+        {
+        if (!fDirty || fileIndex == null)
+            {
+            return;
+            }
+        fDirty = false;
+
+        Path path = fileIndex.toPath();
+        try
+            {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+
+            Path pathTemp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try
+                {
+                try (BufferedWriter writer = Files.newBufferedWriter(pathTemp, StandardCharsets.UTF_8))
+                    {
+                    writer.write(HEADER);
+                    writer.newLine();
+                    for (Map.Entry<String, Entry> entry : mapEntries.entrySet())
+                        {
+                        Entry value = entry.getValue();
+                        writer.write((value.fRelevant ? "1" : "0") + '\t' + value.cbSize + '\t'
+                                     + value.ldtModified + '\t' + entry.getKey());
+                        writer.newLine();
+                        }
+                    }
+                Files.move(pathTemp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            finally
+                {
+                Files.deleteIfExists(pathTemp);
+                }
+            }
+        catch (IOException e)
+            {
+            LOGGER.info("Could not save the POF library index " + fileIndex + " - " + e.getMessage());
+            }
+        }
+
+    // ----- inner class: Entry ---------------------------------------------
+
+    /**
+     * The indexed state of a jar.
+     */
+    private static class Entry
+        {
+        /**
+         * Create an {@link Entry}.
+         *
+         * @param cbSize       the size of the jar
+         * @param ldtModified  the last modified time of the jar
+         * @param fRelevant    {@code true} if the jar is relevant to the POF schema
+         */
+        Entry(long cbSize, long ldtModified, boolean fRelevant)
+            {
+            this.cbSize      = cbSize;
+            this.ldtModified = ldtModified;
+            this.fRelevant   = fRelevant;
+            }
+
+        /**
+         * The size of the jar.
+         */
+        final long cbSize;
+
+        /**
+         * The last modified time of the jar.
+         */
+        final long ldtModified;
+
+        /**
+         * {@code true} if the jar is relevant to the POF schema.
+         */
+        final boolean fRelevant;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(LibraryIndex.class);
+
+    /**
+     * The XML POF schema resource.
+     */
+    public static final String SCHEMA_RESOURCE = "META-INF/schema.xml";
+
+    /**
+     * The size of the buffer used to read the constant pool of a class.
+     */
+    private static final int CONSTANT_POOL_BUFFER_SIZE = 2048;
+
+    /**
+     * The first line of a persisted index, which changes with the index format.
+     */
+    private static final String HEADER = "# Coherence POF library index 1";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The file to persist the index in, or {@code null}.
+     */
+    private final File fileIndex;
+
+    /**
+     * The indexed jars, keyed by absolute path.
+     */
+    private final Map<String, Entry> mapEntries = new HashMap<>();
+
+    /**
+     * {@code true} once the persisted index has been loaded.
+     */
+    private boolean fLoaded;
+
+    /**
+     * {@code true} if the index has changed since it was loaded or last saved.
+     */
+    private boolean fDirty;
+    }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A helper to determine the libraries that are passed to the POF generator
+ * as the {@code libs} environment entry.
+ * <p>
+ * The libraries are the existing class path entries of the nearest
+ * {@link URLClassLoader} in the parent chain of a class loader, or the JVM
+ * class path if the chain ends at the system class loader without one.
+ * The result is calculated once per class loader and cached as an immutable
+ * list, so the same list instance is used for every class in a chunk.
+ *
+ * @author agent  2026.10.18
+ */
+public class LibraryResolver
+    {
+    // ----- LibraryResolver methods ----------------------------------------
+
+    /**
+     * Return the libraries for the specified class loader.
+     *
+     * @param loader  the {@link ClassLoader} of the chunk being built
+     *
+     * @return  the immutable list of libraries
+     */
+    public static List<File> getLibraries(ClassLoader loader)
+        {
+        synchronized (CACHE)
+            {
+            return CACHE.computeIfAbsent(loader, LibraryResolver::resolve);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Resolve the libraries for a class loader.
+     *
+     * @param loader  the {@link ClassLoader} to resolve the libraries for
+     *
+     * @return  the immutable list of libraries
+     */
+    private static List<File> resolve(ClassLoader loader)
+        {
+        // the chunk class loader itself only serves the classes compiled in
+        // memory, its class path is held by the nearest URLClassLoader above it
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent())
+            {
+            if (cl instanceof URLClassLoader)
+                {
+                return toFiles(((URLClassLoader) cl).getURLs());
+                }
+            if (cl == ClassLoader.getSystemClassLoader())
+                {
+                return toFiles(System.getProperty("java.class.path", "").split(File.pathSeparator));
+                }
+            }
+
+        LOGGER.info("Could not determine the POF generator libraries from " + loader);
+        return Collections.emptyList();
+        }
+
+    /**
+     * Convert class path {@link URL URLs} to a list of existing files.
+     *
+     * @param aURL  the class path {@link URL URLs}
+     *
+     * @return  the immutable list of existing files
+     */
+    private static List<File> toFiles(URL[] aURL)
+        {
+        List<File> list = new ArrayList<>(aURL.length);
+        for (URL url : aURL)
+            {
+            try
+                {
+                File file = new File(url.toURI().getSchemeSpecificPart());
+                if (file.exists())
+                    {
+                    list.add(file);
+                    }
+                }
+            catch (URISyntaxException e)
+                {
+                LOGGER.error(e);
+                }
+            }
+        return List.copyOf(list);
+        }
+
+    /**
+     * Convert class path entries to a list of existing files.
+     *
+     * @param asPath  the class path entries
+     *
+     * @return  the immutable list of existing files
+     */
+    private static List<File> toFiles(String[] asPath)
+        {
+        List<File> list = new ArrayList<>(asPath.length);
+        for (String sPath : asPath)
+            {
+            File file = new File(sPath);
+            if (!sPath.isEmpty() && file.exists())
+                {
+                list.add(file.getAbsoluteFile());
+                }
+            }
+        return List.copyOf(list);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(LibraryResolver.class);
+
+    /**
+     * The libraries, cached per class loader.
+     */
+    private static final Map<ClassLoader, List<File>> CACHE = new WeakHashMap<>();
+    }
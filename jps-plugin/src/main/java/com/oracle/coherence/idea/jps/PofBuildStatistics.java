@@ -0,0 +1,665 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of the POF instrumentation of a single module chunk.
+ * <p>
+ * The statistics are published as a summary build message and as a JSON
+ * report, so that the overhead of POF instrumentation can be tracked over
+ * time. A {@link PofBuildStatistics} is only updated by the thread building
+ * the chunk and is not thread safe.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofBuildStatistics
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofBuildStatistics}.
+     *
+     * @param sName  the name of the chunk
+     */
+    public PofBuildStatistics(String sName)
+        {
+        this.sName     = sName;
+        this.timestamp = Instant.now();
+        }
+
+    // ----- PofBuildStatistics methods -------------------------------------
+
+    /**
+     * Record that a compiled class was seen.
+     */
+    public void classSeen()
+        {
+        cSeen++;
+        }
+
+    /**
+     * Record that a compiled class was skipped because it is not a
+     * {@code @PortableType} class or cannot be instrumented.
+     */
+    public void classSkipped()
+        {
+        cSkipped++;
+        }
+
+    /**
+     * Record that a compiled class was skipped because it was already instrumented.
+     */
+    public void classAlreadyInstrumented()
+        {
+        cAlreadyInstrumented++;
+        }
+
+    /**
+     * Record that a class was instrumented.
+     *
+     * @param sClassName  the name of the class
+     * @param cNanos      the time taken to instrument the class
+     * @param cbBefore    the size of the class before it was instrumented
+     * @param cbAfter     the size of the class after it was instrumented
+     * @param fCached     {@code true} if the instrumented class came from the cache
+     */
+    public void classInstrumented(String sClassName, long cNanos, long cbBefore, long cbAfter, boolean fCached)
+        {
+        cInstrumented++;
+        if (fCached)
+            {
+            cCached++;
+            }
+        this.cbBefore += cbBefore;
+        this.cbAfter  += cbAfter;
+        listClasses.add(new ClassTiming(sClassName, cNanos, cbBefore, cbAfter));
+        }
+
+    /**
+     * Record that a class could not be instrumented.
+     *
+     * @param sClassName  the name of the class
+     * @param cNanos      the time taken before the instrumentation failed
+     */
+    public void classFailed(String sClassName, long cNanos)
+        {
+        cFailed++;
+        listClasses.add(new ClassTiming(sClassName, cNanos, 0L, 0L));
+        }
+
+    /**
+     * Record how the schema was obtained.
+     *
+     * @param source  the {@link SchemaSource}
+     */
+    public void setSchemaSource(SchemaSource source)
+        {
+        schemaSource = source;
+        }
+
+    /**
+     * Record why the classes of the chunk were not instrumented.
+     *
+     * @param sReason  the reason the classes were not instrumented
+     */
+    public void setSkipReason(String sReason)
+        {
+        sSkipReason = sReason;
+        }
+
+    /**
+     * Record the time taken to obtain the schema.
+     *
+     * @param cNanos  the time taken to obtain the schema
+     */
+    public void setSchemaTime(long cNanos)
+        {
+        cSchemaNanos = cNanos;
+        }
+
+    /**
+     * Record the number of libraries the schema was created from.
+     *
+     * @param cRelevant  the number of libraries relevant to the POF schema
+     * @param cTotal     the number of libraries on the class path
+     */
+    public void setLibraries(int cRelevant, int cTotal)
+        {
+        cLibraries      = cRelevant;
+        cLibrariesTotal = cTotal;
+        }
+
+    /**
+     * Record the elapsed time taken to instrument all the classes of the chunk.
+     *
+     * @param cNanos    the elapsed time taken to instrument the classes
+     * @param cThreads  the number of threads used to instrument the classes
+     */
+    public void setInstrumentationTime(long cNanos, int cThreads)
+        {
+        cInstrumentNanos = cNanos;
+        this.cThreads    = cThreads;
+        }
+
+    /**
+     * Return the name of the chunk.
+     *
+     * @return  the name of the chunk
+     */
+    public String getName()
+        {
+        return sName;
+        }
+
+    /**
+     * Return the number of compiled classes seen.
+     *
+     * @return  the number of compiled classes seen
+     */
+    public int getSeen()
+        {
+        return cSeen;
+        }
+
+    /**
+     * Return the number of compiled classes skipped.
+     *
+     * @return  the number of compiled classes skipped
+     */
+    public int getSkipped()
+        {
+        return cSkipped;
+        }
+
+    /**
+     * Return the number of compiled classes that were already instrumented.
+     *
+     * @return  the number of compiled classes that were already instrumented
+     */
+    public int getAlreadyInstrumented()
+        {
+        return cAlreadyInstrumented;
+        }
+
+    /**
+     * Return the number of classes instrumented.
+     *
+     * @return  the number of classes instrumented
+     */
+    public int getInstrumented()
+        {
+        return cInstrumented;
+        }
+
+    /**
+     * Return the number of instrumented classes that came from the cache.
+     *
+     * @return  the number of instrumented classes that came from the cache
+     */
+    public int getCached()
+        {
+        return cCached;
+        }
+
+    /**
+     * Return the number of classes that could not be instrumented.
+     *
+     * @return  the number of classes that could not be instrumented
+     */
+    public int getFailed()
+        {
+        return cFailed;
+        }
+
+    /**
+     * Return why the classes of the chunk were not instrumented.
+     *
+     * @return  the reason the classes were not instrumented, or {@code null}
+     *          if they were instrumented
+     */
+    public String getSkipReason()
+        {
+        return sSkipReason;
+        }
+
+    /**
+     * Return how the schema was obtained.
+     *
+     * @return  how the schema was obtained
+     */
+    public SchemaSource getSchemaSource()
+        {
+        return schemaSource;
+        }
+
+    /**
+     * Return the classes that took the longest to instrument, slowest first.
+     *
+     * @param cMax  the maximum number of classes to return
+     *
+     * @return  the classes that took the longest to instrument
+     */
+    public List<ClassTiming> getSlowestClasses(int cMax)
+        {
+        List<ClassTiming> list = new ArrayList<>(listClasses);
+        list.sort(Comparator.comparingLong(ClassTiming::getNanos).reversed());
+        return list.subList(0, Math.min(cMax, list.size()));
+        }
+
+    /**
+     * Return a one line summary of the statistics.
+     *
+     * @return  a one line summary of the statistics
+     */
+    public String toSummary()
+        {
+        if (sSkipReason != null)
+            {
+            return String.format(Locale.ROOT, "Skipped POF instrumentation of %s - %s; %d classes seen, %d skipped",
+                                 sName, sSkipReason, cSeen, cSkipped);
+            }
+        return String.format(Locale.ROOT,
+                "Instrumented %d of %d classes (%d cached) in %s in %d ms using %d thread(s); "
+                + "schema %d ms (%s, %d of %d libraries); "
+                + "%d already instrumented, %d skipped, %d failed; %d bytes -> %d bytes",
+                cInstrumented, cSeen, cCached, sName, toMillis(cInstrumentNanos), cThreads,
+                toMillis(cSchemaNanos), schemaSource.getDescription(), cLibraries, cLibrariesTotal,
+                cAlreadyInstrumented, cSkipped, cFailed, cbBefore, cbAfter);
+        }
+
+    /**
+     * Return the statistics as a JSON document.
+     *
+     * @return  the statistics as a JSON document
+     */
+    public String toJson()
+        {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n");
+        sb.append("  \"name\": ").append(quote(sName)).append(",\n");
+        sb.append("  \"timestamp\": ").append(quote(timestamp.toString())).append(",\n");
+        sb.append("  \"skipReason\": ").append(sSkipReason == null ? "null" : quote(sSkipReason)).append(",\n");
+        sb.append("  \"classes\": {\n");
+        sb.append("    \"seen\": ").append(cSeen).append(",\n");
+        sb.append("    \"skipped\": ").append(cSkipped).append(",\n");
+        sb.append("    \"alreadyInstrumented\": ").append(cAlreadyInstrumented).append(",\n");
+        sb.append("    \"instrumented\": ").append(cInstrumented).append(",\n");
+        sb.append("    \"cached\": ").append(cCached).append(",\n");
+        sb.append("    \"failed\": ").append(cFailed).append("\n");
+        sb.append("  },\n");
+        sb.append("  \"schema\": {\n");
+        sb.append("    \"millis\": ").append(toDecimalMillis(cSchemaNanos)).append(",\n");
+        sb.append("    \"source\": ").append(quote(schemaSource.getDescription())).append(",\n");
+        sb.append("    \"libraries\": ").append(cLibraries).append(",\n");
+        sb.append("    \"librariesTotal\": ").append(cLibrariesTotal).append(",\n");
+        sb.append("    \"fromCache\": ").append(schemaSource.isCached()).append("\n");
+        sb.append("  },\n");
+        sb.append("  \"instrumentation\": {\n");
+        sb.append("    \"millis\": ").append(toDecimalMillis(cInstrumentNanos)).append(",\n");
+        sb.append("    \"threads\": ").append(cThreads).append("\n");
+        sb.append("  },\n");
+        sb.append("  \"bytes\": {\n");
+        sb.append("    \"before\": ").append(cbBefore).append(",\n");
+        sb.append("    \"after\": ").append(cbAfter).append("\n");
+        sb.append("  },\n");
+        sb.append("  \"slowestClasses\": [");
+
+        String sSeparator = "\n";
+        for (ClassTiming timing : getSlowestClasses(MAX_SLOWEST_CLASSES))
+            {
+            sb.append(sSeparator)
+              .append("    {\"name\": ").append(quote(timing.getClassName()))
+              .append(", \"millis\": ").append(toDecimalMillis(timing.getNanos()))
+              .append(", \"bytesBefore\": ").append(timing.getBytesBefore())
+              .append(", \"bytesAfter\": ").append(timing.getBytesAfter())
+              .append('}');
+            sSeparator = ",\n";
+            }
+
+        sb.append(listClasses.isEmpty() ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Convert nanoseconds to whole milliseconds.
+     *
+     * @param cNanos  the nanoseconds to convert
+     *
+     * @return  the whole milliseconds
+     */
+    private static long toMillis(long cNanos)
+        {
+        return TimeUnit.NANOSECONDS.toMillis(cNanos);
+        }
+
+    /**
+     * Convert nanoseconds to a decimal number of milliseconds.
+     *
+     * @param cNanos  the nanoseconds to convert
+     *
+     * @return  the milliseconds as a JSON number
+     */
+    private static String toDecimalMillis(long cNanos)
+        {
+        return String.format(Locale.ROOT, "%.3f", cNanos / 1_000_000.0d);
+        }
+
+    /**
+     * Quote a {@link String} as a JSON string.
+     *
+     * @param s  the {@link String} to quote
+     *
+     * @return  the JSON string
+     */
+    static String quote(String s)
+        {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++)
+            {
+            char ch = s.charAt(i);
+            switch (ch)
+                {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20)
+                        {
+                        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) ch));
+                        }
+                    else
+                        {
+                        sb.append(ch);
+                        }
+                }
+            }
+        return sb.append('"').toString();
+        }
+
+    // ----- inner enum: SchemaSource ---------------------------------------
+
+    /**
+     * How the POF schema used to build a chunk was obtained.
+     */
+    public enum SchemaSource
+        {
+        /**
+         * The schema was already cached in memory.
+         */
+        CACHE("cache", true),
+
+        /**
+         * The schema was recreated from a persisted snapshot of its manifest.
+         */
+        SNAPSHOT("snapshot", true),
+
+        /**
+         * The schema was recreated from a persisted snapshot of its manifest
+         * and patched with the chunk's changed types.
+         */
+        PATCHED("patched snapshot", true),
+
+        /**
+         * The schema was created from the class path.
+         */
+        CREATED("created", false),
+
+        /**
+         * The schema could not be created.
+         */
+        NONE("none", false);
+
+        /**
+         * Create a {@link SchemaSource}.
+         *
+         * @param sDescription  the description of the source
+         * @param fCached       {@code true} if the schema came from a cache
+         */
+        SchemaSource(String sDescription, boolean fCached)
+            {
+            this.sDescription = sDescription;
+            this.fCached      = fCached;
+            }
+
+        /**
+         * Return the description of the source.
+         *
+         * @return  the description of the source
+         */
+        public String getDescription()
+            {
+            return sDescription;
+            }
+
+        /**
+         * Return {@code true} if the schema came from a cache.
+         *
+         * @return  {@code true} if the schema came from a cache
+         */
+        public boolean isCached()
+            {
+            return fCached;
+            }
+
+        /**
+         * The description of the source.
+         */
+        private final String sDescription;
+
+        /**
+         * {@code true} if the schema came from a cache.
+         */
+        private final boolean fCached;
+        }
+
+    // ----- inner class: ClassTiming ---------------------------------------
+
+    /**
+     * The time taken to instrument a single class.
+     */
+    public static class ClassTiming
+        {
+        /**
+         * Create a {@link ClassTiming}.
+         *
+         * @param sClassName  the name of the class
+         * @param cNanos      the time taken to instrument the class
+         * @param cbBefore    the size of the class before it was instrumented
+         * @param cbAfter     the size of the class after it was instrumented
+         */
+        ClassTiming(String sClassName, long cNanos, long cbBefore, long cbAfter)
+            {
+            this.sClassName = sClassName;
+            this.cNanos     = cNanos;
+            this.cbBefore   = cbBefore;
+            this.cbAfter    = cbAfter;
+            }
+
+        /**
+         * Return the name of the class.
+         *
+         * @return  the name of the class
+         */
+        public String getClassName()
+            {
+            return sClassName;
+            }
+
+        /**
+         * Return the time taken to instrument the class.
+         *
+         * @return  the time taken to instrument the class in nanoseconds
+         */
+        public long getNanos()
+            {
+            return cNanos;
+            }
+
+        /**
+         * Return the size of the class before it was instrumented.
+         *
+         * @return  the size of the class before it was instrumented
+         */
+        public long getBytesBefore()
+            {
+            return cbBefore;
+            }
+
+        /**
+         * Return the size of the class after it was instrumented.
+         *
+         * @return  the size of the class after it was instrumented
+         */
+        public long getBytesAfter()
+            {
+            return cbAfter;
+            }
+
+        /**
+         * The name of the class.
+         */
+        private final String sClassName;
+
+        /**
+         * The time taken to instrument the class.
+         */
+        private final long cNanos;
+
+        /**
+         * The size of the class before it was instrumented.
+         */
+        private final long cbBefore;
+
+        /**
+         * The size of the class after it was instrumented.
+         */
+        private final long cbAfter;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of slowest classes included in the JSON report.
+     */
+    public static final int MAX_SLOWEST_CLASSES = 10;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The name of the chunk.
+     */
+    private final String sName;
+
+    /**
+     * The time the chunk build started.
+     */
+    private final Instant timestamp;
+
+    /**
+     * The number of compiled classes seen.
+     */
+    private int cSeen;
+
+    /**
+     * The number of compiled classes skipped.
+     */
+    private int cSkipped;
+
+    /**
+     * The number of compiled classes that were already instrumented.
+     */
+    private int cAlreadyInstrumented;
+
+    /**
+     * The number of classes instrumented.
+     */
+    private int cInstrumented;
+
+    /**
+     * The number of instrumented classes that came from the cache.
+     */
+    private int cCached;
+
+    /**
+     * The number of classes that could not be instrumented.
+     */
+    private int cFailed;
+
+    /**
+     * Why the classes of the chunk were not instrumented, or {@code null}.
+     */
+    private String sSkipReason;
+
+    /**
+     * How the schema was obtained.
+     */
+    private SchemaSource schemaSource = SchemaSource.NONE;
+
+    /**
+     * The time taken to obtain the schema.
+     */
+    private long cSchemaNanos;
+
+    /**
+     * The number of libraries relevant to the POF schema.
+     */
+    private int cLibraries;
+
+    /**
+     * The number of libraries on the class path.
+     */
+    private int cLibrariesTotal;
+
+    /**
+     * The elapsed time taken to instrument the classes.
+     */
+    private long cInstrumentNanos;
+
+    /**
+     * The number of threads used to instrument the classes.
+     */
+    private int cThreads;
+
+    /**
+     * The total size of the instrumented classes before instrumentation.
+     */
+    private long cbBefore;
+
+    /**
+     * The total size of the instrumented classes after instrumentation.
+     */
+    private long cbAfter;
+
+    /**
+     * The time taken to instrument each class.
+     */
+    private final List<ClassTiming> listClasses = new ArrayList<>();
+    }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.io.File;
+
+/**
+ * A class file to be instrumented by a {@link PofInstrumenter}, and the result
+ * of instrumenting it.
+ * <p>
+ * This is the build system independent equivalent of a JPS compiled class, so
+ * that the same instrumentation code can be used by the IDE build and by the
+ * {@link PofInstrumenterTool command line}.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofClassFile
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofClassFile}.
+     *
+     * @param sClassName  the fully qualified name of the class
+     * @param file        the class file, which for a class in a jar is the
+     *                    path of the entry below the jar and does not exist
+     * @param abClass     the buffer containing the class bytes
+     * @param nOffset     the offset of the class in the buffer
+     * @param nLength     the length of the class in the buffer
+     */
+    public PofClassFile(String sClassName, File file, byte[] abClass, int nOffset, int nLength)
+        {
+        this.sClassName = sClassName;
+        this.file       = file;
+        this.abClass    = abClass;
+        this.nOffset    = nOffset;
+        this.nLength    = nLength;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the fully qualified name of the class.
+     *
+     * @return  the fully qualified name of the class
+     */
+    public String getClassName()
+        {
+        return sClassName;
+        }
+
+    /**
+     * Return the class file.
+     *
+     * @return  the class file
+     */
+    public File getFile()
+        {
+        return file;
+        }
+
+    /**
+     * Return the buffer containing the class bytes.
+     *
+     * @return  the buffer containing the class bytes
+     */
+    public byte[] getBuffer()
+        {
+        return abClass;
+        }
+
+    /**
+     * Return the offset of the class in the buffer.
+     *
+     * @return  the offset of the class in the buffer
+     */
+    public int getOffset()
+        {
+        return nOffset;
+        }
+
+    /**
+     * Return the length of the class in the buffer.
+     *
+     * @return  the length of the class in the buffer
+     */
+    public int getLength()
+        {
+        return nLength;
+        }
+
+    /**
+     * Return the instrumented class bytes.
+     *
+     * @return  the instrumented class bytes, or {@code null} if the class was
+     *          not instrumented
+     */
+    public byte[] getInstrumented()
+        {
+        return abInstrumented;
+        }
+
+    /**
+     * Return {@code true} if the instrumented class bytes were found in the
+     * {@link InstrumentedClassCache} rather than created by the generator.
+     *
+     * @return  {@code true} if the instrumented class bytes were cached
+     */
+    public boolean isCached()
+        {
+        return fCached;
+        }
+
+    /**
+     * Return the error that prevented the class being instrumented.
+     *
+     * @return  the error that prevented the class being instrumented, or
+     *          {@code null} if there was no error
+     */
+    public Throwable getError()
+        {
+        return error;
+        }
+
+    /**
+     * Return the time taken to instrument the class, in nanoseconds.
+     *
+     * @return  the time taken to instrument the class, in nanoseconds
+     */
+    public long getNanos()
+        {
+        return cNanos;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Set the result of instrumenting the class.
+     *
+     * @param abInstrumented  the instrumented class bytes, or {@code null}
+     * @param fCached         {@code true} if the bytes were cached
+     */
+    void setInstrumented(byte[] abInstrumented, boolean fCached)
+        {
+        this.abInstrumented = abInstrumented;
+        this.fCached        = fCached;
+        }
+
+    /**
+     * Set the error that prevented the class being instrumented.
+     *
+     * @param error  the error
+     */
+    void setError(Throwable error)
+        {
+        this.error = error;
+        }
+
+    /**
+     * Set the time taken to instrument the class.
+     *
+     * @param cNanos  the time taken to instrument the class, in nanoseconds
+     */
+    void setNanos(long cNanos)
+        {
+        this.cNanos = cNanos;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The fully qualified name of the class.
+     */
+    private final String sClassName;
+
+    /**
+     * The class file.
+     */
+    private final File file;
+
+    /**
+     * The buffer containing the class bytes.
+     */
+    private final byte[] abClass;
+
+    /**
+     * The offset of the class in the buffer.
+     */
+    private final int nOffset;
+
+    /**
+     * The length of the class in the buffer.
+     */
+    private final int nLength;
+
+    /**
+     * The instrumented class bytes.
+     */
+    private byte[] abInstrumented;
+
+    /**
+     * {@code true} if the instrumented class bytes were cached.
+     */
+    private boolean fCached;
+
+    /**
+     * The error that prevented the class being instrumented.
+     */
+    private Throwable error;
+
+    /**
+     * The time taken to instrument the class, in nanoseconds.
+     */
+    private long cNanos;
+    }
@@ -8,37 +8,53 @@
 
 package com.oracle.coherence.idea.jps;
 
+import com.intellij.compiler.instrumentation.FailSafeClassReader;
 import com.intellij.compiler.instrumentation.InstrumentationClassFinder;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.Key;
 import com.oracle.coherence.idea.CoherenceConfig;
+import com.oracle.coherence.idea.PackageFilter;
+import com.oracle.coherence.idea.PofTypeSnapshot;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.jetbrains.jps.ModuleChunk;
+import org.jetbrains.jps.ProjectPaths;
+import org.jetbrains.jps.builders.BuildTarget;
+import org.jetbrains.jps.cmdline.ProjectDescriptor;
 import org.jetbrains.jps.incremental.BinaryContent;
+import org.jetbrains.jps.incremental.BuilderCategory;
+import org.jetbrains.jps.incremental.ClassProcessingBuilder;
 import org.jetbrains.jps.incremental.CompileContext;
 import org.jetbrains.jps.incremental.CompiledClass;
-import org.jetbrains.jps.incremental.instrumentation.BaseInstrumentingBuilder;
+import org.jetbrains.jps.incremental.ModuleBuildTarget;
+import org.jetbrains.jps.incremental.Utils;
 import org.jetbrains.jps.incremental.messages.BuildMessage;
 import org.jetbrains.jps.incremental.messages.CompilerMessage;
+import org.jetbrains.jps.model.java.JpsJavaExtensionService;
+import org.jetbrains.jps.model.module.JpsModule;
 import org.jetbrains.org.objectweb.asm.ClassReader;
-import org.jetbrains.org.objectweb.asm.ClassWriter;
 
 import java.io.File;
-import java.lang.reflect.Method;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
 
 /**
- * A {@link BaseInstrumentingBuilder} that uses the Coherence PortableTypeGenerator
+ * A {@link ClassProcessingBuilder} that uses the Coherence PortableTypeGenerator
  * class to instrument a class byte-code with POF methods.
  * <p>
  * The instance of the PortableTypeGenerator used will be obtained from the Coherence
@@ -49,105 +65,325 @@ import java.util.stream.Collectors;
  * @author Jonathan Knight 2020.07.02
  */
 public class PofGenerator
-        extends BaseInstrumentingBuilder
+        extends ClassProcessingBuilder
     {
-    @Override
-    protected boolean canInstrument(CompiledClass compiledClass, int classFileVersion)
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofGenerator}.
+     */
+    public PofGenerator()
         {
-        // don't try to instrument a module-info class
-        return !"module-info".equals(compiledClass.getClassName());
+        super(BuilderCategory.CLASS_INSTRUMENTER);
         }
 
+    // ----- ClassProcessingBuilder methods ---------------------------------
+
     @Override
-    protected @Nullable BinaryContent instrument(CompileContext             context,
-                                                 CompiledClass              compiled,
-                                                 ClassReader                reader,
-                                                 ClassWriter                writer,
-                                                 InstrumentationClassFinder finder)
+    protected ExitCode performBuild(CompileContext             context,
+                                    ModuleChunk                chunk,
+                                    InstrumentationClassFinder finder,
+                                    OutputConsumer             outputConsumer)
         {
-        BinaryContent  instrumented = null;
-        ClassLoader    loader       = finder.getLoader();
-        Thread         thread       = Thread.currentThread();
-        ClassLoader    loaderThread = thread.getContextClassLoader();
-        Properties     properties   = new Properties();
-        URLClassLoader loaderParent = (URLClassLoader) loader.getParent();
-        List<File>     libs         = Arrays.stream(loaderParent.getURLs())
-                                            .map(this::toFile)
-                                            .filter(Objects::nonNull)
-                                            .collect(Collectors.toList());
-
-        try
+        PortableTypeChanges changes    = createChanges(context, chunk);
+        PofBuildStatistics  stats      = new PofBuildStatistics(chunk.getPresentableShortName());
+        CoherenceConfig     config     = getConfig(context);
+        PackageFilter       filter     = config.getPofPackageFilter();
+        boolean             fDetailed  = config.getPofMessageVerbosity() == CoherenceConfig.Verbosity.DETAILED;
+        PofTypeSnapshot     snapshot   = getTypeSnapshot(context);
+        List<CompiledClass> candidates = new ArrayList<>();
+        Map<CompiledClass, Integer> mapTypeIds = new HashMap<>();
+
+        // find all the @PortableType classes first, so that the schema can be
+        // patched with all the types that have changed in this chunk
+        for (CompiledClass compiled : outputConsumer.getCompiledClasses().values())
             {
-            thread.setContextClassLoader(loader);
+            stats.classSeen();
+            if (INSTRUMENTED.get(compiled, Boolean.FALSE))
+                {
+                stats.classAlreadyInstrumented();
+                continue;
+                }
+            if (!filter.accepts(compiled.getClassName()))
+                {
+                stats.classSkipped();
+                mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
+                continue;
+                }
+            if (!snapshot.contains(compiled.getClassName()) && snapshot.isCurrent(compiled.getSourceFiles()))
+                {
+                // the IDE has indexed the sources since they last changed, and
+                // they do not declare a portable type, so there is no need to scan
+                stats.classSkipped();
+                changes.remove(compiled.getClassName());
+                mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
+                continue;
+                }
 
-            Class<?> clsPofGenerator = findGeneratorClass(loader);
+            BinaryContent content = compiled.getContent();
+            ClassReader   reader  = new FailSafeClassReader(content.getBuffer(), content.getOffset(), content.getLength());
 
-            if (clsPofGenerator != null)
+            if (!canInstrument(compiled, getClassFileVersion(reader)))
                 {
-                File                fileClass = compiled.getOutputFile();
-                BinaryContent       content   = compiled.getContent();
-                byte[]              abBytes   = content.getBuffer();
-                int                 nOffset   = content.getOffset();
-                int                 nLen      = content.getLength();
-                byte[]              abInst    = null;
-                Method              method    = getInstrumentMethod(clsPofGenerator);
-                Map<String, Object> env       = new HashMap<>();
-
-                env.put("libs", libs);
-                env.put("schema", ensureSchema(clsPofGenerator, fileClass, loader, env));
-
-                if (method != null)
+                stats.classSkipped();
+                mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
+                }
+            else
+                {
+                switch (PortableTypeScanner.scan(reader))
                     {
-                    abInst = (byte[]) method.invoke(null, fileClass, abBytes, nOffset, nLen, properties, env);
-                    schema = env.get("schema");
+                    case PORTABLE_TYPE:
+                        candidates.add(compiled);
+                        changes.add(compiled.getClassName(), content.toByteArray());
+                        mapTypeIds.put(compiled, PortableTypeScanner.getTypeId(reader));
+                        break;
+                    case INSTRUMENTED:
+                        // the class file was reused or instrumented elsewhere, so
+                        // there is no need to pass it to the generator again
+                        stats.classAlreadyInstrumented();
+                        INSTRUMENTED.set(compiled, Boolean.TRUE);
+                        mapTypeIds.put(compiled, PortableTypeScanner.getTypeId(reader));
+                        break;
+                    default:
+                        // the class may have been a portable type when the schema was created
+                        stats.classSkipped();
+                        changes.remove(compiled.getClassName());
+                        mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
                     }
+                }
+            }
 
-                if (abInst != null)
-                    {
-                    String msg = "Instrumented " + compiled.getClassName();
-                    String path = compiled.getOutputFile().getCanonicalPath();
-                    CompilerMessage compileMsg = new CompilerMessage("pof", BuildMessage.Kind.INFO, msg, path);
+        if (candidates.isEmpty())
+            {
+            updateTypeRegistries(context, chunk, config, mapTypeIds);
+            publishStatistics(context, chunk, config, stats);
+            return ExitCode.NOTHING_DONE;
+            }
 
-                    context.processMessage(compileMsg);
-                    instrumented = new BinaryContent(abInst);
-                    }
+        // resolve the generator once for the whole chunk
+        ClassLoader loader          = finder.getLoader();
+        List<File>  libs            = LibraryResolver.getLibraries(loader);
+        Class<?>    clsPofGenerator = PofInstrumenter.findGeneratorClass(libs, loader);
+
+        if (clsPofGenerator == null)
+            {
+            // no PortableTypeGenerator class found - Coherence might not be on this project/module's classpath
+            LOGGER.info("Skipped POF generation - could not find the PortableTypeGenerator on the module's classpath");
+            stats.setSkipReason("could not find the PortableTypeGenerator on the module's classpath");
+            unregister(candidates, mapTypeIds);
+            updateTypeRegistries(context, chunk, config, mapTypeIds);
+            publishStatistics(context, chunk, config, stats);
+            return ExitCode.NOTHING_DONE;
+            }
+
+        try
+            {
+            GeneratorBinding binding = GeneratorBinding.forClass(clsPofGenerator);
+            if (!binding.isValid())
+                {
+                String sMsg = "Skipped POF generation - unsupported PortableTypeGenerator "
+                              + clsPofGenerator.getName() + ": " + binding.getError();
+                LOGGER.warn(sMsg);
+                context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.WARNING, sMsg));
+                stats.setSkipReason("unsupported PortableTypeGenerator " + clsPofGenerator.getName());
+                unregister(candidates, mapTypeIds);
+                updateTypeRegistries(context, chunk, config, mapTypeIds);
+                publishStatistics(context, chunk, config, stats);
+                return ExitCode.NOTHING_DONE;
                 }
-            else
+
+            Set<File> setTypeLibraries = null;
+            if (snapshot.isAvailable())
                 {
-                // no PortableTypeGenerator class found - Coherence might not be on this project/module's classpath
-                LOGGER.info("Skipped POF generation - could not find the PortableTypeGenerator on the module's classpath");
+                // the libraries the IDE has indexed POF types in are the roots of
+                // the schema, so the classes of the other libraries are not scanned
+                setTypeLibraries = snapshot.getLibraries();
+                libraryIndex.markRelevant(setTypeLibraries);
                 }
-            }
-        catch (Exception e)
-            {
-            LOGGER.error(e);
 
-            Throwable cause = e.getCause();
-            if (cause != null)
+            Map<String, Object> env;
+            try
+                {
+                // create the schema once, before any class is instrumented, so that
+                // the parallel tasks below all share the same schema
+                env = instrumenter.createEnvironment(loader, libs, setTypeLibraries, binding,
+                                                     candidates.get(0).getOutputFile(),
+                                                     getSnapshotStore(context), changes, stats);
+                }
+            catch (Throwable e)
+                {
+                LOGGER.info(e);
+                context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.ERROR,
+                                                           String.valueOf(e.getMessage())));
+                stats.setSkipReason("could not create the POF schema - " + e.getMessage());
+                publishStatistics(context, chunk, config, stats);
+                return ExitCode.ABORT;
+                }
+
+            List<PofClassFile> listClasses = new ArrayList<>(candidates.size());
+            for (CompiledClass compiled : candidates)
+                {
+                listClasses.add(toClassFile(compiled));
+                }
+
+            int  cThreads = Math.min(getParallelism(context), listClasses.size());
+            long ldtStart = System.nanoTime();
+            try
+                {
+                instrumenter.instrumentAll(listClasses, loader, binding, env, getClassCache(context), cThreads,
+                                           () -> context.getCancelStatus().isCanceled());
+                }
+            catch (InterruptedException e)
+                {
+                Thread.currentThread().interrupt();
+                String sMsg = "POF instrumentation of " + chunk.getPresentableShortName() + " was interrupted";
+                LOGGER.info(sMsg);
+                context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.ERROR, sMsg));
+                stats.setSkipReason("the build was interrupted");
+                publishStatistics(context, chunk, config, stats);
+                return ExitCode.ABORT;
+                }
+            catch (ExecutionException e)
+                {
+                // the cause names the class that was being instrumented
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                LOGGER.info(cause);
+                context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.ERROR,
+                                                           "POF instrumentation of " + chunk.getPresentableShortName()
+                                                           + " failed - " + cause.getMessage()));
+                stats.setSkipReason("instrumentation failed - " + cause.getMessage());
+                publishStatistics(context, chunk, config, stats);
+                return ExitCode.ABORT;
+                }
+            stats.setInstrumentationTime(System.nanoTime() - ldtStart, Math.max(1, cThreads));
+
+            // apply the results in the order the classes were found, so that the
+            // build output and messages do not depend on the order tasks completed
+            ExitCode exitCode = ExitCode.NOTHING_DONE;
+            for (int i = 0; i < listClasses.size(); i++)
                 {
-                LOGGER.error(cause);
+                CompiledClass compiled  = candidates.get(i);
+                PofClassFile  classFile = listClasses.get(i);
+                if (classFile.getError() != null)
+                    {
+                    stats.classFailed(compiled.getClassName(), classFile.getNanos());
+                    LOGGER.info(classFile.getError());
+                    context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.ERROR,
+                                                               String.valueOf(classFile.getError().getMessage()),
+                                                               getSourcePath(compiled)));
+                    // a class that could not be instrumented cannot be registered as a POF type
+                    mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
+                    }
+                else if (classFile.getInstrumented() != null)
+                    {
+                    stats.classInstrumented(compiled.getClassName(), classFile.getNanos(), classFile.getLength(),
+                                            classFile.getInstrumented().length, classFile.isCached());
+                    compiled.setContent(new BinaryContent(classFile.getInstrumented()));
+                    finder.cleanCachedData(compiled.getClassName());
+                    INSTRUMENTED.set(compiled, Boolean.TRUE);
+                    if (fDetailed)
+                        {
+                        reportInstrumented(context, compiled);
+                        }
+                    exitCode = ExitCode.OK;
+                    }
+                else
+                    {
+                    stats.classSkipped();
+                    mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
+                    }
                 }
 
-            throw new RuntimeException("POF generation internal error - " + e.getMessage(), e);
+            updateTypeRegistries(context, chunk, config, mapTypeIds);
+            publishStatistics(context, chunk, config, stats);
+            return exitCode;
             }
         finally
             {
-            thread.setContextClassLoader(loaderThread);
+            // the shared class loader may be closed once no build uses it
+            PofInstrumenter.releaseGeneratorClass(clsPofGenerator);
             }
+        }
+
+    // ----- PofGenerator methods -------------------------------------------
 
-        return instrumented;
+    /**
+     * Determine whether a compiled class can be instrumented.
+     *
+     * @param compiledClass     the compiled class
+     * @param classFileVersion  the class file version
+     *
+     * @return  {@code true} if the class can be instrumented
+     */
+    protected boolean canInstrument(CompiledClass compiledClass, int classFileVersion)
+        {
+        // don't try to instrument a module-info class
+        return !"module-info".equals(compiledClass.getClassName());
+        }
+
+    /**
+     * Report that a class has been instrumented.
+     *
+     * @param context   the {@link CompileContext}
+     * @param compiled  the instrumented class
+     */
+    private void reportInstrumented(CompileContext context, CompiledClass compiled)
+        {
+        // the output file path is already absolute, so it is used as it is rather
+        // than making a file system call to canonicalize it for every class
+        String sMsg = "Instrumented " + compiled.getClassName();
+        context.processMessage(new CompilerMessage("pof", BuildMessage.Kind.INFO, sMsg,
+                                                   compiled.getOutputFile().getPath()));
         }
 
     @Override
-    protected boolean isEnabled(CompileContext context, ModuleChunk chunk)
+    public void buildStarted(CompileContext context)
         {
-        return isEnabled(context);
+        super.buildStarted(context);
+
+        CoherenceConfig config = getConfig(context);
+        if (config.isPofGeneratorEnabled() && context.getProjectDescriptor() != null)
+            {
+            // the warm-up runs while the Java compiler runs, and is never waited for
+            warmUp = WARM_UP_EXECUTOR.submit(() -> warmUp(context, config));
+            }
         }
 
-    private boolean isEnabled(CompileContext context)
+    @Override
+    public void buildFinished(CompileContext context)
         {
-        CoherenceConfig config = CoherenceConfig.getSettings(context.getProjectDescriptor().getProject());
-        return config.isPofGeneratorEnabled();
+        Future<?> future = warmUp;
+        if (future != null)
+            {
+            future.cancel(true);
+            warmUp = null;
+            }
+        super.buildFinished(context);
+        }
+
+    @Override
+    protected boolean isEnabled(CompileContext context, ModuleChunk chunk)
+        {
+        CoherenceConfig config = getConfig(context);
+        if (!config.isPofGeneratorEnabled() || (chunk.containsTests() && !config.isPofTestSourcesEnabled()))
+            {
+            return false;
+            }
+
+        // a chunk of modules with circular dependencies is instrumented if any of its modules is enabled
+        boolean fEnabled = false;
+        for (JpsModule module : chunk.getModules())
+            {
+            if (config.isPofModuleEnabled(module.getName()))
+                {
+                fEnabled = true;
+                break;
+                }
+            }
+
+        // the generator is looked for in the chunk's dependencies, rather than
+        // loaded, so a module that does not depend on Coherence costs nothing
+        return fEnabled && PofInstrumenter.isGeneratorOnClasspath(ProjectPaths.getCompilationClasspath(chunk, false));
         }
 
     @Override
@@ -165,98 +401,365 @@ public class PofGenerator
     // ----- helper methods -------------------------------------------------
 
     /**
-     * Find the POF generator class to use.
+     * Return the Coherence configuration of the project being built.
      *
-     * @param loader  the {@link ClassLoader} to use to find the POF Generator
+     * @param context  the {@link CompileContext}
      *
-     * @return  the POF Generator class or {@code null} if no
-     *          POF Generator is on the class path
+     * @return  the Coherence configuration of the project being built, or the
+     *          default configuration if there is no project
      */
-    private Class<?> findGeneratorClass(ClassLoader loader)
+    private CoherenceConfig getConfig(CompileContext context)
         {
-        for (String sCls : CLASS_NAMES)
+        ProjectDescriptor descriptor = context.getProjectDescriptor();
+        return descriptor == null ? new CoherenceConfig() : CoherenceConfig.getSettings(descriptor.getProject());
+        }
+
+    /**
+     * Return the snapshot of the project's {@code @PortableType} classes the
+     * IDE wrote to the build data directory.
+     * <p>
+     * The snapshot is written before the build starts, so it is only read once
+     * for all the chunks of a build.
+     *
+     * @param context  the {@link CompileContext}
+     *
+     * @return  the snapshot, which is not {@link PofTypeSnapshot#isAvailable() available}
+     *          if the IDE has not written one
+     */
+    private PofTypeSnapshot getTypeSnapshot(CompileContext context)
+        {
+        PofTypeSnapshot snapshot = TYPE_SNAPSHOT.get(context);
+        if (snapshot == null)
             {
-            try
+            snapshot = PofTypeSnapshot.read(getDataDirectory(context));
+            TYPE_SNAPSHOT.set(context, snapshot);
+            }
+        return snapshot;
+        }
+
+    /**
+     * Warm up the POF generator used by the project being built.
+     *
+     * @param context  the {@link CompileContext}
+     * @param config   the Coherence configuration of the project
+     */
+    private void warmUp(CompileContext context, CoherenceConfig config)
+        {
+        BooleanSupplier supplierCancelled = () -> context.getCancelStatus().isCanceled()
+                                                  || Thread.currentThread().isInterrupted();
+        try
+            {
+            Set<File> setLibs = new LinkedHashSet<>();
+            for (JpsModule module : context.getProjectDescriptor().getProject().getModules())
                 {
-                return loader.loadClass(sCls);
+                if (config.isPofModuleEnabled(module.getName()))
+                    {
+                    setLibs.addAll(JpsJavaExtensionService.dependencies(module).recursively().classes().getRoots());
+                    }
                 }
-            catch (ClassNotFoundException e)
+            if (!supplierCancelled.getAsBoolean())
                 {
-                // ignored - class is not on class path
+                instrumenter.warmUp(new ArrayList<>(setLibs), supplierCancelled);
                 }
             }
-
-        return null;
+        catch (Throwable e)
+            {
+            LOGGER.info("Could not warm up the POF generator - " + e.getMessage());
+            }
         }
 
-    Object ensureSchema(Class<?> clsPofGenerator, File fileClass, ClassLoader loader, Map<String, ?> mapEnv)
+    /**
+     * Remove the classes that were not instrumented from the POF type identifiers
+     * to register, as a class that is not instrumented cannot be used as a POF type.
+     *
+     * @param candidates  the classes that were not instrumented
+     * @param mapTypeIds  the POF type identifiers of the compiled classes
+     */
+    private static void unregister(List<CompiledClass> candidates, Map<CompiledClass, Integer> mapTypeIds)
         {
-        if (previousClassLoader == null || !previousClassLoader.equals(loader))
+        for (CompiledClass compiled : candidates)
             {
-            schema = null;
+            mapTypeIds.put(compiled, PortableTypeScanner.NO_TYPE_ID);
             }
+        }
 
-        previousClassLoader = loader;
+    /**
+     * Update the POF type registry in the output directory of each of a chunk's
+     * targets with the classes compiled for the target.
+     * <p>
+     * The registry is not registered as an output of the sources, because it is
+     * shared by all the classes of the target; it is removed when the target is
+     * rebuilt and written again from all of its classes.
+     *
+     * @param context     the {@link CompileContext}
+     * @param chunk       the {@link ModuleChunk} being built
+     * @param config      the {@link CoherenceConfig}
+     * @param mapTypeIds  the POF type identifiers of the compiled classes, which
+     *                    are {@link PortableTypeScanner#NO_TYPE_ID} for classes
+     *                    that are not registered
+     */
+    private void updateTypeRegistries(CompileContext context, ModuleChunk chunk, CoherenceConfig config,
+                                      Map<CompiledClass, Integer> mapTypeIds)
+        {
+        if (!config.isPofTypeRegistryEnabled())
+            {
+            return;
+            }
 
-        if (schema == null)
+        for (ModuleBuildTarget target : chunk.getTargets())
             {
-            try
+            File dirOutput = target.getOutputDir();
+            if (dirOutput == null)
+                {
+                continue;
+                }
+
+            PofTypeRegistry registry = new PofTypeRegistry(dirOutput);
+            Path            path     = dirOutput.toPath();
+            for (Map.Entry<CompiledClass, Integer> entry : mapTypeIds.entrySet())
                 {
-                Method createSchema = clsPofGenerator.getMethod("createSchema", File.class, Map.class);
+                CompiledClass compiled = entry.getKey();
+                if (compiled.getOutputFile().toPath().startsWith(path))
+                    {
+                    registry.put(compiled.getClassName(), entry.getValue());
+                    }
+                }
+            registry.prune();
 
-                schema = createSchema.invoke(null, fileClass, mapEnv);
+            try
+                {
+                registry.save();
                 }
-            catch (Exception e)
+            catch (IOException e)
                 {
-                // ignored
+                String sMsg = "Could not write the POF type registry for " + target.getPresentableName()
+                              + ": " + e.getMessage();
+                LOGGER.warn(sMsg, e);
+                context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.WARNING, sMsg));
                 }
             }
+        }
 
-        return schema;
+    /**
+     * Return the number of threads to use to instrument the classes of a chunk.
+     *
+     * @param context  the {@link CompileContext}
+     *
+     * @return  the number of threads to use to instrument the classes of a chunk
+     */
+    private int getParallelism(CompileContext context)
+        {
+        int cThreads = getConfig(context).getPofGeneratorParallelism();
+        return cThreads > 0 ? cThreads : Runtime.getRuntime().availableProcessors();
         }
 
     /**
-     * Find the instrumentation method.
+     * Ensure that the POF schema for the class path in the generator environment
+     * has been created.
      *
-     * @param cls  the {@link Class} to find the method on
+     * @param clsPofGenerator  the POF generator class
+     * @param fileClass        the class file being instrumented
+     * @param mapEnv           the generator environment containing the {@code libs}
      *
-     * @return  the instrumentation method reference
+     * @return  the POF schema, or {@code null} if the schema could not be created
      */
-    private Method getInstrumentMethod(Class<?> cls)
+    Object ensureSchema(Class<?> clsPofGenerator, File fileClass, Map<String, ?> mapEnv)
         {
-        try
+        return instrumenter.ensureSchema(clsPofGenerator, fileClass, mapEnv);
+        }
+
+    /**
+     * Create the {@link PortableTypeChanges} for a chunk.
+     *
+     * @param context  the {@link CompileContext}
+     * @param chunk    the {@link ModuleChunk} being built
+     *
+     * @return  the {@link PortableTypeChanges} to add the chunk's compiled
+     *          {@code @PortableType} classes to
+     */
+    private PortableTypeChanges createChanges(CompileContext context, ModuleChunk chunk)
+        {
+        Set<File> setOutputDirs = new HashSet<>();
+        boolean   fIncremental  = true;
+
+        for (ModuleBuildTarget target : chunk.getTargets())
             {
-            return cls.getMethod("instrumentClass", File.class, byte[].class, int.class,
-                                 int.class, Properties.class, Map.class);
+            File dirOutput = target.getOutputDir();
+            if (dirOutput != null)
+                {
+                setOutputDirs.add(dirOutput.getAbsoluteFile());
+                }
+            fIncremental &= !context.getScope().isBuildForced(target);
             }
-        catch (Exception e)
+
+        // the classes of deleted sources may have been portable types, so the
+        // schema is created from the class path rather than from a snapshot
+        Map<BuildTarget<?>, Collection<String>> mapRemoved = Utils.REMOVED_SOURCES_KEY.get(context);
+        if (mapRemoved != null)
             {
-            // ignore exception, method does not exist
-            return null;
+            for (ModuleBuildTarget target : chunk.getTargets())
+                {
+                Collection<String> colRemoved = mapRemoved.get(target);
+                fIncremental &= colRemoved == null || colRemoved.isEmpty();
+                }
             }
+
+        return new PortableTypeChanges(setOutputDirs, fIncremental);
         }
 
     /**
-     * Convert the specified {@link URL} to a {@link File}.
+     * Publish the statistics of a chunk as a build message, unless the message
+     * verbosity is quiet or the chunk has no POF types, and as a JSON report in
+     * the {@value #REPORT_DIRECTORY} directory below the build data directory.
      *
-     * @param url the {@link URL}
-     * @return a {@link File} from the {@link URL}
+     * @param context  the {@link CompileContext}
+     * @param chunk    the {@link ModuleChunk} that was built
+     * @param config   the Coherence configuration of the project
+     * @param stats    the {@link PofBuildStatistics} of the chunk
      */
-    private File toFile(URL url)
+    private void publishStatistics(CompileContext context, ModuleChunk chunk, CoherenceConfig config,
+                                   PofBuildStatistics stats)
         {
-        try
+        boolean fPofTypes = stats.getInstrumented() + stats.getAlreadyInstrumented() + stats.getFailed() > 0
+                            || stats.getSkipReason() != null;
+        if (fPofTypes && config.getPofMessageVerbosity() != CoherenceConfig.Verbosity.QUIET)
             {
-            URI uri = url.toURI();
-            String sName = uri.getSchemeSpecificPart();
-            File file = new File(sName);
+            context.processMessage(new CompilerMessage(getPresentableName(), BuildMessage.Kind.INFO, stats.toSummary()));
+            }
 
-            return file.exists() ? file : null;
+        File dirData = getDataDirectory(context);
+        if (dirData == null)
+            {
+            return;
+            }
+
+        for (ModuleBuildTarget target : chunk.getTargets())
+            {
+            // the report is not written next to the output directory, so it is
+            // neither part of the artifacts built from the module nor of its sources
+            String sFile = target.getModule().getName() + (target.isTests() ? "-tests" : "") + ".json";
+            Path   path  = dirData.toPath().resolve(REPORT_DIRECTORY).resolve(sFile);
+            try
+                {
+                Files.createDirectories(path.getParent());
+
+                Path pathTemp = Files.createTempFile(path.getParent(), sFile, ".tmp");
+                Files.write(pathTemp, stats.toJson().getBytes(StandardCharsets.UTF_8));
+                Files.move(pathTemp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            catch (IOException e)
+                {
+                LOGGER.info("Could not write the POF build report " + path + " - " + e.getMessage());
+                }
             }
-        catch (URISyntaxException e)
+        }
+
+    /**
+     * Return the {@link InstrumentedClassCache} for the project being built.
+     *
+     * @param context  the {@link CompileContext}
+     *
+     * @return  the {@link InstrumentedClassCache} or {@code null} if instrumented
+     *          classes cannot be cached
+     */
+    private InstrumentedClassCache getClassCache(CompileContext context)
+        {
+        ProjectDescriptor descriptor = context.getProjectDescriptor();
+        if (descriptor == null)
             {
-            LOGGER.error(e);
             return null;
             }
+
+        String sDirectory = CoherenceConfig.getSettings(descriptor.getProject()).getPofCacheDirectory();
+        File   dirCache   = new File(sDirectory);
+        if (sDirectory.isEmpty())
+            {
+            // the default cache is not below the project's build data directory,
+            // which is deleted by a rebuild, so the cache survives a rebuild
+            File dirSystem = Utils.getSystemRoot();
+            if (dirSystem == null)
+                {
+                return null;
+                }
+            dirCache = new File(dirSystem, CLASS_CACHE_DIRECTORY);
+            }
+
+        InstrumentedClassCache cache = new InstrumentedClassCache(dirCache);
+        cache.pruneIfDue();
+        return cache;
+        }
+
+    /**
+     * Create the {@link PofClassFile} to instrument a compiled class.
+     *
+     * @param compiled  the compiled class
+     *
+     * @return  the {@link PofClassFile} for the compiled class
+     */
+    private PofClassFile toClassFile(CompiledClass compiled)
+        {
+        BinaryContent content = compiled.getContent();
+        return new PofClassFile(compiled.getClassName(), compiled.getOutputFile(),
+                                content.getBuffer(), content.getOffset(), content.getLength());
+        }
+
+    /**
+     * Create the {@link LibraryIndex} shared by all the projects built by this process.
+     *
+     * @return  the {@link LibraryIndex}
+     */
+    private static LibraryIndex createLibraryIndex()
+        {
+        // the index is keyed by the absolute path of each jar, so it can be
+        // shared by every project that uses the same libraries
+        File dirSystem = Utils.getSystemRoot();
+        return new LibraryIndex(dirSystem == null ? null : new File(dirSystem, LIBRARY_INDEX_FILE));
+        }
+
+    /**
+     * Return the {@link SchemaSnapshotStore} for the project being built.
+     *
+     * @param context  the {@link CompileContext}
+     *
+     * @return  the {@link SchemaSnapshotStore} or {@code null} if the project
+     *          has no build data directory
+     */
+    private SchemaSnapshotStore getSnapshotStore(CompileContext context)
+        {
+        File dirData = getDataDirectory(context);
+        return dirData == null ? null : new SchemaSnapshotStore(new File(dirData, SCHEMA_DIRECTORY));
+        }
+
+    /**
+     * Return the build data directory of the project being built.
+     *
+     * @param context  the {@link CompileContext}
+     *
+     * @return  the build data directory, or {@code null} if the project has
+     *          no build data directory
+     */
+    private File getDataDirectory(CompileContext context)
+        {
+        ProjectDescriptor descriptor = context.getProjectDescriptor();
+        if (descriptor == null || descriptor.dataManager == null)
+            {
+            return null;
+            }
+        return descriptor.dataManager.getDataPaths().getDataStorageRoot();
+        }
+
+    /**
+     * Return the path of the first source file of a compiled class.
+     *
+     * @param compiled  the compiled class
+     *
+     * @return  the path of the first source file, or {@code null} if the
+     *          compiled class has no source files
+     */
+    private String getSourcePath(CompiledClass compiled)
+        {
+        Collection<File> colFiles = compiled.getSourceFiles();
+        return colFiles.isEmpty() ? null : colFiles.iterator().next().getPath();
         }
 
     // ----- constants ------------------------------------------------------
@@ -267,22 +770,61 @@ public class PofGenerator
     private static final Logger LOGGER = Logger.getInstance(PofGenerator.class);
 
     /**
-     * The array of possible POF generator class names.
+     * The name of the directory below the build data directory to persist POF schemas in.
      */
-    private static final String[] CLASS_NAMES =
-            {
-            "com.tangosol.io.pof.generator.PortableTypeGenerator"
-            };
+    private static final String SCHEMA_DIRECTORY = "coherence-pof/schema";
+
+    /**
+     * The name of the directory below the build data directory to write POF build reports to.
+     */
+    private static final String REPORT_DIRECTORY = "coherence-pof/reports";
+
+    /**
+     * The name of the default directory below the build system directory to cache instrumented classes in.
+     */
+    private static final String CLASS_CACHE_DIRECTORY = "coherence-pof/classes";
+
+    /**
+     * The name of the file below the build system directory to persist the {@link LibraryIndex} in.
+     */
+    private static final String LIBRARY_INDEX_FILE = "coherence-pof/libraries.idx";
+
+    /**
+     * The executor that warms up the POF generator, using a single daemon thread
+     * so that it never prevents the build process exiting.
+     */
+    private static final ExecutorService WARM_UP_EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+        {
+        Thread thread = new Thread(runnable, "Coherence POF warm-up");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+        });
+
+    /**
+     * The key used to mark a compiled class as already instrumented.
+     */
+    private static final Key<Boolean> INSTRUMENTED = Key.create("_coherence_pof_instrumented_");
+
+    /**
+     * The key used to hold the {@link PofTypeSnapshot} of the current build.
+     */
+    private static final Key<PofTypeSnapshot> TYPE_SNAPSHOT = Key.create("_coherence_pof_type_snapshot_");
 
     // ----- data members ---------------------------------------------------
 
     /**
-     * The previous {@link ClassLoader}.
+     * The {@link LibraryIndex} that selects the libraries passed to the schema generator.
+     */
+    private final LibraryIndex libraryIndex = createLibraryIndex();
+
+    /**
+     * The {@link PofInstrumenter} that instruments the classes and caches their schemas.
      */
-    private ClassLoader previousClassLoader = null;
+    private final PofInstrumenter instrumenter = new PofInstrumenter(libraryIndex);
 
     /**
-     * The POF Schema.
+     * The warm-up of the current build, or {@code null}.
      */
-    private Object schema = null;
+    private volatile Future<?> warmUp;
     }
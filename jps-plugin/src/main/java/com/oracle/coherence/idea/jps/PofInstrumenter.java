@@ -0,0 +1,1128 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.ZipFile;
+
+/**
+ * The build system independent core of POF instrumentation, which finds the
+ * Coherence PortableTypeGenerator, creates the POF schema and instruments
+ * {@code @PortableType} classes with it.
+ * <p>
+ * This class does not depend on the JPS build API, so it is used both by the
+ * {@link PofGenerator} builder in the IDE and by the {@link PofInstrumenterTool}
+ * command line, which then produce the same instrumented classes with the same
+ * schema and class caching.
+ * <p>
+ * An instance caches the POF schemas it creates, so it should be reused for
+ * every class path instrumented by the same process.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofInstrumenter
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofInstrumenter} with an in memory {@link LibraryIndex}.
+     */
+    public PofInstrumenter()
+        {
+        this(new LibraryIndex(null));
+        }
+
+    /**
+     * Create a {@link PofInstrumenter}.
+     *
+     * @param libraryIndex  the {@link LibraryIndex} used to select the libraries
+     *                      the POF schema is created from
+     */
+    public PofInstrumenter(LibraryIndex libraryIndex)
+        {
+        this.libraryIndex = libraryIndex;
+        }
+
+    // ----- PofInstrumenter methods ----------------------------------------
+
+    /**
+     * Find the POF generator class to use.
+     * <p>
+     * A class loader that does not have the generator is remembered, so it is
+     * only asked to load the generator once.
+     *
+     * @param loader  the {@link ClassLoader} to use to find the POF Generator
+     *
+     * @return  the POF Generator class or {@code null} if no
+     *          POF Generator is on the class path
+     */
+    public static Class<?> findGeneratorClass(ClassLoader loader)
+        {
+        synchronized (MISSING_GENERATOR)
+            {
+            if (MISSING_GENERATOR.contains(loader))
+                {
+                return null;
+                }
+            }
+
+        for (String sCls : CLASS_NAMES)
+            {
+            try
+                {
+                return loader.loadClass(sCls);
+                }
+            catch (ClassNotFoundException e)
+                {
+                // ignored - class is not on class path
+                }
+            }
+
+        synchronized (MISSING_GENERATOR)
+            {
+            MISSING_GENERATOR.add(loader);
+            }
+        return null;
+        }
+
+    /**
+     * Find the POF generator class to use for a class path.
+     * <p>
+     * If the generator is in a jar on the class path, it is loaded from the
+     * {@link GeneratorClassLoaders shared class loader} for that jar, so that
+     * it is only loaded and JIT compiled once for every chunk and build using
+     * the same Coherence jar. Otherwise, or if the generator cannot be used or
+     * linked from the shared class loader, it is loaded from the specified loader.
+     * <p>
+     * The class returned must be {@link #releaseGeneratorClass(Class) released}
+     * once the build no longer uses it.
+     *
+     * @param libs    the libraries of the class path
+     * @param loader  the {@link ClassLoader} of the class path
+     *
+     * @return  the POF Generator class or {@code null} if no
+     *          POF Generator is on the class path
+     */
+    public static Class<?> findGeneratorClass(List<File> libs, ClassLoader loader)
+        {
+        File fileJar = findGeneratorRoot(libs);
+        if (fileJar != null && fileJar.isFile())
+            {
+            ClassLoader loaderShared = GeneratorClassLoaders.acquire(fileJar);
+            if (loaderShared != null)
+                {
+                try
+                    {
+                    Class<?> clsShared = findGeneratorClass(loaderShared);
+                    if (clsShared != null && GeneratorBinding.forClass(clsShared).isValid())
+                        {
+                        return clsShared;
+                        }
+                    LOGGER.info("Could not use the POF generator from a shared class loader for " + fileJar);
+                    }
+                catch (LinkageError e)
+                    {
+                    LOGGER.info("Could not link the POF generator in a shared class loader for " + fileJar
+                                + " - " + e);
+                    }
+                GeneratorClassLoaders.release(loaderShared);
+                }
+            }
+        return findGeneratorClass(loader);
+        }
+
+    /**
+     * Release a POF generator class returned by {@link #findGeneratorClass(List, ClassLoader)},
+     * so that its shared class loader can be closed once it has been evicted.
+     *
+     * @param clsGenerator  the POF generator class, or {@code null}
+     */
+    public static void releaseGeneratorClass(Class<?> clsGenerator)
+        {
+        if (clsGenerator != null)
+            {
+            GeneratorClassLoaders.release(clsGenerator.getClassLoader());
+            }
+        }
+
+    /**
+     * Prepare to instrument the classes of a class path, so that the first
+     * class does not pay for indexing the libraries and for loading and
+     * warming up the POF generator.
+     * <p>
+     * Only a generator in a jar is warmed up, as it is loaded from a
+     * {@link GeneratorClassLoaders shared class loader} that is reused by the
+     * build.
+     *
+     * @param libs               the libraries of the class path
+     * @param supplierCancelled  returns {@code true} if the warm-up should stop
+     */
+    public void warmUp(List<File> libs, BooleanSupplier supplierCancelled)
+        {
+        // indexing new jars is the slowest part of creating the first schema
+        libraryIndex.filter(libs);
+
+        File fileJar = supplierCancelled.getAsBoolean() ? null : findGeneratorRoot(libs);
+        if (fileJar == null || !fileJar.isFile())
+            {
+            return;
+            }
+
+        ClassLoader loader = GeneratorClassLoaders.acquire(fileJar);
+        if (loader == null)
+            {
+            return;
+            }
+        try
+            {
+            Class<?> clsGenerator = findGeneratorClass(loader);
+            if (clsGenerator != null && !supplierCancelled.getAsBoolean())
+                {
+                GeneratorWarmUp.warmUp(GeneratorBinding.forClass(clsGenerator), supplierCancelled);
+                }
+            }
+        catch (LinkageError e)
+            {
+            LOGGER.info("Could not warm up the POF generator for " + fileJar + " - " + e);
+            }
+        finally
+            {
+            GeneratorClassLoaders.release(loader);
+            }
+        }
+
+    /**
+     * Determine whether the POF generator is on a class path, without loading any classes.
+     * <p>
+     * Only the central directory of each jar is read, and the result for a jar
+     * is remembered until the jar changes.
+     *
+     * @param colClasspath  the class path entries
+     *
+     * @return  {@code true} if the POF generator is on the class path
+     */
+    public static boolean isGeneratorOnClasspath(Collection<File> colClasspath)
+        {
+        return findGeneratorRoot(colClasspath) != null;
+        }
+
+    /**
+     * Create the generator environment for a class path, containing its
+     * libraries and POF schema.
+     * <p>
+     * Only the libraries that contain POF types are put in the environment, so
+     * the time taken to create the schema depends on those libraries rather
+     * than on the size of the whole class path.
+     *
+     * @param loader     the {@link ClassLoader} of the class path
+     * @param libs       the libraries of the class path
+     * @param binding    the {@link GeneratorBinding} to create the schema with
+     * @param fileClass  a class file being instrumented
+     * @param store      the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                   to not persist the schema
+     * @param changes    the {@code @PortableType} classes being instrumented,
+     *                   or {@code null} if they are not known
+     * @param stats      the {@link PofBuildStatistics} to record the schema
+     *                   statistics in, or {@code null}
+     *
+     * @return  the generator environment
+     */
+    public Map<String, Object> createEnvironment(ClassLoader         loader,
+                                                 List<File>          libs,
+                                                 GeneratorBinding    binding,
+                                                 File                fileClass,
+                                                 SchemaSnapshotStore store,
+                                                 PortableTypeChanges changes,
+                                                 PofBuildStatistics  stats)
+        {
+        return createEnvironment(loader, libs, null, binding, fileClass, store, changes, stats);
+        }
+
+    /**
+     * Create the generator environment for a class path, containing its
+     * libraries and POF schema.
+     * <p>
+     * When the libraries that contain {@code @PortableType} classes are
+     * known, for example from the IDE's index, the classes of the other
+     * libraries are not scanned to select the libraries the schema is
+     * created from.
+     *
+     * @param loader            the {@link ClassLoader} of the class path
+     * @param libs              the libraries of the class path
+     * @param colTypeLibraries  the jars known to contain {@code @PortableType}
+     *                          classes, or {@code null} if they are not known
+     * @param binding           the {@link GeneratorBinding} to create the schema with
+     * @param fileClass         a class file being instrumented
+     * @param store             the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                          to not persist the schema
+     * @param changes           the {@code @PortableType} classes being instrumented,
+     *                          or {@code null} if they are not known
+     * @param stats             the {@link PofBuildStatistics} to record the schema
+     *                          statistics in, or {@code null}
+     *
+     * @return  the generator environment
+     */
+    public Map<String, Object> createEnvironment(ClassLoader         loader,
+                                                 List<File>          libs,
+                                                 Collection<File>    colTypeLibraries,
+                                                 GeneratorBinding    binding,
+                                                 File                fileClass,
+                                                 SchemaSnapshotStore store,
+                                                 PortableTypeChanges changes,
+                                                 PofBuildStatistics  stats)
+        {
+        Thread              thread       = Thread.currentThread();
+        ClassLoader         loaderThread = thread.getContextClassLoader();
+        Map<String, Object> env          = new HashMap<>();
+        long                ldtStart     = System.nanoTime();
+
+        if (stats != null)
+            {
+            // replaced by createSchema if the schema is not already cached
+            stats.setSchemaSource(PofBuildStatistics.SchemaSource.CACHE);
+            }
+
+        try
+            {
+            thread.setContextClassLoader(loader);
+
+            List<File> listRelevant = colTypeLibraries == null
+                                      ? libraryIndex.filter(libs)
+                                      : libraryIndex.filter(libs, colTypeLibraries);
+            env.put("libs", listRelevant);
+
+            SchemaState state  = ensureSchemaState(binding.getGeneratorClass(), fileClass, env, store, changes, stats);
+            Object      schema = state == null ? null : state.getSchema();
+            env.put("schema", schema);
+            if (state != null)
+                {
+                // the manifest is only scanned if it is needed to fingerprint the schema
+                env.put(MANIFEST, (Supplier<SchemaManifest>) state::getManifest);
+                }
+
+            if (stats != null)
+                {
+                stats.setSchemaTime(System.nanoTime() - ldtStart);
+                stats.setLibraries(listRelevant.size(), libs.size());
+                if (schema == null)
+                    {
+                    stats.setSchemaSource(PofBuildStatistics.SchemaSource.NONE);
+                    }
+                }
+            }
+        finally
+            {
+            thread.setContextClassLoader(loaderThread);
+            }
+
+        return env;
+        }
+
+    /**
+     * Instrument {@code @PortableType} classes, storing the result of each
+     * class in its {@link PofClassFile}.
+     * <p>
+     * Classes found in the {@link InstrumentedClassCache} are not passed to the
+     * generator, and classes instrumented by the generator are added to the cache.
+     *
+     * @param listClasses        the classes to instrument
+     * @param loader             the {@link ClassLoader} of the class path
+     * @param binding            the {@link GeneratorBinding} to instrument the classes with
+     * @param mapEnv             the generator environment
+     * @param cache              the {@link InstrumentedClassCache}, or {@code null}
+     *                           to not cache instrumented classes
+     * @param cThreads           the number of threads to use
+     * @param supplierCancelled  returns {@code true} if instrumentation has been
+     *                           cancelled and no more classes should be instrumented
+     *
+     * @throws InterruptedException  if the calling thread is interrupted
+     * @throws ExecutionException    if a task failed unexpectedly, with a cause
+     *                               naming the class the task was instrumenting
+     */
+    public void instrumentAll(List<PofClassFile>     listClasses,
+                              ClassLoader            loader,
+                              GeneratorBinding       binding,
+                              Map<String, Object>    mapEnv,
+                              InstrumentedClassCache cache,
+                              int                    cThreads,
+                              BooleanSupplier        supplierCancelled)
+            throws InterruptedException, ExecutionException
+        {
+        String sFingerprint = cache == null ? null : getCacheFingerprint(binding, mapEnv);
+        int    cClasses     = listClasses.size();
+
+        IntConsumer task = i ->
+            {
+            PofClassFile classFile = listClasses.get(i);
+            try
+                {
+                if (!supplierCancelled.getAsBoolean())
+                    {
+                    instrumentCached(classFile, loader, binding, mapEnv, cache, sFingerprint);
+                    }
+                }
+            catch (RuntimeException | Error e)
+                {
+                // a failure to instrument the class itself is recorded in the class
+                // file, so this is a failure of the build, such as a cancel check
+                throw new IllegalStateException("Unexpected failure instrumenting " + classFile.getClassName()
+                                                + " - " + e, e);
+                }
+            };
+
+        if (Math.min(cThreads, cClasses) <= 1)
+            {
+            try
+                {
+                IntStream.range(0, cClasses).forEach(task);
+                }
+            catch (IllegalStateException e)
+                {
+                // fail in the same way as a parallel task
+                throw new ExecutionException(e);
+                }
+            }
+        else
+            {
+            // a parallel stream started from a task in a ForkJoinPool runs in that
+            // pool, which bounds the number of threads used
+            ForkJoinPool pool = new ForkJoinPool(Math.min(cThreads, cClasses));
+            try
+                {
+                pool.submit(() -> IntStream.range(0, cClasses).parallel().forEach(task)).get();
+                }
+            finally
+                {
+                pool.shutdownNow();
+                }
+            }
+        }
+
+    /**
+     * Ensure that the POF schema for the class path in the generator environment
+     * has been created.
+     *
+     * @param clsPofGenerator  the POF generator class
+     * @param fileClass        the class file being instrumented
+     * @param mapEnv           the generator environment containing the {@code libs}
+     *
+     * @return  the POF schema, or {@code null} if the schema could not be created
+     */
+    public Object ensureSchema(Class<?> clsPofGenerator, File fileClass, Map<String, ?> mapEnv)
+        {
+        return ensureSchema(clsPofGenerator, fileClass, mapEnv, null, null, null);
+        }
+
+    /**
+     * Ensure that the POF schema for the class path in the generator environment
+     * has been created, reusing a persisted snapshot of the schema if the class
+     * path is unchanged since the snapshot was saved.
+     * <p>
+     * Schemas are cached per generator class and class path, so chunks built in
+     * parallel never replace each other's schema. A cached schema is recreated
+     * with the {@code @PortableType} classes compiled in a later round or build of
+     * the same class path, as they are not yet in the output directories the
+     * cached schema was created from.
+     *
+     * @param clsPofGenerator  the POF generator class
+     * @param fileClass        the class file being instrumented
+     * @param mapEnv           the generator environment containing the {@code libs}
+     * @param store            the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                         to not persist the schema
+     * @param changes          the {@code @PortableType} classes compiled in the chunk,
+     *                         or {@code null} if they are not known
+     * @param stats            the {@link PofBuildStatistics} to record how the schema
+     *                         was obtained in, or {@code null}
+     *
+     * @return  the POF schema, or {@code null} if the schema could not be created
+     */
+    public Object ensureSchema(Class<?> clsPofGenerator, File fileClass, Map<String, ?> mapEnv,
+                               SchemaSnapshotStore store, PortableTypeChanges changes, PofBuildStatistics stats)
+        {
+        SchemaState state = ensureSchemaState(clsPofGenerator, fileClass, mapEnv, store, changes, stats);
+        return state == null ? null : state.getSchema();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Instrument a class, or take its instrumented bytes from the cache, storing
+     * the result in its {@link PofClassFile}.
+     *
+     * @param classFile     the class to instrument
+     * @param loader        the {@link ClassLoader} of the class path
+     * @param binding       the {@link GeneratorBinding} to instrument the class with
+     * @param mapEnv        the generator environment
+     * @param cache         the {@link InstrumentedClassCache}, or {@code null}
+     * @param sFingerprint  the fingerprint of the cached classes, or {@code null}
+     *                      to not cache instrumented classes
+     */
+    private void instrumentCached(PofClassFile classFile, ClassLoader loader, GeneratorBinding binding,
+                                  Map<String, Object> mapEnv, InstrumentedClassCache cache, String sFingerprint)
+        {
+        long ldtClass = System.nanoTime();
+        try
+            {
+            byte[] abInst = sFingerprint == null ? null
+                    : cache.get(sFingerprint, classFile.getBuffer(), classFile.getOffset(), classFile.getLength());
+            if (abInst == null)
+                {
+                abInst = instrumentClass(classFile, loader, binding, mapEnv);
+                if (abInst != null && sFingerprint != null)
+                    {
+                    cache.put(sFingerprint, classFile.getBuffer(), classFile.getOffset(), classFile.getLength(), abInst);
+                    }
+                classFile.setInstrumented(abInst, false);
+                }
+            else
+                {
+                classFile.setInstrumented(abInst, true);
+                }
+            }
+        catch (Throwable e)
+            {
+            classFile.setError(e);
+            }
+        classFile.setNanos(System.nanoTime() - ldtClass);
+        }
+
+    /**
+     * Find the class path entry that contains the POF generator, without loading any classes.
+     *
+     * @param colClasspath  the class path entries
+     *
+     * @return  the jar or directory containing the POF generator, or {@code null}
+     *          if the POF generator is not on the class path
+     */
+    private static File findGeneratorRoot(Collection<File> colClasspath)
+        {
+        for (File file : colClasspath)
+            {
+            if (file.isDirectory())
+                {
+                for (String sCls : CLASS_NAMES)
+                    {
+                    if (new File(file, toClassFileName(sCls)).isFile())
+                        {
+                        return file;
+                        }
+                    }
+                }
+            else if (file.isFile() && containsGenerator(file))
+                {
+                return file;
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Determine whether a jar contains the POF generator.
+     *
+     * @param fileJar  the jar
+     *
+     * @return  {@code true} if the jar contains the POF generator
+     */
+    private static boolean containsGenerator(File fileJar)
+        {
+        String   sPath     = fileJar.getAbsolutePath();
+        long     cbSize    = fileJar.length();
+        long     ldtModify = fileJar.lastModified();
+        JarState state     = JAR_STATES.get(sPath);
+
+        if (state != null && state.cbSize == cbSize && state.ldtModified == ldtModify)
+            {
+            return state.fGenerator;
+            }
+
+        boolean fFound = false;
+        try (ZipFile zip = new ZipFile(fileJar))
+            {
+            for (String sCls : CLASS_NAMES)
+                {
+                fFound |= zip.getEntry(toClassFileName(sCls)) != null;
+                }
+            }
+        catch (IOException e)
+            {
+            // not a readable jar, so it cannot provide the generator
+            }
+
+        JAR_STATES.put(sPath, new JarState(cbSize, ldtModify, fFound));
+        return fFound;
+        }
+
+    /**
+     * Return the name of the class file of a class.
+     *
+     * @param sClassName  the fully qualified name of the class
+     *
+     * @return  the name of the class file, relative to a class path root
+     */
+    private static String toClassFileName(String sClassName)
+        {
+        return sClassName.replace('.', '/') + ".class";
+        }
+
+    /**
+     * Instrument a {@code @PortableType} class.
+     * <p>
+     * This method may be called concurrently for the classes of a class path,
+     * so it only reads the shared generator environment.
+     *
+     * @param classFile  the class file
+     * @param loader     the {@link ClassLoader} of the class path
+     * @param binding    the {@link GeneratorBinding} to instrument the class with
+     * @param mapEnv     the generator environment
+     *
+     * @return  the instrumented class bytes or {@code null} if the class was not instrumented
+     */
+    private byte[] instrumentClass(PofClassFile        classFile,
+                                   ClassLoader         loader,
+                                   GeneratorBinding    binding,
+                                   Map<String, Object> mapEnv)
+        {
+        Thread      thread       = Thread.currentThread();
+        ClassLoader loaderThread = thread.getContextClassLoader();
+        Properties  properties   = new Properties();
+
+        try
+            {
+            thread.setContextClassLoader(loader);
+
+            // each class gets its own copy of the environment in case the generator modifies it
+            return binding.instrumentClass(classFile.getFile(), classFile.getBuffer(), classFile.getOffset(),
+                                           classFile.getLength(), properties, new HashMap<>(mapEnv));
+            }
+        catch (Exception e)
+            {
+            LOGGER.error(e);
+
+            Throwable cause = e.getCause();
+            if (cause != null)
+                {
+                LOGGER.error(cause);
+                }
+
+            throw new RuntimeException("POF generation internal error - " + e.getMessage(), e);
+            }
+        finally
+            {
+            thread.setContextClassLoader(loaderThread);
+            }
+        }
+
+    /**
+     * Ensure that the POF schema for the class path in the generator environment
+     * has been created and contains the {@code @PortableType} classes compiled in
+     * the chunk.
+     *
+     * @param clsPofGenerator  the POF generator class
+     * @param fileClass        the class file being instrumented
+     * @param mapEnv           the generator environment containing the {@code libs}
+     * @param store            the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                         to not persist the schema
+     * @param changes          the {@code @PortableType} classes compiled in the chunk,
+     *                         or {@code null} if they are not known
+     * @param stats            the {@link PofBuildStatistics} to record how the schema
+     *                         was obtained in, or {@code null}
+     *
+     * @return  the {@link SchemaState}, or {@code null} if the schema could not be created
+     */
+    @SuppressWarnings("unchecked")
+    private SchemaState ensureSchemaState(Class<?> clsPofGenerator, File fileClass, Map<String, ?> mapEnv,
+                                         SchemaSnapshotStore store, PortableTypeChanges changes,
+                                         PofBuildStatistics stats)
+        {
+        List<File> libs      = (List<File>) mapEnv.get("libs");
+        List<File> listLibs  = libs == null ? Collections.emptyList() : libs;
+        boolean[]  afCreated = new boolean[1];
+
+        SchemaState state = (SchemaState) schemaCache.get(clsPofGenerator, listLibs, () ->
+            {
+            afCreated[0] = true;
+            return createSchema(clsPofGenerator, fileClass, mapEnv, store, changes, stats);
+            });
+
+        if (state != null && !afCreated[0] && changes != null)
+            {
+            // the cached schema was created before these classes were compiled,
+            // deleted or stopped being portable types
+            SchemaState statePatched = patchSchema(state, fileClass, mapEnv, store, changes, stats);
+            if (statePatched != state)
+                {
+                state = statePatched;
+                schemaCache.put(clsPofGenerator, listLibs, state);
+                }
+            }
+
+        return state;
+        }
+
+    /**
+     * Recreate a cached POF schema with the {@code @PortableType} classes
+     * compiled in the chunk, and without the classes that have been deleted or
+     * are no longer {@code @PortableType} classes.
+     *
+     * @param state      the {@link SchemaState} of the cached schema
+     * @param fileClass  the class file being instrumented
+     * @param mapEnv     the generator environment containing the {@code libs}
+     * @param store      the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                   to not persist the schema
+     * @param changes    the {@code @PortableType} classes compiled in the chunk
+     * @param stats      the {@link PofBuildStatistics} to record how the schema
+     *                   was obtained in, or {@code null}
+     *
+     * @return  the {@link SchemaState} of the patched schema, of a schema
+     *          created from the whole class path if it could not be patched,
+     *          or the cached {@link SchemaState} if the schema is unchanged
+     */
+    private SchemaState patchSchema(SchemaState state, File fileClass, Map<String, ?> mapEnv,
+                                    SchemaSnapshotStore store, PortableTypeChanges changes,
+                                    PofBuildStatistics stats)
+        {
+        GeneratorBinding binding  = GeneratorBinding.forClass(state.getGeneratorClass());
+        SchemaManifest   manifest = refresh(state.getManifest(), changes);
+        Object           schema   = null;
+
+        if (manifest == state.getManifest())
+            {
+            return state;
+            }
+        if (manifest != null)
+            {
+            schema = SchemaPatcher.createSchema(binding, fileClass, manifest, changes, mapEnv);
+            }
+
+        if (schema == null)
+            {
+            SchemaState stateNew = createSchema(state.getGeneratorClass(), fileClass, mapEnv, store, changes, stats);
+            return stateNew == null ? state : stateNew;
+            }
+
+        if (store != null && state.getFingerprint() != null)
+            {
+            store.save(state.getFingerprint(), manifest);
+            }
+        if (stats != null)
+            {
+            stats.setSchemaSource(PofBuildStatistics.SchemaSource.PATCHED);
+            }
+
+        return new SchemaState(state.getGeneratorClass(), schema, manifest, state.getLibraries(), state.getFingerprint());
+        }
+
+    /**
+     * Create the POF schema.
+     * <p>
+     * Snapshots of the schema's {@link SchemaManifest manifest} are stored under a
+     * fingerprint of the class path that excludes the content of the chunk's own
+     * output directories. When the chunk is built incrementally, the schema is
+     * recreated from the snapshot for an unchanged library class path, patched with
+     * just the {@code @PortableType} classes compiled in the chunk. The whole class
+     * path is only scanned when there is no snapshot, because the libraries changed,
+     * or when the whole chunk is being rebuilt.
+     *
+     * @param clsPofGenerator  the POF generator class
+     * @param fileClass        the class file being instrumented
+     * @param mapEnv           the generator environment containing the {@code libs}
+     * @param store            the {@link SchemaSnapshotStore} to use, or {@code null}
+     *                         to not persist the schema
+     * @param changes          the {@code @PortableType} classes compiled in the chunk,
+     *                         or {@code null} if they are not known
+     * @param stats            the {@link PofBuildStatistics} to record how the schema
+     *                         was obtained in, or {@code null}
+     *
+     * @return  the {@link SchemaState} of the POF schema, or {@code null} if the
+     *          schema could not be created
+     */
+    @SuppressWarnings("unchecked")
+    private SchemaState createSchema(Class<?> clsPofGenerator, File fileClass, Map<String, ?> mapEnv,
+                                SchemaSnapshotStore store, PortableTypeChanges changes,
+                                PofBuildStatistics stats)
+        {
+        GeneratorBinding binding = GeneratorBinding.forClass(clsPofGenerator);
+        if (!binding.isValid())
+            {
+            return null;
+            }
+
+        String                          sFingerprint = store == null ? null : getFingerprint(mapEnv, changes);
+        SchemaManifest                  manifest     = null;
+        Object                          schema       = null;
+        PofBuildStatistics.SchemaSource source       = PofBuildStatistics.SchemaSource.NONE;
+
+        if (sFingerprint != null && (changes == null || changes.isIncremental()))
+            {
+            SchemaManifest snapshot = store.load(sFingerprint);
+            manifest = refresh(snapshot, changes);
+            if (manifest != null)
+                {
+                schema = SchemaPatcher.createSchema(binding, fileClass, manifest, changes, mapEnv);
+                source = manifest == snapshot ? PofBuildStatistics.SchemaSource.SNAPSHOT
+                                              : PofBuildStatistics.SchemaSource.PATCHED;
+                }
+            }
+
+        if (schema == null && sFingerprint != null)
+            {
+            SchemaManifest scanned = scanManifest(mapEnv);
+            manifest = scanned == null ? null : scanned.apply(changes);
+            if (manifest != scanned)
+                {
+                // the classes compiled in this chunk are not yet written to the
+                // output directories, so they are only in the patched manifest
+                schema = SchemaPatcher.createSchema(binding, fileClass, manifest, changes, mapEnv);
+                source = PofBuildStatistics.SchemaSource.CREATED;
+                }
+            }
+
+        if (schema == null)
+            {
+            try
+                {
+                schema = binding.createSchema(fileClass, mapEnv);
+                source = PofBuildStatistics.SchemaSource.CREATED;
+                }
+            catch (Exception e)
+                {
+                LOGGER.warn("Failed to create the POF schema - " + e.getMessage(), e);
+                }
+            }
+
+        if (schema != null && manifest != null)
+            {
+            store.save(sFingerprint, manifest);
+            }
+
+        if (stats != null)
+            {
+            stats.setSchemaSource(schema == null ? PofBuildStatistics.SchemaSource.NONE : source);
+            }
+
+        return schema == null ? null
+                : new SchemaState(clsPofGenerator, schema, manifest, (List<File>) mapEnv.get("libs"), sFingerprint);
+        }
+
+    /**
+     * Scan the libraries in the generator environment for the {@link SchemaManifest}
+     * of their schema.
+     *
+     * @param mapEnv  the generator environment
+     *
+     * @return  the manifest, or {@code null} if the libraries could not be scanned
+     */
+    @SuppressWarnings("unchecked")
+    private SchemaManifest scanManifest(Map<String, ?> mapEnv)
+        {
+        try
+            {
+            return SchemaManifest.scan((List<File>) mapEnv.get("libs"));
+            }
+        catch (IOException | RuntimeException e)
+            {
+            LOGGER.info("Could not scan the POF types of the class path - " + e.getMessage());
+            return null;
+            }
+        }
+
+    /**
+     * Bring a previously created {@link SchemaManifest} up to date, removing the
+     * classes that have since been deleted or are no longer {@code @PortableType}
+     * classes, and applying the changes of the chunk.
+     *
+     * @param manifest  the manifest, or {@code null}
+     * @param changes   the {@code @PortableType} classes compiled in the chunk,
+     *                  or {@code null} if they are not known
+     *
+     * @return  the manifest, which is the same manifest if it is up to date, or
+     *          {@code null} if the manifest was {@code null} or could not be refreshed
+     */
+    private SchemaManifest refresh(SchemaManifest manifest, PortableTypeChanges changes)
+        {
+        if (manifest == null)
+            {
+            return null;
+            }
+
+        try
+            {
+            return manifest.refresh().apply(changes);
+            }
+        catch (IOException | RuntimeException e)
+            {
+            LOGGER.info("Could not refresh the POF schema manifest - " + e.getMessage());
+            return null;
+            }
+        }
+
+    /**
+     * Return the {@link InstrumentedClassCache} fingerprint of the POF generator
+     * and the schema in the generator environment.
+     *
+     * @param binding  the {@link GeneratorBinding} of the generator
+     * @param mapEnv   the generator environment
+     *
+     * @return  the fingerprint, or {@code null} if instrumented classes must not be cached
+     */
+    @SuppressWarnings("unchecked")
+    private String getCacheFingerprint(GeneratorBinding binding, Map<String, ?> mapEnv)
+        {
+        Object oManifest = mapEnv.get(MANIFEST);
+        return oManifest instanceof Supplier
+               ? InstrumentedClassCache.fingerprint(binding.getGeneratorClass(),
+                                                    ((Supplier<SchemaManifest>) oManifest).get())
+               : null;
+        }
+
+    /**
+     * Return the fingerprint of the libraries in the generator environment.
+     *
+     * @param mapEnv   the generator environment
+     * @param changes  the {@code @PortableType} classes compiled in the chunk,
+     *                 or {@code null} if they are not known
+     *
+     * @return  the fingerprint of the libraries or {@code null} if the
+     *          fingerprint could not be calculated
+     */
+    @SuppressWarnings("unchecked")
+    private String getFingerprint(Map<String, ?> mapEnv, PortableTypeChanges changes)
+        {
+        try
+            {
+            return ClasspathFingerprint.of((List<File>) mapEnv.get("libs"),
+                                           changes == null ? Collections.emptySet() : changes.getOutputDirs());
+            }
+        catch (Exception e)
+            {
+            LOGGER.info("Could not fingerprint the POF generator class path - " + e.getMessage());
+            return null;
+            }
+        }
+
+    // ----- inner class: SchemaState ---------------------------------------
+
+    /**
+     * A cached POF schema and the {@link SchemaManifest} it was created from.
+     */
+    private static class SchemaState
+        {
+        /**
+         * Create a {@link SchemaState}.
+         *
+         * @param clsGenerator  the POF generator class
+         * @param schema        the POF schema
+         * @param manifest      the {@link SchemaManifest} of the schema, or {@code null}
+         *                      to scan the libraries for it when it is needed
+         * @param listLibs      the libraries the schema was created from
+         * @param sFingerprint  the fingerprint the schema's snapshot is stored under,
+         *                      or {@code null} if the schema is not persisted
+         */
+        SchemaState(Class<?> clsGenerator, Object schema, SchemaManifest manifest, List<File> listLibs,
+                    String sFingerprint)
+            {
+            this.clsGenerator = clsGenerator;
+            this.schema       = schema;
+            this.manifest     = manifest;
+            this.listLibs     = listLibs == null ? Collections.emptyList() : listLibs;
+            this.sFingerprint = sFingerprint;
+            }
+
+        /**
+         * Return the POF generator class.
+         *
+         * @return  the POF generator class
+         */
+        Class<?> getGeneratorClass()
+            {
+            return clsGenerator;
+            }
+
+        /**
+         * Return the POF schema.
+         *
+         * @return  the POF schema
+         */
+        Object getSchema()
+            {
+            return schema;
+            }
+
+        /**
+         * Return the libraries the schema was created from.
+         *
+         * @return  the libraries the schema was created from
+         */
+        List<File> getLibraries()
+            {
+            return listLibs;
+            }
+
+        /**
+         * Return the fingerprint the schema's snapshot is stored under.
+         *
+         * @return  the fingerprint, or {@code null} if the schema is not persisted
+         */
+        String getFingerprint()
+            {
+            return sFingerprint;
+            }
+
+        /**
+         * Return the {@link SchemaManifest} of the schema, scanning the libraries
+         * for it the first time it is needed if the schema was not created from one.
+         *
+         * @return  the {@link SchemaManifest}, or {@code null} if the libraries
+         *          could not be scanned
+         */
+        synchronized SchemaManifest getManifest()
+            {
+            if (manifest == null)
+                {
+                try
+                    {
+                    manifest = SchemaManifest.scan(listLibs);
+                    }
+                catch (IOException | RuntimeException e)
+                    {
+                    LOGGER.info("Could not scan the POF types of the class path - " + e.getMessage());
+                    }
+                }
+            return manifest;
+            }
+
+        /**
+         * The POF generator class.
+         */
+        private final Class<?> clsGenerator;
+
+        /**
+         * The POF schema.
+         */
+        private final Object schema;
+
+        /**
+         * The libraries the schema was created from.
+         */
+        private final List<File> listLibs;
+
+        /**
+         * The fingerprint the schema's snapshot is stored under, or {@code null}.
+         */
+        private final String sFingerprint;
+
+        /**
+         * The {@link SchemaManifest} of the schema, or {@code null} until it is needed.
+         */
+        private SchemaManifest manifest;
+        }
+
+    // ----- inner class: JarState ------------------------------------------
+
+    /**
+     * Whether a jar contains the POF generator.
+     */
+    private static class JarState
+        {
+        /**
+         * Create a {@link JarState}.
+         *
+         * @param cbSize       the size of the jar
+         * @param ldtModified  the last modified time of the jar
+         * @param fGenerator   {@code true} if the jar contains the POF generator
+         */
+        JarState(long cbSize, long ldtModified, boolean fGenerator)
+            {
+            this.cbSize      = cbSize;
+            this.ldtModified = ldtModified;
+            this.fGenerator  = fGenerator;
+            }
+
+        /**
+         * The size of the jar.
+         */
+        final long cbSize;
+
+        /**
+         * The last modified time of the jar.
+         */
+        final long ldtModified;
+
+        /**
+         * {@code true} if the jar contains the POF generator.
+         */
+        final boolean fGenerator;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(PofInstrumenter.class);
+
+    /**
+     * The array of possible POF generator class names.
+     */
+    private static final String[] CLASS_NAMES =
+            {
+            "com.tangosol.io.pof.generator.PortableTypeGenerator"
+            };
+
+    /**
+     * The class loaders that do not have the POF generator.
+     */
+    private static final Set<ClassLoader> MISSING_GENERATOR = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Whether each jar contains the POF generator, keyed by the absolute path of the jar.
+     */
+    private static final Map<String, JarState> JAR_STATES = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of POF schemas to cache.
+     */
+    private static final int MAX_SCHEMAS = 16;
+
+    /**
+     * The key of the supplier of the schema's {@link SchemaManifest} in the
+     * generator environment, which the generator ignores.
+     */
+    private static final String MANIFEST = "coherence.idea.manifest";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link LibraryIndex} used to select the libraries the POF schema is created from.
+     */
+    private final LibraryIndex libraryIndex;
+
+    /**
+     * The POF schemas, cached per generator class and class path.
+     */
+    private final SchemaCache schemaCache = new SchemaCache(MAX_SCHEMAS);
+    }
@@ -0,0 +1,868 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.oracle.coherence.idea.PackageFilter;
+
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A command line tool that instruments the {@code @PortableType} classes in
+ * class output directories and jars outside the IDE, for example in a CI build.
+ * <p>
+ * The tool uses the same {@link PofInstrumenter} as the IDE build, so it
+ * produces the same instrumented classes and can share the same
+ * {@link InstrumentedClassCache} directory. The classes of all the targets
+ * are instrumented in parallel with a single schema, then each instrumented
+ * class file, or each jar containing instrumented classes, is replaced atomically.
+ * <pre>
+ * java -cp &lt;plugin jars&gt; com.oracle.coherence.idea.jps.PofInstrumenterTool \
+ *     --classpath &lt;dependencies&gt; [--threads &lt;n&gt;] [--cache &lt;dir&gt;] \
+ *     [--include &lt;packages&gt;] [--exclude &lt;packages&gt;] [--type-registry] [--verbose] \
+ *     &lt;directory or jar&gt;...
+ * </pre>
+ * The plugin jars are this plugin's {@code jps-plugin} jar and the IntelliJ
+ * {@code util} jars that provide logging and ASM. The dependencies must include
+ * the Coherence jar whose PortableTypeGenerator is used to instrument the classes.
+ * <p>
+ * With {@code --type-registry}, the tool also writes the {@link PofTypeRegistry}
+ * of each class directory or jar, just as the IDE build does for the output
+ * directory of each module.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofInstrumenterTool
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofInstrumenterTool}.
+     *
+     * @param listClasspath  the class path of the classes to instrument
+     * @param cThreads       the number of threads to use, or zero for one per processor
+     * @param dirCache       the directory to cache instrumented classes in, or {@code null}
+     * @param filter         the {@link PackageFilter} of the classes to instrument
+     * @param fRegistry      {@code true} to write the {@link PofTypeRegistry} of each target
+     * @param fVerbose       {@code true} to print every instrumented class
+     * @param out            the {@link PrintStream} to print progress to
+     * @param err            the {@link PrintStream} to print errors to
+     */
+    public PofInstrumenterTool(List<File> listClasspath, int cThreads, File dirCache, PackageFilter filter,
+                               boolean fRegistry, boolean fVerbose, PrintStream out, PrintStream err)
+        {
+        this.listClasspath = listClasspath;
+        this.cThreads      = cThreads > 0 ? cThreads : Runtime.getRuntime().availableProcessors();
+        this.cache         = dirCache == null ? null : new InstrumentedClassCache(dirCache);
+        this.instrumenter  = new PofInstrumenter(new LibraryIndex(dirCache == null ? null
+                                                                  : new File(dirCache, LIBRARY_INDEX_FILE)));
+        this.filter        = filter;
+        this.fRegistry     = fRegistry;
+        this.fVerbose      = fVerbose;
+        this.out           = out;
+        this.err           = err;
+        }
+
+    // ----- PofInstrumenterTool methods ------------------------------------
+
+    /**
+     * Run the tool.
+     *
+     * @param asArg  the command line arguments
+     */
+    public static void main(String[] asArg)
+        {
+        System.exit(run(asArg, System.out, System.err));
+        }
+
+    /**
+     * Run the tool with the specified arguments.
+     *
+     * @param asArg  the command line arguments
+     * @param out    the {@link PrintStream} to print progress to
+     * @param err    the {@link PrintStream} to print errors to
+     *
+     * @return  the exit code, which is zero if all classes were instrumented
+     */
+    public static int run(String[] asArg, PrintStream out, PrintStream err)
+        {
+        List<File>   listClasspath = new ArrayList<>();
+        List<File>   listTargets   = new ArrayList<>();
+        List<String> listInclude   = new ArrayList<>();
+        List<String> listExclude   = new ArrayList<>();
+        int          cThreads      = 0;
+        File         dirCache      = null;
+        boolean      fRegistry     = false;
+        boolean      fVerbose      = false;
+
+        try
+            {
+            for (int i = 0; i < asArg.length; i++)
+                {
+                String sArg = asArg[i];
+                switch (sArg)
+                    {
+                    case "--classpath":
+                    case "-cp":
+                        for (String sPath : value(asArg, ++i, sArg).split(File.pathSeparator))
+                            {
+                            if (!sPath.isEmpty())
+                                {
+                                listClasspath.add(new File(sPath));
+                                }
+                            }
+                        break;
+                    case "--threads":
+                        cThreads = Integer.parseInt(value(asArg, ++i, sArg));
+                        break;
+                    case "--cache":
+                        dirCache = new File(value(asArg, ++i, sArg));
+                        break;
+                    case "--include":
+                        listInclude.addAll(Arrays.asList(value(asArg, ++i, sArg).split(",")));
+                        break;
+                    case "--exclude":
+                        listExclude.addAll(Arrays.asList(value(asArg, ++i, sArg).split(",")));
+                        break;
+                    case "--type-registry":
+                        fRegistry = true;
+                        break;
+                    case "--verbose":
+                        fVerbose = true;
+                        break;
+                    case "--help":
+                        out.println(USAGE);
+                        return 0;
+                    default:
+                        if (sArg.startsWith("-"))
+                            {
+                            throw new IllegalArgumentException("Unknown option " + sArg);
+                            }
+                        listTargets.add(new File(sArg));
+                    }
+                }
+
+            if (listTargets.isEmpty())
+                {
+                throw new IllegalArgumentException("No class directory or jar to instrument");
+                }
+            }
+        catch (IllegalArgumentException e)
+            {
+            // includes the NumberFormatException thrown for an invalid thread count
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+            }
+
+        PofInstrumenterTool tool = new PofInstrumenterTool(listClasspath, cThreads, dirCache,
+                                                           new PackageFilter(listInclude, listExclude),
+                                                           fRegistry, fVerbose, out, err);
+        try
+            {
+            return tool.instrument(listTargets) ? 0 : EXIT_FAILED;
+            }
+        catch (Exception e)
+            {
+            err.println("POF instrumentation failed - " + e);
+            return EXIT_FAILED;
+            }
+        }
+
+    /**
+     * Instrument the {@code @PortableType} classes in class directories and jars.
+     *
+     * @param listTargets  the class directories and jars to instrument
+     *
+     * @return  {@code true} if every class was instrumented, or {@code false}
+     *          if any class could not be instrumented
+     *
+     * @throws IOException           if a directory or jar cannot be read or written
+     * @throws InterruptedException  if the calling thread is interrupted
+     * @throws ExecutionException    if a task failed unexpectedly
+     */
+    public boolean instrument(List<File> listTargets)
+            throws IOException, InterruptedException, ExecutionException
+        {
+        PofBuildStatistics stats       = new PofBuildStatistics(listTargets.size() == 1
+                                                                ? listTargets.get(0).getName()
+                                                                : listTargets.size() + " targets");
+        List<Target>       listScanned = new ArrayList<>();
+        List<PofClassFile> listClasses = new ArrayList<>();
+
+        for (File fileTarget : listTargets)
+            {
+            if (!fileTarget.exists())
+                {
+                throw new IOException("No such directory or jar " + fileTarget);
+                }
+            Target target = fileTarget.isDirectory() ? scanDirectory(fileTarget, stats) : scanJar(fileTarget, stats);
+            listScanned.add(target);
+            listClasses.addAll(target.listClasses);
+            }
+
+        if (!listClasses.isEmpty() && !instrumentAll(listTargets, listClasses, stats))
+            {
+            return false;
+            }
+
+        // the class loader is closed before any jar is replaced, as an open jar
+        // cannot be replaced on every platform
+        boolean fSuccess = true;
+        for (Target target : listScanned)
+            {
+            Map<String, byte[]> mapInstrumented = new HashMap<>();
+            for (PofClassFile classFile : target.listClasses)
+                {
+                fSuccess &= collect(classFile, stats, mapInstrumented);
+                if (!mapInstrumented.containsKey(classFile.getClassName()))
+                    {
+                    // a class that was not instrumented cannot be registered
+                    target.mapTypeIds.put(classFile.getClassName(), PortableTypeScanner.NO_TYPE_ID);
+                    }
+                }
+
+            if (target.fJar)
+                {
+                writeJar(target.file, mapInstrumented, fRegistry ? createJarRegistry(target) : null);
+                }
+            else
+                {
+                writeDirectory(target.file, mapInstrumented);
+                if (fRegistry)
+                    {
+                    updateRegistry(target);
+                    }
+                }
+            }
+
+        out.println(stats.toSummary());
+        return fSuccess;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Instrument the {@code @PortableType} classes of the targets.
+     *
+     * @param listTargets  the class directories and jars to instrument
+     * @param listClasses  the classes to instrument
+     * @param stats        the {@link PofBuildStatistics} to record the instrumentation in
+     *
+     * @return  {@code false} if the POF generator cannot be used
+     *
+     * @throws IOException           if the class path cannot be used
+     * @throws InterruptedException  if the calling thread is interrupted
+     * @throws ExecutionException    if a task failed unexpectedly
+     */
+    private boolean instrumentAll(List<File> listTargets, List<PofClassFile> listClasses, PofBuildStatistics stats)
+            throws IOException, InterruptedException, ExecutionException
+        {
+        // the targets come first, so their classes are used in preference to
+        // any stale copies of them on the class path
+        List<URL> listURL = new ArrayList<>();
+        for (File file : listTargets)
+            {
+            listURL.add(toURL(file));
+            }
+        for (File file : listClasspath)
+            {
+            listURL.add(toURL(file));
+            }
+
+        try (URLClassLoader loader = new URLClassLoader(listURL.toArray(new URL[0]), ClassLoader.getPlatformClassLoader()))
+            {
+            Class<?> clsPofGenerator = PofInstrumenter.findGeneratorClass(loader);
+            if (clsPofGenerator == null)
+                {
+                err.println("Could not find the PortableTypeGenerator, Coherence must be on the class path");
+                return false;
+                }
+
+            GeneratorBinding binding = GeneratorBinding.forClass(clsPofGenerator);
+            if (!binding.isValid())
+                {
+                err.println("Unsupported PortableTypeGenerator " + clsPofGenerator.getName() + ": " + binding.getError());
+                return false;
+                }
+
+            Map<String, Object> env = instrumenter.createEnvironment(loader, LibraryResolver.getLibraries(loader),
+                                                                     binding, listClasses.get(0).getFile(),
+                                                                     null, null, stats);
+
+            long ldtStart = System.nanoTime();
+            instrumenter.instrumentAll(listClasses, loader, binding, env, cache, cThreads, () -> false);
+            stats.setInstrumentationTime(System.nanoTime() - ldtStart, Math.min(cThreads, listClasses.size()));
+            }
+
+        if (cache != null)
+            {
+            cache.pruneIfDue();
+            }
+        return true;
+        }
+
+    /**
+     * Scan a class directory for {@code @PortableType} classes to instrument.
+     *
+     * @param dir    the class directory
+     * @param stats  the {@link PofBuildStatistics} to record the scanned classes in
+     *
+     * @return  the scanned {@link Target}
+     *
+     * @throws IOException  if the directory cannot be read
+     */
+    private Target scanDirectory(File dir, PofBuildStatistics stats) throws IOException
+        {
+        Target target = new Target(dir, false);
+        Path   pathDir = dir.toPath();
+
+        try (Stream<Path> stream = Files.walk(pathDir))
+            {
+            for (Path path : (Iterable<Path>) stream::iterator)
+                {
+                String sPath = pathDir.relativize(path).toString().replace(File.separatorChar, '/');
+                if (sPath.endsWith(CLASS_SUFFIX) && Files.isRegularFile(path))
+                    {
+                    scan(target, sPath, path.toFile(), Files.readAllBytes(path), stats);
+                    }
+                }
+            }
+        return target;
+        }
+
+    /**
+     * Scan a jar for {@code @PortableType} classes to instrument.
+     * <p>
+     * The jar is streamed, and only the bytes of the classes to instrument are kept.
+     * A signed jar is refused, as instrumenting its classes would invalidate its
+     * signature.
+     *
+     * @param fileJar  the jar
+     * @param stats    the {@link PofBuildStatistics} to record the scanned classes in
+     *
+     * @return  the scanned {@link Target}
+     *
+     * @throws IOException  if the jar cannot be read or is signed
+     */
+    private Target scanJar(File fileJar, PofBuildStatistics stats) throws IOException
+        {
+        Target target = new Target(fileJar, true);
+
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(fileJar.toPath()))))
+            {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry())
+                {
+                String sPath = entry.getName();
+                if (isSignatureFile(sPath))
+                    {
+                    throw new IOException("Cannot instrument the signed jar " + fileJar
+                                          + ", instrumenting its classes would invalidate its signature");
+                    }
+                if (PofTypeRegistry.RESOURCE.equals(sPath))
+                    {
+                    target.abRegistry = in.readAllBytes();
+                    }
+                if (!entry.isDirectory() && sPath.endsWith(CLASS_SUFFIX) && !sPath.startsWith("META-INF/"))
+                    {
+                    // the file is only used to identify the class, it does not exist
+                    scan(target, sPath, new File(fileJar, sPath), in.readAllBytes(), stats);
+                    }
+                }
+            }
+        return target;
+        }
+
+    /**
+     * Scan a class, adding it to a {@link Target} if it is to be instrumented.
+     *
+     * @param target   the {@link Target} containing the class
+     * @param sPath    the path of the class file relative to the target
+     * @param file     the class file
+     * @param abClass  the class bytes
+     * @param stats    the {@link PofBuildStatistics} to record the class in
+     */
+    private void scan(Target target, String sPath, File file, byte[] abClass, PofBuildStatistics stats)
+        {
+        String sClassName = sPath.substring(0, sPath.length() - CLASS_SUFFIX.length()).replace('/', '.');
+
+        stats.classSeen();
+        if ("module-info".equals(sClassName))
+            {
+            stats.classSkipped();
+            return;
+            }
+        if (!filter.accepts(sClassName))
+            {
+            target.mapTypeIds.put(sClassName, PortableTypeScanner.NO_TYPE_ID);
+            stats.classSkipped();
+            return;
+            }
+
+        ClassReader reader = new ClassReader(abClass);
+        switch (PortableTypeScanner.scan(reader))
+            {
+            case PORTABLE_TYPE:
+                target.listClasses.add(new PofClassFile(sClassName, file, abClass, 0, abClass.length));
+                target.mapTypeIds.put(sClassName, PortableTypeScanner.getTypeId(reader));
+                break;
+            case INSTRUMENTED:
+                target.mapTypeIds.put(sClassName, PortableTypeScanner.getTypeId(reader));
+                stats.classAlreadyInstrumented();
+                break;
+            default:
+                target.mapTypeIds.put(sClassName, PortableTypeScanner.NO_TYPE_ID);
+                stats.classSkipped();
+            }
+        }
+
+    /**
+     * Record the result of instrumenting a class.
+     *
+     * @param classFile        the class
+     * @param stats            the {@link PofBuildStatistics} to record the result in
+     * @param mapInstrumented  the instrumented classes to add the class to, keyed by class name
+     *
+     * @return  {@code false} if the class could not be instrumented
+     */
+    private boolean collect(PofClassFile classFile, PofBuildStatistics stats, Map<String, byte[]> mapInstrumented)
+        {
+        String sClassName = classFile.getClassName();
+        if (classFile.getError() != null)
+            {
+            stats.classFailed(sClassName, classFile.getNanos());
+            err.println("Failed to instrument " + sClassName + " - " + classFile.getError().getMessage());
+            return false;
+            }
+
+        byte[] abInst = classFile.getInstrumented();
+        if (abInst == null)
+            {
+            stats.classSkipped();
+            return true;
+            }
+
+        stats.classInstrumented(sClassName, classFile.getNanos(), classFile.getLength(), abInst.length,
+                                classFile.isCached());
+        mapInstrumented.put(sClassName, abInst);
+        if (fVerbose)
+            {
+            out.println("Instrumented " + sClassName);
+            }
+        return true;
+        }
+
+    /**
+     * Replace the instrumented class files in a class directory.
+     *
+     * @param dir              the class directory
+     * @param mapInstrumented  the instrumented classes, keyed by class name
+     *
+     * @throws IOException  if a class file cannot be written
+     */
+    private void writeDirectory(File dir, Map<String, byte[]> mapInstrumented) throws IOException
+        {
+        for (Map.Entry<String, byte[]> entry : mapInstrumented.entrySet())
+            {
+            Path path = dir.toPath().resolve(entry.getKey().replace('.', '/') + CLASS_SUFFIX);
+            writeAtomically(path, stream -> stream.write(entry.getValue()));
+            }
+        }
+
+    /**
+     * Update the {@link PofTypeRegistry} of a class directory.
+     *
+     * @param target  the class directory
+     *
+     * @throws IOException  if the registry cannot be written
+     */
+    private void updateRegistry(Target target) throws IOException
+        {
+        PofTypeRegistry registry = new PofTypeRegistry(target.file);
+        for (Map.Entry<String, Integer> entry : target.mapTypeIds.entrySet())
+            {
+            registry.put(entry.getKey(), entry.getValue());
+            }
+        registry.prune();
+        registry.save();
+        }
+
+    /**
+     * Return the content of the {@link PofTypeRegistry} of a jar.
+     * <p>
+     * Every class of a jar is scanned, so the registry is created from the
+     * scanned classes alone.
+     *
+     * @param target  the jar
+     *
+     * @return  the content of the registry, an empty array to remove the
+     *          registry, or {@code null} if the registry has not changed
+     */
+    private static byte[] createJarRegistry(Target target)
+        {
+        Map<String, Integer> mapTypes = new TreeMap<>();
+        for (Map.Entry<String, Integer> entry : target.mapTypeIds.entrySet())
+            {
+            if (entry.getValue() != PortableTypeScanner.NO_TYPE_ID)
+                {
+                mapTypes.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+        if (mapTypes.isEmpty())
+            {
+            return target.abRegistry == null ? null : new byte[0];
+            }
+
+        byte[] abRegistry = PofTypeRegistry.toXml(mapTypes);
+        return Arrays.equals(abRegistry, target.abRegistry) ? null : abRegistry;
+        }
+
+    /**
+     * Replace a jar with a copy containing the instrumented classes.
+     * <p>
+     * Every entry keeps its order, compression method, time stamps, extra
+     * fields and comment, and the jar keeps its comment, so that only the
+     * content of the instrumented classes changes.
+     *
+     * @param fileJar          the jar
+     * @param mapInstrumented  the instrumented classes, keyed by class name
+     * @param abRegistry       the content of the {@link PofTypeRegistry}, an empty
+     *                         array to remove it, or {@code null} to leave it unchanged
+     *
+     * @throws IOException  if the jar cannot be written
+     */
+    private void writeJar(File fileJar, Map<String, byte[]> mapInstrumented, byte[] abRegistry) throws IOException
+        {
+        if (mapInstrumented.isEmpty() && abRegistry == null)
+            {
+            return;
+            }
+
+        Map<String, byte[]> mapEntries = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : mapInstrumented.entrySet())
+            {
+            mapEntries.put(entry.getKey().replace('.', '/') + CLASS_SUFFIX, entry.getValue());
+            }
+        if (abRegistry != null)
+            {
+            mapEntries.put(PofTypeRegistry.RESOURCE, abRegistry);
+            }
+
+        // the entries are copied in the order of the central directory, which
+        // is the order they were written in, so the manifest stays the first entry;
+        // the jar is closed before the copy replaces it
+        writeAtomically(fileJar.toPath(), outFile ->
+            {
+            try (ZipFile         zipIn  = new ZipFile(fileJar);
+                 ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(outFile)))
+                {
+                if (zipIn.getComment() != null)
+                    {
+                    zipOut.setComment(zipIn.getComment());
+                    }
+
+                for (Enumeration<? extends ZipEntry> en = zipIn.entries(); en.hasMoreElements(); )
+                    {
+                    ZipEntry entry    = en.nextElement();
+                    ZipEntry entryOut = new ZipEntry(entry);
+                    byte[]   abInst   = mapEntries.remove(entry.getName());
+
+                    if (abInst != null && abInst.length == 0)
+                        {
+                        // the registry is removed
+                        continue;
+                        }
+                    if (abInst == null)
+                        {
+                        if (entry.getMethod() != ZipEntry.STORED)
+                            {
+                            // the entry is compressed again, which may not give the same size
+                            entryOut.setCompressedSize(-1L);
+                            }
+                        zipOut.putNextEntry(entryOut);
+                        try (InputStream in = zipIn.getInputStream(entry))
+                            {
+                            in.transferTo(zipOut);
+                            }
+                        }
+                    else
+                        {
+                        CRC32 crc = new CRC32();
+                        crc.update(abInst);
+                        entryOut.setSize(abInst.length);
+                        entryOut.setCrc(crc.getValue());
+                        entryOut.setCompressedSize(entry.getMethod() == ZipEntry.STORED ? abInst.length : -1L);
+                        zipOut.putNextEntry(entryOut);
+                        zipOut.write(abInst);
+                        }
+                    zipOut.closeEntry();
+                    }
+
+                // a registry that was not in the jar is added at the end
+                byte[] abAdded = mapEntries.get(PofTypeRegistry.RESOURCE);
+                if (abAdded != null && abAdded.length > 0)
+                    {
+                    zipOut.putNextEntry(new ZipEntry(PofTypeRegistry.RESOURCE));
+                    zipOut.write(abAdded);
+                    zipOut.closeEntry();
+                    }
+                }
+            });
+        }
+
+    /**
+     * Determine whether a jar entry is the signature file of a signed jar.
+     *
+     * @param sPath  the path of the entry
+     *
+     * @return  {@code true} if the entry is a signature file
+     */
+    static boolean isSignatureFile(String sPath)
+        {
+        return sPath.startsWith("META-INF/") && sPath.indexOf('/', "META-INF/".length()) < 0
+               && sPath.toUpperCase(Locale.ROOT).endsWith(".SF");
+        }
+
+    /**
+     * Write a file to a temporary file and atomically move it into place, so
+     * that a partially written file is never seen.
+     *
+     * @param path    the file to write
+     * @param writer  the {@link ContentWriter} that writes the content
+     *
+     * @throws IOException  if the file cannot be written
+     */
+    private static void writeAtomically(Path path, ContentWriter writer) throws IOException
+        {
+        Path pathDir  = path.toAbsolutePath().getParent();
+        Path pathTemp = Files.createTempFile(pathDir, path.getFileName().toString(), ".tmp");
+        try
+            {
+            try (OutputStream out = Files.newOutputStream(pathTemp))
+                {
+                writer.write(out);
+                }
+            Files.move(pathTemp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        finally
+            {
+            Files.deleteIfExists(pathTemp);
+            }
+        }
+
+    /**
+     * Return the value of a command line option.
+     *
+     * @param asArg    the command line arguments
+     * @param i        the index of the value
+     * @param sOption  the name of the option
+     *
+     * @return  the value of the option
+     *
+     * @throws IllegalArgumentException  if the option has no value
+     */
+    private static String value(String[] asArg, int i, String sOption)
+        {
+        if (i >= asArg.length)
+            {
+            throw new IllegalArgumentException("Missing value for " + sOption);
+            }
+        return asArg[i];
+        }
+
+    /**
+     * Convert a file to a class path {@link URL}.
+     *
+     * @param file  the file to convert
+     *
+     * @return  the class path {@link URL}
+     *
+     * @throws MalformedURLException  if the file cannot be converted
+     */
+    private static URL toURL(File file) throws MalformedURLException
+        {
+        return file.getAbsoluteFile().toURI().toURL();
+        }
+
+    // ----- inner interface: ContentWriter ---------------------------------
+
+    /**
+     * A writer of the content of a file.
+     */
+    @FunctionalInterface
+    private interface ContentWriter
+        {
+        /**
+         * Write the content.
+         *
+         * @param out  the {@link OutputStream} to write to
+         *
+         * @throws IOException  if the content cannot be written
+         */
+        void write(OutputStream out) throws IOException;
+        }
+
+    // ----- inner class: Target --------------------------------------------
+
+    /**
+     * A class directory or jar to instrument.
+     */
+    private static class Target
+        {
+        /**
+         * Create a {@link Target}.
+         *
+         * @param file  the class directory or jar
+         * @param fJar  {@code true} if the target is a jar
+         */
+        Target(File file, boolean fJar)
+            {
+            this.file = file;
+            this.fJar = fJar;
+            }
+
+        /**
+         * The class directory or jar.
+         */
+        final File file;
+
+        /**
+         * {@code true} if the target is a jar.
+         */
+        final boolean fJar;
+
+        /**
+         * The classes to instrument.
+         */
+        final List<PofClassFile> listClasses = new ArrayList<>();
+
+        /**
+         * The POF type identifiers of the classes, or {@link PortableTypeScanner#NO_TYPE_ID}
+         * for the classes that are not registered, keyed by class name.
+         */
+        final Map<String, Integer> mapTypeIds = new TreeMap<>();
+
+        /**
+         * The content of the {@link PofTypeRegistry#RESOURCE} entry of a jar,
+         * or {@code null} if there is no such entry.
+         */
+        byte[] abRegistry;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The suffix of a class file.
+     */
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The name of the file in the cache directory to persist the {@link LibraryIndex} in.
+     */
+    private static final String LIBRARY_INDEX_FILE = "libraries.idx";
+
+    /**
+     * The exit code used when a class could not be instrumented.
+     */
+    private static final int EXIT_FAILED = 1;
+
+    /**
+     * The exit code used when the command line arguments are invalid.
+     */
+    private static final int EXIT_USAGE = 2;
+
+    /**
+     * The command line usage.
+     */
+    private static final String USAGE =
+            "Usage: PofInstrumenterTool --classpath <path> [options] <directory or jar>...\n"
+            + "  --classpath, -cp <path>  the class path of the classes, including Coherence\n"
+            + "  --threads <n>            the number of threads to use, default one per processor\n"
+            + "  --cache <directory>      the directory to cache instrumented classes in\n"
+            + "  --include <packages>     comma separated packages to instrument\n"
+            + "  --exclude <packages>     comma separated packages not to instrument\n"
+            + "  --type-registry          write " + PofTypeRegistry.RESOURCE + " to each directory or jar\n"
+            + "  --verbose                print every instrumented class";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The class path of the classes to instrument.
+     */
+    private final List<File> listClasspath;
+
+    /**
+     * The number of threads to use.
+     */
+    private final int cThreads;
+
+    /**
+     * The {@link InstrumentedClassCache}, or {@code null} to not cache classes.
+     */
+    private final InstrumentedClassCache cache;
+
+    /**
+     * The {@link PackageFilter} of the classes to instrument.
+     */
+    private final PackageFilter filter;
+
+    /**
+     * {@code true} to write the {@link PofTypeRegistry} of each target.
+     */
+    private final boolean fRegistry;
+
+    /**
+     * {@code true} to print every instrumented class.
+     */
+    private final boolean fVerbose;
+
+    /**
+     * The {@link PrintStream} to print progress to.
+     */
+    private final PrintStream out;
+
+    /**
+     * The {@link PrintStream} to print errors to.
+     */
+    private final PrintStream err;
+
+    /**
+     * The {@link PofInstrumenter} that instruments the classes.
+     */
+    private final PofInstrumenter instrumenter;
+    }
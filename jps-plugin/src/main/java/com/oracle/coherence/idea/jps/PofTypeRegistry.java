@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The registry of the {@code @PortableType} classes in a module's output
+ * directory, written as a POF configuration resource.
+ * <p>
+ * A Coherence member that includes the resource in its POF configuration, with
+ * {@code <include>META-INF/coherence-pof-types.xml</include>}, registers the
+ * types at start up without scanning the class path for them. The registry is
+ * updated incrementally as classes are compiled, and classes whose class files
+ * have been deleted are removed from it. Only classes that declare their type
+ * identifier in the annotation are registered.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofTypeRegistry
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofTypeRegistry} for an output directory, loading any
+     * registry already in the directory.
+     *
+     * @param dirOutput  the output directory
+     */
+    public PofTypeRegistry(File dirOutput)
+        {
+        this.dirOutput = dirOutput;
+        this.file      = new File(dirOutput, RESOURCE);
+        load();
+        }
+
+    // ----- PofTypeRegistry methods ----------------------------------------
+
+    /**
+     * Return the registered types.
+     *
+     * @return  the type identifiers keyed by class name
+     */
+    public Map<String, Integer> getTypes()
+        {
+        return new TreeMap<>(mapTypes);
+        }
+
+    /**
+     * Register a type.
+     *
+     * @param sClassName  the binary name of the class
+     * @param nId         the POF type identifier, or {@link PortableTypeScanner#NO_TYPE_ID}
+     *                    to remove the class
+     */
+    public void put(String sClassName, int nId)
+        {
+        Integer nOld = nId == PortableTypeScanner.NO_TYPE_ID ? mapTypes.remove(sClassName)
+                                                              : mapTypes.put(sClassName, nId);
+        fDirty |= nOld == null ? nId != PortableTypeScanner.NO_TYPE_ID : nOld != nId;
+        setUpdated.add(sClassName);
+        }
+
+    /**
+     * Remove the classes whose class files are no longer in the output directory.
+     * <p>
+     * The classes put in this registry are kept, as their class files may not
+     * have been written to the output directory yet.
+     */
+    public void prune()
+        {
+        for (Iterator<String> iter = mapTypes.keySet().iterator(); iter.hasNext(); )
+            {
+            String sClassName = iter.next();
+            if (!setUpdated.contains(sClassName)
+                    && !new File(dirOutput, sClassName.replace('.', '/') + ".class").isFile())
+                {
+                iter.remove();
+                fDirty = true;
+                }
+            }
+        }
+
+    /**
+     * Save the registry if it has changed, deleting it if it is empty.
+     *
+     * @throws IOException if the registry cannot be written
+     */
+    public void save() throws IOException
+        {
+        if (!fDirty)
+            {
+            return;
+            }
+
+        Path path = file.toPath();
+        if (mapTypes.isEmpty())
+            {
+            Files.deleteIfExists(path);
+            }
+        else
+            {
+            Files.createDirectories(path.getParent());
+            Path pathTemp = Files.createTempFile(path.getParent(), file.getName(), ".tmp");
+            try
+                {
+                Files.write(pathTemp, toXml(mapTypes));
+                Files.move(pathTemp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            finally
+                {
+                Files.deleteIfExists(pathTemp);
+                }
+            }
+        fDirty = false;
+        }
+
+    /**
+     * Return the content of the registry resource for a set of types.
+     *
+     * @param mapTypes  the type identifiers keyed by class name
+     *
+     * @return  the content of the registry resource
+     */
+    public static byte[] toXml(Map<String, Integer> mapTypes)
+        {
+        StringBuilder sb = new StringBuilder()
+                .append("<?xml version=\"1.0\"?>\n")
+                .append("<!-- Generated by the Oracle Coherence IntelliJ plugin, do not edit -->\n")
+                .append("<pof-config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+                .append("            xmlns=\"http://xmlns.oracle.com/coherence/coherence-pof-config\"\n")
+                .append("            xsi:schemaLocation=\"http://xmlns.oracle.com/coherence/coherence-pof-config ")
+                .append("coherence-pof-config.xsd\">\n")
+                .append("  <user-type-list>\n");
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(mapTypes).entrySet())
+            {
+            sb.append("    <user-type>\n")
+              .append("      <type-id>").append(entry.getValue()).append("</type-id>\n")
+              .append("      <class-name>").append(entry.getKey()).append("</class-name>\n")
+              .append("    </user-type>\n");
+            }
+        sb.append("  </user-type-list>\n")
+          .append("</pof-config>\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Load the registry from the output directory.
+     */
+    private void load()
+        {
+        if (!file.isFile())
+            {
+            return;
+            }
+
+        try
+            {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+            NodeList listTypes = document.getElementsByTagName("user-type");
+            for (int i = 0; i < listTypes.getLength(); i++)
+                {
+                Element element = (Element) listTypes.item(i);
+                String  sId     = getText(element, "type-id");
+                String  sClass  = getText(element, "class-name");
+                if (sId != null && sClass != null)
+                    {
+                    mapTypes.put(sClass, Integer.parseInt(sId));
+                    }
+                }
+            }
+        catch (Exception e)
+            {
+            // the registry is rewritten from the classes compiled from now on
+            LOGGER.info("Could not read the POF type registry " + file + " - " + e.getMessage());
+            mapTypes.clear();
+            fDirty = true;
+            }
+        }
+
+    /**
+     * Return the trimmed text of the first child element with a name.
+     *
+     * @param element  the parent element
+     * @param sName    the name of the child element
+     *
+     * @return  the text of the child element, or {@code null} if there is no
+     *          such child element
+     */
+    private static String getText(Element element, String sName)
+        {
+        NodeList list = element.getElementsByTagName(sName);
+        return list.getLength() == 0 ? null : list.item(0).getTextContent().trim();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(PofTypeRegistry.class);
+
+    /**
+     * The path of the registry resource in an output directory.
+     */
+    public static final String RESOURCE = "META-INF/coherence-pof-types.xml";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The output directory.
+     */
+    private final File dirOutput;
+
+    /**
+     * The registry file.
+     */
+    private final File file;
+
+    /**
+     * The type identifiers keyed by class name.
+     */
+    private final Map<String, Integer> mapTypes = new TreeMap<>();
+
+    /**
+     * The names of the classes put in this registry.
+     */
+    private final Set<String> setUpdated = new HashSet<>();
+
+    /**
+     * {@code true} if the registry has changed since it was loaded or saved.
+     */
+    private boolean fDirty;
+    }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@code @PortableType} classes compiled in a single chunk, and the classes
+ * that are no longer {@code @PortableType} classes, used to patch a previously
+ * created POF schema instead of rebuilding it from scratch.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeChanges
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PortableTypeChanges}.
+     *
+     * @param setOutputDirs  the output directories of the chunk
+     * @param fIncremental   {@code true} if the chunk is being built incrementally,
+     *                       or {@code false} if all of its classes are being rebuilt
+     *                       or any of its sources have been deleted
+     */
+    public PortableTypeChanges(Set<File> setOutputDirs, boolean fIncremental)
+        {
+        this.setOutputDirs = setOutputDirs;
+        this.fIncremental  = fIncremental;
+        }
+
+    // ----- PortableTypeChanges methods ------------------------------------
+
+    /**
+     * Add a compiled {@code @PortableType} class.
+     *
+     * @param sClassName  the name of the class
+     * @param abClass     the class file bytes
+     */
+    public void add(String sClassName, byte[] abClass)
+        {
+        mapTypes.put(sClassName, abClass);
+        setRemoved.remove(sClassName);
+        }
+
+    /**
+     * Record that a compiled class is not a {@code @PortableType} class, so that
+     * it is removed from a schema it was previously added to.
+     *
+     * @param sClassName  the name of the class
+     */
+    public void remove(String sClassName)
+        {
+        mapTypes.remove(sClassName);
+        setRemoved.add(sClassName);
+        }
+
+    /**
+     * Return the names of the compiled classes that are not {@code @PortableType} classes.
+     *
+     * @return  the names of the removed classes
+     */
+    public Set<String> getRemoved()
+        {
+        return Collections.unmodifiableSet(setRemoved);
+        }
+
+    /**
+     * Return the compiled {@code @PortableType} classes, keyed by class name.
+     *
+     * @return  the compiled {@code @PortableType} classes
+     */
+    public Map<String, byte[]> getTypes()
+        {
+        return Collections.unmodifiableMap(mapTypes);
+        }
+
+    /**
+     * Return the output directories of the chunk.
+     * <p>
+     * The content of these directories is expected to change on every build,
+     * so it is not part of the fingerprint a schema snapshot is stored under.
+     *
+     * @return  the output directories of the chunk
+     */
+    public Set<File> getOutputDirs()
+        {
+        return setOutputDirs;
+        }
+
+    /**
+     * Return {@code true} if the chunk is being built incrementally, so that
+     * a previous schema can be patched with these changes.
+     *
+     * @return  {@code true} if the chunk is being built incrementally
+     */
+    public boolean isIncremental()
+        {
+        return fIncremental;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The output directories of the chunk.
+     */
+    private final Set<File> setOutputDirs;
+
+    /**
+     * {@code true} if the chunk is being built incrementally.
+     */
+    private final boolean fIncremental;
+
+    /**
+     * The compiled {@code @PortableType} classes, keyed by class name.
+     */
+    private final Map<String, byte[]> mapTypes = new LinkedHashMap<>();
+
+    /**
+     * The names of the compiled classes that are not {@code @PortableType} classes.
+     */
+    private final Set<String> setRemoved = new TreeSet<>();
+    }
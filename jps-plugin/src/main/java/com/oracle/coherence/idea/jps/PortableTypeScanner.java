@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor;
+import org.jetbrains.org.objectweb.asm.ClassReader;
+import org.jetbrains.org.objectweb.asm.ClassVisitor;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A cheap, ASM only, scanner that determines whether a compiled class is
+ * annotated with {@code @PortableType}, and whether it has already been
+ * instrumented by the POF generator.
+ * <p>
+ * The constant pool is checked first for the annotation descriptor, which
+ * rejects the vast majority of classes without visiting any class structure.
+ * Only classes that pass this check have their class level annotations visited.
+ *
+ * @author agent  2026.10.18
+ */
+public class PortableTypeScanner
+    {
+    // ----- PortableTypeScanner methods ------------------------------------
+
+    /**
+     * Determine whether the class read by the specified {@link ClassReader}
+     * is annotated with {@code @PortableType}.
+     *
+     * @param reader  the {@link ClassReader} for the class to check
+     *
+     * @return  {@code true} if the class is annotated with {@code @PortableType}
+     */
+    public static boolean isPortableType(ClassReader reader)
+        {
+        return scan(reader) != Kind.PLAIN;
+        }
+
+    /**
+     * Determine the {@link Kind} of the class read by the specified {@link ClassReader}.
+     *
+     * @param reader  the {@link ClassReader} for the class to check
+     *
+     * @return  the {@link Kind} of the class
+     */
+    public static Kind scan(ClassReader reader)
+        {
+        if (!containsUtf8(reader, PORTABLE_TYPE_BYTES))
+            {
+            return Kind.PLAIN;
+            }
+
+        boolean[] afFound = new boolean[2];
+
+        reader.accept(new ClassVisitor(Opcodes.ASM9)
+            {
+            @Override
+            public AnnotationVisitor visitAnnotation(String sDesc, boolean fVisible)
+                {
+                if (PORTABLE_TYPE_DESCRIPTOR.equals(sDesc))
+                    {
+                    afFound[0] = true;
+                    }
+                else if (INSTRUMENTED_DESCRIPTOR.equals(sDesc))
+                    {
+                    afFound[1] = true;
+                    }
+                return null;
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        return !afFound[0] ? Kind.PLAIN : afFound[1] ? Kind.INSTRUMENTED : Kind.PORTABLE_TYPE;
+        }
+
+    /**
+     * Return the POF type identifier declared by the {@code @PortableType}
+     * annotation of the class read by the specified {@link ClassReader}.
+     *
+     * @param reader  the {@link ClassReader} for the class
+     *
+     * @return  the type identifier, or {@link #NO_TYPE_ID} if the class is not
+     *          annotated or does not declare an identifier
+     */
+    public static int getTypeId(ClassReader reader)
+        {
+        if (!containsUtf8(reader, PORTABLE_TYPE_BYTES))
+            {
+            return NO_TYPE_ID;
+            }
+
+        int[] anId = {NO_TYPE_ID};
+
+        reader.accept(new ClassVisitor(Opcodes.ASM9)
+            {
+            @Override
+            public AnnotationVisitor visitAnnotation(String sDesc, boolean fVisible)
+                {
+                if (!PORTABLE_TYPE_DESCRIPTOR.equals(sDesc))
+                    {
+                    return null;
+                    }
+                return new AnnotationVisitor(Opcodes.ASM9)
+                    {
+                    @Override
+                    public void visit(String sName, Object oValue)
+                        {
+                        if ("id".equals(sName) && oValue instanceof Integer)
+                            {
+                            anId[0] = (Integer) oValue;
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        return anId[0];
+        }
+
+    /**
+     * Determine whether a class file may be annotated with {@code @PortableType},
+     * by reading only the start of the class file up to the end of its constant
+     * pool and checking it for the annotation descriptor.
+     * <p>
+     * This avoids reading, and for a jar entry inflating, the fields, methods
+     * and attributes of the vast majority of classes. A class whose constant
+     * pool contains the descriptor is not necessarily annotated, so a
+     * {@code true} result should be confirmed with {@link #scan(ClassReader)}.
+     *
+     * @param in  the stream to read the class file from, which is left
+     *            positioned after the constant pool
+     *
+     * @return  {@code false} if the class is certainly not annotated with
+     *          {@code @PortableType}
+     *
+     * @throws IOException if the class file cannot be read
+     */
+    public static boolean mayBePortableType(InputStream in) throws IOException
+        {
+        DataInputStream stream = new DataInputStream(in);
+        if (stream.readInt() != CLASS_MAGIC)
+            {
+            return false;
+            }
+        stream.readInt(); // minor and major version
+
+        int cItems = stream.readUnsignedShort();
+        for (int i = 1; i < cItems; i++)
+            {
+            int nTag = stream.readUnsignedByte();
+            switch (nTag)
+                {
+                case CONSTANT_UTF8:
+                    int cb = stream.readUnsignedShort();
+                    if (cb == PORTABLE_TYPE_BYTES.length)
+                        {
+                        byte[] ab = new byte[cb];
+                        stream.readFully(ab);
+                        if (Arrays.equals(ab, PORTABLE_TYPE_BYTES))
+                            {
+                            return true;
+                            }
+                        }
+                    else
+                        {
+                        stream.skipNBytes(cb);
+                        }
+                    break;
+
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    stream.skipNBytes(2);
+                    break;
+
+                case CONSTANT_METHOD_HANDLE:
+                    stream.skipNBytes(3);
+                    break;
+
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELD_REF:
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    stream.skipNBytes(4);
+                    break;
+
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    // eight byte constants take up two slots
+                    stream.skipNBytes(8);
+                    i++;
+                    break;
+
+                default:
+                    // a constant this scanner does not know, so the class must
+                    // be checked in full
+                    return true;
+                }
+            }
+        return false;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Determine whether the constant pool of a class contains the specified
+     * {@code CONSTANT_Utf8} value.
+     *
+     * @param reader  the {@link ClassReader} for the class to check
+     * @param abUtf8  the modified UTF-8 bytes of the value to find
+     *
+     * @return  {@code true} if the constant pool contains the value
+     */
+    private static boolean containsUtf8(ClassReader reader, byte[] abUtf8)
+        {
+        int cItems = reader.getItemCount();
+        for (int i = 1; i < cItems; i++)
+            {
+            int nOffset = reader.getItem(i);
+            // the offset is zero for the unused slot following a long or double constant
+            if (nOffset > 0 && reader.readByte(nOffset - 1) == CONSTANT_UTF8
+                    && reader.readUnsignedShort(nOffset) == abUtf8.length
+                    && matches(reader, nOffset + 2, abUtf8))
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    /**
+     * Compare the bytes of the class file at the specified offset with an expected value.
+     *
+     * @param reader    the {@link ClassReader} for the class
+     * @param nOffset   the offset in the class file to start comparing at
+     * @param abExpect  the expected bytes
+     *
+     * @return  {@code true} if the bytes match
+     */
+    private static boolean matches(ClassReader reader, int nOffset, byte[] abExpect)
+        {
+        for (int i = 0; i < abExpect.length; i++)
+            {
+            if ((byte) reader.readByte(nOffset + i) != abExpect[i])
+                {
+                return false;
+                }
+            }
+        return true;
+        }
+
+    // ----- inner enum: Kind -----------------------------------------------
+
+    /**
+     * The kind of a compiled class.
+     */
+    public enum Kind
+        {
+        /**
+         * The class is not annotated with {@code @PortableType}.
+         */
+        PLAIN,
+
+        /**
+         * The class is annotated with {@code @PortableType} and needs to be instrumented.
+         */
+        PORTABLE_TYPE,
+
+        /**
+         * The class is annotated with {@code @PortableType} and has already been instrumented.
+         */
+        INSTRUMENTED
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The descriptor of the {@code @PortableType} annotation.
+     */
+    public static final String PORTABLE_TYPE_DESCRIPTOR = "Lcom/tangosol/io/pof/schema/annotation/PortableType;";
+
+    /**
+     * The descriptor of the {@code @Instrumented} annotation the POF generator adds to
+     * the classes it has instrumented.
+     */
+    public static final String INSTRUMENTED_DESCRIPTOR = "Lcom/tangosol/io/pof/schema/annotation/internal/Instrumented;";
+
+    /**
+     * The value returned by {@link #getTypeId(ClassReader)} when a class does
+     * not declare a type identifier.
+     */
+    public static final int NO_TYPE_ID = -1;
+
+    /**
+     * The UTF-8 bytes of the {@code @PortableType} annotation descriptor.
+     */
+    private static final byte[] PORTABLE_TYPE_BYTES = PORTABLE_TYPE_DESCRIPTOR.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The magic number at the start of every class file.
+     */
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Utf8} entry.
+     */
+    private static final int CONSTANT_UTF8 = 1;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Integer} entry.
+     */
+    private static final int CONSTANT_INTEGER = 3;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Float} entry.
+     */
+    private static final int CONSTANT_FLOAT = 4;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Long} entry.
+     */
+    private static final int CONSTANT_LONG = 5;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Double} entry.
+     */
+    private static final int CONSTANT_DOUBLE = 6;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Class} entry.
+     */
+    private static final int CONSTANT_CLASS = 7;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_String} entry.
+     */
+    private static final int CONSTANT_STRING = 8;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Fieldref} entry.
+     */
+    private static final int CONSTANT_FIELD_REF = 9;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Methodref} entry.
+     */
+    private static final int CONSTANT_METHOD_REF = 10;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_InterfaceMethodref} entry.
+     */
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_NameAndType} entry.
+     */
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_MethodHandle} entry.
+     */
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_MethodType} entry.
+     */
+    private static final int CONSTANT_METHOD_TYPE = 16;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Dynamic} entry.
+     */
+    private static final int CONSTANT_DYNAMIC = 17;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_InvokeDynamic} entry.
+     */
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Module} entry.
+     */
+    private static final int CONSTANT_MODULE = 19;
+
+    /**
+     * The constant pool tag of a {@code CONSTANT_Package} entry.
+     */
+    private static final int CONSTANT_PACKAGE = 20;
+    }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A thread safe, bounded cache of POF schemas.
+ * <p>
+ * The cache holds one entry per POF generator class and class path. The generator
+ * class is held weakly, so an entry is discarded once the class loader that loaded
+ * the generator is no longer used, and the schema itself is held softly so that it
+ * can be reclaimed under memory pressure. When the cache is full the least recently
+ * used entry is evicted.
+ * <p>
+ * Concurrent requests for the same entry only create the schema once, while
+ * requests for different entries can create their schemas in parallel.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaCache
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link SchemaCache}.
+     *
+     * @param cMaxEntries  the maximum number of schemas to cache
+     */
+    public SchemaCache(int cMaxEntries)
+        {
+        this.map = new LinkedHashMap<>(16, 0.75f, true)
+            {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Holder> eldest)
+                {
+                return size() > cMaxEntries;
+                }
+            };
+        }
+
+    // ----- SchemaCache methods --------------------------------------------
+
+    /**
+     * Return the cached schema for a generator class and class path, creating
+     * the schema using the specified {@link Supplier} if it is not cached.
+     *
+     * @param clsGenerator  the POF generator class
+     * @param listLibs      the class path the schema is created from
+     * @param supplier      the {@link Supplier} to create the schema
+     *
+     * @return  the schema, or {@code null} if the supplier returned {@code null}
+     */
+    public Object get(Class<?> clsGenerator, List<File> listLibs, Supplier<Object> supplier)
+        {
+        Holder holder;
+        synchronized (map)
+            {
+            expunge();
+            holder = map.computeIfAbsent(new Key(clsGenerator, listLibs, queue), k -> new Holder());
+            }
+        return holder.get(supplier);
+        }
+
+    /**
+     * Replace the cached schema for a generator class and class path.
+     *
+     * @param clsGenerator  the POF generator class
+     * @param listLibs      the class path the schema is created from
+     * @param schema        the schema
+     */
+    public void put(Class<?> clsGenerator, List<File> listLibs, Object schema)
+        {
+        Holder holder;
+        synchronized (map)
+            {
+            expunge();
+            holder = map.computeIfAbsent(new Key(clsGenerator, listLibs, queue), k -> new Holder());
+            }
+        holder.set(schema);
+        }
+
+    /**
+     * Return the number of entries in the cache.
+     *
+     * @return  the number of entries in the cache
+     */
+    public int size()
+        {
+        synchronized (map)
+            {
+            expunge();
+            return map.size();
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Remove the entries whose generator class has been garbage collected.
+     * <p>
+     * This method must be called while holding the monitor of the map.
+     */
+    private void expunge()
+        {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null)
+            {
+            map.remove(ref);
+            }
+        }
+
+    // ----- inner class: Key -----------------------------------------------
+
+    /**
+     * A cache key that holds the generator class weakly.
+     */
+    private static class Key
+            extends WeakReference<Class<?>>
+        {
+        Key(Class<?> clsGenerator, List<File> listLibs, ReferenceQueue<Class<?>> queue)
+            {
+            super(clsGenerator, queue);
+            this.listLibs = listLibs;
+            this.nHash    = 31 * System.identityHashCode(clsGenerator) + listLibs.hashCode();
+            }
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (this == o)
+                {
+                return true;
+                }
+            if (!(o instanceof Key))
+                {
+                return false;
+                }
+            Key      that = (Key) o;
+            Class<?> cls  = get();
+            return cls != null && cls == that.get() && listLibs.equals(that.listLibs);
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return nHash;
+            }
+
+        private final List<File> listLibs;
+
+        private final int nHash;
+        }
+
+    // ----- inner class: Holder --------------------------------------------
+
+    /**
+     * A holder of a softly referenced schema.
+     */
+    private static class Holder
+        {
+        synchronized Object get(Supplier<Object> supplier)
+            {
+            Object schema = ref == null ? null : ref.get();
+            if (schema == null)
+                {
+                schema = supplier.get();
+                ref    = schema == null ? null : new SoftReference<>(schema);
+                }
+            return schema;
+            }
+
+        synchronized void set(Object schema)
+            {
+            ref = schema == null ? null : new SoftReference<>(schema);
+            }
+
+        private SoftReference<Object> ref;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The cached schemas, in least recently used order.
+     */
+    private final Map<Key, Holder> map;
+
+    /**
+     * The queue of keys whose generator class has been garbage collected.
+     */
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<>();
+    }
@@ -0,0 +1,633 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A compact description of the POF schema of a class path, made up of the
+ * {@code @PortableType} classes and XML POF schemas the schema is created from
+ * and the class path entry each of them was found in.
+ * <p>
+ * A manifest only contains class names, type identifiers and paths, so unlike
+ * the schema itself it does not depend on the version of Coherence in use and
+ * can be persisted by the {@link SchemaSnapshotStore}. The {@link SchemaPatcher}
+ * recreates a schema from a manifest by passing just the recorded classes to the
+ * generator, rather than every class of the class path.
+ * <p>
+ * A manifest is immutable.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaManifest
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link SchemaManifest}.
+     *
+     * @param listRoots       the class path entries, in class path order
+     * @param setSchemaRoots  the indexes of the entries that contain an XML POF schema
+     * @param mapTypes        the {@code @PortableType} classes, keyed by class name
+     */
+    private SchemaManifest(List<File> listRoots, Set<Integer> setSchemaRoots, Map<String, Type> mapTypes)
+        {
+        this.listRoots      = Collections.unmodifiableList(listRoots);
+        this.setSchemaRoots = Collections.unmodifiableSet(setSchemaRoots);
+        this.mapTypes       = Collections.unmodifiableMap(mapTypes);
+        }
+
+    // ----- SchemaManifest methods -----------------------------------------
+
+    /**
+     * Create the manifest of a class path by scanning its entries for
+     * {@code @PortableType} classes and XML POF schemas.
+     * <p>
+     * If the same class is in more than one entry, the first entry wins, as it
+     * does when the class is loaded.
+     *
+     * @param listLibs  the class path entries
+     *
+     * @return  the manifest of the class path
+     *
+     * @throws IOException  if an entry cannot be scanned
+     */
+    public static SchemaManifest scan(List<File> listLibs) throws IOException
+        {
+        List<File>        listRoots      = new ArrayList<>(listLibs);
+        Set<Integer>      setSchemaRoots = new TreeSet<>();
+        Map<String, Type> mapTypes       = new TreeMap<>();
+
+        for (int i = 0; i < listRoots.size(); i++)
+            {
+            File fileRoot = listRoots.get(i);
+            if (fileRoot.isDirectory())
+                {
+                scanDirectory(fileRoot.toPath(), i, setSchemaRoots, mapTypes);
+                }
+            else if (fileRoot.isFile())
+                {
+                scanJar(fileRoot, i, setSchemaRoots, mapTypes);
+                }
+            }
+
+        return new SchemaManifest(listRoots, setSchemaRoots, mapTypes);
+        }
+
+    /**
+     * Determine whether a set of changes affects the schema of this manifest.
+     *
+     * @param changes  the changes, or {@code null}
+     *
+     * @return  {@code true} if the changes contain a {@code @PortableType} class,
+     *          or remove a class that is in this manifest
+     */
+    public boolean isAffectedBy(PortableTypeChanges changes)
+        {
+        if (changes == null)
+            {
+            return false;
+            }
+        if (!changes.getTypes().isEmpty())
+            {
+            return true;
+            }
+        for (String sClassName : changes.getRemoved())
+            {
+            if (mapTypes.containsKey(sClassName))
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    /**
+     * Return a copy of this manifest with the {@code @PortableType} classes
+     * compiled in a chunk, and without the compiled classes that are no longer
+     * {@code @PortableType} classes.
+     * <p>
+     * The compiled classes have not yet been written to the chunk's output
+     * directories, so they are recorded without a class path entry, and are
+     * found in the output directories when the manifest is used by a later build.
+     *
+     * @param changes  the changes to apply, or {@code null}
+     *
+     * @return  the manifest with the changes applied, which is this manifest
+     *          if the changes do not affect it
+     */
+    public SchemaManifest apply(PortableTypeChanges changes)
+        {
+        if (!isAffectedBy(changes))
+            {
+            return this;
+            }
+
+        Map<String, Type> mapTypesNew = new TreeMap<>(mapTypes);
+        mapTypesNew.keySet().removeAll(changes.getRemoved());
+        for (Map.Entry<String, byte[]> entry : changes.getTypes().entrySet())
+            {
+            String sClassName = entry.getKey();
+            int    nId        = PortableTypeScanner.getTypeId(new ClassReader(entry.getValue()));
+            mapTypesNew.put(sClassName, new Type(sClassName, nId, NO_ROOT));
+            }
+        return new SchemaManifest(new ArrayList<>(listRoots), new TreeSet<>(setSchemaRoots), mapTypesNew);
+        }
+
+    /**
+     * Return a copy of this manifest without the classes that have been deleted
+     * from a directory of the class path, or are no longer {@code @PortableType}
+     * classes, since the manifest was created.
+     * <p>
+     * A change to a jar changes the fingerprint a manifest is stored under, so
+     * only the classes found in directories, such as the output directories of
+     * the chunks, are checked.
+     *
+     * @return  the refreshed manifest, which is this manifest if no class has
+     *          been removed
+     *
+     * @throws IOException  if a class file cannot be read
+     */
+    public SchemaManifest refresh() throws IOException
+        {
+        Map<String, Type> mapTypesNew = new TreeMap<>(mapTypes);
+        for (Type type : mapTypes.values())
+            {
+            if (type.getRoot() != NO_ROOT && !listRoots.get(type.getRoot()).isDirectory())
+                {
+                continue;
+                }
+
+            File fileClass = findClassFile(type);
+            if (fileClass == null || !isPortableType(Files.readAllBytes(fileClass.toPath())))
+                {
+                mapTypesNew.remove(type.getClassName());
+                }
+            }
+
+        return mapTypesNew.size() == mapTypes.size()
+               ? this
+               : new SchemaManifest(new ArrayList<>(listRoots), new TreeSet<>(setSchemaRoots), mapTypesNew);
+        }
+
+    /**
+     * Return the class path entries, in class path order.
+     *
+     * @return  the class path entries
+     */
+    public List<File> getRoots()
+        {
+        return listRoots;
+        }
+
+    /**
+     * Return the indexes of the class path entries that contain an XML POF schema.
+     *
+     * @return  the indexes of the class path entries that contain an XML POF schema
+     */
+    public Set<Integer> getSchemaRoots()
+        {
+        return setSchemaRoots;
+        }
+
+    /**
+     * Return the {@code @PortableType} classes, in class name order.
+     *
+     * @return  the {@code @PortableType} classes
+     */
+    public Collection<Type> getTypes()
+        {
+        return mapTypes.values();
+        }
+
+    /**
+     * Return a {@code @PortableType} class.
+     *
+     * @param sClassName  the name of the class
+     *
+     * @return  the class, or {@code null} if the class is not in the manifest
+     */
+    public Type getType(String sClassName)
+        {
+        return mapTypes.get(sClassName);
+        }
+
+    /**
+     * Write this manifest.
+     *
+     * @param writer  the {@link Writer} to write to
+     *
+     * @throws IOException  if the manifest cannot be written
+     */
+    public void writeTo(Writer writer) throws IOException
+        {
+        writer.write(HEADER);
+        writer.write('\n');
+        for (int i = 0; i < listRoots.size(); i++)
+            {
+            writer.write("R\t" + (setSchemaRoots.contains(i) ? "1" : "0") + '\t' + listRoots.get(i).getPath() + '\n');
+            }
+        for (Type type : mapTypes.values())
+            {
+            writer.write("T\t" + type.getRoot() + '\t' + type.getId() + '\t' + type.getClassName() + '\n');
+            }
+        }
+
+    /**
+     * Read a manifest written by {@link #writeTo(Writer)}.
+     *
+     * @param reader  the {@link BufferedReader} to read from
+     *
+     * @return  the manifest
+     *
+     * @throws IOException  if the manifest cannot be read or is not valid
+     */
+    public static SchemaManifest readFrom(BufferedReader reader) throws IOException
+        {
+        if (!HEADER.equals(reader.readLine()))
+            {
+            throw new IOException("Unsupported POF schema manifest format");
+            }
+
+        List<File>        listRoots      = new ArrayList<>();
+        Set<Integer>      setSchemaRoots = new TreeSet<>();
+        Map<String, Type> mapTypes       = new TreeMap<>();
+
+        try
+            {
+            for (String sLine = reader.readLine(); sLine != null; sLine = reader.readLine())
+                {
+                String[] asPart = sLine.split("\t");
+                if (asPart.length == 3 && "R".equals(asPart[0]))
+                    {
+                    if ("1".equals(asPart[1]))
+                        {
+                        setSchemaRoots.add(listRoots.size());
+                        }
+                    listRoots.add(new File(asPart[2]));
+                    }
+                else if (asPart.length == 4 && "T".equals(asPart[0]))
+                    {
+                    int nRoot = Integer.parseInt(asPart[1]);
+                    if (nRoot < NO_ROOT || nRoot >= listRoots.size())
+                        {
+                        throw new IOException("Invalid class path entry " + nRoot + " for " + asPart[3]);
+                        }
+                    mapTypes.put(asPart[3], new Type(asPart[3], Integer.parseInt(asPart[2]), nRoot));
+                    }
+                else
+                    {
+                    throw new IOException("Invalid POF schema manifest line: " + sLine);
+                    }
+                }
+            }
+        catch (NumberFormatException e)
+            {
+            throw new IOException("Invalid POF schema manifest - " + e.getMessage(), e);
+            }
+
+        return new SchemaManifest(listRoots, setSchemaRoots, mapTypes);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (!(o instanceof SchemaManifest))
+            {
+            return false;
+            }
+        SchemaManifest that = (SchemaManifest) o;
+        return listRoots.equals(that.listRoots)
+               && setSchemaRoots.equals(that.setSchemaRoots)
+               && mapTypes.equals(that.mapTypes);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(listRoots, setSchemaRoots, mapTypes);
+        }
+
+    @Override
+    public String toString()
+        {
+        return "SchemaManifest(roots=" + listRoots.size() + ", types=" + mapTypes.size() + ")";
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Scan a directory for {@code @PortableType} classes and an XML POF schema.
+     *
+     * @param dir             the directory
+     * @param nRoot           the index of the directory in the class path
+     * @param setSchemaRoots  the indexes of the entries that contain an XML POF schema
+     * @param mapTypes        the {@code @PortableType} classes found so far
+     *
+     * @throws IOException  if the directory cannot be scanned
+     */
+    private static void scanDirectory(Path dir, int nRoot, Set<Integer> setSchemaRoots, Map<String, Type> mapTypes)
+            throws IOException
+        {
+        if (Files.isRegularFile(dir.resolve(LibraryIndex.SCHEMA_RESOURCE)))
+            {
+            setSchemaRoots.add(nRoot);
+            }
+
+        try (Stream<Path> stream = Files.walk(dir))
+            {
+            Iterator<Path> it = stream.filter(path -> path.toString().endsWith(".class")).iterator();
+            while (it.hasNext())
+                {
+                addType(Files.readAllBytes(it.next()), nRoot, mapTypes);
+                }
+            }
+        }
+
+    /**
+     * Scan a jar for {@code @PortableType} classes and an XML POF schema.
+     *
+     * @param fileJar         the jar
+     * @param nRoot           the index of the jar in the class path
+     * @param setSchemaRoots  the indexes of the entries that contain an XML POF schema
+     * @param mapTypes        the {@code @PortableType} classes found so far
+     *
+     * @throws IOException  if the jar cannot be scanned
+     */
+    private static void scanJar(File fileJar, int nRoot, Set<Integer> setSchemaRoots, Map<String, Type> mapTypes)
+            throws IOException
+        {
+        try (ZipFile zip = new ZipFile(fileJar))
+            {
+            if (zip.getEntry(LibraryIndex.SCHEMA_RESOURCE) != null)
+                {
+                setSchemaRoots.add(nRoot);
+                }
+
+            for (Enumeration<? extends ZipEntry> en = zip.entries(); en.hasMoreElements(); )
+                {
+                ZipEntry entry = en.nextElement();
+                String   sName = entry.getName();
+                // classes below META-INF are versioned copies or not classes of the jar at all
+                if (!entry.isDirectory() && sName.endsWith(".class") && !sName.startsWith("META-INF/"))
+                    {
+                    try (InputStream in = zip.getInputStream(entry))
+                        {
+                        addType(in.readAllBytes(), nRoot, mapTypes);
+                        }
+                    }
+                }
+            }
+        }
+
+    /**
+     * Find the class file of a class in a directory of the class path.
+     * <p>
+     * A class compiled by a chunk is recorded without a class path entry, so it
+     * is looked for in every directory.
+     *
+     * @param type  the class
+     *
+     * @return  the class file, or {@code null} if the class file does not exist
+     */
+    private File findClassFile(Type type)
+        {
+        List<File> listDirs = type.getRoot() == NO_ROOT
+                              ? listRoots
+                              : Collections.singletonList(listRoots.get(type.getRoot()));
+        for (File fileRoot : listDirs)
+            {
+            File file = new File(fileRoot, type.getPath());
+            if (fileRoot.isDirectory() && file.isFile())
+                {
+                return file;
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Determine whether a class file is a {@code @PortableType} class.
+     *
+     * @param abClass  the class file bytes
+     *
+     * @return  {@code true} if the class is a {@code @PortableType} class
+     */
+    static boolean isPortableType(byte[] abClass)
+        {
+        try
+            {
+            return PortableTypeScanner.isPortableType(new ClassReader(abClass));
+            }
+        catch (RuntimeException e)
+            {
+            // not a valid class file, so it cannot be a portable type
+            return false;
+            }
+        }
+
+    /**
+     * Add a class to the manifest if it is a {@code @PortableType} class that
+     * is not already in the manifest.
+     *
+     * @param abClass   the class file bytes
+     * @param nRoot     the index of the class path entry the class is in
+     * @param mapTypes  the {@code @PortableType} classes found so far
+     */
+    private static void addType(byte[] abClass, int nRoot, Map<String, Type> mapTypes)
+        {
+        ClassReader reader;
+        try
+            {
+            reader = new ClassReader(abClass);
+            if (!PortableTypeScanner.isPortableType(reader))
+                {
+                return;
+                }
+            }
+        catch (RuntimeException e)
+            {
+            // not a valid class file, so it cannot be a portable type
+            return;
+            }
+
+        String sClassName = reader.getClassName().replace('/', '.');
+        if (!mapTypes.containsKey(sClassName))
+            {
+            mapTypes.put(sClassName, new Type(sClassName, PortableTypeScanner.getTypeId(reader), nRoot));
+            }
+        }
+
+    // ----- inner class: Type ----------------------------------------------
+
+    /**
+     * A {@code @PortableType} class in a manifest.
+     */
+    public static class Type
+        {
+        /**
+         * Create a {@link Type}.
+         *
+         * @param sClassName  the name of the class
+         * @param nId         the type identifier, or {@link PortableTypeScanner#NO_TYPE_ID}
+         * @param nRoot       the index of the class path entry the class is in,
+         *                    or {@link #NO_ROOT}
+         */
+        Type(String sClassName, int nId, int nRoot)
+            {
+            this.sClassName = sClassName;
+            this.nId        = nId;
+            this.nRoot      = nRoot;
+            }
+
+        /**
+         * Return the name of the class.
+         *
+         * @return  the name of the class
+         */
+        public String getClassName()
+            {
+            return sClassName;
+            }
+
+        /**
+         * Return the type identifier of the class.
+         *
+         * @return  the type identifier, or {@link PortableTypeScanner#NO_TYPE_ID}
+         *          if the class does not declare one
+         */
+        public int getId()
+            {
+            return nId;
+            }
+
+        /**
+         * Return the index of the class path entry the class is in.
+         *
+         * @return  the index of the class path entry, or {@link #NO_ROOT} if the
+         *          class was compiled by a chunk and is in one of its output directories
+         */
+        public int getRoot()
+            {
+            return nRoot;
+            }
+
+        /**
+         * Return the path of the class file, relative to its class path entry.
+         *
+         * @return  the path of the class file
+         */
+        public String getPath()
+            {
+            return sClassName.replace('.', '/') + ".class";
+            }
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (this == o)
+                {
+                return true;
+                }
+            if (!(o instanceof Type))
+                {
+                return false;
+                }
+            Type that = (Type) o;
+            return nId == that.nId && nRoot == that.nRoot && sClassName.equals(that.sClassName);
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return Objects.hash(sClassName, nId, nRoot);
+            }
+
+        @Override
+        public String toString()
+            {
+            return "Type(" + sClassName + ", id=" + nId + ", root=" + nRoot + ")";
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The name of the class.
+         */
+        private final String sClassName;
+
+        /**
+         * The type identifier of the class.
+         */
+        private final int nId;
+
+        /**
+         * The index of the class path entry the class is in.
+         */
+        private final int nRoot;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The root of a class that was compiled by a chunk, and is in one of the
+     * chunk's output directories.
+     */
+    public static final int NO_ROOT = -1;
+
+    /**
+     * The first line of a written manifest, which changes with the format.
+     */
+    private static final String HEADER = "# Coherence POF schema manifest 1";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The class path entries, in class path order.
+     */
+    private final List<File> listRoots;
+
+    /**
+     * The indexes of the class path entries that contain an XML POF schema.
+     */
+    private final Set<Integer> setSchemaRoots;
+
+    /**
+     * The {@code @PortableType} classes, keyed by class name.
+     */
+    private final Map<String, Type> mapTypes;
+    }
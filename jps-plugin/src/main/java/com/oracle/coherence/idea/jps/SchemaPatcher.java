@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A helper to create the POF schema described by a {@link SchemaManifest},
+ * patched with the {@code @PortableType} classes compiled in a chunk.
+ * <p>
+ * The classes recorded in the manifest, and the classes compiled in the chunk,
+ * are staged in a temporary directory per class path entry, together with any
+ * XML POF schema, and the generator's own {@code createSchema} method is used
+ * to create the schema from those directories. The same type and property rules
+ * as a full schema build are applied, but the generator only reads the classes
+ * that are part of the schema rather than every class of the class path.
+ * <p>
+ * This is a deliberate adaptation of patching the cached schema with only the
+ * changed types: the generator is bound through {@link GeneratorBinding}, whose
+ * only schema entry point creates a schema from class path entries, and the
+ * schema has no supported way to replace or remove a single type. A patch
+ * therefore costs time in proportion to the number of {@code @PortableType}
+ * classes in the manifest, plus the staging of those classes, rather than to the
+ * size of the change, whereas a full build reads every class of the class path.
+ * {@code PofGeneratorBenchmark.patchSchema} measures it against a full build.
+ * <p>
+ * If any part of the patch fails the caller is expected to fall back to
+ * creating a complete schema.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaPatcher
+    {
+    // ----- SchemaPatcher methods ------------------------------------------
+
+    /**
+     * Create the POF schema described by a manifest.
+     *
+     * @param binding    the {@link GeneratorBinding} of the generator
+     * @param fileClass  the class file being instrumented
+     * @param manifest   the {@link SchemaManifest}, with the changes already
+     *                   {@link SchemaManifest#apply(PortableTypeChanges) applied}
+     * @param changes    the changed {@code @PortableType} classes, or {@code null}
+     * @param mapEnv     the generator environment
+     *
+     * @return  the schema, or {@code null} if the schema could not be created
+     *          and must be created from the whole class path
+     */
+    public static Object createSchema(GeneratorBinding binding, File fileClass, SchemaManifest manifest,
+                                      PortableTypeChanges changes, Map<String, ?> mapEnv)
+        {
+        Map<String, byte[]> mapChanged = changes == null ? Collections.emptyMap() : changes.getTypes();
+        List<File>          listRoots  = manifest.getRoots();
+        Map<File, ZipFile>  mapJars    = new HashMap<>();
+        Path                dirStage   = null;
+
+        try
+            {
+            dirStage = Files.createTempDirectory("coherence-pof");
+
+            File fileStaged = null;
+            for (SchemaManifest.Type type : manifest.getTypes())
+                {
+                // the changed classes are staged in a directory of their own after the class path entries
+                byte[] abClass = mapChanged.get(type.getClassName());
+                int    nRoot   = abClass == null ? type.getRoot() : listRoots.size();
+                if (abClass == null)
+                    {
+                    abClass = read(manifest, type, mapJars);
+                    }
+                if (abClass == null || !SchemaManifest.isPortableType(abClass))
+                    {
+                    // the class has been removed, or is no longer a portable
+                    // type, since the manifest was created
+                    continue;
+                    }
+
+                Path path = dirStage.resolve(String.valueOf(nRoot)).resolve(type.getPath());
+                Files.createDirectories(path.getParent());
+                Files.write(path, abClass);
+                fileStaged = path.toFile();
+                }
+
+            for (int nRoot : manifest.getSchemaRoots())
+                {
+                byte[] abSchema = read(listRoots.get(nRoot), LibraryIndex.SCHEMA_RESOURCE, mapJars);
+                if (abSchema != null)
+                    {
+                    Path path = dirStage.resolve(String.valueOf(nRoot)).resolve(LibraryIndex.SCHEMA_RESOURCE);
+                    Files.createDirectories(path.getParent());
+                    Files.write(path, abSchema);
+                    }
+                }
+
+            List<File> listStaged = new ArrayList<>();
+            for (int i = 0; i <= listRoots.size(); i++)
+                {
+                File dir = dirStage.resolve(String.valueOf(i)).toFile();
+                if (dir.isDirectory())
+                    {
+                    listStaged.add(dir);
+                    }
+                }
+
+            Map<String, Object> env = new HashMap<>(mapEnv);
+            env.remove("schema");
+            env.put("libs", listStaged);
+
+            return binding.createSchema(fileStaged == null ? fileClass : fileStaged, env);
+            }
+        catch (Exception e)
+            {
+            LOGGER.info("Could not create the POF schema from its manifest, it will be recreated - " + e.getMessage());
+            return null;
+            }
+        finally
+            {
+            for (ZipFile zip : mapJars.values())
+                {
+                close(zip);
+                }
+            FileHelper.delete(dirStage);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Read the class file of a {@code @PortableType} class in a manifest.
+     * <p>
+     * A class compiled by a chunk is looked for in every directory of the class
+     * path, as the manifest does not record which output directory it is in.
+     *
+     * @param manifest  the {@link SchemaManifest}
+     * @param type      the class to read
+     * @param mapJars   the jars opened so far
+     *
+     * @return  the class file bytes, or {@code null} if the class file does not exist
+     *
+     * @throws IOException  if the class file cannot be read
+     */
+    private static byte[] read(SchemaManifest manifest, SchemaManifest.Type type, Map<File, ZipFile> mapJars)
+            throws IOException
+        {
+        if (type.getRoot() != SchemaManifest.NO_ROOT)
+            {
+            return read(manifest.getRoots().get(type.getRoot()), type.getPath(), mapJars);
+            }
+
+        for (File fileRoot : manifest.getRoots())
+            {
+            if (fileRoot.isDirectory())
+                {
+                byte[] abClass = read(fileRoot, type.getPath(), mapJars);
+                if (abClass != null)
+                    {
+                    return abClass;
+                    }
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Read a file from a class path entry.
+     *
+     * @param fileRoot  the class path entry
+     * @param sPath     the path of the file, relative to the class path entry
+     * @param mapJars   the jars opened so far
+     *
+     * @return  the file content, or {@code null} if the file does not exist
+     *
+     * @throws IOException  if the file cannot be read
+     */
+    private static byte[] read(File fileRoot, String sPath, Map<File, ZipFile> mapJars) throws IOException
+        {
+        if (fileRoot.isDirectory())
+            {
+            File file = new File(fileRoot, sPath);
+            return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+            }
+
+        ZipFile zip = mapJars.get(fileRoot);
+        if (zip == null)
+            {
+            zip = new ZipFile(fileRoot);
+            mapJars.put(fileRoot, zip);
+            }
+
+        ZipEntry entry = zip.getEntry(sPath);
+        if (entry == null)
+            {
+            return null;
+            }
+        try (InputStream in = zip.getInputStream(entry))
+            {
+            return in.readAllBytes();
+            }
+        }
+
+    /**
+     * Close a jar, ignoring any error.
+     *
+     * @param zip  the jar to close
+     */
+    private static void close(ZipFile zip)
+        {
+        try
+            {
+            zip.close();
+            }
+        catch (IOException e)
+            {
+            // ignored - the jar was only read
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(SchemaPatcher.class);
+    }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A store of POF schema snapshots persisted under the JPS build data directory.
+ * <p>
+ * A snapshot is the {@link SchemaManifest} of a schema, rather than the schema
+ * itself, whose classes belong to the version of Coherence in use. Snapshots are
+ * keyed by a {@link ClasspathFingerprint fingerprint} of the class path that the
+ * schema was created from, so a later build can recreate the schema from just the
+ * classes in the manifest for as long as the class path is unchanged.
+ * <p>
+ * Any failure to load a snapshot is treated as a cache miss.
+ *
+ * @author agent  2026.10.18
+ */
+public class SchemaSnapshotStore
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link SchemaSnapshotStore}.
+     *
+     * @param dir  the directory to store snapshots in
+     */
+    public SchemaSnapshotStore(File dir)
+        {
+        this.dir = dir;
+        }
+
+    // ----- SchemaSnapshotStore methods ------------------------------------
+
+    /**
+     * Load the schema snapshot for a class path fingerprint.
+     *
+     * @param sFingerprint  the class path fingerprint
+     *
+     * @return  the {@link SchemaManifest} or {@code null} if there is no usable snapshot
+     */
+    public SchemaManifest load(String sFingerprint)
+        {
+        File file = getFile(sFingerprint);
+        if (!file.isFile())
+            {
+            return null;
+            }
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+            {
+            SchemaManifest manifest = SchemaManifest.readFrom(reader);
+            // touch the snapshot so that pruning removes the least recently used first
+            file.setLastModified(System.currentTimeMillis());
+            return manifest;
+            }
+        catch (Exception e)
+            {
+            LOGGER.info("Discarding unreadable POF schema snapshot " + file + " - " + e.getMessage());
+            file.delete();
+            return null;
+            }
+        }
+
+    /**
+     * Save a schema snapshot for a class path fingerprint.
+     *
+     * @param sFingerprint  the class path fingerprint
+     * @param manifest      the {@link SchemaManifest} of the schema
+     */
+    public void save(String sFingerprint, SchemaManifest manifest)
+        {
+        Path path = getFile(sFingerprint).toPath();
+        Path temp = null;
+        try
+            {
+            Files.createDirectories(dir.toPath());
+            temp = Files.createTempFile(dir.toPath(), sFingerprint, ".tmp");
+
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+                {
+                manifest.writeTo(writer);
+                }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            prune();
+            }
+        catch (Exception e)
+            {
+            LOGGER.info("Failed to save POF schema snapshot " + path + " - " + e.getMessage());
+            }
+        finally
+            {
+            if (temp != null)
+                {
+                temp.toFile().delete();
+                }
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the snapshot file for a class path fingerprint.
+     *
+     * @param sFingerprint  the class path fingerprint
+     *
+     * @return  the snapshot file
+     */
+    private File getFile(String sFingerprint)
+        {
+        return new File(dir, sFingerprint + SUFFIX);
+        }
+
+    /**
+     * Remove the oldest snapshots so that at most {@link #MAX_SNAPSHOTS} remain.
+     */
+    private void prune()
+        {
+        File[] aFiles = dir.listFiles((d, sName) -> sName.endsWith(SUFFIX));
+        if (aFiles != null && aFiles.length > MAX_SNAPSHOTS)
+            {
+            Arrays.sort(aFiles, Comparator.comparingLong(File::lastModified));
+            for (int i = 0; i < aFiles.length - MAX_SNAPSHOTS; i++)
+                {
+                aFiles[i].delete();
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private static final Logger LOGGER = Logger.getInstance(SchemaSnapshotStore.class);
+
+    /**
+     * The suffix of snapshot file names.
+     */
+    private static final String SUFFIX = ".manifest";
+
+    /**
+     * The maximum number of snapshots to keep.
+     */
+    private static final int MAX_SNAPSHOTS = 32;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The directory to store snapshots in.
+     */
+    private final File dir;
+    }
@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+// The POF serialization benchmark that the Benchmark POF Serialization action
+// runs in a forked JVM. It only uses the JDK, and is kept out of the jps-plugin
+// jar so that it is not loaded into every JPS build process.
@@ -0,0 +1,661 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A serialization micro-benchmark of a {@code @PortableType} class, that
+ * compares POF with Java serialization.
+ * <p>
+ * The benchmark is run in a forked JVM with the class path of the module that
+ * contains the class, after the class has been compiled and instrumented by
+ * the build, so it uses the project's own Coherence version. An instance of
+ * the class is filled with {@link SampleData}, then each serializer is warmed
+ * up and measured for a fixed time, and the average time, serialized size and
+ * allocation of each operation is printed.
+ * <pre>
+ * java -cp &lt;module class path&gt;:&lt;pof-benchmark-runner jar&gt; com.oracle.coherence.idea.benchmark.PofBenchmark \
+ *     [--warmup &lt;ms&gt;] [--time &lt;ms&gt;] &lt;class name&gt;
+ * </pre>
+ * This class only uses the JDK, and uses Coherence reflectively, so it does
+ * not need any IntelliJ classes on the class path. It is packaged in its own
+ * jar with the IDE plugin, rather than in the jps-plugin jar, so that it is
+ * not loaded into the JPS build process. The Coherence methods that
+ * are measured are called through constant method handles, so they are
+ * compiled and inlined just like the direct calls of Java serialization.
+ *
+ * @author agent  2026.10.18
+ */
+public class PofBenchmark
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link PofBenchmark}.
+     *
+     * @param cWarmupMillis   the time to warm up each operation for
+     * @param cMeasureMillis  the time to measure each operation for
+     * @param out             the {@link PrintStream} to print the results to
+     */
+    public PofBenchmark(long cWarmupMillis, long cMeasureMillis, PrintStream out)
+        {
+        this.cWarmupNanos  = TimeUnit.MILLISECONDS.toNanos(cWarmupMillis);
+        this.cMeasureNanos = TimeUnit.MILLISECONDS.toNanos(cMeasureMillis);
+        this.out           = out;
+        }
+
+    // ----- entry points ---------------------------------------------------
+
+    /**
+     * Run the benchmark.
+     *
+     * @param asArg  the command line arguments
+     */
+    public static void main(String[] asArg)
+        {
+        System.exit(run(asArg, System.out, System.err));
+        }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param asArg  the command line arguments
+     * @param out    the {@link PrintStream} to print the results to
+     * @param err    the {@link PrintStream} to print errors to
+     *
+     * @return  the exit code, zero if the benchmark ran
+     */
+    public static int run(String[] asArg, PrintStream out, PrintStream err)
+        {
+        long   cWarmupMillis  = DEFAULT_WARMUP_MILLIS;
+        long   cMeasureMillis = DEFAULT_MEASURE_MILLIS;
+        String sClassName     = null;
+
+        try
+            {
+            for (int i = 0; i < asArg.length; i++)
+                {
+                String sArg = asArg[i];
+                switch (sArg)
+                    {
+                    case "--warmup":
+                        cWarmupMillis = Long.parseLong(value(asArg, ++i, sArg));
+                        break;
+                    case "--time":
+                        cMeasureMillis = Long.parseLong(value(asArg, ++i, sArg));
+                        break;
+                    case "--help":
+                        out.println(USAGE);
+                        return 0;
+                    default:
+                        if (sArg.startsWith("-") || sClassName != null)
+                            {
+                            throw new IllegalArgumentException("Unexpected argument " + sArg);
+                            }
+                        sClassName = sArg;
+                    }
+                }
+
+            if (sClassName == null)
+                {
+                throw new IllegalArgumentException("No class to benchmark");
+                }
+            }
+        catch (IllegalArgumentException e)
+            {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+            }
+
+        try
+            {
+            Class<?> cls = Class.forName(sClassName, false, PofBenchmark.class.getClassLoader());
+            new PofBenchmark(cWarmupMillis, cMeasureMillis, out).benchmark(cls);
+            return 0;
+            }
+        catch (Throwable e)
+            {
+            err.println("POF benchmark of " + sClassName + " failed - " + e);
+            return EXIT_FAILED;
+            }
+        }
+
+    // ----- PofBenchmark methods -------------------------------------------
+
+    /**
+     * Benchmark the serialization of a {@code @PortableType} class.
+     *
+     * @param cls  the class to benchmark
+     *
+     * @throws Throwable if the benchmark fails
+     */
+    public void benchmark(Class<?> cls) throws Throwable
+        {
+        ClassLoader loader        = cls.getClassLoader();
+        Class<?>    clsAnnotation = Class.forName(PORTABLE_TYPE, false, loader);
+        Codec       codecPof      = createPofCodec(cls, loader, clsAnnotation);
+
+        // only nested objects that both serializers support are filled, so
+        // they serialize the same object graph
+        boolean fJava = Serializable.class.isAssignableFrom(cls);
+        Object  o     = new SampleData(clsNested -> clsNested.isAnnotationPresent(asAnnotation(clsAnnotation))
+                                                    && (!fJava || Serializable.class.isAssignableFrom(clsNested)))
+                .create(cls);
+
+        Package pkg = clsAnnotation.getPackage();
+        out.printf("Serialization benchmark of %s (Coherence %s, %s %s)%n", cls.getName(),
+                   pkg == null || pkg.getImplementationVersion() == null ? "unknown" : pkg.getImplementationVersion(),
+                   System.getProperty("java.vm.name"), System.getProperty("java.version"));
+        out.printf("Warm up %d ms, measure %d ms per operation%n%n",
+                   TimeUnit.NANOSECONDS.toMillis(cWarmupNanos), TimeUnit.NANOSECONDS.toMillis(cMeasureNanos));
+        out.printf("%-20s %12s %12s %14s%n", "Operation", "ns/op", "bytes/op", "alloc B/op");
+
+        report("POF", codecPof, o);
+        if (fJava)
+            {
+            report("Java", JAVA_CODEC, o);
+            }
+        else
+            {
+            out.printf("%-20s %s%n", "Java", "not measured - the class is not Serializable");
+            }
+        out.flush();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Measure and report the serialization and deserialization of an object.
+     *
+     * @param sName  the name of the serializer
+     * @param codec  the {@link Codec} to use
+     * @param o      the object to serialize
+     *
+     * @throws Throwable if the object cannot be serialized
+     */
+    private void report(String sName, Codec codec, Object o) throws Throwable
+        {
+        Object oSerialized = codec.serialize(o);
+        int    cb          = codec.size(oSerialized);
+
+        // each operation returns a cheap value derived from its result, so the
+        // sink adds neither work nor allocation to the operation
+        Measurement serialize   = measure(() -> codec.size(codec.serialize(o)));
+        Measurement deserialize = measure(() -> codec.deserialize(oSerialized) == null ? 0 : 1);
+
+        out.printf("%-20s %12.1f %12d %14s%n", sName + " serialize", serialize.dNanosPerOp, cb,
+                   serialize.format());
+        out.printf("%-20s %12.1f %12s %14s%n", sName + " deserialize", deserialize.dNanosPerOp, "",
+                   deserialize.format());
+        }
+
+    /**
+     * Warm up and then measure an operation.
+     *
+     * @param operation  the operation to measure
+     *
+     * @return  the {@link Measurement}
+     *
+     * @throws Throwable if the operation fails
+     */
+    private Measurement measure(Operation operation) throws Throwable
+        {
+        run(operation, cWarmupNanos);
+
+        long cbStart  = getAllocatedBytes();
+        long ldtStart = System.nanoTime();
+        long cOps     = run(operation, cMeasureNanos);
+        long cNanos   = System.nanoTime() - ldtStart;
+        long cbEnd    = getAllocatedBytes();
+
+        return new Measurement((double) cNanos / cOps,
+                               cbStart < 0 || cbEnd < 0 ? -1 : (double) (cbEnd - cbStart) / cOps);
+        }
+
+    /**
+     * Run an operation in batches for a period of time.
+     *
+     * @param operation  the operation to run
+     * @param cNanos     the time to run the operation for
+     *
+     * @return  the number of times the operation was run
+     *
+     * @throws Throwable if the operation fails
+     */
+    private long run(Operation operation, long cNanos) throws Throwable
+        {
+        long ldtEnd = System.nanoTime() + cNanos;
+        long cOps   = 0;
+        int  nSink  = 0;
+        do
+            {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                {
+                nSink += operation.run();
+                }
+            cOps += BATCH_SIZE;
+            }
+        while (System.nanoTime() < ldtEnd);
+
+        // consume the results so that the operations cannot be eliminated
+        s_nSink = nSink;
+        return cOps;
+        }
+
+    /**
+     * Return the number of bytes allocated by the current thread.
+     *
+     * @return  the number of bytes allocated, or {@code -1} if it is not supported
+     */
+    private static long getAllocatedBytes()
+        {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+               ? ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId())
+               : -1;
+        }
+
+    /**
+     * Create the POF {@link Codec}, using a POF context with the class and all
+     * the {@code @PortableType} classes it refers to registered.
+     *
+     * @param cls            the class to benchmark
+     * @param loader         the class loader of the class
+     * @param clsAnnotation  the {@code @PortableType} annotation class
+     *
+     * @return  the POF {@link Codec}
+     *
+     * @throws Throwable if Coherence cannot be used
+     */
+    private static Codec createPofCodec(Class<?> cls, ClassLoader loader, Class<?> clsAnnotation) throws Throwable
+        {
+        MethodHandles.Lookup lookup        = MethodHandles.publicLookup();
+        Class<?>             clsContext    = Class.forName("com.tangosol.io.pof.SimplePofContext", true, loader);
+        Class<?>             clsSerializer = Class.forName("com.tangosol.io.pof.PofSerializer", true, loader);
+        Class<?>             clsTypeSer    = Class.forName("com.tangosol.io.pof.PortableTypeSerializer", true, loader);
+
+        Object       ctx      = clsContext.getConstructor().newInstance();
+        MethodHandle register = lookup.findVirtual(clsContext, "registerUserType",
+                MethodType.methodType(void.class, int.class, Class.class, clsSerializer));
+        MethodHandle id       = lookup.findVirtual(clsAnnotation, "id", MethodType.methodType(int.class));
+
+        for (Class<?> clsType : findPortableTypes(cls, asAnnotation(clsAnnotation)))
+            {
+            int    nId        = (int) id.invoke(clsType.getAnnotation(asAnnotation(clsAnnotation)));
+            Object serializer = clsTypeSer.getConstructor(int.class, Class.class).newInstance(nId, clsType);
+            register.invoke(ctx, nId, clsType, serializer);
+            }
+
+        return new PofCodec(ctx);
+        }
+
+    /**
+     * Find a class and all the {@code @PortableType} classes it refers to,
+     * through its super classes and the types of its fields.
+     *
+     * @param cls            the class
+     * @param clsAnnotation  the {@code @PortableType} annotation class
+     *
+     * @return  the {@code @PortableType} classes
+     */
+    private static Set<Class<?>> findPortableTypes(Class<?> cls, Class<? extends Annotation> clsAnnotation)
+        {
+        Set<Class<?>> setTypes = new LinkedHashSet<>();
+        addPortableTypes(cls, clsAnnotation, setTypes);
+        return setTypes;
+        }
+
+    /**
+     * Add a class and the {@code @PortableType} classes it refers to.
+     *
+     * @param type           the type to add
+     * @param clsAnnotation  the {@code @PortableType} annotation class
+     * @param setTypes       the {@code @PortableType} classes found so far
+     */
+    private static void addPortableTypes(Type type, Class<? extends Annotation> clsAnnotation, Set<Class<?>> setTypes)
+        {
+        if (type instanceof ParameterizedType)
+            {
+            for (Type typeArg : ((ParameterizedType) type).getActualTypeArguments())
+                {
+                addPortableTypes(typeArg, clsAnnotation, setTypes);
+                }
+            addPortableTypes(((ParameterizedType) type).getRawType(), clsAnnotation, setTypes);
+            return;
+            }
+        if (!(type instanceof Class))
+            {
+            return;
+            }
+
+        Class<?> cls = (Class<?>) type;
+        if (cls.isArray())
+            {
+            addPortableTypes(cls.getComponentType(), clsAnnotation, setTypes);
+            return;
+            }
+        if (!cls.isAnnotationPresent(clsAnnotation) || !setTypes.add(cls))
+            {
+            return;
+            }
+
+        addPortableTypes(cls.getSuperclass(), clsAnnotation, setTypes);
+        for (Field field : cls.getDeclaredFields())
+            {
+            if (!Modifier.isStatic(field.getModifiers()))
+                {
+                addPortableTypes(field.getGenericType(), clsAnnotation, setTypes);
+                }
+            }
+        }
+
+    /**
+     * Cast the {@code @PortableType} class, which is loaded reflectively from
+     * the module's class path, to an annotation class.
+     *
+     * @param cls  the {@code @PortableType} annotation class
+     *
+     * @return  the annotation class
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> asAnnotation(Class<?> cls)
+        {
+        return (Class<? extends Annotation>) cls;
+        }
+
+    /**
+     * Return the value of a command line option.
+     *
+     * @param asArg    the command line arguments
+     * @param i        the index of the value
+     * @param sOption  the name of the option
+     *
+     * @return  the value of the option
+     *
+     * @throws IllegalArgumentException if the value is missing
+     */
+    private static String value(String[] asArg, int i, String sOption)
+        {
+        if (i >= asArg.length)
+            {
+            throw new IllegalArgumentException("Missing value for " + sOption);
+            }
+        return asArg[i];
+        }
+
+    // ----- inner interface: Operation -------------------------------------
+
+    /**
+     * An operation to measure.
+     */
+    @FunctionalInterface
+    private interface Operation
+        {
+        /**
+         * Run the operation once.
+         *
+         * @return  a cheap value derived from the result of the operation
+         *
+         * @throws Throwable if the operation fails
+         */
+        int run() throws Throwable;
+        }
+
+    // ----- inner interface: Codec -----------------------------------------
+
+    /**
+     * A serializer to measure.
+     */
+    private interface Codec
+        {
+        /**
+         * Serialize an object.
+         *
+         * @param o  the object to serialize
+         *
+         * @return  the serialized form of the object
+         *
+         * @throws Throwable if the object cannot be serialized
+         */
+        Object serialize(Object o) throws Throwable;
+
+        /**
+         * Deserialize an object.
+         *
+         * @param oSerialized  the serialized form returned by {@link #serialize}
+         *
+         * @return  the deserialized object
+         *
+         * @throws Throwable if the object cannot be deserialized
+         */
+        Object deserialize(Object oSerialized) throws Throwable;
+
+        /**
+         * Return the size of a serialized object.
+         *
+         * @param oSerialized  the serialized form returned by {@link #serialize}
+         *
+         * @return  the size of the serialized object in bytes
+         *
+         * @throws Throwable if the size cannot be determined
+         */
+        int size(Object oSerialized) throws Throwable;
+        }
+
+    // ----- inner class: PofCodec ------------------------------------------
+
+    /**
+     * The POF {@link Codec}.
+     * <p>
+     * Coherence is on the class path of the benchmark JVM, but not of the
+     * plugin, so its methods are found reflectively when this class is
+     * initialized. They are held in static final fields, so the JIT compiler
+     * treats the method handles as constants and inlines the calls.
+     */
+    private static class PofCodec
+            implements Codec
+        {
+        PofCodec(Object ctx)
+            {
+            this.ctx = ctx;
+            }
+
+        @Override
+        public Object serialize(Object o) throws Throwable
+            {
+            return TO_BINARY.invokeExact(o, ctx);
+            }
+
+        @Override
+        public Object deserialize(Object oSerialized) throws Throwable
+            {
+            return FROM_BINARY.invokeExact(oSerialized, ctx);
+            }
+
+        @Override
+        public int size(Object oSerialized) throws Throwable
+            {
+            return (int) LENGTH.invokeExact(oSerialized);
+            }
+
+        private static final MethodHandle TO_BINARY;
+
+        private static final MethodHandle FROM_BINARY;
+
+        private static final MethodHandle LENGTH;
+
+        static
+            {
+            try
+                {
+                MethodHandles.Lookup lookup    = MethodHandles.publicLookup();
+                ClassLoader          loader    = PofCodec.class.getClassLoader();
+                Class<?>             clsBinary = Class.forName("com.tangosol.util.Binary", true, loader);
+                Class<?>             clsHelper = Class.forName("com.tangosol.util.ExternalizableHelper", true, loader);
+                Class<?>             clsIoSer  = Class.forName("com.tangosol.io.Serializer", true, loader);
+
+                // erase the Coherence types, so the handles can be invoked exactly
+                TO_BINARY   = lookup.findStatic(clsHelper, "toBinary",
+                                                MethodType.methodType(clsBinary, Object.class, clsIoSer))
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                FROM_BINARY = lookup.findStatic(clsHelper, "fromBinary",
+                                                MethodType.methodType(Object.class, clsBinary, clsIoSer))
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+                LENGTH      = lookup.findVirtual(clsBinary, "length", MethodType.methodType(int.class))
+                        .asType(MethodType.methodType(int.class, Object.class));
+                }
+            catch (ReflectiveOperationException e)
+                {
+                throw new ExceptionInInitializerError(e);
+                }
+            }
+
+        /**
+         * The POF context to serialize with.
+         */
+        private final Object ctx;
+        }
+
+    // ----- inner class: Measurement ---------------------------------------
+
+    /**
+     * The result of measuring an operation.
+     */
+    private static class Measurement
+        {
+        Measurement(double dNanosPerOp, double dBytesPerOp)
+            {
+            this.dNanosPerOp = dNanosPerOp;
+            this.dBytesPerOp = dBytesPerOp;
+            }
+
+        String format()
+            {
+            return dBytesPerOp < 0 ? "n/a" : String.format("%.1f", dBytesPerOp);
+            }
+
+        final double dNanosPerOp;
+
+        final double dBytesPerOp;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The Java serialization {@link Codec}.
+     */
+    private static final Codec JAVA_CODEC = new Codec()
+        {
+        @Override
+        public Object serialize(Object o) throws IOException
+            {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream stream = new ObjectOutputStream(buf))
+                {
+                stream.writeObject(o);
+                }
+            return buf.toByteArray();
+            }
+
+        @Override
+        public Object deserialize(Object oSerialized) throws IOException, ClassNotFoundException
+            {
+            try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream((byte[]) oSerialized)))
+                {
+                return stream.readObject();
+                }
+            }
+
+        @Override
+        public int size(Object oSerialized)
+            {
+            return ((byte[]) oSerialized).length;
+            }
+        };
+
+    /**
+     * The name of the {@code @PortableType} annotation.
+     */
+    private static final String PORTABLE_TYPE = "com.tangosol.io.pof.schema.annotation.PortableType";
+
+    /**
+     * The number of operations run between reading the clock.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * The default time to warm up each operation for.
+     */
+    private static final long DEFAULT_WARMUP_MILLIS = 3000L;
+
+    /**
+     * The default time to measure each operation for.
+     */
+    private static final long DEFAULT_MEASURE_MILLIS = 5000L;
+
+    /**
+     * The exit code when the benchmark fails.
+     */
+    private static final int EXIT_FAILED = 1;
+
+    /**
+     * The exit code when the arguments are invalid.
+     */
+    private static final int EXIT_USAGE = 2;
+
+    /**
+     * The usage message.
+     */
+    private static final String USAGE =
+            "Usage: PofBenchmark [--warmup <ms>] [--time <ms>] <class name>";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The sink that results are written to, so they cannot be eliminated.
+     */
+    @SuppressWarnings("unused")
+    private static volatile int s_nSink;
+
+    /**
+     * The time to warm up each operation for.
+     */
+    private final long cWarmupNanos;
+
+    /**
+     * The time to measure each operation for.
+     */
+    private final long cMeasureNanos;
+
+    /**
+     * The {@link PrintStream} to print the results to.
+     */
+    private final PrintStream out;
+    }
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.benchmark;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Creates instances of a class filled with sample data, so that a class can
+ * be benchmarked without the developer writing any set up code.
+ * <p>
+ * Every instance field is set to a sample value for its type. Fields of other
+ * classes are only filled if the classes are accepted by a predicate, which
+ * allows only nested types that the serializer being benchmarked supports;
+ * any other field is left {@code null}. This class only uses the JDK, so it
+ * can run in a forked JVM with just the project's class path.
+ *
+ * @author agent  2026.10.18
+ */
+public class SampleData
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link SampleData}.
+     *
+     * @param predicateNested  the predicate that accepts the classes of
+     *                         nested objects to create
+     */
+    public SampleData(Predicate<Class<?>> predicateNested)
+        {
+        this.predicateNested = predicateNested;
+        }
+
+    // ----- SampleData methods ---------------------------------------------
+
+    /**
+     * Create an instance of a class filled with sample data.
+     *
+     * @param cls  the class to create
+     * @param <T>  the type of the class
+     *
+     * @return  the instance of the class
+     *
+     * @throws ReflectiveOperationException if the class cannot be created
+     */
+    public <T> T create(Class<T> cls) throws ReflectiveOperationException
+        {
+        return cls.cast(createObject(cls, 0));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create an object, using the constructor with the fewest parameters, and
+     * fill all its fields.
+     *
+     * @param cls     the class to create
+     * @param nDepth  the depth of the object in the object graph
+     *
+     * @return  the object
+     *
+     * @throws ReflectiveOperationException if the class cannot be created
+     */
+    private Object createObject(Class<?> cls, int nDepth) throws ReflectiveOperationException
+        {
+        Constructor<?> constructor = null;
+        for (Constructor<?> candidate : cls.getDeclaredConstructors())
+            {
+            if (constructor == null || candidate.getParameterCount() < constructor.getParameterCount())
+                {
+                constructor = candidate;
+                }
+            }
+        if (constructor == null || Modifier.isAbstract(cls.getModifiers()))
+            {
+            throw new InstantiationException("Cannot create an instance of " + cls.getName());
+            }
+
+        Class<?>[] aclsParam  = constructor.getParameterTypes();
+        Type[]     atypeParam = constructor.getGenericParameterTypes();
+        Object[]   aoParam    = new Object[aclsParam.length];
+        for (int i = 0; i < aclsParam.length; i++)
+            {
+            // the generic types exclude synthetic parameters, such as the outer instance
+            Type type = atypeParam.length == aclsParam.length ? atypeParam[i] : aclsParam[i];
+            aoParam[i] = sample(aclsParam[i], type, nDepth + 1);
+            }
+
+        constructor.setAccessible(true);
+        Object o = constructor.newInstance(aoParam);
+
+        for (Class<?> clsField = cls; clsField != null && clsField != Object.class; clsField = clsField.getSuperclass())
+            {
+            for (Field field : clsField.getDeclaredFields())
+                {
+                int nModifiers = field.getModifiers();
+                if (!Modifier.isStatic(nModifiers) && !Modifier.isTransient(nModifiers) && !field.isSynthetic())
+                    {
+                    field.setAccessible(true);
+                    field.set(o, sample(field.getType(), field.getGenericType(), nDepth + 1));
+                    }
+                }
+            }
+        return o;
+        }
+
+    /**
+     * Return a sample value for a type.
+     *
+     * @param cls     the class of the value
+     * @param type    the generic type of the value
+     * @param nDepth  the depth of the value in the object graph
+     *
+     * @return  the sample value, or {@code null} if no sample can be created
+     *
+     * @throws ReflectiveOperationException if a nested object cannot be created
+     */
+    private Object sample(Class<?> cls, Type type, int nDepth) throws ReflectiveOperationException
+        {
+        if (cls == boolean.class || cls == Boolean.class)
+            {
+            return Boolean.TRUE;
+            }
+        if (cls == byte.class || cls == Byte.class)
+            {
+            return (byte) 7;
+            }
+        if (cls == short.class || cls == Short.class)
+            {
+            return (short) 42;
+            }
+        if (cls == int.class || cls == Integer.class)
+            {
+            return 42;
+            }
+        if (cls == long.class || cls == Long.class)
+            {
+            return 4242L;
+            }
+        if (cls == float.class || cls == Float.class)
+            {
+            return 4.2f;
+            }
+        if (cls == double.class || cls == Double.class)
+            {
+            return 42.42d;
+            }
+        if (cls == char.class || cls == Character.class)
+            {
+            return 'c';
+            }
+        if (cls == String.class || cls == CharSequence.class)
+            {
+            return "sample text";
+            }
+        if (cls == BigDecimal.class)
+            {
+            return new BigDecimal("1234.56");
+            }
+        if (cls == BigInteger.class)
+            {
+            return BigInteger.valueOf(123456789L);
+            }
+        if (cls == Date.class)
+            {
+            return new Date(TIMESTAMP);
+            }
+        if (cls == Instant.class)
+            {
+            return Instant.ofEpochMilli(TIMESTAMP);
+            }
+        if (cls == LocalDate.class)
+            {
+            return LocalDate.of(2026, 10, 18);
+            }
+        if (cls == LocalTime.class)
+            {
+            return LocalTime.of(12, 30);
+            }
+        if (cls == LocalDateTime.class)
+            {
+            return LocalDateTime.of(2026, 10, 18, 12, 30);
+            }
+        if (cls == UUID.class)
+            {
+            return new UUID(TIMESTAMP, 42L);
+            }
+        if (cls.isEnum())
+            {
+            Object[] ao = cls.getEnumConstants();
+            return ao.length == 0 ? null : ao[0];
+            }
+        if (cls.isArray())
+            {
+            Class<?> clsElement = cls.getComponentType();
+            Object   oArray     = Array.newInstance(clsElement, SAMPLE_SIZE);
+            for (int i = 0; i < SAMPLE_SIZE; i++)
+                {
+                Object oElement = sample(clsElement, clsElement, nDepth);
+                if (oElement == null)
+                    {
+                    return clsElement.isPrimitive() ? oArray : null;
+                    }
+                Array.set(oArray, i, oElement);
+                }
+            return oArray;
+            }
+        if (Map.class.isAssignableFrom(cls))
+            {
+            Map<Object, Object> map = new HashMap<>();
+            for (int i = 0; i < SAMPLE_SIZE; i++)
+                {
+                map.put(distinct(sample(typeArgument(type, 0), typeArgument(type, 0), nDepth), i),
+                        sample(typeArgument(type, 1), typeArgument(type, 1), nDepth));
+                }
+            return cls.isInstance(map) ? map : null;
+            }
+        if (Collection.class.isAssignableFrom(cls))
+            {
+            Collection<Object> col = Set.class.isAssignableFrom(cls) ? new HashSet<>() : new ArrayList<>();
+            for (int i = 0; i < SAMPLE_SIZE; i++)
+                {
+                col.add(distinct(sample(typeArgument(type, 0), typeArgument(type, 0), nDepth), i));
+                }
+            return cls.isInstance(col) ? col : null;
+            }
+        if (nDepth < MAX_DEPTH && predicateNested.test(cls))
+            {
+            return createObject(cls, nDepth);
+            }
+        return null;
+        }
+
+    /**
+     * Return a type argument of a generic type.
+     *
+     * @param type  the generic type
+     * @param n     the index of the type argument
+     *
+     * @return  the class of the type argument, or {@code String} if it is not a class
+     */
+    private static Class<?> typeArgument(Type type, int n)
+        {
+        if (type instanceof ParameterizedType)
+            {
+            Type[] atype = ((ParameterizedType) type).getActualTypeArguments();
+            if (n < atype.length)
+                {
+                Type typeArg = atype[n] instanceof ParameterizedType
+                               ? ((ParameterizedType) atype[n]).getRawType() : atype[n];
+                if (typeArg instanceof Class && typeArg != Object.class)
+                    {
+                    return (Class<?>) typeArg;
+                    }
+                }
+            }
+        return String.class;
+        }
+
+    /**
+     * Make a sample value distinct, so that the elements of a set or the keys
+     * of a map are not all the same.
+     *
+     * @param o  the sample value
+     * @param i  the index of the element
+     *
+     * @return  a distinct sample value
+     */
+    private static Object distinct(Object o, int i)
+        {
+        if (o instanceof String)
+            {
+            return o + " " + i;
+            }
+        if (o instanceof Integer)
+            {
+            return (Integer) o + i;
+            }
+        if (o instanceof Long)
+            {
+            return (Long) o + i;
+            }
+        return o;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of elements in a sample array, collection or map.
+     */
+    public static final int SAMPLE_SIZE = 3;
+
+    /**
+     * The maximum depth of nested objects.
+     */
+    private static final int MAX_DEPTH = 4;
+
+    /**
+     * The time used for sample dates and times.
+     */
+    private static final long TIMESTAMP = 1792310400000L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The predicate that accepts the classes of nested objects to create.
+     */
+    private final Predicate<Class<?>> predicateNested;
+    }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+// JMH benchmarks for the POF instrumentation performed by the jps-plugin.
+// Run with ./gradlew :pof-benchmarks:jmh, optionally narrowing the parameters,
+// for example -Pjmh.includes=PofGeneratorBenchmark
+
+plugins {
+    alias(libs.plugins.intelliJPlatformBase) // IntelliJ Platform Gradle Plugin
+    alias(libs.plugins.jmh) // JMH Gradle Plugin
+}
+
+repositories {
+    mavenCentral()
+    intellijPlatform {
+        defaultRepositories()
+    }
+}
+
+dependencies {
+    jmh(project(":jps-plugin"))
+    jmh(libs.coherence)
+    jmh(libs.mockito)
+
+    intellijPlatform {
+        create(providers.gradleProperty("platformType"), providers.gradleProperty("platformVersion"))
+
+        bundledPlugins(providers.gradleProperty("platformBundledPlugins").map { it.split(',') })
+
+        instrumentationTools()
+    }
+}
+
+configurations.named("jmh") {
+    // the IntelliJ Platform only adds the JPS and ASM classes to the main source set
+    extendsFrom(configurations["intellijPlatformClasspath"])
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf())
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
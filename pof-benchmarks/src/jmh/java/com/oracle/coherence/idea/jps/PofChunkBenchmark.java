@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.compiler.instrumentation.InstrumentationClassFinder;
+
+import com.oracle.coherence.idea.CoherenceConfig;
+
+import org.jetbrains.jps.ModuleChunk;
+import org.jetbrains.jps.cmdline.ProjectDescriptor;
+import org.jetbrains.jps.incremental.CompileContext;
+import org.jetbrains.jps.incremental.ModuleLevelBuilder;
+import org.jetbrains.jps.model.JpsElementContainer;
+import org.jetbrains.jps.model.JpsProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmarks the instrumentation of a whole module chunk, as performed by
+ * the JPS build, from finding the {@code @PortableType} classes to applying
+ * the instrumented classes.
+ *
+ * @author agent  2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class PofChunkBenchmark
+    {
+    // ----- lifecycle ------------------------------------------------------
+
+    /**
+     * Create the synthetic classes and the mocked build environment.
+     *
+     * @throws Exception if the classes cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+        {
+        classes = new SyntheticClasses(cTypes, cTypes, nDepth, cLibraryTypes);
+        finder  = new InstrumentationClassFinder(classes.getClassPath(PofGeneratorBenchmark.getCoherenceJar()));
+
+        CoherenceConfig config = new CoherenceConfig();
+        config.setPofGeneratorEnabled(true);
+        config.setPofGeneratorParallelism(cThreads);
+
+        JpsElementContainer container  = mock(JpsElementContainer.class, withSettings().stubOnly());
+        JpsProject          project    = mock(JpsProject.class, withSettings().stubOnly());
+        ProjectDescriptor   descriptor = mock(ProjectDescriptor.class, withSettings().stubOnly());
+
+        when(container.getChild(CoherenceConfig.ROLE)).thenReturn(config);
+        when(project.getContainer()).thenReturn(container);
+        when(descriptor.getProject()).thenReturn(project);
+
+        context = mock(CompileContext.class, withSettings().stubOnly());
+        when(context.getProjectDescriptor()).thenReturn(descriptor);
+        when(context.getCancelStatus()).thenReturn(() -> false);
+
+        chunk = mock(ModuleChunk.class, withSettings().stubOnly());
+        when(chunk.getTargets()).thenReturn(Collections.emptySet());
+        when(chunk.getPresentableShortName()).thenReturn("benchmark");
+
+        generator = new PofGenerator();
+        }
+
+    /**
+     * Create the compiled classes of the chunk, as the compiler would for
+     * each build, and a new {@link PofGenerator} for a cold schema.
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation()
+        {
+        outputConsumer = mock(ModuleLevelBuilder.OutputConsumer.class, withSettings().stubOnly());
+        when(outputConsumer.getCompiledClasses()).thenReturn(classes.createCompiledClasses());
+
+        if (fColdSchema)
+            {
+            generator = new PofGenerator();
+            }
+        }
+
+    /**
+     * Delete the synthetic classes.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+        {
+        classes.delete();
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    /**
+     * Instrument all the classes of the chunk.
+     *
+     * @return  the exit code of the build
+     */
+    @Benchmark
+    public Object instrumentChunk()
+        {
+        return generator.performBuild(context, chunk, finder, outputConsumer);
+        }
+
+    // ----- parameters -----------------------------------------------------
+
+    /**
+     * The number of {@code @PortableType} classes in the module, which is
+     * also the number of plain classes mixed in with them.
+     */
+    @Param({"10", "1000", "10000"})
+    public int cTypes;
+
+    /**
+     * The depth of the {@code @PortableType} inheritance chains.
+     */
+    @Param({"1", "8"})
+    public int nDepth;
+
+    /**
+     * The number of {@code @PortableType} classes in the library on the class path.
+     */
+    @Param({"0", "10000"})
+    public int cLibraryTypes;
+
+    /**
+     * The POF generation parallelism, where zero is one thread per processor.
+     */
+    @Param({"1", "0"})
+    public int cThreads;
+
+    /**
+     * {@code true} to create the schema in every build, or {@code false}
+     * to measure the instrumentation with a cached schema.
+     */
+    @Param({"true", "false"})
+    public boolean fColdSchema;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The synthetic classes.
+     */
+    private SyntheticClasses classes;
+
+    /**
+     * The {@link InstrumentationClassFinder} for the module's class path.
+     */
+    private InstrumentationClassFinder finder;
+
+    /**
+     * The {@link CompileContext}.
+     */
+    private CompileContext context;
+
+    /**
+     * The {@link ModuleChunk} being built.
+     */
+    private ModuleChunk chunk;
+
+    /**
+     * The {@link ModuleLevelBuilder.OutputConsumer} holding the compiled classes.
+     */
+    private ModuleLevelBuilder.OutputConsumer outputConsumer;
+
+    /**
+     * The {@link PofGenerator}.
+     */
+    private PofGenerator generator;
+    }
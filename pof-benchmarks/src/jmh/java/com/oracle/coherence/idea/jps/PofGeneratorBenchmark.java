@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import com.intellij.compiler.instrumentation.InstrumentationClassFinder;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+
+import org.jetbrains.jps.incremental.BinaryContent;
+import org.jetbrains.jps.incremental.CompiledClass;
+
+import org.jetbrains.org.objectweb.asm.ClassReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the individual steps of the POF instrumentation, creating
+ * the POF schema, patching it with a changed class and instrumenting a single
+ * class.
+ * <p>
+ * Run with the {@code gc} profiler, which the build enables by default, to
+ * report the allocation rate alongside the time of each operation.
+ *
+ * @author agent  2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PofGeneratorBenchmark
+    {
+    // ----- lifecycle ------------------------------------------------------
+
+    /**
+     * Create the synthetic classes and a {@link PofInstrumenter} with a cached schema.
+     *
+     * @throws Exception if the classes cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+        {
+        classes = new SyntheticClasses(cTypes, cTypes, nDepth, cLibraryTypes);
+        finder  = new InstrumentationClassFinder(classes.getClassPath(getCoherenceJar()));
+        libs    = LibraryResolver.getLibraries(finder.getLoader());
+        binding = GeneratorBinding.forClass(PofInstrumenter.findGeneratorClass(libs, finder.getLoader()));
+
+        for (CompiledClass compiled : classes.createCompiledClasses().values())
+            {
+            BinaryContent content = compiled.getContent();
+            ClassReader   reader  = new ClassReader(content.getBuffer(), content.getOffset(), content.getLength());
+            if (PortableTypeScanner.isPortableType(reader))
+                {
+                listTypes.add(compiled);
+                }
+            }
+
+        // create the schema once so that instrumentClass measures a single class
+        instrumenter = new PofInstrumenter();
+        mapEnv       = instrumenter.createEnvironment(finder.getLoader(), libs, binding,
+                                                      listTypes.get(0).getOutputFile(), null, null, null);
+
+        // an incremental build that recompiled one of the module's types
+        String sClassName = listTypes.get(0).getClassName();
+        changes  = new PortableTypeChanges(Set.of(classes.getOutputDirectory()), true);
+        changes.add(sClassName, classes.getClasses().get(sClassName));
+        manifest = SchemaManifest.scan(libs).apply(changes);
+        }
+
+    /**
+     * Delete the synthetic classes.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+        {
+        classes.delete();
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    /**
+     * Create the POF schema for the module's class path, without a cached
+     * schema or a persisted snapshot.
+     *
+     * @return  the POF schema
+     */
+    @Benchmark
+    public Object ensureSchema()
+        {
+        Map<String, Object> env = new HashMap<>();
+        env.put("libs", libs);
+        return new PofGenerator().ensureSchema(PortableTypeGenerator.class, classes.getFirstTypeFile(), env);
+        }
+
+    /**
+     * Patch the POF schema for the module's class path with one changed
+     * {@code @PortableType} class, as a later round or build does, to compare
+     * with the full build measured by {@link #ensureSchema()}.
+     *
+     * @return  the POF schema
+     */
+    @Benchmark
+    public Object patchSchema()
+        {
+        Map<String, Object> env = new HashMap<>();
+        env.put("libs", libs);
+        return SchemaPatcher.createSchema(binding, classes.getFirstTypeFile(), manifest, changes, env);
+        }
+
+    /**
+     * Instrument one {@code @PortableType} class using a cached schema,
+     * cycling through all the module's types.
+     *
+     * @return  the instrumented class
+     *
+     * @throws Exception  if the class cannot be instrumented
+     */
+    @Benchmark
+    public byte[] instrumentClass() throws Exception
+        {
+        CompiledClass compiled  = listTypes.get(nNext++ % listTypes.size());
+        BinaryContent content   = compiled.getContent();
+        PofClassFile  classFile = new PofClassFile(compiled.getClassName(), compiled.getOutputFile(),
+                                                   content.getBuffer(), content.getOffset(), content.getLength());
+
+        instrumenter.instrumentAll(List.of(classFile), finder.getLoader(), binding, mapEnv, null, 1, () -> false);
+        return classFile.getInstrumented();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the Coherence jar containing the POF generator.
+     *
+     * @return  the Coherence jar
+     *
+     * @throws URISyntaxException if the location of the jar is invalid
+     */
+    static File getCoherenceJar() throws URISyntaxException
+        {
+        return new File(PortableTypeGenerator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        }
+
+    // ----- parameters -----------------------------------------------------
+
+    /**
+     * The number of {@code @PortableType} classes in the module, which is
+     * also the number of plain classes mixed in with them.
+     */
+    @Param({"10", "1000", "10000"})
+    public int cTypes;
+
+    /**
+     * The depth of the {@code @PortableType} inheritance chains.
+     */
+    @Param({"1", "8"})
+    public int nDepth;
+
+    /**
+     * The number of {@code @PortableType} classes in the library on the class path.
+     */
+    @Param({"0", "1000", "10000"})
+    public int cLibraryTypes;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The synthetic classes.
+     */
+    private SyntheticClasses classes;
+
+    /**
+     * The {@link InstrumentationClassFinder} for the module's class path.
+     */
+    private InstrumentationClassFinder finder;
+
+
+    /**
+     * The libraries of the module's class path.
+     */
+    private List<File> libs;
+
+    /**
+     * The {@link GeneratorBinding} of the POF generator.
+     */
+    private GeneratorBinding binding;
+
+    /**
+     * The {@link SchemaManifest} of the module's class path, with {@link #changes} applied.
+     */
+    private SchemaManifest manifest;
+
+    /**
+     * The changed {@code @PortableType} class to patch the schema with.
+     */
+    private PortableTypeChanges changes;
+
+    /**
+     * The {@link PofInstrumenter} with a cached schema.
+     */
+    private PofInstrumenter instrumenter;
+
+    /**
+     * The generator environment containing the cached schema.
+     */
+    private Map<String, Object> mapEnv;
+
+    /**
+     * The module's {@code @PortableType} classes.
+     */
+    private final List<CompiledClass> listTypes = new ArrayList<>();
+
+    /**
+     * The index of the next class to instrument.
+     */
+    private int nNext;
+    }
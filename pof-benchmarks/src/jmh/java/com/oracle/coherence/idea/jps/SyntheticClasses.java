@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ *
+ */
+
+package com.oracle.coherence.idea.jps;
+
+import org.jetbrains.jps.incremental.BinaryContent;
+import org.jetbrains.jps.incremental.CompiledClass;
+
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.MethodVisitor;
+import org.jetbrains.org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic set of compiled classes used to benchmark the POF instrumentation.
+ * <p>
+ * The classes of the module being built are written to an output directory and
+ * contain {@code @PortableType} classes, arranged in inheritance chains of a
+ * configurable depth, mixed with plain classes that are not instrumented. An
+ * optional library jar adds further {@code @PortableType} classes to the class
+ * path that the POF schema is created from.
+ *
+ * @author agent  2026.10.18
+ */
+public class SyntheticClasses
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link SyntheticClasses}.
+     *
+     * @param cTypes         the number of {@code @PortableType} classes in the module
+     * @param cPlain         the number of plain classes in the module
+     * @param nDepth         the depth of the {@code @PortableType} inheritance chains
+     * @param cLibraryTypes  the number of {@code @PortableType} classes in the library jar
+     *
+     * @throws IOException if the classes cannot be written
+     */
+    public SyntheticClasses(int cTypes, int cPlain, int nDepth, int cLibraryTypes)
+            throws IOException
+        {
+        dirRoot   = Files.createTempDirectory("coherence-pof-bench");
+        dirOutput = Files.createDirectories(dirRoot.resolve("classes"));
+
+        for (int i = 0; i < cTypes; i++)
+            {
+            // every nDepth-th type starts a new chain, the others extend the previous type
+            String sName  = typeName(MODULE_PACKAGE, i);
+            String sSuper = i % Math.max(1, nDepth) == 0 ? OBJECT : typeName(MODULE_PACKAGE, i - 1);
+            add(sName, createClass(sName, sSuper, MODULE_TYPE_ID + i));
+            }
+
+        for (int i = 0; i < cPlain; i++)
+            {
+            String sName = MODULE_PACKAGE + "/Plain" + i;
+            add(sName, createClass(sName, OBJECT, -1));
+            }
+
+        fileLibrary = cLibraryTypes > 0 ? createLibrary(cLibraryTypes) : null;
+        }
+
+    // ----- SyntheticClasses methods ---------------------------------------
+
+    /**
+     * Return the class path used to build the module, which is the Coherence
+     * jar, the library jar and the output directory of the module.
+     *
+     * @param fileCoherence  the Coherence jar
+     *
+     * @return  the class path used to build the module
+     */
+    public URL[] getClassPath(File fileCoherence)
+        {
+        List<File> listFiles = new ArrayList<>();
+        listFiles.add(fileCoherence);
+        if (fileLibrary != null)
+            {
+            listFiles.add(fileLibrary);
+            }
+        listFiles.add(dirOutput.toFile());
+
+        try
+            {
+            URL[] aURL = new URL[listFiles.size()];
+            for (int i = 0; i < aURL.length; i++)
+                {
+                aURL[i] = listFiles.get(i).toURI().toURL();
+                }
+            return aURL;
+            }
+        catch (MalformedURLException e)
+            {
+            throw new IllegalStateException(e);
+            }
+        }
+
+    /**
+     * Return the output directory of the module.
+     *
+     * @return  the output directory of the module
+     */
+    public File getOutputDirectory()
+        {
+        return dirOutput.toFile();
+        }
+
+    /**
+     * Return the class files of the module, keyed by class name.
+     *
+     * @return  the class files of the module
+     */
+    public Map<String, byte[]> getClasses()
+        {
+        return Collections.unmodifiableMap(mapClasses);
+        }
+
+    /**
+     * Return the output file of the first {@code @PortableType} class.
+     *
+     * @return  the output file of the first {@code @PortableType} class
+     */
+    public File getFirstTypeFile()
+        {
+        return outputFile(mapClasses.keySet().iterator().next());
+        }
+
+    /**
+     * Create new {@link CompiledClass} instances for the module's classes, as
+     * the compiler would for a build of the module.
+     *
+     * @return  new {@link CompiledClass} instances, keyed by class name
+     */
+    public Map<String, CompiledClass> createCompiledClasses()
+        {
+        Map<String, CompiledClass> map = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> entry : mapClasses.entrySet())
+            {
+            String sClassName = entry.getKey();
+            File   fileClass  = outputFile(sClassName);
+            map.put(sClassName, new CompiledClass(fileClass, Collections.emptyList(), sClassName,
+                                                  new BinaryContent(entry.getValue())));
+            }
+        return map;
+        }
+
+    /**
+     * Delete the files created for these classes.
+     */
+    public void delete()
+        {
+        try (Stream<Path> stream = Files.walk(dirRoot))
+            {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        catch (IOException e)
+            {
+            throw new UncheckedIOException(e);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Add a class of the module and write it to the output directory.
+     *
+     * @param sInternalName  the internal name of the class
+     * @param abClass        the class file bytes
+     *
+     * @throws IOException if the class cannot be written
+     */
+    private void add(String sInternalName, byte[] abClass)
+            throws IOException
+        {
+        String sClassName = sInternalName.replace('/', '.');
+        Path   path       = outputFile(sClassName).toPath();
+
+        Files.createDirectories(path.getParent());
+        Files.write(path, abClass);
+        mapClasses.put(sClassName, abClass);
+        }
+
+    /**
+     * Create a library jar containing {@code @PortableType} classes.
+     *
+     * @param cTypes  the number of {@code @PortableType} classes in the library
+     *
+     * @return  the library jar
+     *
+     * @throws IOException if the jar cannot be written
+     */
+    private File createLibrary(int cTypes)
+            throws IOException
+        {
+        File file = dirRoot.resolve("library.jar").toFile();
+        try (OutputStream out = Files.newOutputStream(file.toPath());
+             JarOutputStream jar = new JarOutputStream(out))
+            {
+            for (int i = 0; i < cTypes; i++)
+                {
+                String sName = typeName(LIBRARY_PACKAGE, i);
+                jar.putNextEntry(new JarEntry(sName + ".class"));
+                jar.write(createClass(sName, OBJECT, LIBRARY_TYPE_ID + i));
+                jar.closeEntry();
+                }
+            }
+        return file;
+        }
+
+    /**
+     * Return the output file of a class of the module.
+     *
+     * @param sClassName  the name of the class
+     *
+     * @return  the output file of the class
+     */
+    private File outputFile(String sClassName)
+        {
+        return dirOutput.resolve(sClassName.replace('.', '/') + ".class").toFile();
+        }
+
+    /**
+     * Return the internal name of a {@code @PortableType} class.
+     *
+     * @param sPackage  the internal package name
+     * @param i         the index of the type
+     *
+     * @return  the internal name of the class
+     */
+    private static String typeName(String sPackage, int i)
+        {
+        return sPackage + "/Type" + i;
+        }
+
+    /**
+     * Create a class with a few fields of common types.
+     *
+     * @param sName    the internal name of the class
+     * @param sSuper   the internal name of the super class
+     * @param nTypeId  the POF type id, or a negative value to create a plain class
+     *
+     * @return  the class file bytes
+     */
+    private static byte[] createClass(String sName, String sSuper, int nTypeId)
+        {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, sName, null, sSuper, null);
+
+        if (nTypeId >= 0)
+            {
+            AnnotationVisitor annotation = writer.visitAnnotation(PortableTypeScanner.PORTABLE_TYPE_DESCRIPTOR, true);
+            annotation.visit("id", nTypeId);
+            annotation.visitEnd();
+            }
+
+        writer.visitField(Opcodes.ACC_PRIVATE, "nCount", "I", null, null).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE, "lTimestamp", "J", null, null).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE, "sName", "Ljava/lang/String;", null, null).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE, "listValues", "Ljava/util/List;", "Ljava/util/List<Ljava/lang/String;>;", null).visitEnd();
+
+        MethodVisitor ctor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(Opcodes.ALOAD, 0);
+        ctor.visitMethodInsn(Opcodes.INVOKESPECIAL, sSuper, "<init>", "()V", false);
+        ctor.visitInsn(Opcodes.RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The internal name of {@link Object}.
+     */
+    private static final String OBJECT = "java/lang/Object";
+
+    /**
+     * The internal package name of the module's classes.
+     */
+    private static final String MODULE_PACKAGE = "bench/module";
+
+    /**
+     * The internal package name of the library's classes.
+     */
+    private static final String LIBRARY_PACKAGE = "bench/library";
+
+    /**
+     * The first POF type id of the module's types.
+     */
+    private static final int MODULE_TYPE_ID = 1000;
+
+    /**
+     * The first POF type id of the library's types, chosen so that it never
+     * overlaps the module's type ids.
+     */
+    private static final int LIBRARY_TYPE_ID = 1_000_000;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The root directory of the generated files.
+     */
+    private final Path dirRoot;
+
+    /**
+     * The output directory of the module.
+     */
+    private final Path dirOutput;
+
+    /**
+     * The library jar, or {@code null} if there is no library.
+     */
+    private final File fileLibrary;
+
+    /**
+     * The class files of the module, keyed by class name, with the
+     * {@code @PortableType} classes first.
+     */
+    private final Map<String, byte[]> mapClasses = new LinkedHashMap<>();
+    }
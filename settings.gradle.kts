@@ -13,4 +13,6 @@ plugins {
 }
 
 include(":coherence-plugin")
-include(":jps-plugin")
\ No newline at end of file
+include(":jps-plugin")
+include(":pof-benchmark-runner")
+include(":pof-benchmarks")
\ No newline at end of file